@@ -0,0 +1,28 @@
+package com.dungeoncode.javarogue.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of <code>benchmarks.jar</code>. Accepts the regular JMH command line options and always attaches
+ * the GC profiler (equivalent to <code>-prof gc</code>), so every run reports allocation rates next to timings.
+ * <p>
+ * Example: <code>java -jar target/benchmarks.jar LevelGeneratorBenchmark -f 1 -wi 3 -i 5</code>
+ * </p>
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .build()
+        ).run();
+    }
+
+}
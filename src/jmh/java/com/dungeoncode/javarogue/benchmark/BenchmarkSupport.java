@@ -0,0 +1,43 @@
+package com.dungeoncode.javarogue.benchmark;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import com.dungeoncode.javarogue.system.HeadlessRogueScreen;
+import com.dungeoncode.javarogue.system.MessageSystem;
+import com.dungeoncode.javarogue.system.initializer.DefaultInitializer;
+import com.googlecode.lanterna.input.KeyStroke;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Shared fixtures for the benchmarks: every game is headless, lives in a temporary home directory
+ * and is seeded explicitly so runs are reproducible.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    static Config newConfig() throws IOException {
+        final Path homeDir = Files.createTempDirectory("java-rogue-bench");
+        homeDir.toFile().deleteOnExit();
+        return new Config(homeDir.toString());
+    }
+
+    static HeadlessRogueScreen newScreen(final Config config) throws IOException {
+        return new HeadlessRogueScreen(config, () -> new KeyStroke(' ', false, false));
+    }
+
+    /**
+     * Creates a game initialized like a normal session, with level 1 generated from the given seed.
+     */
+    static GameState newGame(final long seed) throws IOException {
+        final Config config = newConfig();
+        final HeadlessRogueScreen screen = newScreen(config);
+        return new GameState(config, new RogueRandom(seed), screen, new DefaultInitializer(), new MessageSystem(screen));
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.dungeoncode.javarogue.benchmark;
+
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.system.entity.Position;
+import com.dungeoncode.javarogue.system.entity.creature.Monster;
+import com.dungeoncode.javarogue.system.entity.creature.MonsterType;
+import com.dungeoncode.javarogue.system.world.Level;
+import com.dungeoncode.javarogue.system.world.Room;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-turn monster and visibility queries of {@link GameState} on a generated level:
+ * {@link GameState#findDest(Monster)}, {@link GameState#seeMonst(Monster)} and {@link GameState#canSee(int, int)}
+ * over every cell of the level.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameStateBenchmark {
+
+    @Param({"1", "42", "1337"})
+    public long seed;
+
+    private GameState gameState;
+    private Monster monster;
+
+    @Setup
+    public void setUp() throws IOException {
+        gameState = BenchmarkSupport.newGame(seed);
+        final Level level = gameState.getCurrentLevel();
+        // Place a leprechaun (non-zero carry probability) in a room other than the player's
+        Room room;
+        do {
+            room = level.rndRoom();
+        } while (room == gameState.getPlayer().getRoom() && level.getRooms().size() > 1);
+        final Position position = level.findFloor(room, 0, true);
+        monster = gameState.newMonster(MonsterType.LEPRECHAUN, position);
+    }
+
+    @Benchmark
+    public Position findDest() {
+        gameState.getRogueRandom().reseed(seed);
+        return gameState.findDest(monster);
+    }
+
+    @Benchmark
+    public boolean seeMonst() {
+        return gameState.seeMonst(monster);
+    }
+
+    @Benchmark
+    public void canSeeAllCells(final Blackhole blackhole) {
+        final Level level = gameState.getCurrentLevel();
+        for (int y = 1; y < gameState.getConfig().getTerminalRows() - 1; y++) {
+            for (int x = 0; x < level.getMaxWidth(); x++) {
+                blackhole.consume(gameState.canSee(x, y));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.dungeoncode.javarogue.benchmark;
+
+import com.dungeoncode.javarogue.system.entity.item.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Inventory#addToPack(Item)} by filling an empty pack with a fixed mix of stackable,
+ * grouped and unique items. Items are created inside the benchmark because adding mutates them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InventoryBenchmark {
+
+    private static final int MAX_PACK = 23;
+
+    @Benchmark
+    public Inventory fillPack() {
+        final Inventory inventory = new Inventory(MAX_PACK);
+        for (final Item item : newItems()) {
+            inventory.addToPack(item);
+        }
+        return inventory;
+    }
+
+    private static List<Item> newItems() {
+        final List<Item> items = new ArrayList<>();
+        items.add(new Food());
+        items.add(new Food());
+        items.add(new Armor(ArmorType.RING_MAIL));
+        items.add(new Weapon(WeaponType.MACE));
+        items.add(new Weapon(WeaponType.SHORT_BOW));
+        items.add(new Weapon(WeaponType.ARROW));
+        items.add(new Weapon(WeaponType.DAGGER));
+        for (final PotionType potionType : new PotionType[]{PotionType.CONFUSION, PotionType.POISON,
+                PotionType.CONFUSION, PotionType.GAIN_STRENGTH, PotionType.SEE_INVISIBLE}) {
+            items.add(new Potion(potionType));
+        }
+        for (final ScrollType scrollType : new ScrollType[]{ScrollType.MAGIC_MAPPING, ScrollType.SLEEP,
+                ScrollType.MAGIC_MAPPING, ScrollType.ENCHANT_ARMOR}) {
+            items.add(new Scroll(scrollType));
+        }
+        items.add(new Ring(RingType.R_PROTECT));
+        items.add(new Ring(RingType.R_SEARCH));
+        items.add(new Rod(RodType.WS_LIGHT));
+        items.add(new Rod(RodType.WS_FIRE));
+        return items;
+    }
+
+}
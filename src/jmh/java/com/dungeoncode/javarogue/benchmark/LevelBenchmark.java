@@ -0,0 +1,86 @@
+package com.dungeoncode.javarogue.benchmark;
+
+import com.dungeoncode.javarogue.system.entity.item.Item;
+import com.dungeoncode.javarogue.system.SymbolType;
+import com.dungeoncode.javarogue.system.world.Level;
+import com.dungeoncode.javarogue.system.world.Place;
+import com.dungeoncode.javarogue.system.world.PlaceType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures spatial lookups on a generated {@link Level}: {@link Level#findItemAt(int, int)},
+ * {@link Level#roomIn(int, int)} and full-grid scans of the packed place storage, read directly and
+ * through {@link Place} views, over every cell of the dungeon area.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelBenchmark {
+
+    @Param({"1", "42", "1337"})
+    public long seed;
+
+    private Level level;
+    private int rows;
+
+    @Setup
+    public void setUp() throws IOException {
+        final var gameState = BenchmarkSupport.newGame(seed);
+        level = gameState.getCurrentLevel();
+        rows = gameState.getConfig().getTerminalRows();
+    }
+
+    @Benchmark
+    public void findItemAtAllCells(final Blackhole blackhole) {
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < level.getMaxWidth(); x++) {
+                final Item item = level.findItemAt(x, y);
+                blackhole.consume(item);
+            }
+        }
+    }
+
+    @Benchmark
+    public void roomInAllCells(final Blackhole blackhole) {
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < level.getMaxWidth(); x++) {
+                blackhole.consume(level.roomIn(x, y));
+            }
+        }
+    }
+
+    @Benchmark
+    public int scanSymbolsAllCells() {
+        int floors = 0;
+        for (int y = 0; y < level.getMaxHeight(); y++) {
+            for (int x = 0; x < level.getMaxWidth(); x++) {
+                if (level.getSymbolType(x, y) == SymbolType.FLOOR) {
+                    floors++;
+                }
+            }
+        }
+        return floors;
+    }
+
+    @Benchmark
+    public int scanPlaceViewsAllCells() {
+        int passages = 0;
+        for (int y = 0; y < level.getMaxHeight(); y++) {
+            for (int x = 0; x < level.getMaxWidth(); x++) {
+                final Place place = level.getPlaceAt(x, y);
+                if (place != null && place.isType(PlaceType.PASSAGE) && place.getMonster() == null) {
+                    passages++;
+                }
+            }
+        }
+        return passages;
+    }
+
+}
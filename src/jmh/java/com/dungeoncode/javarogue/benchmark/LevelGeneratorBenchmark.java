@@ -0,0 +1,42 @@
+package com.dungeoncode.javarogue.benchmark;
+
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.system.LevelGenerator;
+import com.dungeoncode.javarogue.system.world.Level;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link LevelGenerator#newLevel(int)}. The generator is reseeded before every call so each
+ * invocation builds exactly the same dungeon.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelGeneratorBenchmark {
+
+    @Param({"1", "42", "1337"})
+    public long seed;
+
+    @Param({"1", "10", "26"})
+    public int levelNum;
+
+    private GameState gameState;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws IOException {
+        gameState = BenchmarkSupport.newGame(seed);
+    }
+
+    @Benchmark
+    public Level newLevel() {
+        gameState.getRogueRandom().reseed(seed);
+        return new LevelGenerator(gameState).newLevel(levelNum);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.dungeoncode.javarogue.benchmark;
+
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.system.LevelGenerator;
+import com.dungeoncode.javarogue.system.entity.Position;
+import com.dungeoncode.javarogue.system.world.Level;
+import com.dungeoncode.javarogue.system.world.Room;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the iterative {@link LevelGenerator#dig(LevelGenerator.Spot[][], int, int, int, int, int, int)} with the
+ * recursive {@link LevelGenerator#digRecursive(LevelGenerator.Spot[][], int, int, int, int, int, int)}. The
+ * <code>room</code> layout digs a standard maze room, the <code>level</code> layout digs a maze covering the whole
+ * map, which is far deeper than any maze room. The map and the generator are reset and reseeded before every call
+ * so each invocation digs exactly the same maze.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MazeBenchmark {
+
+    @Param({"1", "42", "1337"})
+    public long seed;
+
+    @Param({"room", "level"})
+    public String layout;
+
+    private GameState gameState;
+    private LevelGenerator levelGenerator;
+    private Level level;
+    private LevelGenerator.Spot[][] maze;
+    private int startx;
+    private int starty;
+    private int topx;
+    private int topy;
+    private int maxx;
+    private int maxy;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws IOException {
+        gameState = BenchmarkSupport.newGame(seed);
+        levelGenerator = new LevelGenerator(gameState);
+        levelGenerator.initializeLevel(gameState.getConfig().getAmuletLevel());
+        level = levelGenerator.getLevel();
+        if ("level".equals(layout)) {
+            startx = 0;
+            starty = 0;
+            topx = 0;
+            topy = 1;
+            maxx = level.getMaxWidth() - 1;
+            maxy = level.getMaxHeight() - 2;
+        } else {
+            final Room room = new Room();
+            levelGenerator.setMazeRoomDimensions(room, levelGenerator.getMaxRoomX(), levelGenerator.getMaxRoomY(),
+                    new Position(5, 8));
+            startx = 2;
+            starty = 4;
+            topx = room.getPosition().getX();
+            topy = room.getPosition().getY();
+            maxx = room.getSize().getX();
+            maxy = room.getSize().getY();
+        }
+        maze = new LevelGenerator.Spot[maxy + 1][maxx + 1];
+    }
+
+    @Setup(org.openjdk.jmh.annotations.Level.Invocation)
+    public void resetMaze() {
+        level.initializePlaces();
+        for (final LevelGenerator.Spot[] row : maze) {
+            Arrays.setAll(row, x -> new LevelGenerator.Spot());
+        }
+        gameState.getRogueRandom().reseed(seed);
+        levelGenerator.putPass(new Position(startx + topx, starty + topy));
+    }
+
+    @Benchmark
+    public Level digIterative() {
+        levelGenerator.dig(maze, startx, starty, topx, topy, maxx, maxy);
+        return level;
+    }
+
+    @Benchmark
+    public Level digRecursive() {
+        levelGenerator.digRecursive(maze, startx, starty, topx, topy, maxx, maxy);
+        return level;
+    }
+
+}
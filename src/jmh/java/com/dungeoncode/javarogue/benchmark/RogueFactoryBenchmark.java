@@ -0,0 +1,45 @@
+package com.dungeoncode.javarogue.benchmark;
+
+import com.dungeoncode.javarogue.core.RogueFactory;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import com.dungeoncode.javarogue.system.entity.item.ObjectType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RogueFactory#pickOne(ObjectType)} for the thing list and every item table.
+ * <code>THINGS</code> stands for the <code>null</code> object type, i.e. the top level thing table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RogueFactoryBenchmark {
+
+    private static final String THINGS = "THINGS";
+
+    @Param({"42"})
+    public long seed;
+
+    @Param({THINGS, "POTION", "SCROLL", "WEAPON", "ARMOR", "RING", "ROD"})
+    public String table;
+
+    private RogueFactory rogueFactory;
+    private ObjectType objectType;
+
+    @Setup
+    public void setUp() throws IOException {
+        rogueFactory = new RogueFactory(BenchmarkSupport.newConfig(), new RogueRandom(seed));
+        objectType = THINGS.equals(table) ? null : ObjectType.valueOf(table);
+    }
+
+    @Benchmark
+    public RogueFactory.PickResult pickOne() {
+        return rogueFactory.pickOne(objectType);
+    }
+
+}
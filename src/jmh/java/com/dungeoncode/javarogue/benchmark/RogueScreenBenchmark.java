@@ -0,0 +1,96 @@
+package com.dungeoncode.javarogue.benchmark;
+
+import com.dungeoncode.javarogue.system.RogueScreen;
+import com.googlecode.lanterna.SGR;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures drawing a full map and status line on the screen, and into a window as the level map command does, and
+ * opening and closing that window over the map.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RogueScreenBenchmark {
+
+    private static final String WINDOW = "benchmark";
+    private static final String SYMBOLS = "#.+-|%@ABCD";
+    private static final String STATUS = "Level: 3  Gold: 125    Hp: 12(12)  Str: 16(16)  Arm: 4  Exp: 2/23";
+
+    private RogueScreen screen;
+
+    @Setup
+    public void setUp() throws IOException {
+        screen = BenchmarkSupport.newScreen(BenchmarkSupport.newConfig());
+        screen.addWindow(WINDOW, 0, 0, screen.getColumns(), screen.getRows());
+    }
+
+    @Benchmark
+    public RogueScreen drawScreen() {
+        for (int y = 1; y < screen.getRows() - 1; y++) {
+            for (int x = 0; x < screen.getColumns(); x++) {
+                screen.putChar(x, y, SYMBOLS.charAt((x + y) % SYMBOLS.length()));
+            }
+        }
+        screen.enableModifiers(SGR.REVERSE);
+        screen.putString(0, 0, "--More--");
+        screen.disableModifiers(SGR.REVERSE);
+        screen.putString(0, screen.getRows() - 1, STATUS);
+        return screen;
+    }
+
+    @Benchmark
+    public RogueScreen drawWindow() {
+        screen.clearWindow(WINDOW);
+        for (int y = 1; y < screen.getRows() - 1; y++) {
+            for (int x = 0; x < screen.getColumns(); x++) {
+                screen.putWChar(WINDOW, x, y, SYMBOLS.charAt((x + y) % SYMBOLS.length()),
+                        x % 7 == 0 ? new SGR[]{SGR.REVERSE} : null);
+            }
+        }
+        screen.putWString(WINDOW, 0, 0, STATUS, SGR.BOLD);
+        screen.showWindow(WINDOW);
+        return screen;
+    }
+
+    @Benchmark
+    public RogueScreen openAndCloseWindow(final MapWindowState state) {
+        state.screen.showWindow(WINDOW);
+        state.screen.closeWindow(WINDOW, "---More (level map)---");
+        return state.screen;
+    }
+
+    /**
+     * A screen showing a map and a window holding the same map with the rooms the player has not seen yet, as the
+     * level map command shows.
+     */
+    @State(Scope.Thread)
+    public static class MapWindowState {
+
+        private RogueScreen screen;
+
+        @Setup
+        public void setUp() throws IOException {
+            screen = BenchmarkSupport.newScreen(BenchmarkSupport.newConfig());
+            screen.addWindow(WINDOW, 0, 0, screen.getColumns(), screen.getRows());
+            screen.clearWindow(WINDOW);
+            for (int y = 1; y < screen.getRows() - 1; y++) {
+                for (int x = 0; x < screen.getColumns(); x++) {
+                    final char symbol = SYMBOLS.charAt((x * 3 + y) % SYMBOLS.length());
+                    if (x < screen.getColumns() / 2) {
+                        screen.putChar(x, y, symbol);
+                    }
+                    screen.putWChar(WINDOW, x, y, symbol, x < screen.getColumns() / 2 ? null : new SGR[]{SGR.REVERSE});
+                }
+            }
+            screen.putString(0, screen.getRows() - 1, STATUS);
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.dungeoncode.javarogue.benchmark;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.system.ScoreManager;
+import com.dungeoncode.javarogue.system.death.GameEndReason;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading and writing a full score file with {@link ScoreManager}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoreManagerBenchmark {
+
+    private ScoreManager scoreManager;
+    private List<ScoreManager.ScoreEntry> entries;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Config config = BenchmarkSupport.newConfig();
+        scoreManager = new ScoreManager(BenchmarkSupport.newScreen(config));
+        entries = new ArrayList<>();
+        for (int i = 0; i < config.getNumScores(); i++) {
+            entries.add(new ScoreManager.ScoreEntry(1000 + i, 5000 - i * 100, GameEndReason.KILLED, 1, 0,
+                    i + 1, 1_700_000_000L + i, "rogue" + i));
+        }
+        scoreManager.writeScoreFile(entries);
+    }
+
+    @Benchmark
+    public List<ScoreManager.ScoreEntry> readScoreFile() {
+        return scoreManager.readScoreFile();
+    }
+
+    @Benchmark
+    public void writeScoreFile() {
+        scoreManager.writeScoreFile(entries);
+    }
+
+}
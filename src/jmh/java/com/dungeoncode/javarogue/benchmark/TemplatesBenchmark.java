@@ -0,0 +1,46 @@
+package com.dungeoncode.javarogue.benchmark;
+
+import com.dungeoncode.javarogue.system.SymbolType;
+import com.dungeoncode.javarogue.system.entity.creature.MonsterType;
+import com.dungeoncode.javarogue.template.Templates;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures monster template lookups, both by {@link MonsterType} and by {@link SymbolType}.
+ * Each invocation resolves every monster once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TemplatesBenchmark {
+
+    private MonsterType[] monsterTypes;
+    private SymbolType[] monsterSymbols;
+
+    @Setup
+    public void setUp() {
+        monsterTypes = MonsterType.values();
+        monsterSymbols = SymbolType.MONSTER_SYMBOLS.toArray(new SymbolType[0]);
+    }
+
+    @Benchmark
+    public void getMonsterTemplateByType(final Blackhole blackhole) {
+        for (final MonsterType monsterType : monsterTypes) {
+            blackhole.consume(Templates.getMonsterTemplate(monsterType));
+        }
+    }
+
+    @Benchmark
+    public void getMonsterTemplateBySymbol(final Blackhole blackhole) {
+        for (final SymbolType symbolType : monsterSymbols) {
+            blackhole.consume(Templates.getMonsterTemplate(symbolType));
+        }
+    }
+
+}
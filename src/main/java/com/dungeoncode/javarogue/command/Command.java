@@ -8,13 +8,18 @@
  * where inputs and events trigger actions like movement (move.c) or item usage (things.c).
  * Implementations must define the action, its execution phase, and a name for identification.
  * </p>
+ * <p>
+ * Commands are serializable so scheduled commands are captured by {@link com.dungeoncode.javarogue.core.GameSnapshot}.
+ * </p>
  */
 package com.dungeoncode.javarogue.command;
 
 import com.dungeoncode.javarogue.core.GameState;
 import com.dungeoncode.javarogue.core.Phase;
 
-public interface Command {
+import java.io.Serializable;
+
+public interface Command extends Serializable {
     /**
      * Executes the command, modifying the provided game state.
      * Returns true if the command executes successfully and should be considered a
@@ -11,6 +11,7 @@ import com.dungeoncode.javarogue.command.action.CommandPlayerPickUp;
 import com.dungeoncode.javarogue.command.system.CommandIllegal;
 import com.dungeoncode.javarogue.command.system.CommandNewLevel;
 import com.dungeoncode.javarogue.command.system.CommandQuit;
+import com.dungeoncode.javarogue.command.system.CommandSave;
 import com.dungeoncode.javarogue.command.ui.*;
 import com.dungeoncode.javarogue.core.Config;
 import com.dungeoncode.javarogue.core.GameState;
@@ -108,6 +109,7 @@ public class CommandFactory {
                         new CommandPlayerPickUp();
                 case 'v' -> new CommandShowVersion();
                 case 'Q' -> new CommandQuit(true);
+                case 'S' -> new CommandSave();
                 case '|' -> {
                     if (config.isMaster() && config.isWizard()) {
                         yield new CommandShowPlayerPosition();
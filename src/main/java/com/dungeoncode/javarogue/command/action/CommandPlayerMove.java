@@ -6,7 +6,7 @@ import com.dungeoncode.javarogue.core.Phase;
 import com.dungeoncode.javarogue.system.RogueScreen;
 import com.dungeoncode.javarogue.system.SymbolMapper;
 import com.dungeoncode.javarogue.system.entity.Position;
-import com.dungeoncode.javarogue.system.world.Place;
+import com.dungeoncode.javarogue.system.world.Level;
 import com.dungeoncode.javarogue.system.world.PlaceType;
 import com.googlecode.lanterna.SGR;
 
@@ -15,6 +15,8 @@ import java.util.Objects;
 
 public class CommandPlayerMove extends CommandParameterized<Position> {
 
+    private static final long serialVersionUID = 1L;
+
     // TODO this is implemented as PoC for testing equivalent void do_move(int dy, int dx)
     public CommandPlayerMove(@Nonnull final Position params) {
         super(params, Phase.MAIN_TURN);
@@ -32,12 +34,13 @@ public class CommandPlayerMove extends CommandParameterized<Position> {
         if (newx < 0 || newx >= gameState.getConfig().getTerminalCols() || newy <= 0 || newy >= gameState.getConfig().getTerminalRows() - 1) {
             return false;
         }
-        final Place place = gameState.getCurrentLevel().getPlaceAt(newx, newy);
-        assert place != null;
-        if (place.isType(PlaceType.WALL) || place.isType(PlaceType.EMPTY)) {
+        final Level level = gameState.getCurrentLevel();
+        final PlaceType placeType = level.getPlaceType(newx, newy);
+        assert placeType != null;
+        if (placeType == PlaceType.WALL || placeType == PlaceType.EMPTY) {
             return false;
         }
-        if (place.isType(PlaceType.PASSAGE) && !place.isReal()) {
+        if (placeType == PlaceType.PASSAGE && !level.isReal(newx, newy)) {
             return false;
         }
 
@@ -45,11 +48,11 @@ public class CommandPlayerMove extends CommandParameterized<Position> {
         screen.putChar(px, py, SymbolMapper.getSymbol(gameState.floorAt()));
         gameState.getPlayer().setPosition(newx, newy);
 
-        if (place.isType(PlaceType.PASSAGE)) {
+        if (placeType == PlaceType.PASSAGE) {
             screen.enableModifiers(SGR.REVERSE);
         }
         screen.putChar(newx, newy, SymbolMapper.getSymbol(gameState.getPlayer().getClass()));
-        if (place.isType(PlaceType.PASSAGE)) {
+        if (placeType == PlaceType.PASSAGE) {
             screen.disableModifiers(SGR.REVERSE);
         }
         return true;
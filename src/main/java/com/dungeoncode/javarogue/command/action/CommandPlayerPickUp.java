@@ -19,6 +19,8 @@ import java.util.Objects;
 
 public class CommandPlayerPickUp extends AbstractCommand {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Constructs a CommandPlayerPickUp instance, operating in the MAIN_TURN phase.
      * Equivalent to the pickup command logic in <code>command.c</code>.
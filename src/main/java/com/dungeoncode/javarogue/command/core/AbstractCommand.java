@@ -18,6 +18,8 @@ import java.util.Objects;
  */
 public abstract class AbstractCommand implements Command {
 
+    private static final long serialVersionUID = 1L;
+
     private final Phase phase;
     private final String name;
 
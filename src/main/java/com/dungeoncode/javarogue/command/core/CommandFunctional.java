@@ -3,6 +3,7 @@ package com.dungeoncode.javarogue.command.core;
 import com.dungeoncode.javarogue.core.GameState;
 import com.dungeoncode.javarogue.core.Phase;
 
+import java.io.Serializable;
 import java.util.function.Predicate;
 
 /**
@@ -12,9 +13,17 @@ import java.util.function.Predicate;
  * Inspired by the flexible action handling in the C Rogue source (e.g., command.c), where
  * inputs and events trigger varied actions like movement or item use.
  * </p>
+ * <p>
+ * The action is an {@link Action}, so lambdas and method references given to the constructor are serializable and
+ * a queued functional command is kept in snapshots and save files, provided what the action captures is
+ * serializable too.
+ * </p>
  */
 public class CommandFunctional extends AbstractCommand {
-    private final Predicate<GameState> action;
+
+    private static final long serialVersionUID = 1L;
+
+    private final Action action;
 
     /**
      * Constructs a functional command with the specified predicate and phase.
@@ -32,7 +41,7 @@ public class CommandFunctional extends AbstractCommand {
      * @param action The predicate to execute, returning true for success, false for failure.
      * @param phase  The phase in which the command executes (e.g., START_TURN, MAIN_TURN).
      */
-    public CommandFunctional(Predicate<GameState> action, Phase phase) {
+    public CommandFunctional(Action action, Phase phase) {
         super(phase, null);
         this.action = action;
     }
@@ -47,4 +56,11 @@ public class CommandFunctional extends AbstractCommand {
     public boolean execute(GameState gameState) {
         return action.test(gameState);
     }
+
+    /**
+     * The predicate of a functional command, serializable so the command can be snapshotted.
+     */
+    @FunctionalInterface
+    public interface Action extends Predicate<GameState>, Serializable {
+    }
 }
\ No newline at end of file
@@ -15,6 +15,9 @@ import com.dungeoncode.javarogue.core.Phase;
  * @param <T> The type of parameters required by the command.
  */
 public abstract class CommandParameterized<T> extends AbstractCommand {
+
+    private static final long serialVersionUID = 1L;
+
     private final T params;
 
     /**
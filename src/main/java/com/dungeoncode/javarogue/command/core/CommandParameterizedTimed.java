@@ -22,6 +22,8 @@ import com.dungeoncode.javarogue.core.Phase;
  */
 public abstract class CommandParameterizedTimed<T> extends CommandTimed {
 
+    private static final long serialVersionUID = 1L;
+
     private final T params;
 
     /**
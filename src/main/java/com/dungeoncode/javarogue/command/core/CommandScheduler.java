@@ -0,0 +1,251 @@
+package com.dungeoncode.javarogue.command.core;
+
+import com.dungeoncode.javarogue.command.Command;
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.core.Phase;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Schedules game commands by {@link Phase}, replacing a single queue scanned once per phase.
+ * <p>
+ * Each phase keeps its own bucket of regular and {@link CommandEternal} commands, and a {@link TimerWheel}
+ * for its {@link CommandTimed} fuses, so processing a phase touches only that phase's daemons and the fuses
+ * expiring on that turn. Named commands (e.g., {@link com.dungeoncode.javarogue.core.Constants#CMD_NAME_UNCONFUSE})
+ * are indexed by name.
+ * </p>
+ * <p>
+ * Within a phase, commands run in the order they were added, whether timed or not. Commands added while
+ * their phase is running wait for the next pass of that phase.
+ * Mirrors the daemon and fuse lists of <code>daemon.c</code>.
+ * </p>
+ */
+public class CommandScheduler implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int WHEEL_SLOTS = 64;
+
+    private final EnumMap<Phase, List<Entry>> buckets;
+    private final EnumMap<Phase, TimerWheel> wheels;
+    private final EnumMap<Phase, List<CommandTimed>> dueLists;
+    private final Map<String, ArrayDeque<Command>> commandsByName;
+    private Phase runningPhase;
+    private long sequence;
+    private int size;
+
+    public CommandScheduler() {
+        this.buckets = new EnumMap<>(Phase.class);
+        this.wheels = new EnumMap<>(Phase.class);
+        this.dueLists = new EnumMap<>(Phase.class);
+        for (final Phase phase : Phase.values()) {
+            buckets.put(phase, new ArrayList<>());
+            wheels.put(phase, new TimerWheel(WHEEL_SLOTS));
+            dueLists.put(phase, new ArrayList<>());
+        }
+        this.commandsByName = new HashMap<>();
+    }
+
+    /**
+     * Adds a command to its phase. Timed commands go to the phase's timer wheel, keyed by their remaining turns.
+     *
+     * @param command The command to schedule.
+     * @throws IllegalStateException if a timed command is already scheduled.
+     */
+    public void add(@Nonnull final Command command) {
+        Objects.requireNonNull(command);
+        final Phase phase = command.getPhase();
+        final long order = sequence++;
+        if (command instanceof CommandTimed commandTimed) {
+            if (commandTimed.wheel != null) {
+                throw new IllegalStateException("Timed command is already scheduled");
+            }
+            commandTimed.sequence = order;
+            final TimerWheel wheel = wheels.get(phase);
+            wheel.schedule(commandTimed, wheel.getTick() + commandTimed.getTurnsRemaining());
+        } else {
+            buckets.get(phase).add(new Entry(command, order));
+        }
+        final String name = command.getName();
+        if (name != null) {
+            commandsByName.computeIfAbsent(name, key -> new ArrayDeque<>()).addLast(command);
+        }
+        size++;
+    }
+
+    /**
+     * Processes one turn of the given phase: advances the phase's timer wheel, then executes, in insertion order,
+     * every regular and eternal command of the phase together with the timed commands that became ready.
+     * Regular and timed commands are removed after execution; eternal commands stay.
+     *
+     * @param phase     The phase to process.
+     * @param gameState The game state passed to the commands.
+     */
+    public void process(@Nonnull final Phase phase, @Nonnull final GameState gameState) {
+        Objects.requireNonNull(phase);
+        Objects.requireNonNull(gameState);
+        final Phase previousPhase = runningPhase;
+        runningPhase = phase;
+
+        final TimerWheel wheel = wheels.get(phase);
+        final List<CommandTimed> due = dueLists.get(phase);
+        final List<Entry> bucket = buckets.get(phase);
+        wheel.advance(due);
+
+        final int bucketSize = bucket.size();
+        int i = 0;
+        int j = 0;
+        try {
+            while (true) {
+                while (i < bucketSize && bucket.get(i) == null) {
+                    i++;
+                }
+                final Entry entry = i < bucketSize ? bucket.get(i) : null;
+                final CommandTimed timed = j < due.size() ? due.get(j) : null;
+                if (entry == null && timed == null) {
+                    break;
+                }
+                if (timed == null || (entry != null && entry.sequence < timed.sequence)) {
+                    final int index = i++;
+                    entry.command.execute(gameState);
+                    if (!(entry.command instanceof CommandEternal) && bucket.get(index) == entry) {
+                        bucket.set(index, null);
+                        unindex(entry.command);
+                        size--;
+                    }
+                } else {
+                    j++;
+                    if (timed.wheel != wheel) {
+                        continue;
+                    }
+                    if (timed.isReadyToExecute()) {
+                        timed.execute(gameState);
+                        if (timed.wheel == wheel) {
+                            wheel.release(timed);
+                            unindex(timed);
+                            size--;
+                        }
+                    } else {
+                        wheel.requeue(timed);
+                    }
+                }
+            }
+        } finally {
+            due.clear();
+            bucket.removeIf(Objects::isNull);
+            runningPhase = previousPhase;
+        }
+    }
+
+    /**
+     * Removes a scheduled command.
+     *
+     * @param command The command to remove.
+     * @return True if the command was scheduled and has been removed.
+     */
+    public boolean remove(@Nonnull final Command command) {
+        Objects.requireNonNull(command);
+        if (command instanceof CommandTimed commandTimed) {
+            final TimerWheel wheel = commandTimed.wheel;
+            if (wheel == null) {
+                return false;
+            }
+            wheel.release(commandTimed);
+        } else {
+            final List<Entry> bucket = buckets.get(command.getPhase());
+            int index = -1;
+            for (int i = 0; i < bucket.size(); i++) {
+                final Entry entry = bucket.get(i);
+                if (entry != null && entry.command == command) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return false;
+            }
+            if (runningPhase == command.getPhase()) {
+                bucket.set(index, null);
+            } else {
+                bucket.remove(index);
+            }
+        }
+        unindex(command);
+        size--;
+        return true;
+    }
+
+    /**
+     * Finds the earliest scheduled command with the specified name.
+     *
+     * @param name The name of the command to find.
+     * @return The matching command, or null if none is scheduled.
+     */
+    @Nullable
+    public Command findByName(@Nonnull final String name) {
+        Objects.requireNonNull(name);
+        final ArrayDeque<Command> commands = commandsByName.get(name);
+        return commands == null ? null : commands.peekFirst();
+    }
+
+    /**
+     * Returns the number of scheduled commands across all phases.
+     *
+     * @return The scheduled command count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a snapshot of all scheduled commands in the order they were added.
+     *
+     * @return A new queue holding the scheduled commands; changes to it do not affect the scheduler.
+     */
+    public Queue<Command> snapshot() {
+        final List<Entry> entries = new ArrayList<>(size);
+        final List<CommandTimed> timedCommands = new ArrayList<>();
+        for (final Phase phase : Phase.values()) {
+            for (final Entry entry : buckets.get(phase)) {
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+            wheels.get(phase).collect(timedCommands);
+            for (final CommandTimed commandTimed : dueLists.get(phase)) {
+                if (commandTimed.wheel != null) {
+                    timedCommands.add(commandTimed);
+                }
+            }
+        }
+        for (final CommandTimed commandTimed : timedCommands) {
+            entries.add(new Entry(commandTimed, commandTimed.sequence));
+        }
+        entries.sort(Comparator.comparingLong(Entry::sequence));
+        final Queue<Command> commands = new ArrayDeque<>(entries.size());
+        entries.forEach(entry -> commands.add(entry.command));
+        return commands;
+    }
+
+    private void unindex(@Nonnull final Command command) {
+        final String name = command.getName();
+        if (name == null) {
+            return;
+        }
+        final ArrayDeque<Command> commands = commandsByName.get(name);
+        if (commands != null) {
+            commands.removeFirstOccurrence(command);
+            if (commands.isEmpty()) {
+                commandsByName.remove(name);
+            }
+        }
+    }
+
+    private record Entry(Command command, long sequence) implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -1,7 +1,14 @@
 /**
  * An abstract base class for commands that execute after a specified number of turns,
  * implementing delayed actions in the Rogue game. Maintains a turn-based timer that
- * decrements each turn until execution, remaining in the command queue until completed.
+ * counts down each turn until execution, remaining in the command queue until completed.
+ * <p>
+ * Once added to a {@link CommandScheduler}, the command is held in a timer wheel slot keyed by its expiry
+ * turn and the remaining time is derived from the wheel's clock, so pending commands cost nothing per turn.
+ * {@link #lengthen(int)} and {@link #decrementTimer()} move the command to the matching slot. The scheduler no
+ * longer calls {@link #decrementTimer()} every turn nor asks {@link #isReadyToExecute()} before the wheel reports
+ * the command due, so both are final; subclasses that need a different delay use {@link #lengthen(int)}.
+ * </p>
  * <p>
  * Inspired by the fuse and daemon mechanisms in the C Rogue source (daemon.c), which
  * schedule delayed actions like traps or effects.
@@ -15,8 +22,30 @@ import javax.annotation.Nonnull;
 
 public abstract class CommandTimed extends AbstractCommand {
 
+    private static final long serialVersionUID = 1L;
+
     private int turnsRemaining;
 
+    /**
+     * Wheel holding this command while scheduled, or null while unscheduled.
+     */
+    TimerWheel wheel;
+
+    /**
+     * Absolute wheel tick at which the command becomes ready; only valid while scheduled.
+     */
+    long expiryTick;
+
+    /**
+     * Index of the wheel slot holding the command, or -1 while it waits in the due list of a running phase.
+     */
+    int slotIndex = -1;
+
+    /**
+     * Scheduler insertion order, used to execute commands of a phase in the order they were added.
+     */
+    long sequence;
+
     /**
      * Constructs a timed command with a specified delay, execution phase, and default null name.
      *
@@ -46,8 +75,12 @@ public abstract class CommandTimed extends AbstractCommand {
      * Decrements the turn timer by one, advancing the command toward execution.
      * No effect if the timer is already zero.
      */
-    public void decrementTimer() {
-        if (turnsRemaining > 0) {
+    public final void decrementTimer() {
+        if (wheel != null) {
+            if (expiryTick > wheel.getTick()) {
+                wheel.reschedule(this, expiryTick - 1);
+            }
+        } else if (turnsRemaining > 0) {
             turnsRemaining--;
         }
     }
@@ -62,7 +95,11 @@ public abstract class CommandTimed extends AbstractCommand {
      */
     public void lengthen(int time) {
         if (time > 0) {
-            turnsRemaining += time;
+            if (wheel != null) {
+                wheel.reschedule(this, expiryTick + time);
+            } else {
+                turnsRemaining += time;
+            }
         }
     }
 
@@ -72,6 +109,9 @@ public abstract class CommandTimed extends AbstractCommand {
      * @return The remaining turns.
      */
     public int getTurnsRemaining() {
+        if (wheel != null) {
+            return (int) Math.max(0, expiryTick - wheel.getTick());
+        }
         return turnsRemaining;
     }
 
@@ -80,7 +120,16 @@ public abstract class CommandTimed extends AbstractCommand {
      *
      * @return {@code true} if the timer is zero or less, {@code false} otherwise.
      */
-    public boolean isReadyToExecute() {
-        return turnsRemaining <= 0;
+    public final boolean isReadyToExecute() {
+        return getTurnsRemaining() <= 0;
+    }
+
+    /**
+     * Freezes the remaining time into the command when it leaves its wheel.
+     */
+    void detach() {
+        this.turnsRemaining = getTurnsRemaining();
+        this.wheel = null;
+        this.slotIndex = -1;
     }
-}
\ No newline at end of file
+}
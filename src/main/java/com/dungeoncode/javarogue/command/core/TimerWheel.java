@@ -0,0 +1,135 @@
+package com.dungeoncode.javarogue.command.core;
+
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A hashed timer wheel holding the {@link CommandTimed} fuses of one phase, keyed by expiry tick.
+ * <p>
+ * The wheel advances one tick each time its phase is processed. Only the slot of the new tick is
+ * inspected, so the cost of a tick depends on the commands hashed into that slot rather than on the
+ * total number of pending fuses. Commands that expire in a later rotation share the slot and are skipped.
+ * </p>
+ */
+final class TimerWheel implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Comparator<CommandTimed> BY_SEQUENCE = Comparator.comparingLong(command -> command.sequence);
+
+    private final List<CommandTimed>[] slots;
+    private final int mask;
+    private long tick;
+
+    /**
+     * Constructs a wheel with the given number of slots.
+     *
+     * @param slotCount The slot count; must be a power of two.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TimerWheel(final int slotCount) {
+        if (slotCount <= 0 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException(String.format("Slot count must be a power of two: %d", slotCount));
+        }
+        this.slots = new List[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayList<>(2);
+        }
+        this.mask = slotCount - 1;
+    }
+
+    /**
+     * Returns the number of ticks completed so far.
+     */
+    long getTick() {
+        return tick;
+    }
+
+    /**
+     * Adds a command expiring at the given tick. Expiry ticks at or before the current tick fire on the next tick.
+     */
+    void schedule(@Nonnull final CommandTimed command, final long expiryTick) {
+        Objects.requireNonNull(command);
+        command.wheel = this;
+        command.expiryTick = expiryTick;
+        place(command);
+    }
+
+    /**
+     * Moves a scheduled command to a new expiry tick. A command waiting in a due list only has its expiry updated;
+     * it is re-placed when the running phase reaches it.
+     */
+    void reschedule(@Nonnull final CommandTimed command, final long expiryTick) {
+        if (command.slotIndex >= 0) {
+            slots[command.slotIndex].remove(command);
+        }
+        command.expiryTick = expiryTick;
+        if (command.slotIndex >= 0) {
+            place(command);
+        }
+    }
+
+    /**
+     * Puts a command that was taken out of the wheel as due back into its slot, e.g., when it was
+     * lengthened or is not ready yet.
+     */
+    void requeue(@Nonnull final CommandTimed command) {
+        place(command);
+    }
+
+    /**
+     * Removes a command from the wheel for good, freezing its remaining time.
+     */
+    void release(@Nonnull final CommandTimed command) {
+        if (command.slotIndex >= 0) {
+            slots[command.slotIndex].remove(command);
+        }
+        command.detach();
+    }
+
+    /**
+     * Advances the wheel by one tick and moves every command expiring at or before the new tick into
+     * the given list, sorted by scheduling order.
+     *
+     * @param due The list receiving the expired commands.
+     */
+    void advance(@Nonnull final List<CommandTimed> due) {
+        tick++;
+        final List<CommandTimed> slot = slots[(int) (tick & mask)];
+        for (int i = 0; i < slot.size(); ) {
+            final CommandTimed command = slot.get(i);
+            if (command.expiryTick <= tick) {
+                // swap-remove, order is restored by the sort below
+                final int last = slot.size() - 1;
+                slot.set(i, slot.get(last));
+                slot.remove(last);
+                command.slotIndex = -1;
+                due.add(command);
+            } else {
+                i++;
+            }
+        }
+        if (due.size() > 1) {
+            due.sort(BY_SEQUENCE);
+        }
+    }
+
+    /**
+     * Appends every command currently held in wheel slots to the given list.
+     */
+    void collect(@Nonnull final List<CommandTimed> commands) {
+        for (final List<CommandTimed> slot : slots) {
+            commands.addAll(slot);
+        }
+    }
+
+    private void place(@Nonnull final CommandTimed command) {
+        final long slotTick = Math.max(command.expiryTick, tick + 1);
+        command.slotIndex = (int) (slotTick & mask);
+        slots[command.slotIndex].add(command);
+    }
+}
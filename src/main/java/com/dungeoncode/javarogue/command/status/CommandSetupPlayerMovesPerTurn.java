@@ -17,6 +17,8 @@ import java.util.Objects;
  */
 public class CommandSetupPlayerMovesPerTurn implements CommandEternal {
 
+    private static final long serialVersionUID = 1L;
+
     public static final int INITIAL_MOVES_PER_TURN = 1;
 
     @Override
@@ -13,6 +13,8 @@ import java.util.Objects;
 
 public class CommandUnconfuse extends CommandTimed {
 
+    private static final long serialVersionUID = 1L;
+
     public CommandUnconfuse(int turns) {
         super(turns, Phase.END_TURN, Constants.CMD_NAME_UNCONFUSE);
     }
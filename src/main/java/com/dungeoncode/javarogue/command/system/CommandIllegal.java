@@ -18,6 +18,8 @@ import java.util.Objects;
 
 public class CommandIllegal extends CommandParameterized<KeyStroke> {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Constructs a CommandIllegal instance with the specified keystroke.
      *
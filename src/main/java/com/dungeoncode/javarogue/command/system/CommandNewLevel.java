@@ -14,6 +14,8 @@ import java.util.Objects;
 
 public class CommandNewLevel extends CommandParameterized<Integer> {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Constructs a CommandNewLevel instance with the specified level number.
      *
@@ -4,7 +4,6 @@ import com.dungeoncode.javarogue.command.core.CommandParameterized;
 import com.dungeoncode.javarogue.command.ui.CommandShowPlayerStatus;
 import com.dungeoncode.javarogue.core.GameState;
 import com.dungeoncode.javarogue.core.Phase;
-import com.dungeoncode.javarogue.main.Rogue;
 import com.dungeoncode.javarogue.system.MessageSystem;
 import com.dungeoncode.javarogue.system.RogueScreen;
 import com.dungeoncode.javarogue.system.ScoreManager;
@@ -17,13 +16,15 @@ import java.util.Objects;
 
 /**
  * A command that prompts the player to confirm quitting, mirroring the C Rogue
- * <code>quit</code> function. Exits with a score display if confirmed, or restores
+ * <code>quit</code> function. Ends the game with a score display if confirmed, or restores
  * the game state if canceled.
  * <p>
  * Equivalent of <pre>quit(int sig) from main.c</pre>
  */
 public class CommandQuit extends CommandParameterized<Boolean> {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Constructs a quit command with a flag indicating if it's a deliberate quit.
      *
@@ -35,7 +36,7 @@ public class CommandQuit extends CommandParameterized<Boolean> {
 
     /**
      * Prompts the player to confirm quitting. On 'y', clears the screen, shows the
-     * score, records it, and exits. Otherwise, clears the prompt, redraws the status,
+     * score, records it, and stops the game loop. Otherwise, clears the prompt, redraws the status,
      * and resets state. Returns false to indicate the command isn't a turn action.
      *
      * @param gameState The game state to modify or exit.
@@ -67,7 +68,7 @@ public class CommandQuit extends CommandParameterized<Boolean> {
             gameState.getPlayer().setGoldAmount(gameState.getPlayer().getGoldAmount());
             final ScoreManager scoreManager = new ScoreManager(screen);
             scoreManager.score(gameState);
-            Rogue.exit(screen);
+            gameState.stopPlaying();
         } else {
             screen.clearLine(0);
             new CommandShowPlayerStatus().execute(gameState);
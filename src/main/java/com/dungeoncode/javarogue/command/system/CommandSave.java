@@ -0,0 +1,72 @@
+package com.dungeoncode.javarogue.command.system;
+
+import com.dungeoncode.javarogue.command.Command;
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.core.Phase;
+import com.dungeoncode.javarogue.core.SaveFile;
+import com.dungeoncode.javarogue.system.MessageSystem;
+import com.dungeoncode.javarogue.system.RogueScreen;
+import com.googlecode.lanterna.input.KeyStroke;
+import com.googlecode.lanterna.input.KeyType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * A command that saves the game to the configured save file and stops the game loop, so that the game can be
+ * continued later with <code>Rogue -restore</code>.
+ * <p>
+ * Equivalent of <pre>save_game() from save.c</pre>
+ */
+public class CommandSave implements Command {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandSave.class);
+
+    /**
+     * Asks the player to confirm the save file. On 'y', clears the prompt, writes the game and stops the game loop;
+     * if the file cannot be written, the error is shown and the game goes on.
+     *
+     * @param gameState The game state to save.
+     * @return Always false, as saving does not count as an executed command.
+     */
+    @Override
+    public boolean execute(@Nonnull final GameState gameState) {
+        Objects.requireNonNull(gameState);
+        final MessageSystem messageSystem = gameState.getMessageSystem();
+        final RogueScreen screen = gameState.getScreen();
+        final Path path = gameState.getConfig().getSaveFilePath();
+
+        messageSystem.msg(String.format("save file (%s)? ", path));
+        screen.refresh();
+        final KeyStroke keyStroke = screen.readInput();
+        final Character character = keyStroke.getCharacter();
+        screen.clearLine(0);
+        messageSystem.clearMessagePosition();
+
+        if (keyStroke.getKeyType().equals(KeyType.Character) && character != null && character == 'y') {
+            try {
+                SaveFile.write(path, gameState, gameState.getConfig().isCompressSave());
+                gameState.stopPlaying();
+            } catch (RuntimeException ex) {
+                LOGGER.error(ex.getMessage(), ex);
+                messageSystem.msg(ex.getMessage());
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Phase getPhase() {
+        return Phase.MAIN_TURN;
+    }
+
+    @Override
+    public String getName() {
+        return null;
+    }
+}
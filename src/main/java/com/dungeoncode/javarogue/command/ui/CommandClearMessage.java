@@ -14,6 +14,9 @@ import static com.dungeoncode.javarogue.core.Phase.INPUT_CLEANUP_TURN;
  * Ensures a clean UI state by removing displayed messages before processing player commands.
  */
 public class CommandClearMessage implements CommandEternal {
+
+    private static final long serialVersionUID = 1L;
+
     @Override
     public boolean execute(@Nonnull final GameState gameState) {
         Objects.requireNonNull(gameState);
@@ -14,6 +14,8 @@ import java.util.Objects;
 
 public class CommandShowLastMessage implements Command {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Executes the command to display the last message, if available.
      *
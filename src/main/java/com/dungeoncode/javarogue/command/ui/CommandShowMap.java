@@ -7,10 +7,9 @@ import com.dungeoncode.javarogue.core.Phase;
 import com.dungeoncode.javarogue.system.RogueScreen;
 import com.dungeoncode.javarogue.system.SymbolMapper;
 import com.dungeoncode.javarogue.system.SymbolType;
-import com.dungeoncode.javarogue.system.world.Place;
+import com.dungeoncode.javarogue.system.world.Level;
 import com.googlecode.lanterna.SGR;
 import com.googlecode.lanterna.TerminalPosition;
-import com.googlecode.lanterna.screen.Screen;
 
 import javax.annotation.Nonnull;
 import java.util.Objects;
@@ -25,6 +24,8 @@ import static com.dungeoncode.javarogue.system.RogueScreen.WINDOW_HW;
  */
 public class CommandShowMap implements Command {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Executes the command to display the current dungeon level's map. Clears the specified window,
      * renders each place's symbol (with reverse modifier for unreal places), sets the cursor to the
@@ -41,12 +42,12 @@ public class CommandShowMap implements Command {
 
         screen.clearWindow(WINDOW_HW);
 
+        final Level level = gameState.getCurrentLevel();
         for (int x = 0; x < config.getTerminalCols(); x++) {
             for (int y = 1; y < config.getTerminalRows() - 1; y++) {
-                final Place place = gameState.getCurrentLevel().getPlaceAt(x, y);
-                assert place != null;
-                final SGR[] modifiers = place.isReal() ? null : new SGR[]{SGR.REVERSE};
-                final SymbolType symbolType = place.getSymbolType();
+                final SGR[] modifiers = level.isReal(x, y) ? null : new SGR[]{SGR.REVERSE};
+                final SymbolType symbolType = level.getSymbolType(x, y);
+                assert symbolType != null;
                 screen.putWChar(WINDOW_HW, x, y, SymbolMapper.getSymbol(symbolType), modifiers);
             }
         }
@@ -55,7 +56,7 @@ public class CommandShowMap implements Command {
         screen.showWindow(WINDOW_HW);
         screen.closeWindow(WINDOW_HW, "---More (level map)---");
         screen.setCursorPosition(null);
-        screen.refresh(Screen.RefreshType.DELTA);
+        screen.refresh();
 
         return false;
     }
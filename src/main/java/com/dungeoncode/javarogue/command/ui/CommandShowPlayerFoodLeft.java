@@ -13,6 +13,8 @@ import java.util.Objects;
 
 public class CommandShowPlayerFoodLeft implements Command {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Executes the command to display the player's remaining food.
      *
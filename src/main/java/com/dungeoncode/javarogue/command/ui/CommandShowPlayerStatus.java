@@ -17,6 +17,8 @@ import java.util.Objects;
  */
 public class CommandShowPlayerStatus implements CommandEternal {
 
+    private static final long serialVersionUID = 1L;
+
     @Override
     public boolean execute(@Nonnull final GameState gameState) {
         Objects.requireNonNull(gameState);
@@ -9,6 +9,8 @@ import java.util.Objects;
 
 public class CommandShowVersion implements Command {
 
+    private static final long serialVersionUID = 1L;
+
     @Override
     public boolean execute(@NonNull final GameState gameState) {
         Objects.requireNonNull(gameState);
@@ -8,6 +8,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.File;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.EnumSet;
 import java.util.Objects;
 import java.util.Random;
@@ -33,7 +34,11 @@ public class Config {
     private static final String SYSTEM_PROPERTY_USER_HOME = "user.home";
     private static final String DEFAULT_JAVAROGUE_DIR_NAME = ".java-rogue";
     private static final String DEFAULT_SAVE_FILE_NAME = "rogue.save";
+    private static final boolean DEFAULT_COMPRESS_SAVE = true;
+    private static final String DEFAULT_AUTOSAVE_SUFFIX = ".autosave";
+    private static final boolean DEFAULT_ASYNC_RENDER = true;
     private static final String DEFAULT_SCORE_FILE_NAME = "rogue54.scr";
+    private static final String DEFAULT_SCORE_HISTORY_FILE_NAME = "rogue54.hst";
     private static final String DEFAULT_FAVORITE_FRUIT = "slime-mold";
     private static final String DEFAULT_KILL_NAME = "Wally the Wonder Badger";
     private static final int DEFAULT_TERMINAL_ROWS = 24;
@@ -103,6 +108,7 @@ public class Config {
     private final int maxStringLength;
     private final String javaRogueDirName;
     private final String scoreFileName;
+    private final String scoreHistoryFileName;
     private final byte[] encryptionKeyPrimary;
     private final byte[] encryptionKeySecondary;
     private final int numScores;
@@ -206,9 +212,13 @@ public class Config {
     private int optionsSeed;
     private boolean scoring;
     private boolean allowMultipleScores;
+    private boolean pregenerateLevels;
+    private boolean compressSave;
+    private boolean autosave;
+    private boolean asyncRender;
 
     public Config() {
-        this(null);
+        this((String) null);
     }
 
     public Config(@Nullable final String homeDirName) {
@@ -218,8 +228,11 @@ public class Config {
             this.homeDirName = System.getProperty(SYSTEM_PROPERTY_USER_HOME);
         }
         this.saveFileName = DEFAULT_SAVE_FILE_NAME;
+        this.compressSave = DEFAULT_COMPRESS_SAVE;
+        this.asyncRender = DEFAULT_ASYNC_RENDER;
         this.javaRogueDirName = this.homeDirName + File.separator + DEFAULT_JAVAROGUE_DIR_NAME;
         this.scoreFileName = DEFAULT_SCORE_FILE_NAME;
+        this.scoreHistoryFileName = DEFAULT_SCORE_HISTORY_FILE_NAME;
         this.favoriteFruit = DEFAULT_FAVORITE_FRUIT;
         this.initialPlayerFlags = EnumSet.noneOf(PlayerFlag.class);
 
@@ -268,6 +281,75 @@ public class Config {
         this.confuseDuration = DEFAULT_CONFUSE_DURATION;
     }
 
+    /**
+     * Constructs a copy of the given configuration, e.g., for a game that runs on another thread and must not see
+     * later changes to the original.
+     *
+     * @param other The configuration to copy.
+     */
+    public Config(@Nonnull final Config other) {
+        Objects.requireNonNull(other);
+        this.maxStringLength = other.maxStringLength;
+        this.javaRogueDirName = other.javaRogueDirName;
+        this.scoreFileName = other.scoreFileName;
+        this.scoreHistoryFileName = other.scoreHistoryFileName;
+        this.encryptionKeyPrimary = other.encryptionKeyPrimary.clone();
+        this.encryptionKeySecondary = other.encryptionKeySecondary.clone();
+        this.numScores = other.numScores;
+        this.userId = other.userId;
+        this.defaultKillName = other.defaultKillName;
+        this.terminalRows = other.terminalRows;
+        this.terminalCols = other.terminalCols;
+        this.initialPlayerFlags = EnumSet.copyOf(other.initialPlayerFlags);
+        this.initialPlayerStats = new Stats(other.initialPlayerStats);
+        this.messageAllowLowercase = other.messageAllowLowercase;
+        this.messageAllowEscape = other.messageAllowEscape;
+        this.levelMaxWidth = other.levelMaxWidth;
+        this.levelMaxHeight = other.levelMaxHeight;
+        this.maxPack = other.maxPack;
+        this.foodLeft = other.foodLeft;
+        this.homeDirName = other.homeDirName;
+        this.maxScrollItemGeneratedNameLength = other.maxScrollItemGeneratedNameLength;
+        this.minArmorClass = other.minArmorClass;
+        this.treasureRoomChance = other.treasureRoomChance;
+        this.minTreasure = other.minTreasure;
+        this.maxTreasure = other.maxTreasure;
+        this.maxTriesFindFloor = other.maxTriesFindFloor;
+        this.maxObjTries = other.maxObjTries;
+        this.maxTraps = other.maxTraps;
+        this.inventoryDescribe = other.inventoryDescribe;
+        this.maxRooms = other.maxRooms;
+        this.maxGoneRooms = other.maxGoneRooms;
+        this.maxPassages = other.maxPassages;
+        this.amuletLevel = other.amuletLevel;
+        this.statMsg = other.statMsg;
+        this.statLine = other.statLine;
+        this.releaseVersion = other.releaseVersion;
+        this.lampDist = other.lampDist;
+        this.confuseDuration = other.confuseDuration;
+        this.messageSave = other.messageSave;
+        this.master = other.master;
+        this.wizard = other.wizard;
+        this.terse = other.terse;
+        this.flush = other.flush;
+        this.seeFloor = other.seeFloor;
+        this.passGo = other.passGo;
+        this.useLegacySeed = other.useLegacySeed;
+        this.tombstone = other.tombstone;
+        this.playerName = other.playerName;
+        this.favoriteFruit = other.favoriteFruit;
+        this.saveFileName = other.saveFileName;
+        this.dungeonSeed = other.dungeonSeed;
+        this.seed = other.seed;
+        this.optionsSeed = other.optionsSeed;
+        this.scoring = other.scoring;
+        this.allowMultipleScores = other.allowMultipleScores;
+        this.pregenerateLevels = other.pregenerateLevels;
+        this.compressSave = other.compressSave;
+        this.autosave = other.autosave;
+        this.asyncRender = other.asyncRender;
+    }
+
     private Stats loadInitialPlayerStats() {
         try (InputStream in = getClass().getResourceAsStream(DEFAULT_PLAYER_INIT_STATS)) {
             final ObjectMapper mapper = new ObjectMapper();
@@ -286,6 +368,10 @@ public class Config {
         this.passGo = options.passGo;
         this.tombstone = options.tombstone;
         this.allowMultipleScores = options.allowMultipleScores;
+        this.pregenerateLevels = options.pregenerate;
+        this.compressSave = options.compressSave;
+        this.autosave = options.autosave;
+        this.asyncRender = options.asyncRender;
         if (options.name != null && !options.name.isBlank()) {
             setPlayerName(options.name);
         }
@@ -371,6 +457,62 @@ public class Config {
         return saveFileName;
     }
 
+    /**
+     * Returns the save file, resolved against the java-rogue directory unless its name is an absolute path.
+     *
+     * @return The save file path.
+     */
+    @Nonnull
+    public Path getSaveFilePath() {
+        return Path.of(javaRogueDirName).resolve(saveFileName);
+    }
+
+    /**
+     * Returns the file a game autosaves to, next to the save file.
+     *
+     * @return The autosave file path.
+     */
+    @Nonnull
+    public Path getAutosaveFilePath() {
+        final Path saveFilePath = getSaveFilePath();
+        return saveFilePath.resolveSibling(saveFilePath.getFileName() + DEFAULT_AUTOSAVE_SUFFIX);
+    }
+
+    /**
+     * Returns whether games are journaled as they are played so they can be recovered after a crash.
+     *
+     * @return true if autosaving.
+     * @see com.dungeoncode.javarogue.system.replay.AutosaveJournal
+     */
+    public boolean isAutosave() {
+        return autosave;
+    }
+
+    public void setAutosave(final boolean autosave) {
+        this.autosave = autosave;
+    }
+
+    public boolean isAsyncRender() {
+        return asyncRender;
+    }
+
+    public void setAsyncRender(final boolean asyncRender) {
+        this.asyncRender = asyncRender;
+    }
+
+    /**
+     * Returns whether games are deflated when saved, see {@link SaveFile}.
+     *
+     * @return true if save files are compressed.
+     */
+    public boolean isCompressSave() {
+        return compressSave;
+    }
+
+    public void setCompressSave(final boolean compressSave) {
+        this.compressSave = compressSave;
+    }
+
     public EnumSet<PlayerFlag> getInitialPlayerFlags() {
         return initialPlayerFlags;
     }
@@ -403,6 +545,10 @@ public class Config {
         return scoreFileName;
     }
 
+    public String getScoreHistoryFileName() {
+        return scoreHistoryFileName;
+    }
+
     public byte[] getEncryptionKeyPrimary() {
         return encryptionKeyPrimary;
     }
@@ -427,6 +573,20 @@ public class Config {
         return allowMultipleScores;
     }
 
+    /**
+     * Returns whether the next level is generated in the background while the player is on the current one.
+     *
+     * @return true if levels are pregenerated.
+     * @see LevelPregenerator
+     */
+    public boolean isPregenerateLevels() {
+        return pregenerateLevels;
+    }
+
+    public void setPregenerateLevels(final boolean pregenerateLevels) {
+        this.pregenerateLevels = pregenerateLevels;
+    }
+
     public boolean isTombstone() {
         return tombstone;
     }
@@ -487,6 +647,26 @@ public class Config {
         return terse;
     }
 
+    public void setTerse(boolean terse) {
+        this.terse = terse;
+    }
+
+    public boolean isFlush() {
+        return flush;
+    }
+
+    public void setFlush(boolean flush) {
+        this.flush = flush;
+    }
+
+    public boolean isPassGo() {
+        return passGo;
+    }
+
+    public void setPassGo(boolean passGo) {
+        this.passGo = passGo;
+    }
+
     public int getMaxScrollItemGeneratedNameLength() {
         return maxScrollItemGeneratedNameLength;
     }
@@ -0,0 +1,156 @@
+package com.dungeoncode.javarogue.core;
+
+import com.dungeoncode.javarogue.system.RogueScreen;
+import com.googlecode.lanterna.TerminalSize;
+import com.googlecode.lanterna.TextCharacter;
+
+import javax.annotation.Nonnull;
+import java.io.*;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static com.dungeoncode.javarogue.core.Messages.ERROR_FAILED_CREATE_SNAPSHOT;
+import static com.dungeoncode.javarogue.core.Messages.ERROR_FAILED_RESTORE_SNAPSHOT;
+
+/**
+ * An in-memory copy of a game between two turns, taken with {@link GameState#snapshot()} and put back with
+ * {@link GameState#restore(GameSnapshot)}.
+ * <p>
+ * The mutable part of the game (player and inventory, current level with its map, rooms, monsters and items,
+ * scheduled commands, object factory tables, message line and random generator state) is serialized as a single
+ * object graph, so shared references such as a monster's room survive, and optionally deflated. The screen's back
+ * buffer is kept as references to its immutable {@link TextCharacter}s. A snapshot can be restored any number of
+ * times; {@link SaveFile} writes one to disk to be restored by another process.
+ * </p>
+ * <p>
+ * Only the game's own classes and lambdas, JDK collections and boxed values and Lanterna colors and modifiers are
+ * accepted when the state is read back, within limits on nesting, references, array lengths and size, since save
+ * files come from outside the process.
+ * </p>
+ */
+public final class GameSnapshot {
+
+    /**
+     * The game state of level 26 nests objects 10 deep, holds about 6,600 references, its largest array is the
+     * 2,560 cells of the place grid and it serializes to under 60 KB. The limits leave room for that to grow while
+     * keeping a crafted stream, such as nested hash sets or a huge array, from exhausting the CPU or heap.
+     */
+    private static final ObjectInputFilter MODEL_FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=24;maxrefs=100000;maxarray=65536;maxbytes=4194304;"
+                    + "com.dungeoncode.javarogue.**;java.util.*;java.lang.Object;java.lang.Enum;java.lang.Number;"
+                    + "java.lang.Boolean;java.lang.Byte;java.lang.Character;java.lang.Short;java.lang.Integer;"
+                    + "java.lang.Long;java.lang.invoke.SerializedLambda;com.googlecode.lanterna.TextColor*;"
+                    + "com.googlecode.lanterna.SGR;!*");
+
+    private final long turnCount;
+    private final byte[] model;
+    private final boolean compressed;
+    private final TextCharacter[][] screen;
+
+    GameSnapshot(final long turnCount, @Nonnull final byte[] model, final boolean compressed,
+                 @Nonnull final TextCharacter[][] screen) {
+        this.turnCount = turnCount;
+        this.model = Objects.requireNonNull(model);
+        this.compressed = compressed;
+        this.screen = Objects.requireNonNull(screen);
+    }
+
+    @Nonnull
+    static GameSnapshot capture(final long turnCount, @Nonnull final Serializable model,
+                                @Nonnull final RogueScreen rogueScreen, final boolean compress) {
+        Objects.requireNonNull(model);
+        Objects.requireNonNull(rogueScreen);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                deflater != null ? new DeflaterOutputStream(bytes, deflater) : bytes)) {
+            out.writeObject(model);
+        } catch (IOException ex) {
+            throw new RuntimeException(ERROR_FAILED_CREATE_SNAPSHOT, ex);
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+
+        final TerminalSize size = rogueScreen.getTerminalSize();
+        final TextCharacter[][] screen = new TextCharacter[size.getRows()][size.getColumns()];
+        for (int y = 0; y < screen.length; y++) {
+            for (int x = 0; x < screen[y].length; x++) {
+                screen[y][x] = rogueScreen.getBackCharacter(x, y);
+            }
+        }
+        return new GameSnapshot(turnCount, bytes.toByteArray(), compress, screen);
+    }
+
+    /**
+     * Deserializes a fresh copy of the captured object graph, rejecting classes outside the game's state.
+     */
+    @Nonnull
+    Object readModel() {
+        final InputStream bytes = new ByteArrayInputStream(model);
+        try (ObjectInputStream in = new ObjectInputStream(compressed ? new InflaterInputStream(bytes) : bytes)) {
+            in.setObjectInputFilter(MODEL_FILTER);
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException ex) {
+            throw new RuntimeException(ERROR_FAILED_RESTORE_SNAPSHOT, ex);
+        }
+    }
+
+    /**
+     * Returns the serialized object graph, inflated if the snapshot was captured compressed.
+     */
+    @Nonnull
+    byte[] getSerializedModel() {
+        if (!compressed) {
+            return model;
+        }
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(model))) {
+            return in.readAllBytes();
+        } catch (IOException ex) {
+            throw new RuntimeException(ERROR_FAILED_RESTORE_SNAPSHOT, ex);
+        }
+    }
+
+    boolean isCompressed() {
+        return compressed;
+    }
+
+    @Nonnull
+    TextCharacter[][] getScreen() {
+        return screen;
+    }
+
+    void restoreScreen(@Nonnull final RogueScreen rogueScreen) {
+        for (int y = 0; y < screen.length; y++) {
+            for (int x = 0; x < screen[y].length; x++) {
+                rogueScreen.setCharacter(x, y, screen[y][x]);
+                if (screen[y][x].isDoubleWidth()) {
+                    // Writing the second half of a double width character would blank its first half
+                    x++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of turns the game had started when the snapshot was taken.
+     *
+     * @return The turn count.
+     */
+    public long getTurnCount() {
+        return turnCount;
+    }
+
+    /**
+     * Returns the size of the serialized game state, compressed if it was captured so, not counting the shared
+     * screen characters.
+     *
+     * @return The size in bytes.
+     */
+    public int getSize() {
+        return model.length;
+    }
+}
@@ -3,6 +3,7 @@ package com.dungeoncode.javarogue.core;
 import com.dungeoncode.javarogue.command.Command;
 import com.dungeoncode.javarogue.command.CommandFactory;
 import com.dungeoncode.javarogue.command.core.CommandEternal;
+import com.dungeoncode.javarogue.command.core.CommandScheduler;
 import com.dungeoncode.javarogue.command.core.CommandTimed;
 import com.dungeoncode.javarogue.command.status.CommandSetupPlayerMovesPerTurn;
 import com.dungeoncode.javarogue.command.status.CommandUnconfuse;
@@ -16,6 +17,10 @@ import com.dungeoncode.javarogue.system.entity.Position;
 import com.dungeoncode.javarogue.system.entity.creature.*;
 import com.dungeoncode.javarogue.system.entity.item.*;
 import com.dungeoncode.javarogue.system.initializer.Initializer;
+import com.dungeoncode.javarogue.system.input.InputExhaustedException;
+import com.dungeoncode.javarogue.system.input.KeyStrokeSource;
+import com.dungeoncode.javarogue.system.replay.AutosaveJournal;
+import com.dungeoncode.javarogue.system.replay.ReplayRecorder;
 import com.dungeoncode.javarogue.system.world.*;
 import com.dungeoncode.javarogue.template.MonsterTemplate;
 import com.dungeoncode.javarogue.template.ObjectInfoTemplate;
@@ -23,17 +28,16 @@ import com.dungeoncode.javarogue.template.Templates;
 import com.googlecode.lanterna.SGR;
 import com.googlecode.lanterna.input.KeyStroke;
 import com.googlecode.lanterna.input.KeyType;
-import com.googlecode.lanterna.screen.Screen;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static com.dungeoncode.javarogue.system.SymbolType.MONSTER_SYMBOLS;
 
@@ -49,13 +53,17 @@ public class GameState {
     private final RogueScreen screen;
     private final RogueFactory rogueFactory;
     private final Map<Phase, Boolean> phaseActivity;
-    private final Queue<Command> commandQueue = new ConcurrentLinkedQueue<>();
+    private CommandScheduler commandScheduler = new CommandScheduler();
     private Player player;
     private GameEndReason gameEndReason;
     private DeathSource deathSource;
     private int maxLevel;
     private int levelNum;
     private Level currentLevel;
+    private LevelPool levelPool;
+    private LevelPregenerator levelPregenerator;
+    private ReplayRecorder replayRecorder;
+    private AutosaveJournal autosaveJournal;
     private boolean playing;
     private CommandFactory commandFactory;
     private boolean seenStairs;
@@ -79,10 +87,25 @@ public class GameState {
      */
     private boolean toDeath;
 
+    /**
+     * Number of turns started by the game loop.
+     */
+    private long turnCount;
+
     public GameState(@Nonnull final Config config, @Nonnull final RogueRandom rogueRandom, @Nonnull RogueScreen screen,
                      @Nullable final Initializer initializer, final @Nonnull MessageSystem messageSystem) {
+        this(config, rogueRandom, new RogueFactory(config, rogueRandom), screen, initializer, messageSystem);
+    }
+
+    /**
+     * Constructs a game with an existing object factory, whose random number generator must be the given one.
+     */
+    GameState(@Nonnull final Config config, @Nonnull final RogueRandom rogueRandom,
+              @Nonnull final RogueFactory rogueFactory, @Nonnull RogueScreen screen,
+              @Nullable final Initializer initializer, final @Nonnull MessageSystem messageSystem) {
         Objects.requireNonNull(config);
         Objects.requireNonNull(rogueRandom);
+        Objects.requireNonNull(rogueFactory);
         Objects.requireNonNull(messageSystem);
         Objects.requireNonNull(screen);
         this.config = config;
@@ -90,7 +113,7 @@ public class GameState {
         this.initializer = initializer;
         this.messageSystem = messageSystem;
         this.screen = screen;
-        this.rogueFactory = new RogueFactory(config, rogueRandom);
+        this.rogueFactory = rogueFactory;
         phaseActivity = new HashMap<>();
         init();
     }
@@ -121,71 +144,181 @@ public class GameState {
      * Player commands are executed up to the player's move count (set by {@link CommandSetupPlayerMovesPerTurn}, default 1, increased by {@link CreatureFlag#ISHASTE}).
      * Retries input on {@link KeyType#Escape} (e.g., from Ctrl+C) or if no command is executed.
      * Mirrors the turn-based loop in C Rogue (main.c), with pre-player actions (monsters.c), player input (command.c), and post-player updates (daemon.c).
+     * <p>
+     * When input comes from a finite {@link KeyStrokeSource} (e.g., a headless run), the loop ends once the source
+     * throws {@link InputExhaustedException}.
+     * </p>
      */
     public void loop() {
+        startPlaying();
+        resumeLoop();
+    }
+
+    /**
+     * Runs the game loop of {@link #loop()} without scheduling the every-turn commands, for a game put back with
+     * {@link #restore(GameSnapshot)} whose scheduled commands already include them.
+     */
+    public void resumeLoop() {
+        try {
+            while (playing) {
+                playTurn();
+            }
+        } catch (InputExhaustedException ex) {
+            LOGGER.debug(ex.getMessage());
+            this.playing = false;
+        } finally {
+            screen.flushFrame();
+        }
+    }
 
+    /**
+     * Prepares the game loop: schedules the commands that run every turn. Called once before the first
+     * {@link #playTurn()}, which {@link #loop()} does.
+     */
+    public void startPlaying() {
         this.playing = true;
         this.commandFactory = new CommandFactory(this);
 
         addCommand(new CommandSetupPlayerMovesPerTurn());
         addCommand(new CommandShowPlayerStatus());
         addCommand(new CommandClearMessage());
+    }
 
-        while (playing) {
+    /**
+     * Plays a single turn of the game loop described in {@link #loop()}, reading input until the player's moves for
+     * the turn are done or the game stops.
+     *
+     * @throws InputExhaustedException if the keystroke source runs out during the turn.
+     */
+    public void playTurn() {
+        if (autosaveJournal != null) {
+            autosaveJournal.beginTurn(this);
+        }
+        turnCount++;
+        if (replayRecorder != null) {
+            replayRecorder.markTurn();
+        }
 
-            processPhase(Phase.START_TURN);
+        processPhase(Phase.START_TURN);
 
-            processPhase(Phase.UPKEEP_TURN);
+        processPhase(Phase.UPKEEP_TURN);
 
-            screen.refresh(Screen.RefreshType.DELTA);
+        screen.refresh();
 
-            KeyStroke keyStroke;
-            boolean commandExecuted = false;
+        KeyStroke keyStroke;
+        boolean commandExecuted = false;
 
-            do {
+        do {
 
-                keyStroke = readChar();
+            if (levelPregenerator != null) {
+                // The turn so far drew from the random generator; speculate from where the next command starts
+                levelPregenerator.reschedule(this, levelNum + 1);
+            }
+            keyStroke = readChar();
 
-                processPhase(Phase.INPUT_CLEANUP_TURN);
+            processPhase(Phase.INPUT_CLEANUP_TURN);
 
-                if (!keyStroke.getKeyType().equals(KeyType.Escape)) {
-                    final Command playerCommand = commandFactory.fromKeyStroke(keyStroke);
-                    if (playerCommand != null) {
-                        commandExecuted = playerCommand.execute(this);
-                        if (commandExecuted) {
-                            player.setNtimes(player.getNtimes() - 1);
-                        }
+            if (!keyStroke.getKeyType().equals(KeyType.Escape)) {
+                final Command playerCommand = commandFactory.fromKeyStroke(keyStroke);
+                if (playerCommand != null) {
+                    commandExecuted = playerCommand.execute(this);
+                    if (commandExecuted) {
+                        player.setNtimes(player.getNtimes() - 1);
                     }
-                } else {
-                    // TODO check what happens on ESCAPE user input
-                    // see command.c
-                    //  when ESCAPE: /* Escape */
-                    //  door_stop = FALSE;
-                    //  count = 0;
-                    //  after = FALSE;
-                    //  again = FALSE;
                 }
-            } while (player.getNtimes() > 0 || !commandExecuted || keyStroke.getKeyType().equals(KeyType.Escape));
+            } else {
+                // TODO check what happens on ESCAPE user input
+                // see command.c
+                //  when ESCAPE: /* Escape */
+                //  door_stop = FALSE;
+                //  count = 0;
+                //  after = FALSE;
+                //  again = FALSE;
+            }
+        } while (playing &&
+                (player.getNtimes() > 0 || !commandExecuted || keyStroke.getKeyType().equals(KeyType.Escape)));
+
+        processPhase(Phase.END_TURN);
+    }
 
-            processPhase(Phase.END_TURN);
+    /**
+     * Copies the state of the game between two turns into a compressed {@link GameSnapshot}.
+     *
+     * @return The snapshot.
+     * @throws RuntimeException if part of the state cannot be serialized.
+     */
+    @Nonnull
+    public GameSnapshot snapshot() {
+        return snapshot(true);
+    }
+
+    /**
+     * Copies the state of the game between two turns, see {@link GameSnapshot}.
+     *
+     * @param compress Whether to deflate the serialized state.
+     * @return The snapshot.
+     * @throws RuntimeException if part of the state cannot be serialized.
+     */
+    @Nonnull
+    public GameSnapshot snapshot(final boolean compress) {
+        final Model model = new Model(player, currentLevel, levelNum, maxLevel, noFood, seenStairs, count, toDeath,
+                turnCount, playing, gameEndReason, deathSource, new HashMap<>(phaseActivity), commandScheduler,
+                rogueFactory.tables(), messageSystem.saveState(), rogueRandom.getSeed(),
+                rogueRandom.getOriginSeed(), rogueRandom.getPosition());
+        return GameSnapshot.capture(turnCount, model, screen, compress);
+    }
 
+    /**
+     * Puts the game back in the state of a snapshot taken from this game, or from a game started with the same
+     * configuration. The player, level and scheduled commands are replaced by fresh copies, so references to them
+     * taken before the call are stale.
+     *
+     * @param snapshot The snapshot to restore.
+     */
+    public void restore(@Nonnull final GameSnapshot snapshot) {
+        Objects.requireNonNull(snapshot);
+        final Model model = (Model) snapshot.readModel();
+        this.player = model.player();
+        this.currentLevel = model.currentLevel();
+        if (currentLevel != null) {
+            currentLevel.setRogueRandom(rogueRandom);
         }
+        this.levelNum = model.levelNum();
+        this.maxLevel = model.maxLevel();
+        this.noFood = model.noFood();
+        this.seenStairs = model.seenStairs();
+        this.count = model.count();
+        this.toDeath = model.toDeath();
+        this.turnCount = model.turnCount();
+        this.playing = model.playing();
+        this.gameEndReason = model.gameEndReason();
+        this.deathSource = model.deathSource();
+        this.phaseActivity.clear();
+        this.phaseActivity.putAll(model.phaseActivity());
+        this.commandScheduler = model.commandScheduler();
+        this.commandFactory = new CommandFactory(this);
+        rogueFactory.restoreTables(model.factoryTables());
+        messageSystem.restoreState(model.messageState());
+        rogueRandom.restore(model.randomSeed(), model.randomOriginSeed(), model.randomPosition());
+        snapshot.restoreScreen(screen);
     }
 
     public void addCommand(@Nonnull final Command command) {
         Objects.requireNonNull(command);
-        commandQueue.offer(command);
+        commandScheduler.add(command);
     }
 
     /**
-     * Processes all commands in the queue for the specified phase, if the phase is active.
+     * Processes all commands scheduled for the specified phase, if the phase is active.
      * Phases can be enabled or disabled using {@link #enablePhase(Phase)} and {@link #disablePhase(Phase)}.
      * Handles different command types:
      * <ul>
-     *   <li>{@link CommandTimed}: Decrements the timer and executes when ready, then removed.</li>
-     *   <li>{@link CommandEternal}: Executes every turn and remains in the queue.</li>
+     *   <li>{@link CommandTimed}: Counts down one turn of the phase and executes when ready, then removed.</li>
+     *   <li>{@link CommandEternal}: Executes every turn and remains scheduled.</li>
      *   <li>Other commands: Executes once and is removed.</li>
      * </ul>
+     * Commands are kept per phase by the {@link CommandScheduler}, with timed commands in a timer wheel,
+     * so only the commands of this phase and the timed commands expiring now are visited.
      * This method supports the turn-based structure of the C Rogue source code (main.c),
      * processing commands in a specific phase (e.g., monster movement in monsters.c for
      * START_TURN, player actions in command.c for MAIN_TURN).
@@ -198,22 +331,7 @@ public class GameState {
         if (!phaseActivity.getOrDefault(phase, false)) {
             return;
         }
-        commandQueue.forEach(command -> {
-            if (command.getPhase() == phase) {
-                if (command instanceof CommandTimed commandTimed) {
-                    commandTimed.decrementTimer();
-                    if (commandTimed.isReadyToExecute()) {
-                        command.execute(this);
-                        commandQueue.remove(command);
-                    }
-                } else {
-                    command.execute(this);
-                    if (!(command instanceof CommandEternal)) {
-                        commandQueue.remove(command);
-                    }
-                }
-            }
-        });
+        commandScheduler.process(phase, this);
     }
 
     /**
@@ -238,7 +356,7 @@ public class GameState {
     }
 
     /**
-     * Finds the first command in the command queue with the specified name.
+     * Finds the first scheduled command with the specified name.
      *
      * @param name The name of the command to find.
      * @return The first matching {@link Command} or {@code null} if no command with the given name is found.
@@ -246,10 +364,7 @@ public class GameState {
      */
     public Command findCommandByName(@Nonnull String name) {
         Objects.requireNonNull(name);
-        return commandQueue.stream()
-                .filter(command -> name.equals(command.getName()))
-                .findFirst()
-                .orElse(null);
+        return commandScheduler.findByName(name);
     }
 
     /**
@@ -321,9 +436,7 @@ public class GameState {
         Objects.requireNonNull(monsterPosition);
         final int mx = monsterPosition.getX();
         final int my = monsterPosition.getY();
-        final Place place = currentLevel.getPlaceAt(mx, my);
-        assert place != null;
-        final Monster monster = place.getMonster();
+        final Monster monster = currentLevel.getMonsterAt(mx, my);
         if (monster == null && config.isMaster()) {
             messageSystem.msg(String.format("couldn't find monster in runto at (%d,%d)", mx, my));
         } else if (monster != null) {
@@ -418,11 +531,7 @@ public class GameState {
         final int my = monster.getY();
         final int dist = RogueUtils.dist(mx, my, px, py);
         if (dist < config.getLampDist()) {
-            final Place placepm = currentLevel.getPlaceAt(px, my);
-            final Place placemp = currentLevel.getPlaceAt(mx, py);
-            assert placemp != null;
-            assert placepm != null;
-            return my == py || mx == px || placepm.isStepOk() || placemp.isStepOk();
+            return my == py || mx == px || currentLevel.isStepOk(px, my) || currentLevel.isStepOk(mx, py);
         }
         if (!Objects.equals(monster.getRoom(), player.getRoom())) {
             return false;
@@ -430,6 +539,78 @@ public class GameState {
         return !monster.getRoom().hasFlag(RoomFlag.DARK);
     }
 
+    @Nullable
+    public LevelPool getLevelPool() {
+        return levelPool;
+    }
+
+    /**
+     * Sets a pool that {@link #newLevel(int)} generates levels into. The level being left is released to the pool,
+     * so references to it must not be kept once a new level is generated. A null pool allocates every level.
+     *
+     * @param levelPool The pool to use, or null.
+     */
+    public void setLevelPool(@Nullable final LevelPool levelPool) {
+        this.levelPool = levelPool;
+    }
+
+    @Nullable
+    public LevelPregenerator getLevelPregenerator() {
+        return levelPregenerator;
+    }
+
+    /**
+     * Sets the pregenerator that {@link #newLevel(int)} takes prebuilt levels from, and starts generating the level
+     * below the current one. Replaces and closes the previous pregenerator, if any. A null pregenerator generates
+     * every level when it is entered.
+     *
+     * @param levelPregenerator The pregenerator to use, or null.
+     */
+    public void setLevelPregenerator(@Nullable final LevelPregenerator levelPregenerator) {
+        if (this.levelPregenerator != null && this.levelPregenerator != levelPregenerator) {
+            this.levelPregenerator.close();
+        }
+        this.levelPregenerator = levelPregenerator;
+        if (levelPregenerator != null && currentLevel != null) {
+            levelPregenerator.schedule(this, levelNum + 1);
+        }
+    }
+
+    /**
+     * Returns the recorder writing this game's input to a replay file.
+     *
+     * @return The replay recorder, or null if the game is not recorded.
+     */
+    @Nullable
+    public ReplayRecorder getReplayRecorder() {
+        return replayRecorder;
+    }
+
+    /**
+     * Sets the recorder marking the start of every turn in the replay file. The recorder must also be the
+     * screen's {@link KeyStrokeSource} to record the keystrokes themselves.
+     *
+     * @param replayRecorder The replay recorder, or null to stop marking turns.
+     */
+    public void setReplayRecorder(@Nullable final ReplayRecorder replayRecorder) {
+        this.replayRecorder = replayRecorder;
+    }
+
+    @Nullable
+    public AutosaveJournal getAutosaveJournal() {
+        return autosaveJournal;
+    }
+
+    /**
+     * Sets the journal told about the start of every turn, when it may take a snapshot of the game. The journal must
+     * also be the screen's {@link KeyStrokeSource} to journal the keystrokes themselves.
+     *
+     * @param autosaveJournal The autosave journal, or null to stop autosaving.
+     */
+    public void setAutosaveJournal(@Nullable final AutosaveJournal autosaveJournal) {
+        this.autosaveJournal = autosaveJournal;
+    }
+
     public void setCurrentLevel(Level currentLevel) {
         this.currentLevel = currentLevel;
         this.player.setCurrentLevel(currentLevel.getLevelNum());
@@ -576,9 +757,18 @@ public class GameState {
         screen.clear();
         player.removeFlag(CreatureFlag.ISHELD);
 
-        final LevelGenerator levelGenerator = new LevelGenerator(this);
-        final Level level = levelGenerator.newLevel(levelNum);
-        setCurrentLevel(level);
+        if (levelPool != null && currentLevel != null) {
+            levelPool.release(currentLevel);
+        }
+        final LevelPregenerator.Prebuilt prebuilt =
+                levelPregenerator != null ? levelPregenerator.take(this, levelNum) : null;
+        if (prebuilt != null) {
+            enterPrebuiltLevel(levelNum, prebuilt);
+        } else {
+            final LevelGenerator levelGenerator = new LevelGenerator(this);
+            final Level level = levelGenerator.newLevel(levelNum);
+            setCurrentLevel(level);
+        }
 
         final Position pos = getPlayer().getPosition();
         enterRoom(pos.getX(), pos.getY());
@@ -591,6 +781,32 @@ public class GameState {
         if (player.hasFlag(PlayerFlag.ISHALU)) {
             visuals();
         }
+        if (levelPregenerator != null) {
+            levelPregenerator.schedule(this, levelNum + 1);
+        }
+    }
+
+    /**
+     * Applies a level generated by the {@link LevelPregenerator}, leaving the game in the state
+     * {@link LevelGenerator#newLevel(int)} would have left it in. The random generator skips the draws made in the
+     * background rather than being reseeded, so its draw position, and the indices in its trace, stay the same as
+     * without pregeneration; the skipped draws themselves are not traced.
+     *
+     * @param levelNum The number of the level entered.
+     * @param prebuilt The prebuilt level and the state after its generation.
+     */
+    private void enterPrebuiltLevel(final int levelNum, @Nonnull final LevelPregenerator.Prebuilt prebuilt) {
+        final Level level = prebuilt.level();
+        level.setRogueRandom(rogueRandom);
+        rogueRandom.skip(prebuilt.draws());
+        assert rogueRandom.getSeed() == prebuilt.seed();
+        setLevelNum(levelNum);
+        setMaxLevel(prebuilt.maxLevel());
+        setNoFood(prebuilt.noFood());
+        rogueFactory.setWeaponsGroup(prebuilt.weaponsGroup());
+        setCurrentLevel(level);
+        setSeenStairs(false);
+        player.setPosition(prebuilt.playerPosition().getX(), prebuilt.playerPosition().getY());
     }
 
     /**
@@ -666,15 +882,9 @@ public class GameState {
             return false;
         }
         if (RogueUtils.dist(x, y, player.getX(), player.getY()) < config.getLampDist()) {
-            final Place place = currentLevel.getPlaceAt(x, y);
-            assert place != null;
-            if (place.isType(PlaceType.PASSAGE)) {
-                final Place placepm = currentLevel.getPlaceAt(player.getX(), y);
-                final Place placemp = currentLevel.getPlaceAt(x, player.getY());
-                assert placepm != null;
-                assert placemp != null;
+            if (currentLevel.getPlaceType(x, y) == PlaceType.PASSAGE) {
                 return x == player.getX() || y == player.getY() ||
-                        placepm.isStepOk() || placemp.isStepOk();
+                        currentLevel.isStepOk(player.getX(), y) || currentLevel.isStepOk(x, player.getY());
             }
             return true;
         }
@@ -751,10 +961,9 @@ public class GameState {
         if (!room.hasFlag(RoomFlag.DARK) && !player.hasFlag(CreatureFlag.ISBLIND)) {
             for (int y = room.getY(); y < room.getY() + room.getSize().getY(); y++) {
                 for (int x = room.getX(); x < room.getX() + room.getSize().getX(); x++) {
-                    final Place place = currentLevel.getPlaceAt(x, y);
-                    assert place != null;
-                    final Monster monster = place.getMonster();
-                    final SymbolType symbolType = place.getSymbolType();
+                    final Monster monster = currentLevel.getMonsterAt(x, y);
+                    final SymbolType symbolType = currentLevel.getSymbolType(x, y);
+                    assert symbolType != null;
                     if (monster == null) {
                         screen.putChar(x, y, SymbolMapper.getSymbol(symbolType));
                     } else {
@@ -788,9 +997,7 @@ public class GameState {
         if (!room.hasFlag(RoomFlag.GONE)) {
             for (int y = room.getY(); y < room.getY() + room.getSize().getY(); y++) {
                 for (int x = room.getX(); x < room.getX() + room.getSize().getX(); x++) {
-                    final Place place = currentLevel.getPlaceAt(x, y);
-                    assert place != null;
-                    if (place.getMonster() != null) {
+                    if (currentLevel.getMonsterAt(x, y) != null) {
                         wakeMonster(x, y);
                     }
                 }
@@ -808,9 +1015,7 @@ public class GameState {
      * @param y The y-coordinate of the monster's position.
      */
     private void wakeMonster(final int x, final int y) {
-        final Place place = currentLevel.getPlaceAt(x, y);
-        assert place != null;
-        final Monster monster = place.getMonster();
+        final Monster monster = currentLevel.getMonsterAt(x, y);
 
         if (monster == null && config.isMaster()) {
             messageSystem.msg("can't find monster in wake_monster");
@@ -1111,13 +1316,9 @@ public class GameState {
      */
     @Nullable
     private Item findItemAt(final int x, final int y) {
-        final Position position = new Position(x, y);
-        final Item foundItem = currentLevel.getItems().stream()
-                .filter(item -> item.getPosition().equals(position))
-                .findFirst()
-                .orElse(null);
+        final Item foundItem = currentLevel.findItemAt(x, y);
         if (foundItem == null && config.isMaster()) {
-            messageSystem.msg(String.format("Non-object %d,%d", position.getY(), position.getX()));
+            messageSystem.msg(String.format("Non-object %d,%d", y, x));
         }
         return foundItem;
     }
@@ -1364,8 +1565,18 @@ public class GameState {
         return screen;
     }
 
+    /**
+     * Returns a snapshot of all scheduled commands in the order they were added.
+     * Use {@link #addCommand(Command)} to schedule commands; changes to the snapshot are not applied.
+     *
+     * @return The scheduled commands.
+     */
     public Queue<Command> getCommandQueue() {
-        return commandQueue;
+        return commandScheduler.snapshot();
+    }
+
+    public CommandScheduler getCommandScheduler() {
+        return commandScheduler;
     }
 
     public Map<Phase, Boolean> getPhaseActivity() {
@@ -1400,4 +1611,31 @@ public class GameState {
         this.seenStairs = seenStairs;
     }
 
-}
\ No newline at end of file
+    public long getTurnCount() {
+        return turnCount;
+    }
+
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    /**
+     * Stops the game loop. No more input is read for the current turn, which then completes.
+     */
+    public void stopPlaying() {
+        this.playing = false;
+    }
+
+    /**
+     * The mutable state of a game captured by {@link #snapshot()}.
+     */
+    private record Model(Player player, Level currentLevel, int levelNum, int maxLevel, int noFood,
+                         boolean seenStairs, int count, boolean toDeath, long turnCount, boolean playing,
+                         GameEndReason gameEndReason, DeathSource deathSource, HashMap<Phase, Boolean> phaseActivity,
+                         CommandScheduler commandScheduler, RogueFactory.Tables factoryTables,
+                         MessageSystem.State messageState, long randomSeed, long randomOriginSeed,
+                         long randomPosition) implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+}
@@ -0,0 +1,237 @@
+package com.dungeoncode.javarogue.core;
+
+import com.dungeoncode.javarogue.system.HeadlessRogueScreen;
+import com.dungeoncode.javarogue.system.LevelGenerator;
+import com.dungeoncode.javarogue.system.MessageSystem;
+import com.dungeoncode.javarogue.system.entity.Position;
+import com.dungeoncode.javarogue.system.entity.creature.Player;
+import com.dungeoncode.javarogue.system.entity.item.Amulet;
+import com.dungeoncode.javarogue.system.entity.item.ObjectType;
+import com.dungeoncode.javarogue.system.entity.item.RingType;
+import com.dungeoncode.javarogue.system.input.KeyStrokeSource;
+import com.dungeoncode.javarogue.system.world.Level;
+import com.googlecode.lanterna.input.KeyStroke;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Speculatively generates the next dungeon level on a background thread while the player is on the current one.
+ * <p>
+ * Generation runs in a private {@link GameState} seeded with a snapshot of everything
+ * {@link LevelGenerator#newLevel(int)} depends on: the random generator state, <code>no_food</code>,
+ * <code>max_level</code>, whether the player carries the amulet and a copy of the game's {@link RogueFactory}
+ * with its item names and weapons group counter. When the stairs are taken,
+ * {@link GameState#newLevel(int)} adopts the prebuilt level only if those inputs are still the same, in which case
+ * it is identical to the level that would have been generated in place. Otherwise the speculation is discarded and
+ * the level is generated normally, so seeds behave exactly as without pregeneration.
+ * </p>
+ * <p>
+ * Play draws from the random generator, e.g., for monsters waking up or moving, so a speculation scheduled on entering
+ * a level rarely matches by the time the stairs are taken. The game therefore calls
+ * {@link #reschedule(GameState, int)} before reading each command, which starts again from the current state when it
+ * changed; descending then finds a level generated from the state it descends from. A speculation still running when
+ * it is replaced is finished before the next one starts, so at most one level is generated at a time.
+ * </p>
+ * <p>
+ * A pregenerator belongs to one game and is driven from the game thread; only the generation itself runs in the
+ * background. Nothing is speculated while the player wears a ring of aggravate monster, since new monsters then
+ * start chasing the player as part of generation.
+ * </p>
+ */
+public class LevelPregenerator implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LevelPregenerator.class);
+
+    /**
+     * Answers any prompt raised while generating in the background.
+     */
+    private static final KeyStrokeSource DISMISS_PROMPTS = () -> new KeyStroke(' ', false, false);
+
+    private final ExecutorService executor;
+    private Inputs pendingInputs;
+    private Future<Prebuilt> pendingLevel;
+    private int hits;
+    private int misses;
+
+    public LevelPregenerator() {
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "level-pregenerator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts generating the given level from the current state of the game, replacing any pending speculation.
+     * Does nothing if the player wears a ring of aggravate monster.
+     *
+     * @param gameState The game whose next level is generated.
+     * @param levelNum  The number of the level to generate.
+     */
+    public void schedule(@Nonnull final GameState gameState, final int levelNum) {
+        Objects.requireNonNull(gameState);
+        discard();
+        final Player player = gameState.getPlayer();
+        if (player == null || player.isWearing(RingType.R_AGGR)) {
+            return;
+        }
+        final Inputs inputs = Inputs.of(gameState, levelNum);
+        final Config config = gameState.getConfig();
+        final RogueRandom rogueRandom = new RogueRandom(inputs.seed());
+        final RogueFactory rogueFactory = new RogueFactory(gameState.getRogueFactory(), rogueRandom);
+        pendingInputs = inputs;
+        pendingLevel = executor.submit(() -> generate(config, rogueRandom, rogueFactory, inputs));
+    }
+
+    /**
+     * Re-keys the speculation to the current state of the game: starts generating the given level again if the
+     * state generation depends on changed since it was scheduled, or if nothing is pending. Does nothing while the
+     * pending speculation still matches.
+     *
+     * @param gameState The game whose next level is generated.
+     * @param levelNum  The number of the level to generate.
+     */
+    public void reschedule(@Nonnull final GameState gameState, final int levelNum) {
+        Objects.requireNonNull(gameState);
+        if (gameState.getPlayer() == null) {
+            return;
+        }
+        if (pendingLevel == null || !pendingInputs.equals(Inputs.of(gameState, levelNum))) {
+            schedule(gameState, levelNum);
+        }
+    }
+
+    /**
+     * Returns the pending level if it was generated for the given level number from the current state of the game.
+     * The pending speculation is consumed either way.
+     *
+     * @param gameState The game about to enter the level.
+     * @param levelNum  The number of the level being entered.
+     * @return The prebuilt level, or null if there is none or it no longer matches the game.
+     */
+    @Nullable
+    public Prebuilt take(@Nonnull final GameState gameState, final int levelNum) {
+        Objects.requireNonNull(gameState);
+        if (pendingLevel == null) {
+            return null;
+        }
+        if (!pendingInputs.equals(Inputs.of(gameState, levelNum))) {
+            LOGGER.debug("Discarding pregenerated level {}, game state changed", pendingInputs.levelNum());
+            discard();
+            misses++;
+            return null;
+        }
+        final Future<Prebuilt> future = pendingLevel;
+        pendingLevel = null;
+        pendingInputs = null;
+        try {
+            final Prebuilt prebuilt = future.get();
+            hits++;
+            return prebuilt;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            LOGGER.warn("Pregenerating level {} failed", levelNum, ex.getCause());
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Cancels the pending speculation, if any.
+     */
+    public void discard() {
+        if (pendingLevel != null) {
+            pendingLevel.cancel(false);
+            pendingLevel = null;
+            pendingInputs = null;
+        }
+    }
+
+    /**
+     * Returns the number of prebuilt levels adopted by {@link #take(GameState, int)}.
+     *
+     * @return The hit count.
+     */
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of prebuilt levels discarded by {@link #take(GameState, int)} because the game had changed
+     * or generation failed.
+     *
+     * @return The miss count.
+     */
+    public int getMisses() {
+        return misses;
+    }
+
+    @Override
+    public void close() {
+        discard();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Generates a level in a private game built from the snapshot. Runs on the background thread, so the private
+     * player carries its own amulet rather than the game's: generation only checks that one is carried.
+     */
+    @Nonnull
+    private static Prebuilt generate(@Nonnull final Config config, @Nonnull final RogueRandom rogueRandom,
+                                     @Nonnull final RogueFactory rogueFactory, @Nonnull final Inputs inputs)
+            throws IOException {
+        final HeadlessRogueScreen screen = new HeadlessRogueScreen(config, DISMISS_PROMPTS);
+        final GameState sandbox = new GameState(config, rogueRandom, rogueFactory, screen, null,
+                new MessageSystem(screen));
+        final Player player = new Player(config);
+        if (inputs.amulet()) {
+            player.getInventory().getItems().add(new Amulet());
+        }
+        sandbox.setPlayer(player);
+        sandbox.setNoFood(inputs.noFood());
+        sandbox.setMaxLevel(inputs.maxLevel());
+
+        final Level level = new LevelGenerator(sandbox).newLevel(inputs.levelNum());
+        final Position position = player.getPosition();
+        return new Prebuilt(level, rogueRandom.getSeed(), rogueRandom.getPosition(), sandbox.getNoFood(),
+                sandbox.getMaxLevel(),
+                rogueFactory.getWeaponsGroup(), new Position(position.getX(), position.getY()));
+    }
+
+    /**
+     * The state level generation depends on.
+     */
+    private record Inputs(int levelNum, long seed, int noFood, int maxLevel, int weaponsGroup, boolean amulet) {
+
+        static Inputs of(@Nonnull final GameState gameState, final int levelNum) {
+            return new Inputs(levelNum, gameState.getRogueRandom().getSeed(), gameState.getNoFood(),
+                    gameState.getMaxLevel(), gameState.getRogueFactory().getWeaponsGroup(),
+                    gameState.getPlayer().getInventory().contains(ObjectType.AMULET));
+        }
+    }
+
+    /**
+     * A level generated in the background, with the game state it leaves behind.
+     *
+     * @param level          The generated level.
+     * @param seed           The random generator state after generation.
+     * @param draws          The number of random draws generation made.
+     * @param noFood         <code>no_food</code> after generation.
+     * @param maxLevel       <code>max_level</code> after generation.
+     * @param weaponsGroup   The object factory's weapons group counter after generation.
+     * @param playerPosition The position the player starts at.
+     */
+    public record Prebuilt(@Nonnull Level level, long seed, long draws, int noFood, int maxLevel, int weaponsGroup,
+                           @Nonnull Position playerPosition) {
+    }
+}
@@ -11,15 +11,28 @@ public class Messages {
 
     public static final String ERROR_BAD_PROBABILITY_PERCENTAGES = "Bad percentages for %s (bound = %d):";
     public static final String ERROR_EMPTY_NAME = "Name must be non-empty";
-    public static final String ERROR_FAILED_CREATE_DIRS = "Failed to create directories: %s";
     public static final String ERROR_FAILED_CREATE_PROMPT_PASSWORD = "Failed to create prompt for password. Exception: ";
-    public static final String ERROR_FAILED_CREATE_SCORE_FILE = "Failed to create score file: %s";
+    public static final String ERROR_FAILED_CREATE_SNAPSHOT = "Failed to create game snapshot";
     public static final String ERROR_FAILED_CREATE_TERMINAL = "Failed to create terminal screen. Exception: ";
     public static final String ERROR_FAILED_LOAD_SYLLABLES = "Failed to load syllables from %s";
+    public static final String ERROR_FAILED_READ_JOURNAL = "Failed to read autosave journal: %s";
+    public static final String ERROR_FAILED_READ_REPLAY = "Failed to read replay: %s";
+    public static final String ERROR_FAILED_READ_RNG_TRACE = "Failed to read random number trace: %s";
+    public static final String ERROR_FAILED_READ_SAVE = "Failed to read save file: %s";
+    public static final String ERROR_FAILED_READ_SCORE_FILE = "Failed to read score file: %s";
+    public static final String ERROR_FAILED_READ_SCORE_HISTORY = "Failed to read score history: %s";
     public static final String ERROR_FAILED_PARSE_CLI_ARGS = "Failed to parse command line arguments. Exception: ";
+    public static final String ERROR_FAILED_RENDER_FRAME = "Failed to render frame";
+    public static final String ERROR_FAILED_RESTORE_SNAPSHOT = "Failed to restore game snapshot";
     public static final String ERROR_FAILED_STOP_SCREEN = "Failed to stop screen. Exception: ";
     public static final String ERROR_FAILED_TO_LOAD_DATA = "Failed to load data from %s";
     public static final String ERROR_FAILED_TO_LOAD_DATA_FROM_JSON = "Failed to load data from json.";
+    public static final String ERROR_FAILED_WRITE_JOURNAL = "Failed to write autosave journal: %s";
+    public static final String ERROR_FAILED_WRITE_REPLAY = "Failed to write replay: %s";
+    public static final String ERROR_FAILED_WRITE_RNG_TRACE = "Failed to write random number trace: %s";
+    public static final String ERROR_FAILED_WRITE_SAVE = "Failed to write save file: %s";
+    public static final String ERROR_FAILED_WRITE_SCORE_FILE = "Failed to write score file: %s";
+    public static final String ERROR_FAILED_WRITE_SCORE_HISTORY = "Failed to write score history: %s";
     public static final String ERROR_LEVEL_COORDS_OUT_OF_BOUNDS = "Coordinates (%d, %d) out of bounds for level size %dx%d";
     public static final String ERROR_NO_DEATH_CAUSES = "No available death causes to select from.";
     public static final String ERROR_NO_OBJECT_INFO_TEMPLATE_FOUND = "No %s found for ItemSubType %s";
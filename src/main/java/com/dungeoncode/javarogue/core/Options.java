@@ -51,6 +51,13 @@ public class Options {
     @CommandLine.Option(names = "-useLegacySeed", description = "Use original Rogue seed logic based on system time (true/false)")
     public Boolean useLegacySeed = false;
 
+    /**
+     * Generates the next level in the background while the player is on the current one. Levels are the same as
+     * without this option for a given seed.
+     */
+    @CommandLine.Option(names = "-pregenerate", description = "Generate the next level in the background (true/false)")
+    public Boolean pregenerate = false;
+
     @CommandLine.Option(names = "-name", description = "Player name")
     public String name;
 
@@ -60,6 +67,36 @@ public class Options {
     @CommandLine.Option(names = "-file", description = "Save file path")
     public String file;
 
+    /**
+     * Continues the game saved in the save file instead of starting a new one. The save file is deleted once
+     * restored, unless in wizard mode, as in the original game.
+     */
+    @CommandLine.Option(names = "-restore", description = "Restore the game from the save file")
+    public boolean restore = false;
+
+    @CommandLine.Option(names = "-compressSave", description = "Compress the save file (true/false)")
+    public Boolean compressSave = true;
+
+    /**
+     * Journals the game as it is played, next to the save file, and recovers the journaled game on start if the
+     * previous one did not end normally.
+     */
+    @CommandLine.Option(names = "-autosave", description = "Autosave the game and recover it after a crash (true/false)")
+    public Boolean autosave = false;
+
+    /**
+     * Draws the screen on a render thread so that turns do not wait for the terminal.
+     */
+    @CommandLine.Option(names = "-asyncRender", description = "Draw the screen on a render thread (true/false)")
+    public Boolean asyncRender = true;
+
     @CommandLine.Option(names = "-seed", description = "Dungeon seed for RNG")
     public Integer seed;
+
+    /**
+     * Records the seed and every keystroke of the game to a replay file, which can be played back with
+     * {@link com.dungeoncode.javarogue.main.PlayReplay}.
+     */
+    @CommandLine.Option(names = "-record", description = "Record the game to a replay file")
+    public String record;
 }
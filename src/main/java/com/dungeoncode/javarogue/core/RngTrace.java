@@ -0,0 +1,346 @@
+package com.dungeoncode.javarogue.core;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Records the draws of a {@link RogueRandom} for determinism debugging: when a seeded dungeon diverges between two
+ * builds, the traces of both runs show which call consumed an extra draw.
+ * <p>
+ * Every draw is stored with its index, the kind of call that made it ({@link RogueRandom#rnd(int)},
+ * {@link RogueRandom#roll(int, int)} or {@link RogueRandom#spread(int)}), its range, its result and optionally the
+ * call site outside {@link RogueRandom}. Entries go into preallocated parallel arrays used as a ring buffer, so a
+ * trace keeps the most recent {@link #getCapacity()} draws. Call sites are found with a {@link StackWalker} and
+ * interned to small ids, which makes capturing them far slower than the draws themselves; leave them off to only
+ * pay for the array writes. A generator without a trace only pays a null check per draw.
+ * </p>
+ * <p>
+ * Traces are written with {@link #write(Path)} to a compact binary file and compared with
+ * {@link #findDivergence(RngTrace, RngTrace)}. A trace is not thread-safe; it belongs to a single generator.
+ * </p>
+ */
+public class RngTrace {
+
+    /**
+     * The public {@link RogueRandom} method a draw was made through.
+     */
+    public enum Kind {
+        RND, ROLL, SPREAD
+    }
+
+    /**
+     * The first draw at which two traces differ.
+     *
+     * @param position The draw index, counted from the seed of the generator.
+     * @param expected The entry of the first trace, or null if it ended first.
+     * @param actual   The entry of the second trace, or null if it ended first.
+     */
+    public record Divergence(long position, @Nullable Entry expected, @Nullable Entry actual) {
+    }
+
+    /**
+     * A single recorded draw.
+     *
+     * @param position The draw index, counted from the seed of the generator.
+     * @param kind     The method the draw was made through.
+     * @param range    The exclusive upper bound of the draw.
+     * @param result   The value drawn.
+     * @param callSite The calling method and line, or null if call sites were not captured.
+     */
+    public record Entry(long position, @Nonnull Kind kind, int range, int result, @Nullable String callSite) {
+
+        @Override
+        public String toString() {
+            return String.format("#%d %s(%d) = %d%s", position, kind.name().toLowerCase(), range, result,
+                    callSite != null ? " at " + callSite : "");
+        }
+    }
+
+    private static final int MAGIC = 0x524E4754; // "RNGT"
+    private static final short VERSION = 1;
+    private static final Kind[] KINDS = Kind.values();
+    private static final int NO_CALL_SITE = -1;
+
+    private final long[] positions;
+    private final byte[] kinds;
+    private final int[] ranges;
+    private final int[] results;
+    private final int[] callSites;
+    private final int mask;
+    private final boolean captureCallSites;
+    private final Map<CallSite, Integer> callSiteIds;
+    private final List<String> callSiteNames;
+    private final StackWalker stackWalker;
+    private long startSeed;
+    private long startPosition;
+    private long recorded;
+
+    /**
+     * Constructs a trace keeping the most recent draws.
+     *
+     * @param capacity         The number of draws kept, rounded up to a power of two.
+     * @param captureCallSites Whether to record the call site of every draw.
+     * @throws IllegalArgumentException if capacity is not positive or above 2<sup>30</sup>.
+     */
+    public RngTrace(final int capacity, final boolean captureCallSites) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException(String.format("Invalid trace capacity: %d", capacity));
+        }
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.positions = new long[size];
+        this.kinds = new byte[size];
+        this.ranges = new int[size];
+        this.results = new int[size];
+        this.callSites = new int[size];
+        this.mask = size - 1;
+        this.captureCallSites = captureCallSites;
+        this.callSiteIds = new HashMap<>();
+        this.callSiteNames = new ArrayList<>();
+        this.stackWalker = captureCallSites ? StackWalker.getInstance() : null;
+    }
+
+    /**
+     * Marks the state of the generator when tracing starts. Called by {@link RogueRandom#setTrace(RngTrace)}.
+     */
+    void start(final long seed, final long position) {
+        this.startSeed = seed;
+        this.startPosition = position;
+        this.recorded = 0;
+        this.callSiteIds.clear();
+        this.callSiteNames.clear();
+    }
+
+    /**
+     * Records a draw. Called by {@link RogueRandom} after every draw.
+     */
+    void record(final long position, @Nonnull final Kind kind, final int range, final int result) {
+        final int slot = (int) (recorded++ & mask);
+        positions[slot] = position;
+        kinds[slot] = (byte) kind.ordinal();
+        ranges[slot] = range;
+        results[slot] = result;
+        callSites[slot] = captureCallSites ? callSiteId() : NO_CALL_SITE;
+    }
+
+    /**
+     * Returns the id of the first caller outside this class and {@link RogueRandom}, interning it if needed.
+     */
+    private int callSiteId() {
+        final CallSite callSite = stackWalker.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().equals(RogueRandom.class.getName())
+                        && !frame.getClassName().equals(RngTrace.class.getName()))
+                .findFirst()
+                .map(frame -> new CallSite(frame.getClassName(), frame.getMethodName(), frame.getLineNumber()))
+                .orElse(null));
+        if (callSite == null) {
+            return NO_CALL_SITE;
+        }
+        return callSiteIds.computeIfAbsent(callSite, site -> {
+            callSiteNames.add(site.toString());
+            return callSiteNames.size() - 1;
+        });
+    }
+
+    /**
+     * Returns the number of draws the ring buffer keeps.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return positions.length;
+    }
+
+    /**
+     * Returns the number of draws recorded since tracing started, including those overwritten in the ring buffer.
+     *
+     * @return The recorded draw count.
+     */
+    public long getRecorded() {
+        return recorded;
+    }
+
+    /**
+     * Returns the number of draws currently held, at most {@link #getCapacity()}.
+     *
+     * @return The entry count.
+     */
+    public int size() {
+        return (int) Math.min(recorded, positions.length);
+    }
+
+    /**
+     * Returns the seed of the generator when tracing started.
+     *
+     * @return The start seed.
+     */
+    public long getStartSeed() {
+        return startSeed;
+    }
+
+    /**
+     * Returns the draw position of the generator when tracing started.
+     *
+     * @return The start position.
+     */
+    public long getStartPosition() {
+        return startPosition;
+    }
+
+    /**
+     * Returns a held entry, oldest first.
+     *
+     * @param index The index of the entry, from 0 to {@link #size()} exclusive.
+     * @return The entry.
+     * @throws IndexOutOfBoundsException if index is out of range.
+     */
+    @Nonnull
+    public Entry getEntry(final int index) {
+        Objects.checkIndex(index, size());
+        final int slot = (int) ((recorded - size() + index) & mask);
+        final int callSite = callSites[slot];
+        return new Entry(positions[slot], KINDS[kinds[slot]], ranges[slot], results[slot],
+                callSite == NO_CALL_SITE ? null : callSiteNames.get(callSite));
+    }
+
+    /**
+     * Writes the held entries to a file.
+     * <p>
+     * The file holds a header (magic, version, start seed and position, recorded count), the interned call sites
+     * and one fixed-size record per entry, oldest first.
+     * </p>
+     *
+     * @param path The file to write.
+     * @throws RuntimeException if the file cannot be written.
+     */
+    public void write(@Nonnull final Path path) {
+        Objects.requireNonNull(path);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(startSeed);
+            out.writeLong(startPosition);
+            out.writeLong(recorded);
+            out.writeInt(callSiteNames.size());
+            for (final String callSiteName : callSiteNames) {
+                out.writeUTF(callSiteName);
+            }
+            final int size = size();
+            out.writeInt(size);
+            for (int index = 0; index < size; index++) {
+                final int slot = (int) ((recorded - size + index) & mask);
+                out.writeLong(positions[slot]);
+                out.writeByte(kinds[slot]);
+                out.writeInt(ranges[slot]);
+                out.writeInt(results[slot]);
+                out.writeInt(callSites[slot]);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format(Messages.ERROR_FAILED_WRITE_RNG_TRACE, path), ex);
+        }
+    }
+
+    /**
+     * Reads a trace written by {@link #write(Path)}. The trace returned holds exactly the entries of the file.
+     *
+     * @param path The file to read.
+     * @return The trace.
+     * @throws RuntimeException if the file cannot be read or is not a trace.
+     */
+    @Nonnull
+    public static RngTrace read(@Nonnull final Path path) {
+        Objects.requireNonNull(path);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException("Not a trace file");
+            }
+            final long startSeed = in.readLong();
+            final long startPosition = in.readLong();
+            final long recorded = in.readLong();
+            final int callSiteCount = in.readInt();
+            final List<String> callSiteNames = new ArrayList<>(callSiteCount);
+            for (int i = 0; i < callSiteCount; i++) {
+                callSiteNames.add(in.readUTF());
+            }
+            final int size = in.readInt();
+            final RngTrace trace = new RngTrace(Math.max(size, 1), false);
+            trace.start(startSeed, startPosition);
+            trace.callSiteNames.addAll(callSiteNames);
+            trace.recorded = recorded - size;
+            for (int index = 0; index < size; index++) {
+                final int slot = (int) (trace.recorded++ & trace.mask);
+                trace.positions[slot] = in.readLong();
+                trace.kinds[slot] = in.readByte();
+                trace.ranges[slot] = in.readInt();
+                trace.results[slot] = in.readInt();
+                trace.callSites[slot] = in.readInt();
+            }
+            return trace;
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format(Messages.ERROR_FAILED_READ_RNG_TRACE, path), ex);
+        }
+    }
+
+    /**
+     * Finds the first draw at which two traces differ, comparing the kind, range, result and, when both traces
+     * captured it, the call site. Only the draws both traces still hold are compared.
+     *
+     * @param expected The reference trace.
+     * @param actual   The trace compared to it.
+     * @return The first divergence, or null if the traces agree on every draw they share and end together.
+     */
+    @Nullable
+    public static Divergence findDivergence(@Nonnull final RngTrace expected, @Nonnull final RngTrace actual) {
+        Objects.requireNonNull(expected);
+        Objects.requireNonNull(actual);
+        int expectedIndex = 0;
+        int actualIndex = 0;
+        // Align both traces on the first draw they both hold
+        if (expected.size() > 0 && actual.size() > 0) {
+            final long first = Math.max(expected.getEntry(0).position(), actual.getEntry(0).position());
+            while (expectedIndex < expected.size() && expected.getEntry(expectedIndex).position() < first) {
+                expectedIndex++;
+            }
+            while (actualIndex < actual.size() && actual.getEntry(actualIndex).position() < first) {
+                actualIndex++;
+            }
+        }
+        while (expectedIndex < expected.size() && actualIndex < actual.size()) {
+            final Entry expectedEntry = expected.getEntry(expectedIndex++);
+            final Entry actualEntry = actual.getEntry(actualIndex++);
+            final boolean sameCallSite = expectedEntry.callSite() == null || actualEntry.callSite() == null
+                    || expectedEntry.callSite().equals(actualEntry.callSite());
+            if (expectedEntry.position() != actualEntry.position() || expectedEntry.kind() != actualEntry.kind()
+                    || expectedEntry.range() != actualEntry.range() || expectedEntry.result() != actualEntry.result()
+                    || !sameCallSite) {
+                return new Divergence(Math.min(expectedEntry.position(), actualEntry.position()),
+                        expectedEntry, actualEntry);
+            }
+        }
+        if (expectedIndex < expected.size()) {
+            final Entry expectedEntry = expected.getEntry(expectedIndex);
+            return new Divergence(expectedEntry.position(), expectedEntry, null);
+        }
+        if (actualIndex < actual.size()) {
+            final Entry actualEntry = actual.getEntry(actualIndex);
+            return new Divergence(actualEntry.position(), null, actualEntry);
+        }
+        return null;
+    }
+
+    private record CallSite(String className, String methodName, int lineNumber) {
+
+        @Override
+        public String toString() {
+            final String simpleName = className.substring(className.lastIndexOf('.') + 1);
+            return simpleName + "." + methodName + ":" + lineNumber;
+        }
+    }
+}
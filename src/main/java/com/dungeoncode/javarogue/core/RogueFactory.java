@@ -12,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.InputStream;
+import java.io.Serializable;
 import java.util.*;
 
 /**
@@ -116,6 +117,18 @@ public class RogueFactory {
             ObjectType.AMULET
     };
     private static final int DEFAULT_WEAPONS_GROUP = 2;
+    /**
+     * Precomputed samplers for {@link #pickOne(ObjectType)}, one per {@link ObjectType} plus one for the
+     * <code>things</code> table, built once from the static {@link Templates}.
+     */
+    private static final EnumMap<ObjectType, ItemSampler> ITEM_SAMPLERS = new EnumMap<>(ObjectType.class);
+    private static final ItemSampler THING_SAMPLER = new ItemSampler(Templates.getTemplates((ObjectType) null));
+
+    static {
+        for (final ObjectType objectType : ObjectType.values()) {
+            ITEM_SAMPLERS.put(objectType, new ItemSampler(Templates.getTemplates(objectType)));
+        }
+    }
 
     private final Config config;
     private final RogueRandom rogueRandom;
@@ -154,6 +167,56 @@ public class RogueFactory {
         init();
     }
 
+    /**
+     * Constructs a factory with the same generated names, ring worths, rod forms, identification state and weapons
+     * group counter as the given one, drawing from another random number generator. Unlike
+     * {@link #RogueFactory(Config, RogueRandom)} it draws no random numbers.
+     *
+     * @param source      The factory to copy.
+     * @param rogueRandom The random number generator of the copy.
+     */
+    RogueFactory(@Nonnull final RogueFactory source, @Nonnull final RogueRandom rogueRandom) {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(rogueRandom);
+        this.config = source.config;
+        this.rogueRandom = rogueRandom;
+        this.maxScrollGeneratedNameLength = source.maxScrollGeneratedNameLength;
+        this.itemSubTypeNames = new HashMap<>(source.itemSubTypeNames);
+        this.ringWorthMap = new HashMap<>(source.ringWorthMap);
+        this.rodFormData = new HashMap<>(source.rodFormData);
+        this.itemSubTypeKnown = new HashMap<>(source.itemSubTypeKnown);
+        this.itemSubTypeGuessNames = new HashMap<>(source.itemSubTypeGuessNames);
+        this.weaponsGroup = source.weaponsGroup;
+    }
+
+    /**
+     * Captures the item name, worth, form and knowledge tables and the weapons group counter. The tables are the
+     * factory's own maps, so the result must be copied, e.g., by serializing it, before the factory changes them.
+     */
+    @Nonnull
+    Tables tables() {
+        return new Tables(itemSubTypeNames, ringWorthMap, rodFormData, itemSubTypeKnown, itemSubTypeGuessNames,
+                weaponsGroup);
+    }
+
+    /**
+     * Replaces the tables and weapons group counter with the ones captured by {@link #tables()}.
+     */
+    void restoreTables(@Nonnull final Tables tables) {
+        Objects.requireNonNull(tables);
+        replace(itemSubTypeNames, tables.itemSubTypeNames());
+        replace(ringWorthMap, tables.ringWorthMap());
+        replace(rodFormData, tables.rodFormData());
+        replace(itemSubTypeKnown, tables.itemSubTypeKnown());
+        replace(itemSubTypeGuessNames, tables.itemSubTypeGuessNames());
+        weaponsGroup = tables.weaponsGroup();
+    }
+
+    private static <K, V> void replace(@Nonnull final Map<K, V> target, @Nonnull final Map<K, V> source) {
+        target.clear();
+        target.putAll(source);
+    }
+
     public void init() {
         weaponsGroup = DEFAULT_WEAPONS_GROUP;
         itemSubTypeNames.clear();
@@ -335,18 +398,10 @@ public class RogueFactory {
      */
     @Nonnull
     public PickResult pickOne(@Nullable ObjectType objectType) {
-        final Set<Template> templates = Templates.getTemplates(objectType);
-
-        // Filter templates with probability > 0 and sort by ID
-        final List<ObjectInfoTemplate> validTemplates = templates.stream()
-                .filter(t -> t instanceof ObjectInfoTemplate)
-                .map(t -> (ObjectInfoTemplate) t)
-                .filter(template -> template.getProbability() > 0)
-                .sorted(Comparator.comparingLong(ObjectInfoTemplate::getId))
-                .toList();
+        final ItemSampler sampler = objectType == null ? THING_SAMPLER : ITEM_SAMPLERS.get(objectType);
 
         // Throw if no valid templates found
-        if (validTemplates.isEmpty()) {
+        if (sampler.templates.isEmpty()) {
             throw new IllegalStateException("No ObjectInfoTemplates with positive probability found");
         }
 
@@ -354,22 +409,21 @@ public class RogueFactory {
         final int random = rogueRandom.rnd(100);
 
         // Select the first template where random < cumulativeProbability
-        for (ObjectInfoTemplate template : validTemplates) {
-            if (random < template.getCumulativeProbability()) {
-                return new PickResult(template.getObjectType(), template.getItemSubType(), false, null, null);
-            }
+        final int index = sampler.indexOf(random);
+        if (index >= 0) {
+            return sampler.results[index];
         }
 
         // Bad pick: no template matched, prepare formatted message
-        final String badPickMessage = String.format("bad pick_one: %d from %d items", random, validTemplates.size());
+        final String badPickMessage = String.format("bad pick_one: %d from %d items", random, sampler.templates.size());
 
         // Default to first template, include checked templates
         return new PickResult(
-                validTemplates.get(0).getObjectType(),
-                validTemplates.get(0).getItemSubType(),
+                sampler.templates.get(0).getObjectType(),
+                sampler.templates.get(0).getItemSubType(),
                 true,
                 badPickMessage,
-                List.copyOf(validTemplates)
+                sampler.templates
         );
     }
 
@@ -572,6 +626,14 @@ public class RogueFactory {
         return scroll;
     }
 
+    int getWeaponsGroup() {
+        return weaponsGroup;
+    }
+
+    void setWeaponsGroup(final int weaponsGroup) {
+        this.weaponsGroup = weaponsGroup;
+    }
+
     /**
      * Creates and initializes a {@link Weapon} of the specified {@link WeaponType}, setting
      * count and group via {@link #initWeapon(WeaponType)}. Applies a 10% chance for a cursed
@@ -1094,6 +1156,53 @@ public class RogueFactory {
         }
     }
 
+    /**
+     * Weighted sampler over the templates of one <code>pick_one</code> table. Holds the templates with positive
+     * probability in ID order, their cumulative probabilities, and the shared {@link PickResult} for each, so a
+     * pick is a binary search over an array.
+     */
+    private static final class ItemSampler {
+        private final List<ObjectInfoTemplate> templates;
+        private final double[] cumulativeProbabilities;
+        private final PickResult[] results;
+
+        private ItemSampler(@Nonnull final Set<? extends Template> candidates) {
+            this.templates = candidates.stream()
+                    .filter(t -> t instanceof ObjectInfoTemplate)
+                    .map(t -> (ObjectInfoTemplate) t)
+                    .filter(template -> template.getProbability() > 0)
+                    .sorted(Comparator.comparingLong(ObjectInfoTemplate::getId))
+                    .toList();
+            this.cumulativeProbabilities = new double[templates.size()];
+            this.results = new PickResult[templates.size()];
+            for (int i = 0; i < templates.size(); i++) {
+                final ObjectInfoTemplate template = templates.get(i);
+                cumulativeProbabilities[i] = template.getCumulativeProbability();
+                results[i] = new PickResult(template.getObjectType(), template.getItemSubType(), false, null, null);
+            }
+        }
+
+        /**
+         * Returns the index of the first template whose cumulative probability exceeds the given value,
+         * or -1 if none does.
+         */
+        private int indexOf(final int random) {
+            int low = 0;
+            int high = cumulativeProbabilities.length - 1;
+            int found = -1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                if (random < cumulativeProbabilities[mid]) {
+                    found = mid;
+                    high = mid - 1;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return found;
+        }
+    }
+
     private static class Stone {
         @JsonProperty("name")
         String name;
@@ -1101,7 +1210,20 @@ public class RogueFactory {
         int value;
     }
 
-    private record RodFormData(RodForm form, String material) {
+    private record RodFormData(RodForm form, String material) implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * The mutable state of a factory, see {@link #tables()}.
+     */
+    record Tables(Map<Enum<? extends ItemSubtype>, String> itemSubTypeNames, Map<RingType, Integer> ringWorthMap,
+                  Map<RodType, RodFormData> rodFormData, Map<Enum<? extends ItemSubtype>, Boolean> itemSubTypeKnown,
+                  Map<Enum<? extends ItemSubtype>, String> itemSubTypeGuessNames, int weaponsGroup)
+            implements Serializable {
+
+        private static final long serialVersionUID = 1L;
     }
 
 }
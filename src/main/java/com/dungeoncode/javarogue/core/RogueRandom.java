@@ -18,21 +18,46 @@ import java.util.List;
  * </pre>
  * Every call to {@code rnd(int range)} advances the internal seed deterministically,
  * using 32-bit overflow semantics.
+ * <p>
+ * The generator counts the draws made since it was last seeded. Since every draw applies the same affine map
+ * <code>seed &rarr; seed * 11109 + 13849 (mod 2<sup>32</sup>)</code>, {@link #skip(long)} and {@link #seek(long)} can
+ * move to any draw index in O(log n) by composing the map with itself instead of drawing. {@link #fork()} and
+ * {@link #fork(long)} derive reproducible substreams seeded from the current state.
+ * </p>
  */
 public class RogueRandom {
 
+    private static final long MULTIPLIER = 11109L;
+    private static final long INCREMENT = 13849L;
+    private static final long MASK = 0xFFFFFFFFL;
+
     /**
      * Internal mutable seed, updated on every random generation.
      */
     private long seed;
 
+    /**
+     * The seed the generator was constructed or last reseeded with.
+     */
+    private long originSeed;
+
+    /**
+     * Number of draws made since {@link #originSeed}.
+     */
+    private long position;
+
+    /**
+     * Records every draw when set, see {@link #setTrace(RngTrace)}.
+     */
+    private RngTrace trace;
+
     /**
      * Constructs a new {@code RogueRandom} with the specified initial seed.
      *
      * @param seed the initial seed value, typically based on time and process ID
      */
     public RogueRandom(long seed) {
-        this.seed = seed;
+        reseed(seed);
     }
 
     /**
@@ -45,6 +70,8 @@ public class RogueRandom {
      */
     public void reseed(long seed) {
         this.seed = seed;
+        this.originSeed = seed;
+        this.position = 0;
     }
 
     /**
@@ -102,10 +129,39 @@ public class RogueRandom {
      * @return a random integer between 0 (inclusive) and {@code range} (exclusive)
      */
     public int rnd(int range) {
+        return draw(range, RngTrace.Kind.RND);
+    }
+
+    /**
+     * Draws a number in [0, range) and records it in the trace, if any, as made through the given method.
+     */
+    private int draw(final int range, final RngTrace.Kind kind) {
         if (range == 0) {
             return 0;
         }
-        return Math.abs(nextRaw()) % range;
+        final int result = Math.abs(nextRaw()) % range;
+        if (trace != null) {
+            trace.record(position - 1, kind, range, result);
+        }
+        return result;
+    }
+
+    /**
+     * Starts recording every draw into the given trace, or stops tracing if it is null. Draws skipped with
+     * {@link #skip(long)} or {@link #seek(long)} are not recorded.
+     *
+     * @param trace The trace to record into, or null.
+     */
+    public void setTrace(@Nullable final RngTrace trace) {
+        this.trace = trace;
+        if (trace != null) {
+            trace.start(seed, position);
+        }
+    }
+
+    @Nullable
+    public RngTrace getTrace() {
+        return trace;
     }
 
     /**
@@ -115,10 +171,100 @@ public class RogueRandom {
      * @return a pseudo-random 16-bit integer between 0 and 65535
      */
     private int nextRaw() {
-        seed = (seed * 11109 + 13849) & 0xFFFFFFFFL; // Simulate 32-bit signed integer overflow
+        seed = (seed * MULTIPLIER + INCREMENT) & MASK; // Simulate 32-bit signed integer overflow
+        position++;
         return (int) ((seed >> 16) & 0xFFFF);
     }
 
+    /**
+     * Advances the generator by the given number of draws, leaving it exactly where that many calls to
+     * {@link #rnd(int)} with a non-zero range would have. Runs in O(log draws).
+     *
+     * @param draws The number of draws to skip.
+     * @throws IllegalArgumentException if draws is negative.
+     */
+    public void skip(final long draws) {
+        if (draws < 0) {
+            throw new IllegalArgumentException(String.format("Cannot skip a negative number of draws: %d", draws));
+        }
+        // Compose seed -> seed * MULTIPLIER + INCREMENT with itself by repeated squaring
+        long multiplier = 1;
+        long increment = 0;
+        long stepMultiplier = MULTIPLIER;
+        long stepIncrement = INCREMENT;
+        for (long remaining = draws; remaining > 0; remaining >>>= 1) {
+            if ((remaining & 1) != 0) {
+                multiplier = (multiplier * stepMultiplier) & MASK;
+                increment = (increment * stepMultiplier + stepIncrement) & MASK;
+            }
+            stepIncrement = ((stepMultiplier + 1) * stepIncrement) & MASK;
+            stepMultiplier = (stepMultiplier * stepMultiplier) & MASK;
+        }
+        if (draws > 0) {
+            seed = (seed * multiplier + increment) & MASK;
+        }
+        position += draws;
+    }
+
+    /**
+     * Moves the generator to the given draw index, counted from the seed it was constructed or last reseeded with.
+     * Moving backwards is allowed.
+     *
+     * @param position The number of draws made since seeding.
+     * @throws IllegalArgumentException if position is negative.
+     */
+    public void seek(final long position) {
+        if (position < 0) {
+            throw new IllegalArgumentException(String.format("Invalid draw position: %d", position));
+        }
+        if (position < this.position) {
+            reseed(originSeed);
+        }
+        skip(position - this.position);
+    }
+
+    /**
+     * Returns the number of draws made since the generator was constructed or last reseeded.
+     *
+     * @return The draw position.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Derives a new generator from the current state and advances this one by a single draw, so successive forks
+     * return different substreams. The same state always forks the same substream.
+     *
+     * @return A generator seeded from this one.
+     */
+    public RogueRandom fork() {
+        final RogueRandom child = fork(0);
+        nextRaw();
+        return child;
+    }
+
+    /**
+     * Derives the substream with the given id from the current state without advancing this generator.
+     * Distinct ids give unrelated seeds, so workers can each take a substream by index without coordinating.
+     *
+     * @param streamId The id of the substream.
+     * @return A generator seeded from this one and the id.
+     */
+    public RogueRandom fork(final long streamId) {
+        return new RogueRandom(mix((seed & MASK) ^ (streamId * 0x9E3779B97F4A7C15L)) & MASK);
+    }
+
+    /**
+     * Scrambles the bits of a value, so that related states and ids give unrelated seeds.
+     * This is the finalizer of SplitMix64.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
     /**
      * Generates a random number within a spread around the given value, with a range of +/- 20%.
      * Replicates the <code>spread</code> function from the Rogue C source, producing a value
@@ -128,7 +274,7 @@ public class RogueRandom {
      * @return A random integer within the calculated spread.
      */
     public int spread(int nm) {
-        return nm - nm / 20 + rnd(nm / 10);
+        return nm - nm / 20 + draw(nm / 10, RngTrace.Kind.SPREAD);
     }
 
     /**
@@ -144,7 +290,7 @@ public class RogueRandom {
     public int roll(int times, final int sides) {
         int total = 0;
         while (times-- > 0) {
-            total += rnd(sides) + 1;
+            total += draw(sides, RngTrace.Kind.ROLL) + 1;
         }
         return total;
     }
@@ -152,4 +298,18 @@ public class RogueRandom {
     public long getSeed() {
         return seed;
     }
+
+    long getOriginSeed() {
+        return originSeed;
+    }
+
+    /**
+     * Puts the generator back in a state read with {@link #getSeed()}, {@link #getOriginSeed()} and
+     * {@link #getPosition()}.
+     */
+    void restore(final long seed, final long originSeed, final long position) {
+        this.seed = seed;
+        this.originSeed = originSeed;
+        this.position = position;
+    }
 }
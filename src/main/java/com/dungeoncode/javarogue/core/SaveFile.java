@@ -0,0 +1,332 @@
+package com.dungeoncode.javarogue.core;
+
+import com.googlecode.lanterna.SGR;
+import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.TextColor;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.dungeoncode.javarogue.core.Messages.ERROR_FAILED_READ_SAVE;
+import static com.dungeoncode.javarogue.core.Messages.ERROR_FAILED_WRITE_SAVE;
+
+/**
+ * Reads and writes games in progress, the counterpart of <code>save.c</code> and <code>state.c</code> in the
+ * original C source.
+ * <p>
+ * A save file holds an uncompressed {@link GameSnapshot}: the game state serialized as one object graph, which
+ * includes the level's packed place grid, rooms, passages, items and monsters, the player's stats, flags and
+ * inventory, the object factory's naming and known tables, the scheduled commands and the random generator state.
+ * The file is laid out as:
+ * </p>
+ * <ul>
+ *     <li>a header: magic number, format version, flags, turn count, screen columns and rows, payload size before
+ *     and after compression and the CRC-32 of the uncompressed payload;</li>
+ *     <li>the payload: fourteen bytes per screen cell (code point, foreground and background colors as a type byte
+ *     and three value bytes, modifiers) followed by the serialized game state, deflated as a whole if the
+ *     compressed flag is set.</li>
+ * </ul>
+ * <p>
+ * Files are written through a {@link FileChannel} into a temporary file that replaces the save file once forced to
+ * disk, so a crash while saving leaves the previous save intact. A file is read with a single channel read, so that
+ * restoring is dominated by deserializing the game state.
+ * </p>
+ */
+public final class SaveFile {
+
+    static final int MAGIC = 0x52534156;
+    static final short VERSION = 2;
+    static final int HEADER_SIZE = 31;
+
+    private static final int FLAG_COMPRESSED = 1;
+    private static final int CELL_SIZE = 14;
+    private static final int COLOR_ANSI = 0;
+    private static final int COLOR_INDEXED = 1;
+    private static final int COLOR_RGB = 2;
+    private static final TextColor.ANSI[] COLORS = TextColor.ANSI.values();
+    private static final SGR[] MODIFIERS = SGR.values();
+
+    private SaveFile() {
+    }
+
+    /**
+     * Writes the game to a save file, replacing any previous one. Call it between two turns, or from a command that
+     * does not count as a turn action.
+     *
+     * @param path      The save file.
+     * @param gameState The game to save.
+     * @param compress  Whether to deflate the payload.
+     * @return The size of the file in bytes.
+     * @throws RuntimeException if the file cannot be written.
+     */
+    public static long write(@Nonnull final Path path, @Nonnull final GameState gameState, final boolean compress) {
+        Objects.requireNonNull(gameState);
+        return write(path, gameState.snapshot(false), compress);
+    }
+
+    /**
+     * Writes a snapshot to a save file, replacing any previous one. Unlike taking the snapshot, this does not touch
+     * the game and can run on another thread; snapshots taken with {@link GameState#snapshot(boolean)} without
+     * compression are written fastest.
+     *
+     * @param path     The save file.
+     * @param snapshot The game to save.
+     * @param compress Whether to deflate the payload.
+     * @return The size of the file in bytes.
+     * @throws IllegalArgumentException if a screen cell holds more than one code point or a color that is not
+     *                                  ANSI, indexed or RGB.
+     * @throws RuntimeException         if the file cannot be written.
+     */
+    public static long write(@Nonnull final Path path, @Nonnull final GameSnapshot snapshot, final boolean compress) {
+        Objects.requireNonNull(path);
+        Objects.requireNonNull(snapshot);
+        final TextCharacter[][] screen = snapshot.getScreen();
+        final int rows = screen.length;
+        final int columns = rows > 0 ? screen[0].length : 0;
+        final byte[] model = snapshot.getSerializedModel();
+
+        final ByteBuffer payload = ByteBuffer.allocate(rows * columns * CELL_SIZE + model.length);
+        for (final TextCharacter[] row : screen) {
+            for (final TextCharacter character : row) {
+                putCell(payload, character);
+            }
+        }
+        payload.put(model);
+        final CRC32 crc = new CRC32();
+        crc.update(payload.array());
+
+        final byte[] stored = compress ? deflate(payload.array()) : payload.array();
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putShort(VERSION)
+                .put((byte) (compress ? FLAG_COMPRESSED : 0))
+                .putLong(snapshot.getTurnCount())
+                .putShort((short) columns)
+                .putShort((short) rows)
+                .putInt(payload.capacity())
+                .putInt(stored.length)
+                .putInt((int) crc.getValue())
+                .flip();
+
+        final Path absolute = path.toAbsolutePath();
+        final Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(absolute.getParent());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                final ByteBuffer[] buffers = {header, ByteBuffer.wrap(stored)};
+                while (buffers[1].hasRemaining()) {
+                    channel.write(buffers);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format(ERROR_FAILED_WRITE_SAVE, path), ex);
+        }
+        return HEADER_SIZE + stored.length;
+    }
+
+    /**
+     * Reads a save file into a snapshot to restore with {@link GameState#restore(GameSnapshot)}, on a game created
+     * with the same configuration and no initializer, and then played on with {@link GameState#resumeLoop()}.
+     *
+     * @param path The save file.
+     * @return The saved game.
+     * @throws RuntimeException if the file cannot be read, is not a save file of this version or is corrupted.
+     */
+    @Nonnull
+    public static GameSnapshot read(@Nonnull final Path path) {
+        Objects.requireNonNull(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException(String.format("Invalid save file size: %d", size));
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Save file truncated");
+                }
+            }
+            buffer.flip();
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a save file");
+            }
+            final short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException(String.format("Unsupported save file version: %d", version));
+            }
+            final boolean compressed = (buffer.get() & FLAG_COMPRESSED) != 0;
+            final long turnCount = buffer.getLong();
+            final int columns = buffer.getShort();
+            final int rows = buffer.getShort();
+            final int payloadSize = buffer.getInt();
+            final int storedSize = buffer.getInt();
+            final int checksum = buffer.getInt();
+            final int screenSize = rows * columns * CELL_SIZE;
+            if (columns < 0 || rows < 0 || storedSize != buffer.remaining() || payloadSize < screenSize
+                    || !compressed && payloadSize != storedSize) {
+                throw new IOException("Invalid save file header");
+            }
+
+            final byte[] payload = compressed ? inflate(buffer, payloadSize) : new byte[payloadSize];
+            if (!compressed) {
+                buffer.get(payload);
+            }
+            final CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                throw new IOException("Save file checksum mismatch");
+            }
+
+            final ByteBuffer cells = ByteBuffer.wrap(payload, 0, screenSize);
+            final TextCharacter[][] screen = new TextCharacter[rows][columns];
+            for (int y = 0; y < rows; y++) {
+                for (int x = 0; x < columns; x++) {
+                    screen[y][x] = getCell(cells);
+                }
+            }
+            final byte[] model = new byte[payloadSize - screenSize];
+            System.arraycopy(payload, screenSize, model, 0, model.length);
+            return new GameSnapshot(turnCount, model, false, screen);
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format(ERROR_FAILED_READ_SAVE, path), ex);
+        }
+    }
+
+    private static void putCell(@Nonnull final ByteBuffer buffer, @Nonnull final TextCharacter character) {
+        final String string = character.getCharacterString();
+        if (string.codePointCount(0, string.length()) != 1) {
+            throw new IllegalArgumentException(String.format("Unsupported screen character: %s", string));
+        }
+        int modifiers = 0;
+        for (final SGR modifier : character.getModifiers()) {
+            modifiers |= 1 << modifier.ordinal();
+        }
+        buffer.putInt(string.codePointAt(0));
+        putColor(buffer, character.getForegroundColor());
+        putColor(buffer, character.getBackgroundColor());
+        buffer.putShort((short) modifiers);
+    }
+
+    @Nonnull
+    private static TextCharacter getCell(@Nonnull final ByteBuffer buffer) throws IOException {
+        final int codePoint = buffer.getInt();
+        if (!Character.isValidCodePoint(codePoint)) {
+            throw new IOException(String.format("Invalid character: %d", codePoint));
+        }
+        final TextColor foreground = getColor(buffer);
+        final TextColor background = getColor(buffer);
+        final int modifiers = buffer.getShort() & 0xFFFF;
+        final EnumSet<SGR> sgrs = EnumSet.noneOf(SGR.class);
+        for (final SGR modifier : MODIFIERS) {
+            if ((modifiers & 1 << modifier.ordinal()) != 0) {
+                sgrs.add(modifier);
+            }
+        }
+        return TextCharacter.fromString(Character.toString(codePoint), foreground, background, sgrs)[0];
+    }
+
+    /**
+     * Writes a color as its type and three value bytes: the ANSI color index, the 256-color palette index, or the
+     * red, green and blue components.
+     */
+    private static void putColor(@Nonnull final ByteBuffer buffer, @Nonnull final TextColor color) {
+        if (color instanceof TextColor.ANSI ansi) {
+            buffer.put((byte) COLOR_ANSI).put((byte) ansi.ordinal()).putShort((short) 0);
+        } else if (color instanceof TextColor.Indexed indexed) {
+            buffer.put((byte) COLOR_INDEXED).put((byte) paletteIndex(indexed)).putShort((short) 0);
+        } else if (color instanceof TextColor.RGB) {
+            buffer.put((byte) COLOR_RGB).put((byte) color.getRed()).put((byte) color.getGreen())
+                    .put((byte) color.getBlue());
+        } else {
+            throw new IllegalArgumentException(String.format("Unsupported screen color: %s", color));
+        }
+    }
+
+    @Nonnull
+    private static TextColor getColor(@Nonnull final ByteBuffer buffer) throws IOException {
+        final int type = buffer.get();
+        final int first = buffer.get() & 0xFF;
+        final int second = buffer.get() & 0xFF;
+        final int third = buffer.get() & 0xFF;
+        if (type == COLOR_ANSI && first < COLORS.length) {
+            return COLORS[first];
+        } else if (type == COLOR_INDEXED) {
+            return new TextColor.Indexed(first);
+        } else if (type == COLOR_RGB) {
+            return new TextColor.RGB(first, second, third);
+        }
+        throw new IOException(String.format("Invalid color: %d/%d", type, first));
+    }
+
+    /**
+     * Returns the palette index of an indexed color, which Lanterna only exposes in its SGR sequence,
+     * <code>38;5;index</code>.
+     */
+    private static int paletteIndex(@Nonnull final TextColor.Indexed color) {
+        final String sequence = new String(color.getForegroundSGRSequence(), StandardCharsets.US_ASCII);
+        return Integer.parseInt(sequence.substring(sequence.lastIndexOf(';') + 1));
+    }
+
+    @Nonnull
+    private static byte[] deflate(@Nonnull final byte[] bytes) {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            byte[] out = new byte[bytes.length / 2 + 64];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            return Arrays.copyOf(out, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Nonnull
+    private static byte[] inflate(@Nonnull final ByteBuffer buffer, final int size) throws IOException {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer);
+            final byte[] result = new byte[size];
+            int length = 0;
+            while (length < size && !inflater.finished()) {
+                final int inflated = inflater.inflate(result, length, size - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != size) {
+                throw new IOException("Save file payload size mismatch");
+            }
+            return result;
+        } catch (DataFormatException ex) {
+            throw new IOException(ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.system.RogueScreen;
+import com.dungeoncode.javarogue.system.replay.Replay;
+import com.dungeoncode.javarogue.system.replay.ReplaySeeker;
+import com.dungeoncode.javarogue.system.replay.ReplayState;
+import com.dungeoncode.javarogue.system.replay.Replayer;
+import picocli.CommandLine;
+
+import java.nio.file.Path;
+
+/**
+ * Command line tool playing back a game recorded with <code>Rogue -record</code> as fast as possible, without a
+ * display, and checking that it ends in the recorded state. Exits with status 1 if it does not.
+ * <p>
+ * Example: <code>java -cp java-rogue.jar com.dungeoncode.javarogue.main.PlayReplay bug-report.rpl</code>
+ * </p>
+ * <p>
+ * With <code>-turn</code>, the game is moved to that turn with a {@link ReplaySeeker} and the screen is printed:
+ * <code>PlayReplay bug-report.rpl -turn 19500</code>
+ * </p>
+ */
+public class PlayReplay {
+
+    public static void main(String[] args) {
+        final ReplayOptions options = new ReplayOptions();
+        new CommandLine(options).parseArgs(args);
+
+        final Replay replay = Replay.read(Path.of(options.file));
+        if (options.turn != null) {
+            showTurn(replay, options);
+            return;
+        }
+        final Replayer replayer = new Replayer(new Config());
+        replayer.setRenderFrames(options.render);
+        final Replayer.Result result = replayer.replay(replay);
+
+        System.out.printf("replayed %d of %d keystrokes over %d turns of seed %d in %.2fms%n",
+                result.keyStrokes(), replay.getKeyStrokes().size(), result.actual().turns(), replay.getSeed(),
+                result.nanos() / 1_000_000.0);
+        final ReplayState expected = result.expected();
+        if (expected == null) {
+            System.out.printf("no final state recorded, game ended in %s%n", result.actual());
+            System.exit(0);
+        }
+        if (result.isVerified()) {
+            System.out.println("final state verified");
+            System.exit(0);
+        }
+        System.out.printf("final state differs%n- %s%n+ %s%n", expected, result.actual());
+        System.exit(1);
+    }
+
+    /**
+     * Seeks to a turn of the replay and prints the screen as it was at the end of that turn.
+     */
+    private static void showTurn(final Replay replay, final ReplayOptions options) {
+        final long start = System.nanoTime();
+        final ReplaySeeker seeker = new ReplaySeeker(new Config(), replay, options.snapshotInterval);
+        final GameState gameState = seeker.seek(options.turn);
+        final RogueScreen screen = gameState.getScreen();
+        for (int y = 0; y < screen.getRows(); y++) {
+            final StringBuilder line = new StringBuilder();
+            for (int x = 0; x < screen.getColumns(); x++) {
+                line.append(screen.getBackCharacter(x, y).getCharacterString());
+            }
+            System.out.println(line.toString().stripTrailing());
+        }
+        System.out.printf("turn %d%s: %s, seeked in %.2fms%n", seeker.getTurn(), seeker.isEnded() ? " (end)" : "",
+                ReplayState.of(gameState), (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    static class ReplayOptions {
+
+        @CommandLine.Parameters(index = "0", description = "Replay file")
+        String file;
+
+        @CommandLine.Option(names = "-render", description = "Render every frame to the headless screen")
+        boolean render = false;
+
+        @CommandLine.Option(names = "-turn", description = "Print the screen at the end of this turn instead of verifying")
+        Long turn;
+
+        @CommandLine.Option(names = "-snapshotInterval", description = "Turns between two snapshots when seeking")
+        int snapshotInterval = ReplaySeeker.DEFAULT_SNAPSHOT_INTERVAL;
+    }
+
+}
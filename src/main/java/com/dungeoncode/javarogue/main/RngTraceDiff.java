@@ -0,0 +1,58 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.core.RngTrace;
+import picocli.CommandLine;
+
+import java.nio.file.Path;
+
+/**
+ * Command line tool reporting the first random draw at which two traces written by {@link RngTrace} differ,
+ * together with the draws that led up to it.
+ * <p>
+ * Example: <code>java -cp java-rogue.jar com.dungeoncode.javarogue.main.RngTraceDiff before.rngt after.rngt</code>
+ * </p>
+ */
+public class RngTraceDiff {
+
+    public static void main(String[] args) {
+        final DiffOptions options = new DiffOptions();
+        new CommandLine(options).parseArgs(args);
+
+        final RngTrace expected = RngTrace.read(Path.of(options.expected));
+        final RngTrace actual = RngTrace.read(Path.of(options.actual));
+        if (expected.getStartSeed() != actual.getStartSeed()) {
+            System.out.printf("warning: traces start from different seeds (%d, %d)%n",
+                    expected.getStartSeed(), actual.getStartSeed());
+        }
+
+        final RngTrace.Divergence divergence = RngTrace.findDivergence(expected, actual);
+        if (divergence == null) {
+            System.out.printf("traces agree on all %d draws%n", Math.min(expected.size(), actual.size()));
+            System.exit(0);
+        }
+
+        System.out.printf("first divergence at draw #%d%n", divergence.position());
+        for (int index = 0; index < expected.size(); index++) {
+            final RngTrace.Entry entry = expected.getEntry(index);
+            if (entry.position() >= divergence.position() - options.context && entry.position() < divergence.position()) {
+                System.out.printf("  %s%n", entry);
+            }
+        }
+        System.out.printf("- %s%n", divergence.expected() != null ? divergence.expected() : "(end of trace)");
+        System.out.printf("+ %s%n", divergence.actual() != null ? divergence.actual() : "(end of trace)");
+        System.exit(1);
+    }
+
+    static class DiffOptions {
+
+        @CommandLine.Parameters(index = "0", description = "Reference trace")
+        String expected;
+
+        @CommandLine.Parameters(index = "1", description = "Trace compared to the reference")
+        String actual;
+
+        @CommandLine.Option(names = "-context", description = "Number of agreeing draws shown before the divergence")
+        int context = 10;
+    }
+
+}
@@ -8,6 +8,9 @@ import com.dungeoncode.javarogue.system.TombstoneRenderer;
 import com.dungeoncode.javarogue.system.death.DeathSource;
 import com.dungeoncode.javarogue.system.initializer.DeathSimulationInitializer;
 import com.dungeoncode.javarogue.system.initializer.DefaultInitializer;
+import com.dungeoncode.javarogue.system.input.KeyStrokeSource;
+import com.dungeoncode.javarogue.system.replay.AutosaveJournal;
+import com.dungeoncode.javarogue.system.replay.ReplayRecorder;
 import com.dungeoncode.javarogue.template.KillTypeTemplate;
 import com.dungeoncode.javarogue.template.ObjectInfoTemplate;
 import com.dungeoncode.javarogue.template.Templates;
@@ -26,6 +29,8 @@ import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -91,6 +96,9 @@ public class Rogue {
 
             final Options options = getOptions(args);
             config.applyOptions(options);
+            if (config.isAsyncRender()) {
+                screen.startFrameRenderer();
+            }
 
             // Handle wizard mode password prompt
             if (options.master) {
@@ -191,8 +199,69 @@ public class Rogue {
                     }
                 }
 
-                final GameState gameState = new GameState(config, rogueRandom, screen, new DefaultInitializer(), messageSystem);
-                gameState.loop();
+                ReplayRecorder replayRecorder = null;
+                // Recover a game that autosaved but did not end normally
+                AutosaveJournal.Recovery recovery = null;
+                if (config.isAutosave() && !options.restore && AutosaveJournal.exists(config.getAutosaveFilePath())) {
+                    recovery = AutosaveJournal.recover(config.getAutosaveFilePath());
+                }
+                final boolean resumed = options.restore || recovery != null;
+
+                // A resumed game cannot be replayed from its seed, so it is not recorded
+                KeyStrokeSource keyStrokeSource = screen::readTerminalInput;
+                if (options.record != null && !resumed) {
+                    replayRecorder = new ReplayRecorder(Path.of(options.record), keyStrokeSource,
+                            rogueRandom.getSeed(), config);
+                    keyStrokeSource = replayRecorder;
+                }
+                AutosaveJournal autosaveJournal = null;
+                if (config.isAutosave()) {
+                    autosaveJournal = new AutosaveJournal(config.getAutosaveFilePath(),
+                            recovery != null ? recovery.source(keyStrokeSource) : keyStrokeSource,
+                            config.isCompressSave());
+                    keyStrokeSource = autosaveJournal;
+                }
+                screen.setKeyStrokeSource(keyStrokeSource);
+
+                final GameState gameState;
+                if (options.restore) {
+                    // Restore a saved game instead of digging a new dungeon
+                    final Path savePath = config.getSaveFilePath();
+                    final GameSnapshot snapshot = SaveFile.read(savePath);
+                    gameState = new GameState(config, rogueRandom, screen, null, messageSystem);
+                    gameState.restore(snapshot);
+                    if (!config.isWizard()) {
+                        Files.delete(savePath);
+                    }
+                } else if (recovery != null) {
+                    gameState = new GameState(config, rogueRandom, screen, null, messageSystem);
+                    gameState.restore(recovery.snapshot());
+                } else {
+                    gameState = new GameState(config, rogueRandom, screen, new DefaultInitializer(), messageSystem);
+                }
+                final LevelPregenerator levelPregenerator =
+                        config.isPregenerateLevels() ? new LevelPregenerator() : null;
+                try {
+                    gameState.setLevelPregenerator(levelPregenerator);
+                    gameState.setReplayRecorder(replayRecorder);
+                    gameState.setAutosaveJournal(autosaveJournal);
+                    if (resumed) {
+                        gameState.resumeLoop();
+                    } else {
+                        gameState.loop();
+                    }
+                    if (replayRecorder != null) {
+                        replayRecorder.finish(gameState);
+                    }
+                    if (autosaveJournal != null) {
+                        // The game ended, was quit or was saved: nothing to recover
+                        autosaveJournal.discard();
+                    }
+                } finally {
+                    if (levelPregenerator != null) {
+                        levelPregenerator.close();
+                    }
+                }
                 exit(screen);
             }
 
@@ -0,0 +1,84 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.core.RngTrace;
+import com.dungeoncode.javarogue.system.sweep.SeedSweepRunner;
+import com.dungeoncode.javarogue.system.sweep.SeedSweepStats;
+import picocli.CommandLine;
+
+import java.nio.file.Path;
+
+/**
+ * Command line entry point for dungeon generation sweeps, used for QA and balance work.
+ * Generates levels for a range of seeds across all cores and prints the aggregated statistics.
+ * <p>
+ * Example: <code>java -cp java-rogue.jar com.dungeoncode.javarogue.main.SeedSweep -from 0 -to 10000 -levels 26</code>
+ * </p>
+ * <p>
+ * With <code>-trace</code>, a single seed is generated with every random draw recorded to a file, to be compared
+ * with {@link RngTraceDiff}: <code>SeedSweep -from 42 -to 43 -levels 26 -trace seed42.rngt</code>
+ * </p>
+ */
+public class SeedSweep {
+
+    public static void main(String[] args) {
+        final SweepOptions options = new SweepOptions();
+        new CommandLine(options).parseArgs(args);
+
+        final SeedSweepRunner runner = new SeedSweepRunner(new Config(), options.from, options.to, options.levels);
+
+        if (options.trace != null) {
+            traceSeed(runner, options);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        final SeedSweepStats stats = runner.run(options.threads);
+        final double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.print(stats.report());
+        System.out.printf("swept %d seeds on %d threads in %.2fs (%.1f seeds/s)%n",
+                stats.getSeeds(), options.threads, seconds, seconds > 0 ? stats.getSeeds() / seconds : 0);
+    }
+
+    /**
+     * Generates the single seed of the sweep with every random draw traced, and writes the trace.
+     */
+    private static void traceSeed(final SeedSweepRunner runner, final SweepOptions options) {
+        if (options.to - options.from != 1) {
+            throw new IllegalArgumentException(
+                    String.format("Tracing needs a single seed, got [%d, %d)", options.from, options.to));
+        }
+        final RngTrace trace = new RngTrace(options.traceCapacity, options.traceCallSites);
+        final SeedSweepStats stats = new SeedSweepStats();
+        runner.sweepSeed(options.from, stats, trace);
+        trace.write(Path.of(options.trace));
+        System.out.print(stats.report());
+        System.out.printf("traced %d draws of seed %d to %s%n", trace.getRecorded(), options.from, options.trace);
+    }
+
+    static class SweepOptions {
+
+        @CommandLine.Option(names = "-from", description = "First seed of the sweep, inclusive")
+        long from = 0;
+
+        @CommandLine.Option(names = "-to", description = "Last seed of the sweep, exclusive")
+        long to = 1000;
+
+        @CommandLine.Option(names = "-levels", description = "Deepest level generated per seed")
+        int levels = 26;
+
+        @CommandLine.Option(names = "-threads", description = "Number of worker threads")
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        @CommandLine.Option(names = "-trace", description = "Trace the random draws of a single seed to this file")
+        String trace;
+
+        @CommandLine.Option(names = "-traceCapacity", description = "Number of most recent draws kept in the trace")
+        int traceCapacity = 1 << 20;
+
+        @CommandLine.Option(names = "-traceCallSites", description = "Record the call site of every traced draw")
+        boolean traceCallSites = false;
+    }
+
+}
@@ -0,0 +1,312 @@
+package com.dungeoncode.javarogue.system;
+
+import com.googlecode.lanterna.SGR;
+import com.googlecode.lanterna.TerminalPosition;
+import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.TextColor;
+import com.googlecode.lanterna.graphics.TextImage;
+import com.googlecode.lanterna.terminal.Terminal;
+import com.googlecode.lanterna.terminal.swing.SwingTerminalFrame;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.swing.*;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.dungeoncode.javarogue.core.Messages.ERROR_FAILED_RENDER_FRAME;
+
+/**
+ * Draws the frames of a {@link RogueScreen} on its terminal from a render thread, so that the game thread does not
+ * wait for the terminal, or for Swing to paint, when it refreshes the screen.
+ * <p>
+ * The game thread copies the screen into one of two frames and publishes it with
+ * {@link #publish(TextImage, TerminalPosition, boolean)}, which never blocks. The render thread takes the latest
+ * frame, draws the characters that differ from the frame drawn before it, and hands the frame back. A frame
+ * published while the previous one is still waiting to be drawn replaces it, so when the renderer falls behind,
+ * e.g., while the player runs, the frames in between are dropped rather than queued.
+ * </p>
+ * <p>
+ * Swing terminals are drawn on the event dispatch thread; the render thread, not the game thread, waits for it.
+ * </p>
+ */
+public final class FrameRenderer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FrameRenderer.class);
+    private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+
+    private final Terminal terminal;
+    private final boolean swingTerminal;
+    private final int columns;
+    private final int rows;
+    private final Thread thread;
+
+    // Exchanged between the game thread and the render thread; each frame is held by one of them at a time
+    private final AtomicReference<Frame> pending = new AtomicReference<>();
+    private final Queue<Frame> free = new ConcurrentLinkedQueue<>();
+
+    // Render thread only
+    private final TextCharacter[][] shown;
+    private boolean drawnOnce;
+    private TextColor foreground;
+    private TextColor background;
+    private final EnumSet<SGR> modifiers = EnumSet.noneOf(SGR.class);
+
+    private final Object drawnLock = new Object();
+    private long published;
+    private long drawn;
+    private volatile long dropped;
+    private volatile boolean running = true;
+    private volatile IOException failure;
+
+    /**
+     * Starts a render thread drawing frames of the given size on a terminal.
+     *
+     * @param terminal The terminal to draw on.
+     * @param columns  The frame width.
+     * @param rows     The frame height.
+     */
+    public FrameRenderer(@Nonnull final Terminal terminal, final int columns, final int rows) {
+        this.terminal = Objects.requireNonNull(terminal);
+        if (columns <= 0 || rows <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid frame size: %dx%d", columns, rows));
+        }
+        this.swingTerminal = terminal instanceof SwingTerminalFrame;
+        this.columns = columns;
+        this.rows = rows;
+        this.shown = new TextCharacter[rows][columns];
+        free.add(new Frame(columns, rows));
+        free.add(new Frame(columns, rows));
+        this.thread = new Thread(this::run, "frame-renderer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Publishes a copy of the screen to be drawn. Called by the game thread; does not wait for the frame to be drawn.
+     *
+     * @param image    The screen contents.
+     * @param cursor   The cursor position, or null to hide the cursor.
+     * @param complete Whether to redraw every character rather than the ones that changed.
+     * @throws RuntimeException if drawing an earlier frame failed.
+     */
+    public void publish(@Nonnull final TextImage image, @Nullable final TerminalPosition cursor,
+                        final boolean complete) {
+        if (failure != null) {
+            throw new RuntimeException(ERROR_FAILED_RENDER_FRAME, failure);
+        }
+        Frame frame = pending.getAndSet(null);
+        if (frame != null) {
+            // The renderer has not taken the previous frame yet: it is stale
+            dropped++;
+            frame.complete |= complete;
+        } else {
+            // The render thread hands back the frame it drew before taking the next one, so one is free
+            frame = Objects.requireNonNull(free.poll());
+            frame.complete = complete;
+        }
+        final int imageRows = Math.min(rows, image.getSize().getRows());
+        final int imageColumns = Math.min(columns, image.getSize().getColumns());
+        for (int y = 0; y < imageRows; y++) {
+            final TextCharacter[] row = frame.cells[y];
+            for (int x = 0; x < imageColumns; x++) {
+                row[x] = image.getCharacterAt(x, y);
+            }
+        }
+        frame.cursor = cursor;
+        synchronized (drawnLock) {
+            frame.sequence = ++published;
+        }
+        pending.set(frame);
+        LockSupport.unpark(thread);
+    }
+
+    private void run() {
+        while (running || pending.get() != null) {
+            final Frame frame = pending.getAndSet(null);
+            if (frame == null) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+                continue;
+            }
+            try {
+                if (failure == null) {
+                    draw(frame);
+                }
+            } catch (IOException ex) {
+                LOGGER.error(ERROR_FAILED_RENDER_FRAME, ex);
+                failure = ex;
+            }
+            final long sequence = frame.sequence;
+            free.add(frame);
+            synchronized (drawnLock) {
+                drawn = Math.max(drawn, sequence);
+                drawnLock.notifyAll();
+            }
+        }
+    }
+
+    private void draw(@Nonnull final Frame frame) throws IOException {
+        if (!swingTerminal || SwingUtilities.isEventDispatchThread()) {
+            drawTerminal(frame);
+            return;
+        }
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                try {
+                    drawTerminal(frame);
+                } catch (IOException ex) {
+                    throw new RuntimeException(ex);
+                }
+            });
+        } catch (InterruptedException ex) {
+            LOGGER.debug("Frame {} not drawn: interrupted", frame.sequence);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause().getCause() instanceof IOException ioException ? ioException : new IOException(ex);
+        }
+    }
+
+    /**
+     * Writes the characters of a frame that differ from the ones on the terminal, as Lanterna's delta refresh does.
+     */
+    private void drawTerminal(@Nonnull final Frame frame) throws IOException {
+        if (frame.complete || !drawnOnce) {
+            // The terminal may show anything before the first frame
+            drawnOnce = true;
+            terminal.resetColorAndSGR();
+            terminal.clearScreen();
+            foreground = null;
+            background = null;
+            modifiers.clear();
+            for (final TextCharacter[] row : shown) {
+                Arrays.fill(row, null);
+            }
+        }
+        int cursorX = -1;
+        int cursorY = -1;
+        for (int y = 0; y < rows; y++) {
+            final TextCharacter[] row = frame.cells[y];
+            final TextCharacter[] shownRow = shown[y];
+            for (int x = 0; x < columns; x++) {
+                final TextCharacter character = row[x] == null ? TextCharacter.DEFAULT_CHARACTER : row[x];
+                if (character.equals(shownRow[x])) {
+                    continue;
+                }
+                if (cursorX != x || cursorY != y) {
+                    terminal.setCursorPosition(x, y);
+                }
+                applyStyle(character);
+                terminal.putString(character.getCharacterString());
+                shownRow[x] = character;
+                cursorX = x + 1;
+                cursorY = y;
+                if (character.isDoubleWidth() && x + 1 < columns) {
+                    // The next cell is covered by this character
+                    shownRow[++x] = null;
+                    cursorX++;
+                }
+            }
+        }
+        if (frame.cursor == null) {
+            terminal.setCursorVisible(false);
+        } else {
+            terminal.setCursorPosition(frame.cursor.getColumn(), frame.cursor.getRow());
+            terminal.setCursorVisible(true);
+        }
+        terminal.flush();
+    }
+
+    private void applyStyle(@Nonnull final TextCharacter character) throws IOException {
+        final Set<SGR> wanted = character.getModifiers();
+        if (!modifiers.equals(wanted)) {
+            if (!wanted.containsAll(modifiers)) {
+                terminal.resetColorAndSGR();
+                foreground = null;
+                background = null;
+                modifiers.clear();
+            }
+            for (final SGR sgr : wanted) {
+                if (modifiers.add(sgr)) {
+                    terminal.enableSGR(sgr);
+                }
+            }
+        }
+        if (!character.getForegroundColor().equals(foreground)) {
+            foreground = character.getForegroundColor();
+            terminal.setForegroundColor(foreground);
+        }
+        if (!character.getBackgroundColor().equals(background)) {
+            background = character.getBackgroundColor();
+            terminal.setBackgroundColor(background);
+        }
+    }
+
+    /**
+     * Waits until every frame published so far is drawn or dropped.
+     *
+     * @param timeoutMillis The maximum time to wait.
+     * @return true if the frames were drawn, false if the wait timed out.
+     */
+    public boolean awaitDrawn(final long timeoutMillis) {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (drawnLock) {
+            while (drawn < published) {
+                final long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    drawnLock.wait(remaining);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns the number of frames replaced by a newer one before they were drawn.
+     *
+     * @return The dropped frame count.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Draws the frame waiting to be drawn, if any, and stops the render thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A copy of the screen, written by the game thread before it is published and read by the render thread after.
+     */
+    private static final class Frame {
+
+        private final TextCharacter[][] cells;
+        private TerminalPosition cursor;
+        private boolean complete;
+        private long sequence;
+
+        private Frame(final int columns, final int rows) {
+            this.cells = new TextCharacter[rows][columns];
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.dungeoncode.javarogue.system;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.system.input.KeyStrokeSource;
+import com.googlecode.lanterna.TerminalSize;
+import com.googlecode.lanterna.screen.Screen;
+import com.googlecode.lanterna.terminal.virtual.DefaultVirtualTerminal;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * A {@link RogueScreen} backed by an in-memory Lanterna virtual terminal, used to run games without a display.
+ * <p>
+ * All input is read from the supplied {@link KeyStrokeSource}. Drawing still updates the screen back buffer, so
+ * the visible map can be inspected through {@link #getBackCharacter(int, int)}, but flushing frames to the
+ * virtual terminal is skipped unless rendering is enabled with {@link #setRenderFrames(boolean)}.
+ * This lets whole games run at CPU speed for seed farming and regression runs.
+ * </p>
+ */
+public class HeadlessRogueScreen extends RogueScreen {
+
+    private boolean renderFrames;
+
+    /**
+     * Constructs a headless screen sized from the configuration's terminal dimensions and starts it.
+     *
+     * @param config          The game configuration.
+     * @param keyStrokeSource The source of all player input.
+     * @throws IOException If the virtual terminal fails to start.
+     */
+    public HeadlessRogueScreen(@Nonnull final Config config, @Nonnull final KeyStrokeSource keyStrokeSource)
+            throws IOException {
+        super(new DefaultVirtualTerminal(new TerminalSize(config.getTerminalCols(), config.getTerminalRows())), config);
+        Objects.requireNonNull(keyStrokeSource);
+        setKeyStrokeSource(keyStrokeSource);
+        startScreen();
+    }
+
+    /**
+     * Flushes the back buffer to the virtual terminal only when frame rendering is enabled.
+     *
+     * @param refreshType The refresh type.
+     */
+    @Override
+    public void refresh(final Screen.RefreshType refreshType) {
+        if (renderFrames) {
+            super.refresh(refreshType);
+        }
+    }
+
+    public boolean isRenderFrames() {
+        return renderFrames;
+    }
+
+    /**
+     * Enables or disables flushing frames to the virtual terminal on refresh.
+     *
+     * @param renderFrames True to render every refresh, false to keep refreshes as no-ops.
+     */
+    public void setRenderFrames(final boolean renderFrames) {
+        this.renderFrames = renderFrames;
+    }
+}
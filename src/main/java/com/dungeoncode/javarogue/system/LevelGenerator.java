@@ -22,12 +22,19 @@ import java.util.Objects;
 public class LevelGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LevelGenerator.class);
+    // Steps to the neighbors dug into by dig(), in the order of the C code: down, up, right, left
+    private static final int[] DIG_DELTA_X = {0, 0, 2, -2};
+    private static final int[] DIG_DELTA_Y = {2, -2, 0, 0};
+    private static final int INITIAL_DIG_STACK_SIZE = 64;
+    private static final int INITIAL_NUMPASS_STACK_SIZE = 64;
 
     private final GameState gameState;
     private final Config config;
     private final RogueRandom rogueRandom;
     private Level level;
     private int levelNum;
+    private int[] digStack = new int[INITIAL_DIG_STACK_SIZE];
+    private int[] numpassStack = new int[INITIAL_NUMPASS_STACK_SIZE];
 
     public LevelGenerator(@Nonnull final GameState gameState) {
         this.gameState = gameState;
@@ -98,23 +105,23 @@ public class LevelGenerator {
     /**
      * Initializes a new level with the specified level number and prepares the level grid.
      * Creates a new {@link Level} instance with dimensions defined by {@link Config#getLevelMaxWidth()}
-     * and {@link Config#getLevelMaxHeight()}. Initializes the level's places array with empty space tiles
+     * and {@link Config#getLevelMaxHeight()}, or takes one from the game's {@link LevelPool} if it has one.
+     * Initializes the level's places with empty space tiles
      * (' ') that have the {@link PlaceFlag#REAL} flag and no associated monster.
      *
      * @param levelNum The level number for this level (affects random generation behavior).
      */
     public void initializeLevel(final int levelNum) {
-        this.level = new Level(config.getLevelMaxWidth(), config.getLevelMaxHeight(), this.rogueRandom, levelNum);
-        this.levelNum = levelNum;
-
-        // Initialize places array with empty spaces and REAL flag
-        for (int y = 0; y < config.getLevelMaxHeight(); y++) {
-            for (int x = 0; x < config.getLevelMaxWidth(); x++) {
-                final Place place = new Place();
-                place.addFlag(PlaceFlag.REAL);
-                level.setPlaceAt(x, y, place);
-            }
+        final LevelPool levelPool = gameState.getLevelPool();
+        if (levelPool != null) {
+            // Reuse a released level, its map is reset in place
+            this.level = levelPool.acquire(config.getLevelMaxWidth(), config.getLevelMaxHeight(), this.rogueRandom, levelNum);
+        } else {
+            this.level = new Level(config.getLevelMaxWidth(), config.getLevelMaxHeight(), this.rogueRandom, levelNum);
+            // Initialize places with empty spaces and REAL flag
+            level.initializePlaces();
         }
+        this.levelNum = levelNum;
     }
 
     /**
@@ -144,10 +151,7 @@ public class LevelGenerator {
      */
     public void doPassages(@Nonnull final Room[] rooms) {
         Objects.requireNonNull(rooms);
-        final Passage[] passages = new Passage[config.getMaxPassages()];
-        for (int i = 0; i < passages.length; i++) {
-            passages[i] = new Passage();
-        }
+        final Passage[] passages = level.obtainPassages(config.getMaxPassages());
 
         // Define room connectivity graph structure
         class RoomDescriptor {
@@ -270,8 +274,7 @@ public class LevelGenerator {
         final int maxRoomY = getMaxRoomY();
 
         final int maxRooms = config.getMaxRooms();
-        final Room[] rooms = new Room[maxRooms];
-        Arrays.setAll(rooms, i -> new Room());
+        final Room[] rooms = level.obtainRooms(maxRooms);
 
         // Put the gone rooms, if any, on the level
         final int leftOut = rnd(config.getMaxGoneRooms());
@@ -484,9 +487,14 @@ public class LevelGenerator {
     }
 
     /**
-     * Digs passages in the maze using a recursive backtracking algorithm, starting from the given cell.
-     * Explores neighboring cells in the four cardinal directions (up, down, left, right) in random order,
+     * Digs passages in the maze using a backtracking algorithm, starting from the given cell.
+     * Explores neighboring cells in the four cardinal directions (down, up, right, left), picking one at random,
      * creating passages and recording connections between cells. Continues until no valid neighbors are available.
+     * <p>
+     * Equivalent to <code>dig()</code> in <code>rooms.c</code>, with the recursion replaced by an explicit stack of
+     * cells so that the depth of the maze is not limited by the thread stack. Cells are visited and random numbers
+     * drawn in exactly the same order as {@link #digRecursive(Spot[][], int, int, int, int, int, int)}.
+     * </p>
      *
      * @param maze   The maze grid of Spot objects.
      * @param startx The initial x-coordinate in the maze grid (relative to the room).
@@ -499,6 +507,93 @@ public class LevelGenerator {
     public void dig(@Nonnull final Spot[][] maze, final int startx, final int starty,
                     final int topx, final int topy, final int maxx, final int maxy) {
         Objects.requireNonNull(maze);
+        // Pairs of (x, y) maze cells still being dug from, the top of the stack is the current cell
+        int[] stack = digStack;
+        stack[0] = startx;
+        stack[1] = starty;
+        int top = 2;
+
+        while (top > 0) {
+            final int curx = stack[top - 2];
+            final int cury = stack[top - 1];
+            int validDirections = 0;
+            int nextY = 0;
+            int nextX = 0;
+
+            // Check each direction for a valid neighbor to dig into
+            for (int dir = 0; dir < DIG_DELTA_X.length; dir++) {
+                final int newY = cury + DIG_DELTA_Y[dir];
+                final int newX = curx + DIG_DELTA_X[dir];
+
+                // Skip if the neighbor is out of bounds
+                if (newY < 0 || newY > maxy || newX < 0 || newX > maxx) {
+                    continue;
+                }
+                if (level.getPlaceType(newX + topx, newY + topy) == PlaceType.PASSAGE) {
+                    continue;
+                }
+
+                // Randomly select this direction as the next to dig (with probability 1/validDirections)
+                if (rnd(++validDirections) == 0) {
+                    nextY = newY;
+                    nextX = newX;
+                }
+            }
+
+            // If no valid directions are available, go back to the cell this one was dug from
+            if (validDirections == 0) {
+                top -= 2;
+                continue;
+            }
+
+            // Record bidirectional connections between the current cell and the next cell
+            accntMaze(maze, cury, curx, nextY, nextX);
+            accntMaze(maze, nextY, nextX, cury, curx);
+
+            // Place a passage at the intermediate position (between current and next cell)
+            if (nextY == cury) {
+                // Moving horizontally (left or right)
+                putPass(nextX < curx ? nextX + topx + 1 : nextX + topx - 1, cury + topy);
+            } else {
+                // Moving vertically (up or down)
+                putPass(curx + topx, nextY < cury ? nextY + topy + 1 : nextY + topy - 1);
+            }
+
+            // Place a passage at the next cell
+            putPass(nextX + topx, nextY + topy);
+
+            // Continue digging from the next cell
+            if (top == stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+                digStack = stack;
+            }
+            stack[top] = Math.min(nextX, maxx - 1);
+            stack[top + 1] = Math.min(nextY, maxy - 1);
+            top += 2;
+        }
+    }
+
+    /**
+     * Digs passages in the maze using a recursive backtracking algorithm, starting from the given cell.
+     * Explores neighboring cells in the four cardinal directions (up, down, left, right) in random order,
+     * creating passages and recording connections between cells. Continues until no valid neighbors are available.
+     * <p>
+     * This is the direct translation of <code>dig()</code> in <code>rooms.c</code>, recursing once per carved cell.
+     * Level generation uses {@link #dig(Spot[][], int, int, int, int, int, int)}; this version is kept as the
+     * reference it is tested and benchmarked against.
+     * </p>
+     *
+     * @param maze   The maze grid of Spot objects.
+     * @param startx The initial x-coordinate in the maze grid (relative to the room).
+     * @param starty The initial y-coordinate in the maze grid (relative to the room).
+     * @param topx   The x-coordinate of the room’s top-left corner in the game grid - 'Startx' in the original code.
+     * @param topy   The y-coordinate of the room’s top-left corner in the game grid. - 'Starty' in the original code.
+     * @param maxx   The width of the room in the maze grid.
+     * @param maxy   The height of the room in the maze grid.
+     */
+    public void digRecursive(@Nonnull final Spot[][] maze, final int startx, final int starty,
+                             final int topx, final int topy, final int maxx, final int maxy) {
+        Objects.requireNonNull(maze);
         // Define the four possible directions to dig (up, down, right, left) with steps of 2
         final Position[] directions = {
                 new Position(0, 2),   // Down
@@ -565,7 +660,7 @@ public class LevelGenerator {
             nextX = Math.min(nextX, maxx - 1);
             nextY = Math.min(nextY, maxy - 1);
             // Recursively dig from the next cell
-            dig(maze, nextX, nextY, topx, topy, maxx, maxy);
+            digRecursive(maze, nextX, nextY, topx, topy, maxx, maxy);
         }
     }
 
@@ -582,16 +677,18 @@ public class LevelGenerator {
      * @throws AssertionError       if the place at the position is null.
      */
     public void putPass(@Nonnull final Position position) {
-        final Place place = level.getPlaceAt(position.getX(), position.getY());
-        assert place != null;
-        place.setPlaceType(PlaceType.PASSAGE);
+        putPass(position.getX(), position.getY());
+    }
+
+    private void putPass(final int x, final int y) {
+        assert level.getPlaceType(x, y) != null;
+        level.setPlaceType(x, y, PlaceType.PASSAGE);
         if ((rnd(10) + 1) < levelNum && rnd(40) == 0) {
-            place.removeFlag(PlaceFlag.REAL);
-            place.setSymbolType(SymbolType.EMPTY);
+            level.removePlaceFlag(x, y, PlaceFlag.REAL);
+            level.setPlaceSymbol(x, y, SymbolType.EMPTY);
         } else {
-            place.setSymbolType(SymbolType.PASSAGE);
+            level.setPlaceSymbol(x, y, SymbolType.PASSAGE);
         }
-        level.setPlaceAt(position.getX(), position.getY(), place);
     }
 
     /**
@@ -940,6 +1037,13 @@ public class LevelGenerator {
     /**
      * Assigns a passage number to the tile at the given position and propagates it to
      * connected passage or door tiles using a flood-fill algorithm.
+     * <p>
+     * Equivalent to <code>numpass()</code> in <code>passages.c</code>, with the recursion replaced by an explicit
+     * stack of cell indices. Neighbors are pushed in reverse order so that tiles are numbered, and door positions
+     * added to the passage exits, in the same order as
+     * {@link #numpassRecursive(Position, Passage[], PassageNumberState)}. Bounds are those of the level rather
+     * than of the terminal, excluding the message line.
+     * </p>
      *
      * @param pos      The position to start numbering.
      * @param passages Array of passages to store exit positions.
@@ -952,6 +1056,94 @@ public class LevelGenerator {
         Objects.requireNonNull(passages);
         Objects.requireNonNull(state);
 
+        int[] stack = numpassStack;
+        int top = pushNumpassCell(stack, 0, pos.getX(), pos.getY());
+        final int width = level.getMaxWidth();
+
+        while (top > 0) {
+            final int cell = stack[--top];
+            final int x = cell % width;
+            final int y = cell / width;
+
+            // Skip if tile is already numbered
+            if (level.getPassageNumber(x, y) != null) {
+                continue;
+            }
+
+            // If newPnum is true, increment pnum and reset newPnum
+            if (state.isNewPnum()) {
+                state.incrementPnum();
+                state.setNewPnum(false);
+            }
+
+            // Check if tile is a door or secret door
+            final PlaceType placeType = level.getPlaceType(x, y);
+            final boolean isDoor = placeType == PlaceType.DOOR;
+            final boolean isSecret = placeType == PlaceType.WALL && !level.isReal(x, y);
+
+            // If door or secret door, add position to passage exits
+            if (isDoor || isSecret) {
+                // Ensure pnum is within passages array bounds
+                if (state.getPnum() < passages.length) {
+                    passages[state.getPnum()].addExit(x, y);
+                }
+            }
+            // Skip if not a passage tile (unless it’s a door/secret door)
+            else if (placeType != PlaceType.PASSAGE) {
+                continue;
+            }
+
+            // Assign passage number to the passage and the tile
+            final Passage passage = passages[state.getPnum()];
+            passage.setPassageNumber(state.getPnum());
+            level.setPassageNumber(x, y, state.getPnum());
+
+            // Number adjacent tiles down, up, right then left, pushed last to first
+            if (top + 4 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+                numpassStack = stack;
+            }
+            top = pushNumpassCell(stack, top, x - 1, y); // Left
+            top = pushNumpassCell(stack, top, x + 1, y); // Right
+            top = pushNumpassCell(stack, top, x, y - 1); // Up
+            top = pushNumpassCell(stack, top, x, y + 1); // Down
+        }
+    }
+
+    /**
+     * Pushes the cell index of (x, y) onto the numpass stack if it lies within the level below the message line.
+     *
+     * @return The new top of the stack.
+     */
+    private int pushNumpassCell(@Nonnull final int[] stack, final int top, final int x, final int y) {
+        if (x >= level.getMaxWidth() || x < 0 || y >= level.getMaxHeight() || y <= 0) {
+            return top;
+        }
+        stack[top] = y * level.getMaxWidth() + x;
+        return top + 1;
+    }
+
+    /**
+     * Assigns a passage number to the tile at the given position and propagates it to
+     * connected passage or door tiles using a flood-fill algorithm.
+     * <p>
+     * This is the direct translation of <code>numpass()</code> in <code>passages.c</code>, recursing once per
+     * visited tile and bounded by the terminal size. Level generation uses
+     * {@link #numpass(Position, Passage[], PassageNumberState)}; this version is kept as the reference it is
+     * tested against.
+     * </p>
+     *
+     * @param pos      The position to start numbering.
+     * @param passages Array of passages to store exit positions.
+     * @param state    Passage numbering state (pnum and newPnum).
+     */
+    public void numpassRecursive(@Nonnull final Position pos, @Nonnull final Passage[] passages,
+                                 @Nonnull final PassageNumberState state) {
+        // Validate inputs
+        Objects.requireNonNull(pos);
+        Objects.requireNonNull(passages);
+        Objects.requireNonNull(state);
+
         // Check if position is within level bounds
         if (pos.getX() >= config.getTerminalCols() || pos.getX() < 0 ||
                 pos.getY() >= config.getTerminalRows() || pos.getY() <= 0) {
@@ -997,10 +1189,10 @@ public class LevelGenerator {
         place.setPassageNumber(state.getPnum());
 
         // Recursively number adjacent tiles
-        numpass(new Position(pos.getX(), pos.getY() + 1), passages, state); // Down
-        numpass(new Position(pos.getX(), pos.getY() - 1), passages, state); // Up
-        numpass(new Position(pos.getX() + 1, pos.getY()), passages, state); // Right
-        numpass(new Position(pos.getX() - 1, pos.getY()), passages, state); // Left
+        numpassRecursive(new Position(pos.getX(), pos.getY() + 1), passages, state); // Down
+        numpassRecursive(new Position(pos.getX(), pos.getY() - 1), passages, state); // Up
+        numpassRecursive(new Position(pos.getX() + 1, pos.getY()), passages, state); // Right
+        numpassRecursive(new Position(pos.getX() - 1, pos.getY()), passages, state); // Left
     }
 
     /**
@@ -1022,11 +1214,11 @@ public class LevelGenerator {
                 if (rnd(100) < 36) {
                     // Create and add a new random item to the level
                     final Item item = gameState.newThing();
-                    getLevel().addItem(item);
                     // Find a valid floor position for the item
                     final Position pos = getLevel().findFloor(null, 0, false);
                     assert pos != null;
                     item.setPosition(pos.getX(), pos.getY());
+                    getLevel().addItem(item);
                     // Update the map with the item's symbol
                     final Place place = getLevel().getPlaceAt(pos.getX(), pos.getY());
                     final SymbolType symbolType = SymbolMapper.getSymbolType(item.getObjectType());
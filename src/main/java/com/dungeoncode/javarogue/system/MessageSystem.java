@@ -6,9 +6,10 @@ import com.dungeoncode.javarogue.core.Messages;
 import com.googlecode.lanterna.SGR;
 import com.googlecode.lanterna.input.KeyStroke;
 import com.googlecode.lanterna.input.KeyType;
-import com.googlecode.lanterna.screen.Screen;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serializable;
 import java.util.Objects;
 
 public class MessageSystem {
@@ -45,7 +46,7 @@ public class MessageSystem {
         if (message.isEmpty()) {
             screen.clearLine(0);
             messagePosition = 0;
-            screen.refresh(Screen.RefreshType.DELTA);
+            screen.refresh();
             return true;
         } else {
             doadd(message);
@@ -105,7 +106,7 @@ public class MessageSystem {
             screen.enableModifiers(SGR.REVERSE);
             screen.putString(messagePosition, 0, MSG_MORE);
             screen.disableModifiers(SGR.REVERSE);
-            screen.refresh(Screen.RefreshType.DELTA);
+            screen.refresh();
 
             if (!config.isMessageAllowEscape()) {
                 screen.waitFor(' ');
@@ -129,7 +130,7 @@ public class MessageSystem {
         screen.putString(0, 0, messageBuffer.toString());
         messagePosition = messageBuffer.length();
         messageBuffer.setLength(0);
-        screen.refresh(Screen.RefreshType.DELTA);
+        screen.refresh();
         return true;
     }
 
@@ -152,4 +153,40 @@ public class MessageSystem {
     public String getLastMessage() {
         return lastMessage;
     }
+
+    /**
+     * Captures the pending message text, the last message and the message position.
+     *
+     * @return The captured state.
+     */
+    @Nonnull
+    public State saveState() {
+        return new State(messageBuffer.toString(), lastMessage, messagePosition);
+    }
+
+    /**
+     * Puts the message system back in a state captured with {@link #saveState()}.
+     *
+     * @param state The state to restore.
+     */
+    public void restoreState(@Nonnull final State state) {
+        Objects.requireNonNull(state);
+        messageBuffer.setLength(0);
+        messageBuffer.append(state.buffer());
+        lastMessage = state.lastMessage();
+        messagePosition = state.messagePosition();
+    }
+
+    /**
+     * The mutable state of a message system.
+     *
+     * @param buffer          The message being assembled.
+     * @param lastMessage     The last message shown, may be null.
+     * @param messagePosition The column after the message on the top line.
+     */
+    public record State(@Nonnull String buffer, @Nullable String lastMessage, int messagePosition)
+            implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+    }
 }
@@ -7,13 +7,16 @@ package com.dungeoncode.javarogue.system;
 
 import com.dungeoncode.javarogue.core.Config;
 import com.dungeoncode.javarogue.main.Rogue;
+import com.dungeoncode.javarogue.system.input.KeyStrokeSource;
 import com.googlecode.lanterna.SGR;
 import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.TerminalTextUtils;
 import com.googlecode.lanterna.TextColor;
 import com.googlecode.lanterna.graphics.TextGraphics;
 import com.googlecode.lanterna.input.KeyStroke;
 import com.googlecode.lanterna.input.KeyType;
 import com.googlecode.lanterna.screen.Screen;
+import com.googlecode.lanterna.screen.ScreenBuffer;
 import com.googlecode.lanterna.screen.TerminalScreen;
 import com.googlecode.lanterna.terminal.Terminal;
 import com.googlecode.lanterna.terminal.swing.SwingTerminalFrame;
@@ -26,6 +29,7 @@ import javax.swing.*;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -38,7 +42,18 @@ public class RogueScreen extends TerminalScreen {
     private final Config config;
     private final TextGraphics textGraphics;
     private final List<Window> windows;
-    private final TextCharacter[][] buffer;
+    private final TextCharacterCache textCharacterCache;
+    private final long[] buffer;
+    private final long[] cells;
+    private final int cellColumns;
+    private final boolean swingTerminal;
+    private KeyStrokeSource keyStrokeSource;
+    private FrameRenderer frameRenderer;
+    private int modifierMask;
+    private boolean coalesceFrames;
+    private boolean frameDirty;
+    private long refreshRequests;
+    private long frames;
 
     /**
      * Constructs a RogueScreen with the specified terminal and configuration.
@@ -53,7 +68,13 @@ public class RogueScreen extends TerminalScreen {
         setCursorPosition(null);
         this.config = config;
         this.windows = new ArrayList<>();
-        this.buffer = new TextCharacter[getRows()][getColumns()];
+        this.textCharacterCache = new TextCharacterCache();
+        this.buffer = new long[getRows() * getColumns()];
+        this.cellColumns = getColumns();
+        this.cells = new long[getRows() * cellColumns];
+        Arrays.fill(cells, TextCharacterCache.DEFAULT_CELL);
+        this.swingTerminal = getTerminal() instanceof SwingTerminalFrame;
+        this.coalesceFrames = true;
         if (getTerminal() instanceof SwingTerminalFrame swingTerminalFrame) {
             swingTerminalFrame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
             swingTerminalFrame.setIconImage(Rogue.ICON_ROGUE_64);
@@ -92,7 +113,8 @@ public class RogueScreen extends TerminalScreen {
                            @Nullable SGR sgr) {
         Objects.requireNonNull(windowName);
         Objects.requireNonNull(str);
-        getWindow(windowName).putString(x, y, str, textGraphics.getForegroundColor(), textGraphics.getBackgroundColor(), sgr);
+        getWindow(windowName).putString(x, y, str, textGraphics.getForegroundColor(), textGraphics.getBackgroundColor(),
+                TextCharacterCache.modifierMask(sgr));
     }
 
     /**
@@ -103,15 +125,13 @@ public class RogueScreen extends TerminalScreen {
      * @throws IllegalArgumentException If the window is not found.
      */
     private Window getWindow(@Nonnull final String name) {
-        final Window window = windows.stream()
-                .filter(w -> w.name.equals(name))
-                .findFirst()
-                .orElse(null);
-        if (window == null) {
-            LOGGER.debug("No window found with name: {}", name);
-            throw new IllegalArgumentException(String.format("No window found with name: %s", name));
+        for (final Window window : windows) {
+            if (window.name.equals(name)) {
+                return window;
+            }
         }
-        return window;
+        LOGGER.debug("No window found with name: {}", name);
+        throw new IllegalArgumentException(String.format("No window found with name: %s", name));
     }
 
     /**
@@ -127,10 +147,8 @@ public class RogueScreen extends TerminalScreen {
                          @Nullable SGR... modifiers) {
         Objects.requireNonNull(windowName);
         Objects.requireNonNull(character);
-        final TextCharacter[] textCharacters = modifiers == null ?
-                TextCharacter.fromCharacter(character, textGraphics.getForegroundColor(), textGraphics.getBackgroundColor()) :
-                TextCharacter.fromCharacter(character, textGraphics.getForegroundColor(), textGraphics.getBackgroundColor(), modifiers);
-        getWindow(windowName).putChar(x, y, textCharacters[0]);
+        getWindow(windowName).putChar(x, y, TextCharacterCache.pack(character, textGraphics.getForegroundColor(),
+                textGraphics.getBackgroundColor(), TextCharacterCache.modifierMask(modifiers)));
     }
 
     /**
@@ -144,59 +162,168 @@ public class RogueScreen extends TerminalScreen {
     }
 
     /**
-     * Displays the specified window, backing up the current screen buffer and copying the window's contents.
+     * Displays the specified window on a cleared screen, backing up the current screen buffer.
+     * <p>
+     * The screen keeps its cells packed next to the back buffer, so the backup is a single array copy, and only the
+     * cells that differ from the window, or from a blank screen outside it, are written.
+     * </p>
      *
      * @param windowName The window to display.
      */
     public void showWindow(@Nonnull final String windowName) {
         Objects.requireNonNull(windowName);
         final Window window = getWindow(windowName);
-        for (int y = 0; y < getRows(); y++) {
-            for (int x = 0; x < getColumns(); x++) {
-                buffer[y][x] = getFrontCharacter(x, y) == null ? TextCharacter.DEFAULT_CHARACTER : getFrontCharacter(x, y);
-            }
-        }
-        clear();
-        for (int y = 0; y < window.rows; y++) {
-            for (int x = 0; x < window.cols; x++) {
-                textGraphics.setCharacter(x + window.x, y + window.y, window.buffer[y][x]);
+        System.arraycopy(cells, 0, buffer, 0, cells.length);
+        for (int i = 0; i < cells.length; i++) {
+            final int windowX = i % cellColumns - window.x;
+            final int windowY = i / cellColumns - window.y;
+            final long cell = windowX >= 0 && windowX < window.cols && windowY >= 0 && windowY < window.rows ?
+                    window.buffer[windowY * window.cols + windowX] : TextCharacterCache.DEFAULT_CELL;
+            if (cells[i] != cell) {
+                putCell(i % cellColumns, i / cellColumns, cell);
             }
         }
         refresh();
     }
 
     /**
-     * Refreshes the screen with automatic refresh type.
+     * Marks the screen as changed. The frame is drawn once by {@link #flushFrame()}, which runs before input is
+     * read, so the messages, status line and map drawn during a turn reach the terminal in a single refresh.
+     * Draws the frame immediately when frame coalescing is off.
      */
     public void refresh() {
-        refresh(RefreshType.DELTA);
+        refreshRequests++;
+        if (coalesceFrames) {
+            frameDirty = true;
+        } else {
+            refresh(RefreshType.DELTA);
+        }
     }
 
     /**
-     * Refreshes the screen with the specified refresh type, ensuring thread safety for Swing.
+     * Draws the frame if the screen changed since it was last drawn. Equivalent to the <code>refresh()</code>
+     * curses does before <code>getch()</code>.
+     */
+    public void flushFrame() {
+        if (frameDirty) {
+            refresh(RefreshType.DELTA);
+        }
+    }
+
+    /**
+     * Refreshes the screen with the specified refresh type right away, ensuring thread safety for Swing.
+     * Only Swing terminals are refreshed on the event dispatch thread; other terminals
+     * (text consoles, virtual terminals) are refreshed directly on the calling thread.
      *
      * @param refreshType The refresh type.
      */
     public void refresh(final Screen.RefreshType refreshType) {
+        frameDirty = false;
+        frames++;
+        if (frameRenderer != null) {
+            publishFrame(refreshType);
+            return;
+        }
+        if (!swingTerminal || SwingUtilities.isEventDispatchThread()) {
+            refreshTerminal(refreshType);
+            return;
+        }
         try {
-            SwingUtilities.invokeAndWait(() -> {
-                try {
-                    super.refresh(refreshType);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            });
+            SwingUtilities.invokeAndWait(() -> refreshTerminal(refreshType));
         } catch (InterruptedException | InvocationTargetException e) {
             throw new RuntimeException(e);
         }
     }
 
     /**
-     * Reads user input from the terminal.
+     * Hands a copy of the back buffer to the frame renderer and makes it the front buffer, as a refresh would.
+     * A pending terminal resize is applied first, as a refresh does; the renderer is then replaced by one of the
+     * new size, once it has drawn the earlier frames, and the frame is drawn completely.
+     */
+    private void publishFrame(final Screen.RefreshType refreshType) {
+        boolean complete = refreshType == RefreshType.COMPLETE;
+        if (doResizeIfNecessary() != null) {
+            frameRenderer.close();
+            frameRenderer = new FrameRenderer(getTerminal(), getColumns(), getRows());
+            complete = true;
+        }
+        final ScreenBuffer backBuffer = getBackBuffer();
+        frameRenderer.publish(backBuffer, getCursorPosition(), complete);
+        backBuffer.copyTo(getFrontBuffer());
+    }
+
+    /**
+     * Starts drawing frames on a render thread: a refresh then copies the screen and returns without waiting for
+     * the terminal, see {@link FrameRenderer}. Does nothing if frames are already rendered asynchronously.
+     */
+    public void startFrameRenderer() {
+        if (frameRenderer == null) {
+            frameRenderer = new FrameRenderer(getTerminal(), getColumns(), getRows());
+        }
+    }
+
+    /**
+     * Draws the frames published so far and goes back to drawing frames on the refreshing thread.
+     */
+    public void stopFrameRenderer() {
+        if (frameRenderer != null) {
+            flushFrame();
+            frameRenderer.close();
+            frameRenderer = null;
+        }
+    }
+
+    /**
+     * Returns the renderer drawing frames on a render thread, or null if refreshes draw the frame themselves.
+     *
+     * @return The frame renderer, may be null.
+     */
+    @Nullable
+    public FrameRenderer getFrameRenderer() {
+        return frameRenderer;
+    }
+
+    /**
+     * Stops the frame renderer, if any, once it has drawn the last frame, then stops the screen.
+     *
+     * @param flushInput Whether to flush pending input.
+     * @throws IOException If the terminal fails to stop.
+     */
+    @Override
+    public synchronized void stopScreen(final boolean flushInput) throws IOException {
+        stopFrameRenderer();
+        super.stopScreen(flushInput);
+    }
+
+    private void refreshTerminal(final Screen.RefreshType refreshType) {
+        try {
+            super.refresh(refreshType);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads user input from the attached {@link KeyStrokeSource} if one is set, otherwise from the terminal.
      *
      * @return The KeyStroke input.
      */
     public KeyStroke readInput() {
+        flushFrame();
+        if (keyStrokeSource != null) {
+            return keyStrokeSource.readKeyStroke();
+        }
+        return readTerminalInput();
+    }
+
+    /**
+     * Reads user input from the terminal, bypassing the attached {@link KeyStrokeSource}. Lets a source that
+     * observes input, such as a replay recorder, read from the terminal.
+     *
+     * @return The KeyStroke input.
+     */
+    public KeyStroke readTerminalInput() {
+        flushFrame();
         try {
             return super.readInput();
         } catch (IOException e) {
@@ -204,8 +331,62 @@ public class RogueScreen extends TerminalScreen {
         }
     }
 
+    public boolean isCoalesceFrames() {
+        return coalesceFrames;
+    }
+
+    /**
+     * Enables or disables frame coalescing, see {@link #refresh()}. Turning it off draws any pending frame.
+     *
+     * @param coalesceFrames True to draw at most one frame per input read, false to draw on every refresh.
+     */
+    public void setCoalesceFrames(final boolean coalesceFrames) {
+        this.coalesceFrames = coalesceFrames;
+        if (!coalesceFrames) {
+            flushFrame();
+        }
+    }
+
     /**
-     * Closes the specified window, displays a message, waits for a space key press, and restores the screen buffer.
+     * Returns the number of times the screen was marked as changed with {@link #refresh()}.
+     *
+     * @return The refresh request count.
+     */
+    public long getRefreshRequests() {
+        return refreshRequests;
+    }
+
+    /**
+     * Returns the number of frames drawn, i.e., refreshes that reached the terminal.
+     *
+     * @return The frame count.
+     */
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Returns the keystroke source serving input requests, or null if input is read from the terminal.
+     *
+     * @return The attached KeyStrokeSource, may be null.
+     */
+    @Nullable
+    public KeyStrokeSource getKeyStrokeSource() {
+        return keyStrokeSource;
+    }
+
+    /**
+     * Attaches a keystroke source that replaces terminal input, e.g., for scripted or headless play.
+     *
+     * @param keyStrokeSource The source to read from, or null to read from the terminal again.
+     */
+    public void setKeyStrokeSource(@Nullable final KeyStrokeSource keyStrokeSource) {
+        this.keyStrokeSource = keyStrokeSource;
+    }
+
+    /**
+     * Closes the specified window, displays a message, waits for a space key press, and restores the screen buffer,
+     * writing only the cells that differ from it.
      *
      * @param windowName The window to close.
      * @param message    The message to display.
@@ -217,24 +398,110 @@ public class RogueScreen extends TerminalScreen {
         putString(window.x, window.y, message);
         refresh();
         waitFor(' ');
-        clear();
-        for (int y = 0; y < getRows(); y++) {
-            for (int x = 0; x < getColumns(); x++) {
-                textGraphics.setCharacter(x, y, buffer[y][x]);
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] != buffer[i]) {
+                putCell(i % cellColumns, i / cellColumns, buffer[i]);
             }
         }
         refresh();
     }
 
     /**
-     * Writes a string to the screen at the specified coordinates.
+     * Writes a character to the back buffer and to the packed cells of the screen.
+     *
+     * @param column        The x-coordinate.
+     * @param row           The y-coordinate.
+     * @param textCharacter The character to write.
+     */
+    @Override
+    public synchronized void setCharacter(final int column, final int row, final TextCharacter textCharacter) {
+        super.setCharacter(column, row, textCharacter);
+        if (cells != null && textCharacter != null) {
+            updateCells(column, row, textCharacter.is('\t') || textCharacter.isDoubleWidth() ?
+                    0 : textCharacterCache.cellOf(textCharacter));
+        }
+    }
+
+    /**
+     * Clears the back buffer and the packed cells of the screen.
+     */
+    @Override
+    public synchronized void clear() {
+        super.clear();
+        if (cells != null) {
+            Arrays.fill(cells, TextCharacterCache.DEFAULT_CELL);
+        }
+    }
+
+    /**
+     * Writes a packed cell to the back buffer and to the packed cells of the screen.
+     */
+    private void putCell(final int column, final int row, final long cell) {
+        super.setCharacter(column, row, textCharacterCache.get(cell));
+        updateCells(column, row, cell);
+    }
+
+    /**
+     * Records a cell written to the back buffer. Tabs, passed as 0, and double width characters span several cells,
+     * and a character written over the second half of a double width one blanks its first half: these cells are
+     * read back from the back buffer.
+     */
+    private void updateCells(final int column, final int row, final long cell) {
+        if (column < 0 || column >= cellColumns || row < 0 || row * cellColumns >= cells.length) {
+            return;
+        }
+        final int index = row * cellColumns + column;
+        if (cell == 0 || isDoubleWidth(cell)) {
+            for (int x = column; x < cellColumns; x++) {
+                cells[row * cellColumns + x] = textCharacterCache.cellOf(getBackCharacter(x, row));
+            }
+        } else {
+            cells[index] = cell;
+        }
+        if (column > 0 && isDoubleWidth(cells[index - 1])) {
+            cells[index - 1] = textCharacterCache.cellOf(getBackCharacter(column - 1, row));
+        }
+    }
+
+    private boolean isDoubleWidth(final long cell) {
+        if (TextCharacterCache.isStored(cell)) {
+            return textCharacterCache.get(cell).isDoubleWidth();
+        }
+        // No character below U+1100 is double width
+        final char character = TextCharacterCache.character(cell);
+        return character >= '\u1100' && TerminalTextUtils.isCharDoubleWidth(character);
+    }
+
+    /**
+     * Writes a string to the screen at the specified coordinates, with the current colors and modifiers. Strings
+     * of single-width printable characters are written with cached text characters.
      *
      * @param x      The x-coordinate.
      * @param y      The y-coordinate.
      * @param string The string to write.
      */
     public void putString(final int x, final int y, final String string) {
-        textGraphics.putString(x, y, string);
+        for (int i = 0; i < string.length(); i++) {
+            if (!isCacheable(string.charAt(i))) {
+                textGraphics.putString(x, y, string);
+                return;
+            }
+        }
+        for (int i = 0; i < string.length(); i++) {
+            putCell(x + i, y, cellOf(string.charAt(i)));
+        }
+    }
+
+    private static boolean isCacheable(final char character) {
+        return !Character.isISOControl(character) && !TerminalTextUtils.isCharDoubleWidth(character);
+    }
+
+    /**
+     * Returns the cell of a character with the current colors and modifiers.
+     */
+    private long cellOf(final char character) {
+        return TextCharacterCache.pack(character, textGraphics.getForegroundColor(), textGraphics.getBackgroundColor(),
+                modifierMask);
     }
 
     /**
@@ -343,7 +610,11 @@ public class RogueScreen extends TerminalScreen {
      * @param symbol The character to write.
      */
     public void putChar(final int x, final int y, final char symbol) {
-        textGraphics.putString(x, y, String.valueOf(symbol));
+        if (isCacheable(symbol)) {
+            putCell(x, y, cellOf(symbol));
+        } else {
+            textGraphics.putString(x, y, String.valueOf(symbol));
+        }
     }
 
     /**
@@ -354,6 +625,7 @@ public class RogueScreen extends TerminalScreen {
     public void enableModifiers(@Nonnull final SGR sgr) {
         Objects.requireNonNull(sgr);
         textGraphics.enableModifiers(sgr);
+        modifierMask |= TextCharacterCache.modifierMask(sgr);
     }
 
     /**
@@ -364,6 +636,7 @@ public class RogueScreen extends TerminalScreen {
     public void disableModifiers(@Nonnull final SGR sgr) {
         Objects.requireNonNull(sgr);
         textGraphics.disableModifiers(sgr);
+        modifierMask &= ~TextCharacterCache.modifierMask(sgr);
     }
 
     /**
@@ -388,7 +661,7 @@ public class RogueScreen extends TerminalScreen {
         private final int y;
         private final int cols;
         private final int rows;
-        private final TextCharacter[][] buffer;
+        private final long[] buffer;
 
         /**
          * Constructs a window with the specified name and dimensions.
@@ -405,18 +678,15 @@ public class RogueScreen extends TerminalScreen {
             this.y = y;
             this.cols = cols;
             this.rows = rows;
-            this.buffer = new TextCharacter[rows][cols];
+            this.buffer = new long[rows * cols];
+            clear();
         }
 
         /**
          * Clears the window's buffer.
          */
         void clear() {
-            for (int y = 0; y < rows; y++) {
-                for (int x = 0; x < cols; x++) {
-                    buffer[y][x] = TextCharacter.DEFAULT_CHARACTER;
-                }
-            }
+            Arrays.fill(buffer, TextCharacterCache.DEFAULT_CELL);
         }
 
         /**
@@ -427,34 +697,31 @@ public class RogueScreen extends TerminalScreen {
          * @param str             The string to write.
          * @param foregroundColor The text color.
          * @param backgroundColor The background color.
-         * @param modifiers       Optional style modifiers.
+         * @param modifiers       The style modifiers, see {@link TextCharacterCache#modifierMask(SGR...)}.
          */
         void putString(int x, int y, @Nonnull final String str, @Nullable final TextColor foregroundColor,
-                       @Nullable TextColor backgroundColor, SGR... modifiers) {
+                       @Nullable TextColor backgroundColor, final int modifiers) {
             Objects.requireNonNull(str, "String cannot be null");
             for (int i = 0; i < str.length() && x + i < cols && y < rows; i++) {
-                final TextCharacter[] textCharacters = TextCharacter.fromCharacter(
-                        str.charAt(i), foregroundColor, backgroundColor,
-                        Objects.requireNonNullElseGet(modifiers, () -> new SGR[0]));
-                putChar(x + i, y, textCharacters[0]);
+                putChar(x + i, y, TextCharacterCache.pack(str.charAt(i), foregroundColor, backgroundColor, modifiers));
             }
         }
 
         /**
          * Writes a character to the window's buffer.
          *
-         * @param x             The x-coordinate.
-         * @param y             The y-coordinate.
-         * @param textCharacter The character to write.
+         * @param x    The x-coordinate.
+         * @param y    The y-coordinate.
+         * @param cell The character to write, packed with its style.
          * @throws IllegalArgumentException If coordinates are out of bounds.
          */
-        void putChar(int x, int y, TextCharacter textCharacter) {
+        void putChar(int x, int y, final long cell) {
             if (x < 0 || x >= cols || y < 0 || y >= rows) {
                 throw new IllegalArgumentException(
                         String.format("Coordinates out of bounds: (%d, %d). Window size: %d cols, %d rows",
                                 x, y, cols, rows));
             }
-            this.buffer[y][x] = textCharacter;
+            this.buffer[y * cols + x] = cell;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,562 @@
+package com.dungeoncode.javarogue.system;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.system.ScoreManager.ScoreEntry;
+import com.dungeoncode.javarogue.system.death.GameEndReason;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.IntPredicate;
+import java.util.zip.CRC32;
+
+import static com.dungeoncode.javarogue.core.Messages.ERROR_FAILED_READ_SCORE_HISTORY;
+import static com.dungeoncode.javarogue.core.Messages.ERROR_FAILED_WRITE_SCORE_HISTORY;
+
+/**
+ * Every finished game, appended to a log kept next to the score file, with in-memory indexes for leaderboard
+ * queries. Unlike the {@link ScoreTable}, which keeps only the best scores as the original game did, the history
+ * keeps all of them.
+ * <p>
+ * Each record holds the fields of a {@link ScoreEntry}, a CRC-32 and its own length, so the last record can be
+ * found from the end of the file. A record left incomplete or damaged by a crash ends the log and is cut off by the
+ * next append. Appends hold an exclusive {@link FileLock}, check only the last record and write after it, so
+ * recording a game does not read the history; only a damaged tail makes the append scan the file for the last
+ * valid record.
+ * </p>
+ * <p>
+ * The records are loaded the first time the history is queried after it was opened or appended to, into columns
+ * of primitive arrays, with player names interned, and indexed by user id, end reason, monster, kill type and
+ * level. An index entry lists its record numbers and is sorted by score, best first and oldest first among equal
+ * scores, the first time it is queried after a change, so looking up the best runs of a player or of a monster
+ * costs the number of results, and scanning a whole index touches only arrays.
+ * </p>
+ */
+public class ScoreHistory {
+
+    static final int MAGIC = 0x52485354;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 6;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScoreHistory.class);
+
+    /**
+     * Record fields before the name: user id, score, end reason id, monster id, kill type id, level, time and name
+     * length. The end reason is stored by {@link GameEndReason#getId()}, as in the score file.
+     */
+    private static final int FIXED_SIZE = 4 + 4 + 1 + 8 + 8 + 4 + 8 + 2;
+    private static final int CRC_SIZE = 4;
+    private static final int LENGTH_SIZE = 4;
+    private static final int MIN_RECORD_SIZE = FIXED_SIZE + CRC_SIZE + LENGTH_SIZE;
+    private static final int MAX_NAME_LENGTH = 0xFFFF;
+    private static final GameEndReason[] GAME_END_REASONS = GameEndReason.values();
+
+    private final Path path;
+
+    // Columns, one value per record
+    private int size;
+    private int[] userIds = new int[64];
+    private int[] scores = new int[64];
+    private byte[] gameEndReasons = new byte[64];
+    private long[] monsterIds = new long[64];
+    private long[] killTypeIds = new long[64];
+    private int[] levels = new int[64];
+    private long[] times = new long[64];
+    private int[] nameIds = new int[64];
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameIdsByName = new HashMap<>();
+
+    // Indexes
+    private final Postings all = new Postings();
+    private final Map<Integer, Postings> byUserId = new HashMap<>();
+    private final Map<GameEndReason, Postings> byGameEndReason = new EnumMap<>(GameEndReason.class);
+    private final Map<Long, Postings> byMonsterId = new HashMap<>();
+    private final Map<Long, Postings> byKillTypeId = new HashMap<>();
+    private final Map<Integer, Postings> byLevel = new HashMap<>();
+
+    /**
+     * The end of the last record loaded into the columns.
+     */
+    private long validLength;
+    private boolean loaded;
+
+    /**
+     * Opens the history kept in the java-rogue directory, see {@link #ScoreHistory(Path)}.
+     *
+     * @param config The configuration naming the history file.
+     */
+    public ScoreHistory(@Nonnull final Config config) {
+        this(Path.of(config.getJavaRogueDirName(), config.getScoreHistoryFileName()));
+    }
+
+    /**
+     * Opens the history. The file is read when the history is first queried; a missing file is an empty history.
+     *
+     * @param path The history file.
+     */
+    public ScoreHistory(@Nonnull final Path path) {
+        this.path = Objects.requireNonNull(path);
+    }
+
+    @Nonnull
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Loads the records appended since the history was last loaded, including those of other processes.
+     *
+     * @throws RuntimeException if the file cannot be read or is not a score history.
+     */
+    public synchronized void refresh() {
+        loaded = true;
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final FileLock lock = channel.lock(0, Long.MAX_VALUE, true);
+            try {
+                load(channel);
+            } finally {
+                lock.release();
+            }
+        } catch (IOException ex) {
+            loaded = false;
+            throw new RuntimeException(String.format(ERROR_FAILED_READ_SCORE_HISTORY, path), ex);
+        }
+    }
+
+    /**
+     * Loads the history if it has not been loaded since it was opened or appended to.
+     */
+    private void ensureLoaded() {
+        if (!loaded) {
+            refresh();
+        }
+    }
+
+    /**
+     * Appends a finished game to the end of the log. The game is indexed with the records of other processes the
+     * next time the history is queried.
+     *
+     * @param entry The score of the game.
+     * @throws RuntimeException if the file cannot be written or is not a score history.
+     */
+    public synchronized void append(@Nonnull final ScoreEntry entry) {
+        Objects.requireNonNull(entry);
+        final byte[] name = entry.name == null ? new byte[0] : entry.name.getBytes(StandardCharsets.UTF_8);
+        final int nameLength = Math.min(name.length, MAX_NAME_LENGTH);
+        final ByteBuffer record = ByteBuffer.allocate(MIN_RECORD_SIZE + nameLength)
+                .putInt(entry.userId)
+                .putInt(entry.score)
+                .put((byte) entry.gameEndReason.getId())
+                .putLong(entry.monsterId)
+                .putLong(entry.killTypeId)
+                .putInt(entry.level)
+                .putLong(entry.time)
+                .putShort((short) nameLength)
+                .put(name, 0, nameLength);
+        final CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, record.position());
+        record.putInt((int) crc.getValue()).putInt(record.capacity()).flip();
+
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                final FileLock lock = channel.lock();
+                try {
+                    final long end = validEnd(channel);
+                    if (channel.size() > end) {
+                        LOGGER.warn("Cutting off a damaged record at the end of {}", path);
+                        channel.truncate(end);
+                    }
+                    while (record.hasRemaining()) {
+                        channel.write(record, end + record.position());
+                    }
+                    channel.force(false);
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format(ERROR_FAILED_WRITE_SCORE_HISTORY, path), ex);
+        }
+        loaded = false;
+    }
+
+    /**
+     * Returns the end of the last valid record, writing the header of a new log. The last record is checked
+     * first; the log is scanned from the start only when it is damaged.
+     */
+    private long validEnd(@Nonnull final FileChannel channel) throws IOException {
+        final long fileSize = channel.size();
+        if (fileSize < HEADER_SIZE) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putShort(VERSION).flip();
+            channel.truncate(0);
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            return HEADER_SIZE;
+        }
+        checkHeader(channel);
+        if (fileSize == HEADER_SIZE || fileSize == validLength) {
+            return fileSize;
+        }
+        if (fileSize >= HEADER_SIZE + MIN_RECORD_SIZE) {
+            final int recordLength = read(channel, fileSize - LENGTH_SIZE, LENGTH_SIZE).getInt();
+            if (recordLength >= MIN_RECORD_SIZE && recordLength <= fileSize - HEADER_SIZE
+                    && recordLength(read(channel, fileSize - recordLength, recordLength), 0, new CRC32())
+                    == recordLength) {
+                return fileSize;
+            }
+        }
+        return parse(channel, HEADER_SIZE, false);
+    }
+
+    private void checkHeader(@Nonnull final FileChannel channel) throws IOException {
+        final ByteBuffer header = read(channel, 0, HEADER_SIZE);
+        if (header.getInt() != MAGIC || header.getShort() != VERSION) {
+            throw new IOException("Not a score history file");
+        }
+    }
+
+    @Nonnull
+    private static ByteBuffer read(@Nonnull final FileChannel channel, final long position, final int length)
+            throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of score history file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Loads the records from the end of the last loaded one.
+     */
+    private void load(@Nonnull final FileChannel channel) throws IOException {
+        if (validLength == 0) {
+            if (channel.size() < HEADER_SIZE) {
+                return;
+            }
+            checkHeader(channel);
+            validLength = HEADER_SIZE;
+        }
+        validLength = parse(channel, validLength, true);
+    }
+
+    /**
+     * Walks the records from a position, adding them to the columns if asked, and returns the end of the last
+     * valid one.
+     */
+    private long parse(@Nonnull final FileChannel channel, final long from, final boolean add) throws IOException {
+        final long fileSize = channel.size();
+        if (fileSize <= from) {
+            return from;
+        }
+        final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, fileSize - from);
+        final CRC32 crc = new CRC32();
+        int start = 0;
+        int recordLength;
+        while ((recordLength = recordLength(buffer, start, crc)) > 0) {
+            if (add) {
+                final int nameLength = recordLength - MIN_RECORD_SIZE;
+                final byte[] name = new byte[nameLength];
+                buffer.get(start + FIXED_SIZE, name);
+                add(buffer.getInt(start), buffer.getInt(start + 4), GameEndReason.fromId(buffer.get(start + 8)),
+                        buffer.getLong(start + 9), buffer.getLong(start + 17), buffer.getInt(start + 25),
+                        buffer.getLong(start + 29), new String(name, StandardCharsets.UTF_8));
+            }
+            start += recordLength;
+        }
+        return from + start;
+    }
+
+    /**
+     * Returns the length of the record at an offset of a buffer, or -1 if it is incomplete or damaged.
+     */
+    private static int recordLength(@Nonnull final ByteBuffer buffer, final int start, @Nonnull final CRC32 crc) {
+        final int remaining = buffer.limit() - start;
+        if (remaining < MIN_RECORD_SIZE) {
+            return -1;
+        }
+        final int reason = buffer.get(start + 8);
+        final int nameLength = buffer.getShort(start + FIXED_SIZE - 2) & 0xFFFF;
+        final int recordLength = MIN_RECORD_SIZE + nameLength;
+        if (remaining < recordLength || !isGameEndReasonId(reason)) {
+            return -1;
+        }
+        crc.reset();
+        crc.update(buffer.slice(start, FIXED_SIZE + nameLength));
+        if ((int) crc.getValue() != buffer.getInt(start + FIXED_SIZE + nameLength)
+                || buffer.getInt(start + recordLength - LENGTH_SIZE) != recordLength) {
+            return -1;
+        }
+        return recordLength;
+    }
+
+    private static boolean isGameEndReasonId(final int id) {
+        for (final GameEndReason gameEndReason : GAME_END_REASONS) {
+            if (gameEndReason.getId() == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(final int userId, final int score, @Nonnull final GameEndReason gameEndReason,
+                     final long monsterId, final long killTypeId, final int level, final long time,
+                     @Nonnull final String name) {
+        if (size == scores.length) {
+            final int capacity = size * 2;
+            userIds = Arrays.copyOf(userIds, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+            gameEndReasons = Arrays.copyOf(gameEndReasons, capacity);
+            monsterIds = Arrays.copyOf(monsterIds, capacity);
+            killTypeIds = Arrays.copyOf(killTypeIds, capacity);
+            levels = Arrays.copyOf(levels, capacity);
+            times = Arrays.copyOf(times, capacity);
+            nameIds = Arrays.copyOf(nameIds, capacity);
+        }
+        final int record = size++;
+        userIds[record] = userId;
+        scores[record] = score;
+        gameEndReasons[record] = (byte) gameEndReason.getId();
+        monsterIds[record] = monsterId;
+        killTypeIds[record] = killTypeId;
+        levels[record] = level;
+        times[record] = time;
+        nameIds[record] = nameIdsByName.computeIfAbsent(name, key -> {
+            names.add(key);
+            return names.size() - 1;
+        });
+
+        all.add(record);
+        byUserId.computeIfAbsent(userId, key -> new Postings()).add(record);
+        byGameEndReason.computeIfAbsent(gameEndReason, key -> new Postings()).add(record);
+        if (monsterId > 0) {
+            byMonsterId.computeIfAbsent(monsterId, key -> new Postings()).add(record);
+        }
+        if (killTypeId > 0) {
+            byKillTypeId.computeIfAbsent(killTypeId, key -> new Postings()).add(record);
+        }
+        byLevel.computeIfAbsent(level, key -> new Postings()).add(record);
+    }
+
+    /**
+     * Returns the number of games in the history.
+     *
+     * @return The record count.
+     */
+    public synchronized int size() {
+        ensureLoaded();
+        return size;
+    }
+
+    /**
+     * Returns the best runs.
+     *
+     * @param limit The maximum number of runs.
+     * @return The runs, best first.
+     */
+    @Nonnull
+    public synchronized List<ScoreEntry> top(final int limit) {
+        ensureLoaded();
+        return collect(all, limit, record -> true);
+    }
+
+    /**
+     * Returns the best runs that ended within a time range, such as this week.
+     *
+     * @param from  The first time included, in seconds since the epoch.
+     * @param to    The first time excluded, in seconds since the epoch.
+     * @param limit The maximum number of runs.
+     * @return The runs, best first.
+     */
+    @Nonnull
+    public synchronized List<ScoreEntry> topBetween(final long from, final long to, final int limit) {
+        ensureLoaded();
+        return collect(all, limit, record -> times[record] >= from && times[record] < to);
+    }
+
+    /**
+     * Returns the best runs of a player.
+     *
+     * @param userId The user id of the player.
+     * @param limit  The maximum number of runs.
+     * @return The runs, best first.
+     */
+    @Nonnull
+    public synchronized List<ScoreEntry> topByUser(final int userId, final int limit) {
+        ensureLoaded();
+        return collect(byUserId.get(userId), limit, record -> true);
+    }
+
+    /**
+     * Returns the best runs that ended for a reason, e.g., the best wins.
+     *
+     * @param gameEndReason The reason the runs ended.
+     * @param limit         The maximum number of runs.
+     * @return The runs, best first.
+     */
+    @Nonnull
+    public synchronized List<ScoreEntry> topByGameEndReason(@Nonnull final GameEndReason gameEndReason,
+                                                            final int limit) {
+        ensureLoaded();
+        return collect(byGameEndReason.get(gameEndReason), limit, record -> true);
+    }
+
+    /**
+     * Returns the best runs ended by a monster.
+     *
+     * @param monsterId The template id of the monster.
+     * @param limit     The maximum number of runs.
+     * @return The runs, best first.
+     */
+    @Nonnull
+    public synchronized List<ScoreEntry> topByMonster(final long monsterId, final int limit) {
+        ensureLoaded();
+        return collect(byMonsterId.get(monsterId), limit, record -> true);
+    }
+
+    /**
+     * Returns the best runs ended by a kill type, such as starvation.
+     *
+     * @param killTypeId The template id of the kill type.
+     * @param limit      The maximum number of runs.
+     * @return The runs, best first.
+     */
+    @Nonnull
+    public synchronized List<ScoreEntry> topByKillType(final long killTypeId, final int limit) {
+        ensureLoaded();
+        return collect(byKillTypeId.get(killTypeId), limit, record -> true);
+    }
+
+    /**
+     * Returns the best runs that ended on a level.
+     *
+     * @param level The level the runs ended on, or the deepest level reached for wins.
+     * @param limit The maximum number of runs.
+     * @return The runs, best first.
+     */
+    @Nonnull
+    public synchronized List<ScoreEntry> topByLevel(final int level, final int limit) {
+        ensureLoaded();
+        return collect(byLevel.get(level), limit, record -> true);
+    }
+
+    /**
+     * Returns the best run of each player.
+     *
+     * @param limit The maximum number of players.
+     * @return One run per player, best first.
+     */
+    @Nonnull
+    public synchronized List<ScoreEntry> bestPerPlayer(final int limit) {
+        ensureLoaded();
+        final Postings best = new Postings();
+        for (final Postings postings : byUserId.values()) {
+            best.add(postings.sorted(scores)[0]);
+        }
+        return collect(best, limit, record -> true);
+    }
+
+    /**
+     * Counts the runs ended by each monster.
+     *
+     * @return The number of runs by monster template id.
+     */
+    @Nonnull
+    public synchronized Map<Long, Integer> countByMonster() {
+        ensureLoaded();
+        final Map<Long, Integer> counts = new HashMap<>();
+        byMonsterId.forEach((monsterId, postings) -> counts.put(monsterId, postings.size));
+        return counts;
+    }
+
+    /**
+     * Counts the runs that ended for each reason.
+     *
+     * @return The number of runs by reason.
+     */
+    @Nonnull
+    public synchronized Map<GameEndReason, Integer> countByGameEndReason() {
+        ensureLoaded();
+        final Map<GameEndReason, Integer> counts = new EnumMap<>(GameEndReason.class);
+        byGameEndReason.forEach((reason, postings) -> counts.put(reason, postings.size));
+        return counts;
+    }
+
+    @Nonnull
+    private List<ScoreEntry> collect(final Postings postings, final int limit, @Nonnull final IntPredicate filter) {
+        if (limit < 0) {
+            throw new IllegalArgumentException(String.format("Invalid limit: %d", limit));
+        }
+        final List<ScoreEntry> entries = new ArrayList<>(Math.min(limit, 64));
+        if (postings == null) {
+            return entries;
+        }
+        final int[] records = postings.sorted(scores);
+        for (int i = 0; i < postings.size && entries.size() < limit; i++) {
+            if (filter.test(records[i])) {
+                entries.add(entry(records[i]));
+            }
+        }
+        return entries;
+    }
+
+    @Nonnull
+    private ScoreEntry entry(final int record) {
+        return new ScoreEntry(userIds[record], scores[record], GameEndReason.fromId(gameEndReasons[record]),
+                monsterIds[record], killTypeIds[record], levels[record], times[record], names.get(nameIds[record]));
+    }
+
+    /**
+     * The record numbers of an index entry.
+     */
+    private static final class Postings {
+
+        private int[] records = new int[4];
+        private int size;
+        private boolean sorted = true;
+
+        void add(final int record) {
+            if (size == records.length) {
+                records = Arrays.copyOf(records, size * 2);
+            }
+            records[size++] = record;
+            sorted = false;
+        }
+
+        /**
+         * Sorts the records by score, best first, then by record number, and returns them.
+         */
+        int[] sorted(@Nonnull final int[] scores) {
+            if (!sorted) {
+                // Sorting longs keyed by descending score, then ascending record number, avoids boxing
+                final long[] keys = new long[size];
+                for (int i = 0; i < size; i++) {
+                    final int record = records[i];
+                    keys[i] = (long) ~scores[record] << 32 | record;
+                }
+                Arrays.sort(keys);
+                for (int i = 0; i < size; i++) {
+                    records[i] = (int) keys[i];
+                }
+                sorted = true;
+            }
+            return records;
+        }
+    }
+}
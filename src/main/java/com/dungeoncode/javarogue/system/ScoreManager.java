@@ -11,14 +11,12 @@ import com.dungeoncode.javarogue.template.Templates;
 import com.googlecode.lanterna.SGR;
 import com.googlecode.lanterna.input.KeyStroke;
 import com.googlecode.lanterna.input.KeyType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -28,6 +26,8 @@ import static com.dungeoncode.javarogue.core.Messages.*;
 
 public class ScoreManager {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScoreManager.class);
+
     private static final int FLAG_SHOW_NAMES = 1;
     private static final int FLAG_DELETE = 2;
 
@@ -35,6 +35,8 @@ public class ScoreManager {
     private static final String STRING_INPUT_EDIT = "edit";
 
     private final RogueScreen screen;
+    private ScoreTable scoreTable;
+    private ScoreHistory scoreHistory;
 
     public ScoreManager(@Nonnull final RogueScreen screen) {
         Objects.requireNonNull(screen);
@@ -86,77 +88,19 @@ public class ScoreManager {
             screen.clearAndRefresh();
         }
 
-        // Load the existing score entries from disk (equivalent to rd_score())
-        List<ScoreEntry> scoreEntries = readScoreFile();
-
-        // If a new score is available and scoring is enabled in config, we try to insert it
+        /*
+         * Load the existing score entries (equivalent to rd_score()) and, if a new score is available and scoring is
+         * enabled in config, try to insert it and write the table back (wr_score()), holding the score file lock.
+         */
+        List<ScoreEntry> scoreEntries;
         if (state != null && getConfig().isScoring()) {
-
-            final boolean isHighScore = scoreEntries.size() < getConfig().getNumScores()
-                    || state.getPlayer().getGoldAmount() > scoreEntries.get(scoreEntries.size() - 1).score;
-
-            if (isHighScore) {
-
-                final int userId = getConfig().getUserId();
-                final long monsterId = state.getDeathSource() != null && state.getDeathSource().type().equals(DeathSource.Type.MONSTER) ? state.getDeathSource().templateId() : 0;
-                final long killTypeId = state.getDeathSource() != null && state.getDeathSource().type().equals(DeathSource.Type.KILL_TYPE) ? state.getDeathSource().templateId() : 0;
-
-                // Construct new score entry
-                final ScoreEntry newEntry = new ScoreEntry(
-                        userId,
-                        state.getPlayer().getGoldAmount(),
-                        state.getGameEndReason(),
-                        monsterId,
-                        killTypeId,
-                        state.getGameEndReason() == GameEndReason.WIN ? state.getMaxLevel() : state.getLevelNum(),
-                        Instant.now().getEpochSecond(),
-                        getConfig().getPlayerName()
-                );
-                newEntry.isNew = true; // This flag is used to highlight the entry (like standout in curses)
-
-                // Always add WIN entries unconditionally, sort descending,
-                // and keep only the top scores
-                if (newEntry.gameEndReason == GameEndReason.WIN || getConfig().isAllowMultipleScores()) {
-                    scoreEntries.add(newEntry);
-                } else {
-
-                    final boolean hasConflictingNonWinEntry = scoreEntries.stream()
-                            .anyMatch(entry ->
-                                    entry.userId == userId
-                                            && !getConfig().isAllowMultipleScores()
-                                            && entry.gameEndReason != GameEndReason.WIN
-                                            && entry.score <= newEntry.score
-                            );
-
-                    if (hasConflictingNonWinEntry) {
-                        final List<ScoreEntry> scoreEntriesCopy = new ArrayList<>(scoreEntries);
-                        final OptionalInt conflictIndex = IntStream.range(0, scoreEntriesCopy.size())
-                                .filter(i -> scoreEntriesCopy.get(i).userId == userId
-                                        && scoreEntriesCopy.get(i).gameEndReason != GameEndReason.WIN
-                                        && scoreEntriesCopy.get(i).score <= newEntry.score)
-                                .findFirst();
-
-
-                        if (conflictIndex.isPresent()) {
-                            // Add newEntry at index, shifting elements from index to end down
-                            scoreEntries.add(conflictIndex.getAsInt(), newEntry);
-
-                            // Remove the last entry to maintain list size
-                            if (scoreEntries.size() > getConfig().getNumScores()) {
-                                scoreEntries.remove(scoreEntries.size() - 1);
-                            }
-                        }
-
-                    }
-
-                }
-
-                scoreEntries = scoreEntries.stream()
-                        .sorted(Comparator.comparingInt(ScoreEntry::getScore).reversed())
-                        .limit(getConfig().getNumScores())
-                        .collect(Collectors.toList());
-
+            final ScoreEntry newEntry = newScoreEntry(state);
+            scoreEntries = getScoreTable().update(entries -> insertScore(entries, newEntry));
+            if (gameEndReason != null) {
+                appendScoreHistory(newEntry);
             }
+        } else {
+            scoreEntries = readScoreFile();
         }
 
         if (gameEndReason != null) {
@@ -240,14 +184,11 @@ public class ScoreManager {
         // Remove any marked-for-deletion entries before saving
         final boolean entryDeleted = scoreEntries.removeIf(entry -> entry.isDeleted);
 
-        final boolean hasNewEntry = scoreEntries.stream()
-                .anyMatch(entry -> entry.isNew);
-
         /*
-         * If a new score was inserted or any score was deleted, update the score file.
+         * A new score was written when inserted; if any score was deleted, update the score file.
          * This maps to the final "wr_score(top_ten)" and lock/unlock logic in C.
          */
-        if (hasNewEntry || entryDeleted) {
+        if (entryDeleted) {
             writeScoreFile(scoreEntries);
         }
 
@@ -258,127 +199,147 @@ public class ScoreManager {
 
     }
 
-    private Config getConfig() {
-        return screen.getConfig();
+    /**
+     * Builds the score entry of a finished game.
+     *
+     * @param state The finished game.
+     * @return The entry, scored now.
+     */
+    private ScoreEntry newScoreEntry(@Nonnull final GameState state) {
+        final long monsterId = state.getDeathSource() != null && state.getDeathSource().type().equals(DeathSource.Type.MONSTER) ? state.getDeathSource().templateId() : 0;
+        final long killTypeId = state.getDeathSource() != null && state.getDeathSource().type().equals(DeathSource.Type.KILL_TYPE) ? state.getDeathSource().templateId() : 0;
+        return new ScoreEntry(
+                getConfig().getUserId(),
+                state.getPlayer().getGoldAmount(),
+                state.getGameEndReason(),
+                monsterId,
+                killTypeId,
+                state.getGameEndReason() == GameEndReason.WIN ? state.getMaxLevel() : state.getLevelNum(),
+                Instant.now().getEpochSecond(),
+                getConfig().getPlayerName()
+        );
     }
 
-    public List<ScoreEntry> readScoreFile() {
-        try {
-            final List<ScoreEntry> entries = new ArrayList<>();
-            final File scoreFile = new File(getConfig().getJavaRogueDirName(), getConfig().getScoreFileName());
-
-            if (!scoreFile.exists()) {
-                return entries;
-            }
-
-            try (FileInputStream fis = new FileInputStream(scoreFile)) {
-                for (int i = 0; i < getConfig().getNumScores(); i++) {
-                    final byte[] nameBytes = new byte[getConfig().getMaxStringLength()];
-                    final byte[] scoreLineBytes = new byte[100];
-
-                    final int readName = fis.read(nameBytes);
-                    final int readScoreLine = fis.read(scoreLineBytes);
-                    if (readName != nameBytes.length || readScoreLine != scoreLineBytes.length) {
-                        break;
+    /**
+     * Inserts the score of a finished game into the entries if it qualifies, keeping only the top scores.
+     *
+     * @param scoreEntries The current entries, best first.
+     * @param newEntry     The score of the finished game.
+     * @return The entries with the new one, flagged as new, or the given entries if it did not qualify.
+     */
+    private List<ScoreEntry> insertScore(List<ScoreEntry> scoreEntries, @Nonnull final ScoreEntry newEntry) {
+        final boolean isHighScore = scoreEntries.size() < getConfig().getNumScores()
+                || newEntry.score > scoreEntries.get(scoreEntries.size() - 1).score;
+
+        if (isHighScore) {
+
+            final int userId = newEntry.userId;
+            newEntry.isNew = true; // This flag is used to highlight the entry (like standout in curses)
+
+            // Always add WIN entries unconditionally, sort descending,
+            // and keep only the top scores
+            if (newEntry.gameEndReason == GameEndReason.WIN || getConfig().isAllowMultipleScores()) {
+                scoreEntries.add(newEntry);
+            } else {
+
+                final boolean hasConflictingNonWinEntry = scoreEntries.stream()
+                        .anyMatch(entry ->
+                                entry.userId == userId
+                                        && !getConfig().isAllowMultipleScores()
+                                        && entry.gameEndReason != GameEndReason.WIN
+                                        && entry.score <= newEntry.score
+                        );
+
+                if (hasConflictingNonWinEntry) {
+                    final List<ScoreEntry> scoreEntriesCopy = new ArrayList<>(scoreEntries);
+                    final OptionalInt conflictIndex = IntStream.range(0, scoreEntriesCopy.size())
+                            .filter(i -> scoreEntriesCopy.get(i).userId == userId
+                                    && scoreEntriesCopy.get(i).gameEndReason != GameEndReason.WIN
+                                    && scoreEntriesCopy.get(i).score <= newEntry.score)
+                            .findFirst();
+
+
+                    if (conflictIndex.isPresent()) {
+                        // Add newEntry at index, shifting elements from index to end down
+                        scoreEntries.add(conflictIndex.getAsInt(), newEntry);
+
+                        // Remove the last entry to maintain list size
+                        if (scoreEntries.size() > getConfig().getNumScores()) {
+                            scoreEntries.remove(scoreEntries.size() - 1);
+                        }
                     }
 
-                    RogueUtils.xorCrypt(nameBytes,
-                            getConfig().getEncryptionKeyPrimary(),
-                            getConfig().getEncryptionKeySecondary());
-
-                    RogueUtils.xorCrypt(scoreLineBytes,
-                            getConfig().getEncryptionKeyPrimary(),
-                            getConfig().getEncryptionKeySecondary());
-
-                    final String name = new String(nameBytes, StandardCharsets.UTF_8).trim();
-                    final String scoreLine = new String(scoreLineBytes, StandardCharsets.UTF_8).trim();
-
-                    final Scanner scanner = new Scanner(scoreLine);
-                    final int uid = scanner.nextInt();
-                    final int score = scanner.nextInt();
-                    final int gameEndReasonId = scanner.nextInt();
-                    final int monster = scanner.nextInt();
-                    final int killtypeId = scanner.nextInt();
-                    final int level = scanner.nextInt();
-                    final int time = Integer.parseInt(scanner.next(), 16);
-
-                    entries.add(
-                            new ScoreEntry(uid, score, GameEndReason.fromId(gameEndReasonId), monster, killtypeId, level,
-                                    time, name));
                 }
+
             }
-            return entries;
-        } catch (Exception ex) {
-            throw new RuntimeException(ex);
+
+            scoreEntries = scoreEntries.stream()
+                    .sorted(Comparator.comparingInt(ScoreEntry::getScore).reversed())
+                    .limit(getConfig().getNumScores())
+                    .collect(Collectors.toList());
+
         }
+        return scoreEntries;
     }
 
-    public void writeScoreFile(@Nullable final List<ScoreEntry> entries) {
+    private Config getConfig() {
+        return screen.getConfig();
+    }
+
+    /**
+     * Appends a finished game to the score history, which keeps every game rather than the top scores. A history
+     * that cannot be written does not keep the score table from being shown.
+     *
+     * @param entry The score of the game.
+     */
+    private void appendScoreHistory(@Nonnull final ScoreEntry entry) {
         try {
-            if (entries == null || entries.isEmpty())
-                return;
-
-            final File scoreFile = getFile();
-
-            try (FileOutputStream fos = new FileOutputStream(scoreFile, false)) {
-                for (ScoreEntry entry : entries) {
-
-                    // 1. Name (encrypted, padded to MAXSTR)
-                    byte[] nameBytes = new byte[getConfig().getMaxStringLength()];
-                    byte[] rawName = entry.name.getBytes(StandardCharsets.UTF_8);
-                    System.arraycopy(rawName, 0, nameBytes, 0, Math.min(rawName.length, nameBytes.length));
-
-                    RogueUtils.xorCrypt(nameBytes,
-                            getConfig().getEncryptionKeyPrimary(),
-                            getConfig().getEncryptionKeySecondary());
-                    fos.write(nameBytes);
-
-                    // 2. Score line (encrypted, padded to 100 bytes)
-                    String formatted = String.format(" %d %d %d %d %d %d %x \n",
-                            entry.userId,
-                            entry.score,
-                            entry.gameEndReason.getId(),
-                            entry.monsterId,
-                            entry.killTypeId,
-                            entry.level,
-                            entry.time);
-
-                    byte[] scoreLineBytes = new byte[100];
-                    byte[] rawLine = formatted.getBytes(StandardCharsets.UTF_8);
-                    System.arraycopy(rawLine, 0, scoreLineBytes, 0, Math.min(rawLine.length, scoreLineBytes.length));
-
-                    RogueUtils.xorCrypt(scoreLineBytes,
-                            getConfig().getEncryptionKeyPrimary(),
-                            getConfig().getEncryptionKeySecondary());
-
-                    fos.write(scoreLineBytes);
-                }
-            }
-        } catch (Exception ex) {
-            throw new RuntimeException(ex);
+            getScoreHistory().append(entry);
+        } catch (RuntimeException ex) {
+            LOGGER.error(ex.getMessage(), ex);
         }
     }
 
-    private File getFile() throws IOException {
-        final File scoreFile = new File(
-                getConfig().getJavaRogueDirName(),
-                getConfig().getScoreFileName()
-        );
+    /**
+     * Returns the score history, creating it on first use. Appending to it does not read the file; the records are
+     * loaded when the history is first queried.
+     *
+     * @return The history of every scored game.
+     */
+    public ScoreHistory getScoreHistory() {
+        if (scoreHistory == null) {
+            scoreHistory = new ScoreHistory(getConfig());
+        }
+        return scoreHistory;
+    }
 
-        // Ensure parent directory exists
-        if (!scoreFile.getParentFile().exists()) {
-            if (!scoreFile.getParentFile().mkdirs()) {
-                throw new IOException(String.format(ERROR_FAILED_CREATE_DIRS, scoreFile.getParent()));
-            }
+    private ScoreTable getScoreTable() {
+        if (scoreTable == null) {
+            scoreTable = new ScoreTable(getConfig());
         }
+        return scoreTable;
+    }
 
-        // Ensure the score file exists
-        if (!scoreFile.exists()) {
-            if (!scoreFile.createNewFile()) {
-                throw new IOException(String.format(ERROR_FAILED_CREATE_SCORE_FILE, scoreFile.getAbsolutePath()));
-            }
+    /**
+     * Reads the score file, see {@link ScoreTable#read()}.
+     *
+     * @return The entries, best first.
+     */
+    public List<ScoreEntry> readScoreFile() {
+        return getScoreTable().read();
+    }
+
+    /**
+     * Replaces the score file with the given entries, see {@link ScoreTable#write(List)}. Does nothing if there are
+     * no entries.
+     *
+     * @param entries The entries, best first.
+     */
+    public void writeScoreFile(@Nullable final List<ScoreEntry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return;
         }
-        return scoreFile;
+        getScoreTable().write(entries);
     }
 
     /**
@@ -508,10 +469,38 @@ public class ScoreManager {
             this.name = name;
         }
 
+        public int getUserId() {
+            return userId;
+        }
+
         public int getScore() {
             return score;
         }
 
+        public GameEndReason getGameEndReason() {
+            return gameEndReason;
+        }
+
+        public long getMonsterId() {
+            return monsterId;
+        }
+
+        public long getKillTypeId() {
+            return killTypeId;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public String getName() {
+            return name;
+        }
+
         @Override
         public int hashCode() {
             return Objects.hash(userId, score, gameEndReason, monsterId, killTypeId, level, time, name);
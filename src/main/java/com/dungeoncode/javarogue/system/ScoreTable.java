@@ -0,0 +1,363 @@
+package com.dungeoncode.javarogue.system;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.core.RogueUtils;
+import com.dungeoncode.javarogue.system.ScoreManager.ScoreEntry;
+import com.dungeoncode.javarogue.system.death.GameEndReason;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+import static com.dungeoncode.javarogue.core.Messages.ERROR_FAILED_READ_SCORE_FILE;
+import static com.dungeoncode.javarogue.core.Messages.ERROR_FAILED_WRITE_SCORE_FILE;
+
+/**
+ * The score file, read and updated through a memory mapping of its fixed-size records, the counterpart of
+ * <code>rd_score()</code>, <code>wr_score()</code> and the score file locking of <code>rip.c</code> and
+ * <code>mdport.c</code>.
+ * <p>
+ * A record is the player name, padded with zeros to <code>MAXSTR</code> bytes, followed by a 100-byte text line
+ * with the user id, score, end reason, monster, kill type, level and hexadecimal time, each part encrypted with
+ * {@link RogueUtils#xorCrypt}. Since that cipher's key stream does not depend on the data, it is computed once and
+ * applied while copying bytes out of and into the mapping; lines are parsed and formatted by hand.
+ * </p>
+ * <p>
+ * Reads hold a shared {@link FileLock} and updates an exclusive one, so concurrent games on one host do not corrupt
+ * the file. An update maps the records, applies a change to the entries read and writes back only the records from
+ * the first changed one; inserting a score moves the following encrypted records down by one without re-encoding
+ * them. Where the file system does not support locking, the new table is written to a temporary file which
+ * atomically replaces the score file, so readers always see a complete table.
+ * </p>
+ */
+public class ScoreTable {
+
+    static final int SCORE_LINE_LENGTH = 100;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScoreTable.class);
+
+    /**
+     * File locks are held by the process, so threads of this process also serialize here.
+     */
+    private static final Object PROCESS_LOCK = new Object();
+
+    private final Path path;
+    private final int numScores;
+    private final int nameLength;
+    private final int recordSize;
+    private final byte[] nameKey;
+    private final byte[] lineKey;
+
+    public ScoreTable(@Nonnull final Config config) {
+        Objects.requireNonNull(config);
+        this.path = Path.of(config.getJavaRogueDirName(), config.getScoreFileName());
+        this.numScores = config.getNumScores();
+        this.nameLength = config.getMaxStringLength();
+        this.recordSize = nameLength + SCORE_LINE_LENGTH;
+        this.nameKey = keyStream(nameLength, config);
+        this.lineKey = keyStream(SCORE_LINE_LENGTH, config);
+    }
+
+    /**
+     * Returns the bytes {@link RogueUtils#xorCrypt} XORs a field of the given length with.
+     */
+    @Nonnull
+    private static byte[] keyStream(final int length, @Nonnull final Config config) {
+        final byte[] key = new byte[length];
+        RogueUtils.xorCrypt(key, config.getEncryptionKeyPrimary(), config.getEncryptionKeySecondary());
+        return key;
+    }
+
+    @Nonnull
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Reads the score table. A missing file is an empty table, and a partial record at the end is ignored.
+     *
+     * @return The entries, best first.
+     * @throws RuntimeException if the file cannot be read or holds an invalid record.
+     */
+    @Nonnull
+    public List<ScoreEntry> read() {
+        if (!Files.exists(path)) {
+            return new ArrayList<>();
+        }
+        synchronized (PROCESS_LOCK) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                final FileLock lock = lock(channel, true);
+                try {
+                    final int count = recordCount(channel.size());
+                    return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, (long) count * recordSize), count);
+                } finally {
+                    if (lock != null) {
+                        lock.release();
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                throw new RuntimeException(String.format(ERROR_FAILED_READ_SCORE_FILE, path), ex);
+            }
+        }
+    }
+
+    /**
+     * Replaces the score table with the given entries, keeping at most the configured number of scores.
+     *
+     * @param entries The entries, best first.
+     * @throws RuntimeException if the file cannot be written.
+     */
+    public void write(@Nonnull final List<ScoreEntry> entries) {
+        Objects.requireNonNull(entries);
+        update(current -> entries);
+    }
+
+    /**
+     * Reads the score table, changes it and writes the result back, with no other reader or writer in between.
+     *
+     * @param change Given the current entries in a list it may modify, returns the new entries, best first.
+     * @return The new entries as returned by the change.
+     * @throws RuntimeException if the file cannot be read or written.
+     */
+    @Nonnull
+    public List<ScoreEntry> update(@Nonnull final UnaryOperator<List<ScoreEntry>> change) {
+        Objects.requireNonNull(change);
+        synchronized (PROCESS_LOCK) {
+            try {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+                    final FileLock lock = lock(channel, false);
+                    if (lock == null) {
+                        final int count = recordCount(channel.size());
+                        final List<ScoreEntry> current =
+                                decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, (long) count * recordSize), count);
+                        final List<ScoreEntry> updated = change.apply(current);
+                        replace(updated);
+                        return updated;
+                    }
+                    try {
+                        return updateMapped(channel, change);
+                    } finally {
+                        lock.release();
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                throw new RuntimeException(String.format(ERROR_FAILED_WRITE_SCORE_FILE, path), ex);
+            }
+        }
+    }
+
+    @Nonnull
+    private List<ScoreEntry> updateMapped(@Nonnull final FileChannel channel,
+                                          @Nonnull final UnaryOperator<List<ScoreEntry>> change) throws IOException {
+        final int count = recordCount(channel.size());
+        final MappedByteBuffer currentBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                (long) count * recordSize);
+        final List<ScoreEntry> current = decode(currentBuffer, count);
+        final List<ScoreEntry> updated = change.apply(new ArrayList<>(current));
+        final int newCount = Math.min(updated.size(), numScores);
+
+        int first = 0;
+        while (first < count && first < newCount && current.get(first).equals(updated.get(first))) {
+            first++;
+        }
+        if (first < newCount) {
+            final MappedByteBuffer buffer = newCount > count
+                    ? channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) newCount * recordSize)
+                    : currentBuffer;
+            final int moved = insertedAt(current, updated, first, newCount);
+            if (moved > 0) {
+                // A single entry was inserted: move the records after it down as they are
+                final ByteBuffer source = buffer.slice(first * recordSize, moved * recordSize);
+                final ByteBuffer copy = ByteBuffer.allocate(source.remaining()).put(source).flip();
+                buffer.put((first + 1) * recordSize, copy, 0, copy.remaining());
+                encode(updated.get(first), buffer, first);
+            } else {
+                for (int i = first; i < newCount; i++) {
+                    encode(updated.get(i), buffer, i);
+                }
+            }
+            buffer.force();
+        }
+        if (newCount < count) {
+            channel.truncate((long) newCount * recordSize);
+        }
+        return updated;
+    }
+
+    /**
+     * Returns the number of current records to move down if the updated entries are the current ones with a single
+     * entry inserted at the given index, or 0 otherwise.
+     */
+    private static int insertedAt(@Nonnull final List<ScoreEntry> current, @Nonnull final List<ScoreEntry> updated,
+                                  final int index, final int newCount) {
+        final int moved = newCount - index - 1;
+        if (moved <= 0 || index + moved > current.size() || newCount < current.size()) {
+            return 0;
+        }
+        for (int i = 0; i < moved; i++) {
+            if (!current.get(index + i).equals(updated.get(index + i + 1))) {
+                return 0;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Writes the whole table to a temporary file and moves it over the score file.
+     */
+    private void replace(@Nonnull final List<ScoreEntry> entries) throws IOException {
+        final int count = Math.min(entries.size(), numScores);
+        final ByteBuffer buffer = ByteBuffer.allocate(count * recordSize);
+        for (int i = 0; i < count; i++) {
+            encode(entries.get(i), buffer, i);
+        }
+        final Path absolute = path.toAbsolutePath();
+        final Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Locks the whole file, or returns null if the file system does not support locking.
+     */
+    @Nullable
+    private FileLock lock(@Nonnull final FileChannel channel, final boolean shared) throws IOException {
+        try {
+            return channel.lock(0, Long.MAX_VALUE, shared);
+        } catch (UnsupportedOperationException ex) {
+            LOGGER.warn("Score file {} cannot be locked, replacing it on update", path, ex);
+            return null;
+        } catch (IOException ex) {
+            if (!channel.isOpen()) {
+                throw ex;
+            }
+            LOGGER.warn("Score file {} cannot be locked, replacing it on update", path, ex);
+            return null;
+        }
+    }
+
+    private int recordCount(final long size) {
+        return (int) Math.min(numScores, size / recordSize);
+    }
+
+    @Nonnull
+    private List<ScoreEntry> decode(@Nonnull final ByteBuffer buffer, final int count) {
+        final List<ScoreEntry> entries = new ArrayList<>(count);
+        final byte[] bytes = new byte[Math.max(nameLength, SCORE_LINE_LENGTH)];
+        for (int i = 0; i < count; i++) {
+            final int offset = i * recordSize;
+
+            // The name ends at the first zero of its padding
+            int length = 0;
+            while (length < nameLength) {
+                final byte b = (byte) (buffer.get(offset + length) ^ nameKey[length]);
+                if (b == 0) {
+                    break;
+                }
+                bytes[length++] = b;
+            }
+            final String name = new String(bytes, 0, length, StandardCharsets.UTF_8).trim();
+
+            final int lineOffset = offset + nameLength;
+            for (int j = 0; j < SCORE_LINE_LENGTH; j++) {
+                bytes[j] = (byte) (buffer.get(lineOffset + j) ^ lineKey[j]);
+            }
+            final LineParser line = new LineParser(bytes);
+            final int userId = (int) line.next(10);
+            final int score = (int) line.next(10);
+            final GameEndReason gameEndReason = GameEndReason.fromId((int) line.next(10));
+            final long monsterId = line.next(10);
+            final long killTypeId = line.next(10);
+            final int level = (int) line.next(10);
+            final long time = line.next(16);
+            entries.add(new ScoreEntry(userId, score, gameEndReason, monsterId, killTypeId, level, time, name));
+        }
+        return entries;
+    }
+
+    /**
+     * Encrypts an entry into the record at the given index.
+     */
+    private void encode(@Nonnull final ScoreEntry entry, @Nonnull final ByteBuffer buffer, final int index) {
+        final int offset = index * recordSize;
+        final byte[] name = entry.name == null ? new byte[0] : entry.name.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < nameLength; i++) {
+            buffer.put(offset + i, (byte) ((i < name.length ? name[i] : 0) ^ nameKey[i]));
+        }
+
+        final byte[] line = new StringBuilder(48)
+                .append(' ').append(entry.userId)
+                .append(' ').append(entry.score)
+                .append(' ').append(entry.gameEndReason.getId())
+                .append(' ').append(entry.monsterId)
+                .append(' ').append(entry.killTypeId)
+                .append(' ').append(entry.level)
+                .append(' ').append(Long.toHexString(entry.time))
+                .append(" \n")
+                .toString().getBytes(StandardCharsets.US_ASCII);
+        final int lineOffset = offset + nameLength;
+        for (int i = 0; i < SCORE_LINE_LENGTH; i++) {
+            buffer.put(lineOffset + i, (byte) ((i < line.length ? line[i] : 0) ^ lineKey[i]));
+        }
+    }
+
+    /**
+     * Reads the space separated numbers of a score line.
+     */
+    private static final class LineParser {
+
+        private final byte[] bytes;
+        private int position;
+
+        LineParser(@Nonnull final byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        long next(final int radix) {
+            while (position < SCORE_LINE_LENGTH && bytes[position] == ' ') {
+                position++;
+            }
+            final boolean negative = position < SCORE_LINE_LENGTH && bytes[position] == '-';
+            if (negative) {
+                position++;
+            }
+            final int start = position;
+            long value = 0;
+            while (position < SCORE_LINE_LENGTH) {
+                final int digit = Character.digit(bytes[position], radix);
+                if (digit < 0) {
+                    break;
+                }
+                value = value * radix + digit;
+                position++;
+            }
+            if (position == start) {
+                throw new IllegalArgumentException(String.format("Invalid score line at %d", start));
+            }
+            return negative ? -value : value;
+        }
+    }
+}
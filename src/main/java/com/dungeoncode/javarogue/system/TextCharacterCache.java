@@ -0,0 +1,257 @@
+package com.dungeoncode.javarogue.system;
+
+import com.googlecode.lanterna.SGR;
+import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.TextColor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Screen cells packed into longs, and the {@link TextCharacter}s they stand for, created once per distinct cell.
+ * <p>
+ * A cell holds its character in bits 0-15, its foreground and background colors in bits 32-39 and 40-47, and its
+ * modifiers, one bit per {@link SGR}, in bits 48-56. Bit 63 is always set, so no cell is zero. Colors are stored as
+ * their index among the ANSI colors, which are the only colors the screen uses; any other color is stored as the
+ * default color.
+ * </p>
+ * <p>
+ * A text character a cell cannot hold, because its text is more than one {@code char} or one of its colors is not an
+ * ANSI color, is not packed: {@link #cellOf(TextCharacter)} stores it as it is and returns a cell with bit 62 set
+ * that stands for it, so it goes through the screen buffers unchanged. {@link #pack(TextCharacter)} rejects it.
+ * </p>
+ * <p>
+ * Buffers of cells take a long per cell and writing a cell allocates nothing; {@link #get(long)} turns a cell into
+ * a shared {@link TextCharacter} when it is put on the screen. The cache is not thread-safe.
+ * </p>
+ */
+public final class TextCharacterCache {
+
+    private static final TextColor.ANSI[] COLORS = TextColor.ANSI.values();
+    private static final SGR[] MODIFIERS = SGR.values();
+    private static final long CELL_MARKER = 1L << 63;
+    private static final long STORED_MARKER = 1L << 62;
+    private static final int FOREGROUND_SHIFT = 32;
+    private static final int BACKGROUND_SHIFT = 40;
+    private static final int MODIFIERS_SHIFT = 48;
+
+    /**
+     * The cell of {@link TextCharacter#DEFAULT_CHARACTER}.
+     */
+    public static final long DEFAULT_CELL = pack(TextCharacter.DEFAULT_CHARACTER);
+
+    // Open addressing table of the characters created so far
+    private long[] cells = new long[256];
+    private TextCharacter[] characters = new TextCharacter[256];
+    private int size;
+    private final List<TextCharacter> stored = new ArrayList<>();
+    private final Map<TextCharacter, Long> storedCells = new HashMap<>();
+
+    /**
+     * Packs a character and its style into a cell.
+     *
+     * @param character  The character.
+     * @param foreground The foreground color.
+     * @param background The background color.
+     * @param modifiers  The modifiers, as returned by {@link #modifierMask(SGR...)}.
+     * @return The cell.
+     */
+    public static long pack(final char character, @Nullable final TextColor foreground,
+                            @Nullable final TextColor background, final int modifiers) {
+        return CELL_MARKER | character | (long) colorIndex(foreground) << FOREGROUND_SHIFT
+                | (long) colorIndex(background) << BACKGROUND_SHIFT | (long) modifiers << MODIFIERS_SHIFT;
+    }
+
+    /**
+     * Packs a text character into a cell.
+     *
+     * @param textCharacter The text character.
+     * @return The cell.
+     * @throws IllegalArgumentException if a cell cannot hold the text character, see {@link #isPackable(TextCharacter)}.
+     */
+    public static long pack(@Nonnull final TextCharacter textCharacter) {
+        if (!isPackable(textCharacter)) {
+            throw new IllegalArgumentException(String.format("Cannot pack %s into a cell", textCharacter));
+        }
+        int modifiers = 0;
+        for (final SGR modifier : textCharacter.getModifiers()) {
+            modifiers |= 1 << modifier.ordinal();
+        }
+        return pack(textCharacter.getCharacterString().charAt(0), textCharacter.getForegroundColor(),
+                textCharacter.getBackgroundColor(), modifiers);
+    }
+
+    /**
+     * Returns whether a cell can hold a text character: its text is a single {@code char} and its colors are ANSI
+     * colors.
+     *
+     * @param textCharacter The text character.
+     * @return True if {@link #pack(TextCharacter)} packs it without loss.
+     */
+    public static boolean isPackable(@Nonnull final TextCharacter textCharacter) {
+        return textCharacter.getCharacterString().length() == 1 && isAnsi(textCharacter.getForegroundColor())
+                && isAnsi(textCharacter.getBackgroundColor());
+    }
+
+    /**
+     * Returns whether a cell stands for a text character stored by {@link #cellOf(TextCharacter)} rather than
+     * packing it.
+     *
+     * @param cell The cell.
+     * @return True if the cell is a stored text character.
+     */
+    public static boolean isStored(final long cell) {
+        return (cell & STORED_MARKER) != 0;
+    }
+
+    /**
+     * Packs a text character into a cell, like {@link #pack(TextCharacter)}, without copying its modifiers when it
+     * is a cached text character or equal to one. A text character a cell cannot hold is stored, and the cell
+     * returned stands for it.
+     *
+     * @param textCharacter The text character.
+     * @return The cell.
+     */
+    public long cellOf(@Nonnull final TextCharacter textCharacter) {
+        if (!isPackable(textCharacter)) {
+            return store(textCharacter);
+        }
+        // TextCharacter tells all modifiers apart but fraktur and circled without copying them
+        final int modifiers = (textCharacter.isBold() ? 1 << SGR.BOLD.ordinal() : 0)
+                | (textCharacter.isReversed() ? 1 << SGR.REVERSE.ordinal() : 0)
+                | (textCharacter.isUnderlined() ? 1 << SGR.UNDERLINE.ordinal() : 0)
+                | (textCharacter.isBlinking() ? 1 << SGR.BLINK.ordinal() : 0)
+                | (textCharacter.isBordered() ? 1 << SGR.BORDERED.ordinal() : 0)
+                | (textCharacter.isCrossedOut() ? 1 << SGR.CROSSED_OUT.ordinal() : 0)
+                | (textCharacter.isItalic() ? 1 << SGR.ITALIC.ordinal() : 0);
+        final long cell = pack(textCharacter.getCharacterString().charAt(0), textCharacter.getForegroundColor(),
+                textCharacter.getBackgroundColor(), modifiers);
+        final TextCharacter cached = get(cell);
+        return cached == textCharacter || cached.equals(textCharacter) ? cell : pack(textCharacter);
+    }
+
+    private long store(@Nonnull final TextCharacter textCharacter) {
+        final Long cell = storedCells.get(textCharacter);
+        if (cell != null) {
+            return cell;
+        }
+        final long storedCell = CELL_MARKER | STORED_MARKER | stored.size();
+        stored.add(textCharacter);
+        storedCells.put(textCharacter, storedCell);
+        return storedCell;
+    }
+
+    /**
+     * Returns the modifier bits of a cell for the given modifiers.
+     *
+     * @param modifiers The modifiers, may be null.
+     * @return The modifier bits.
+     */
+    public static int modifierMask(@Nullable final SGR... modifiers) {
+        int mask = 0;
+        if (modifiers != null) {
+            for (final SGR modifier : modifiers) {
+                if (modifier != null) {
+                    mask |= 1 << modifier.ordinal();
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the character of a packed cell. The character of a stored cell is that of {@link #get(long)}.
+     *
+     * @param cell The cell.
+     * @return The character.
+     */
+    public static char character(final long cell) {
+        return (char) cell;
+    }
+
+    private static boolean isAnsi(@Nullable final TextColor color) {
+        return color == null || color instanceof TextColor.ANSI;
+    }
+
+    private static int colorIndex(@Nullable final TextColor color) {
+        return color instanceof TextColor.ANSI ansi ? ansi.ordinal() : TextColor.ANSI.DEFAULT.ordinal();
+    }
+
+    /**
+     * Returns the text character of a cell, creating it the first time the cell is seen.
+     *
+     * @param cell The cell.
+     * @return The shared text character.
+     */
+    @Nonnull
+    public TextCharacter get(final long cell) {
+        if (isStored(cell)) {
+            return stored.get((int) cell);
+        }
+        final int mask = cells.length - 1;
+        int slot = hash(cell) & mask;
+        while (cells[slot] != 0) {
+            if (cells[slot] == cell) {
+                return characters[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        final TextCharacter textCharacter = create(cell);
+        cells[slot] = cell;
+        characters[slot] = textCharacter;
+        if (++size * 2 > cells.length) {
+            grow();
+        }
+        return textCharacter;
+    }
+
+    /**
+     * Returns the number of distinct packed cells seen.
+     *
+     * @return The number of cached text characters, not counting stored ones.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static int hash(final long cell) {
+        final long mixed = cell * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 32);
+    }
+
+    @Nonnull
+    private static TextCharacter create(final long cell) {
+        final int modifierBits = (int) (cell >>> MODIFIERS_SHIFT) & 0x1FF;
+        final SGR[] modifiers = new SGR[Integer.bitCount(modifierBits)];
+        int count = 0;
+        for (final SGR modifier : MODIFIERS) {
+            if ((modifierBits & 1 << modifier.ordinal()) != 0) {
+                modifiers[count++] = modifier;
+            }
+        }
+        return TextCharacter.fromCharacter(character(cell), COLORS[(int) (cell >>> FOREGROUND_SHIFT) & 0xFF],
+                COLORS[(int) (cell >>> BACKGROUND_SHIFT) & 0xFF], modifiers)[0];
+    }
+
+    private void grow() {
+        final long[] oldCells = cells;
+        final TextCharacter[] oldCharacters = characters;
+        cells = new long[oldCells.length * 2];
+        characters = new TextCharacter[oldCells.length * 2];
+        final int mask = cells.length - 1;
+        for (int i = 0; i < oldCells.length; i++) {
+            if (oldCells[i] != 0) {
+                int slot = hash(oldCells[i]) & mask;
+                while (cells[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                cells[slot] = oldCells[i];
+                characters[slot] = oldCharacters[i];
+            }
+        }
+    }
+}
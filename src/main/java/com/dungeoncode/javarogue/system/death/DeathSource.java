@@ -1,5 +1,6 @@
 package com.dungeoncode.javarogue.system.death;
 
+import java.io.Serializable;
 import java.util.Objects;
 
 /**
@@ -13,7 +14,9 @@ import java.util.Objects;
  * Provides type information, template ID if applicable, and the display name.
  * </p>
  */
-public record DeathSource(Type type, long templateId, String name) {
+public record DeathSource(Type type, long templateId, String name) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public DeathSource(final Type type, final long templateId, final String name) {
         this.type = Objects.requireNonNull(type);
@@ -2,11 +2,15 @@ package com.dungeoncode.javarogue.system.entity;
 
 import com.dungeoncode.javarogue.system.SymbolType;
 
+import java.io.Serializable;
+
 /**
  * Represents an entity in the game, such as the player, a monster, or an object.
  * Based on the original Rogue "thing" union structure.
  */
-public abstract class Entity {
+public abstract class Entity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private Position position;
     private SymbolType symbolType;
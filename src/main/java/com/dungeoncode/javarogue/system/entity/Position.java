@@ -1,8 +1,11 @@
 package com.dungeoncode.javarogue.system.entity;
 
+import java.io.Serializable;
 import java.util.Objects;
 
-public class Position {
+public class Position implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private int x;
     private int y;
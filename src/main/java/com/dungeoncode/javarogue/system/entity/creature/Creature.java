@@ -15,6 +15,8 @@ import java.util.EnumSet;
  */
 public abstract class Creature extends Entity {
 
+    private static final long serialVersionUID = 1L;
+
     private EnumSet<CreatureFlag> creatureFlags;
     private Stats stats;
     private Position destination;
@@ -9,6 +9,8 @@ import java.util.Objects;
 
 public class Monster extends Creature {
 
+    private static final long serialVersionUID = 1L;
+
     private final MonsterType monsterType;
     private final SymbolType symbolType;
 
@@ -13,6 +13,8 @@ import java.util.Objects;
  */
 public class Player extends Creature {
 
+    private static final long serialVersionUID = 1L;
+
     public final static String[] STATUS_HUNGER_NAMES = {"", "Hungry", "Weak", "Faint"};
 
     private final String playerName;
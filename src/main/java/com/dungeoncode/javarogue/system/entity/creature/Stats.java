@@ -4,9 +4,12 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import javax.annotation.Nonnull;
+import java.io.Serializable;
 import java.util.Objects;
 
-public class Stats {
+public class Stats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final int strength;
     private final int experience;
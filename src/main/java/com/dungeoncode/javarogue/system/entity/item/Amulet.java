@@ -2,6 +2,8 @@ package com.dungeoncode.javarogue.system.entity.item;
 
 public class Amulet extends Item {
 
+    private static final long serialVersionUID = 1L;
+
     public Amulet() {
         super(ObjectType.AMULET, null, 1);
     }
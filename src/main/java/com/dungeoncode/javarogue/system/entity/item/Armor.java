@@ -9,6 +9,8 @@ import java.util.Objects;
 
 public class Armor extends Item {
 
+    private static final long serialVersionUID = 1L;
+
     public Armor(@Nonnull final Enum<ArmorType> armorType) {
         super(ObjectType.ARMOR, armorType, 1);
         Objects.requireNonNull(armorType);
@@ -2,6 +2,8 @@ package com.dungeoncode.javarogue.system.entity.item;
 
 public class Food extends Item {
 
+    private static final long serialVersionUID = 1L;
+
     private boolean fruit;
 
     public Food() {
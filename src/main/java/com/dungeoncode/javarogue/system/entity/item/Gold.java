@@ -4,6 +4,8 @@ import com.dungeoncode.javarogue.system.SymbolType;
 
 public class Gold extends Item {
 
+    private static final long serialVersionUID = 1L;
+
     private static final int GOLDGRP = 1;
 
     public Gold(final int goldValue) {
@@ -5,6 +5,7 @@ import com.dungeoncode.javarogue.template.ObjectInfoTemplate;
 import com.dungeoncode.javarogue.template.Templates;
 
 import javax.annotation.Nonnull;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -16,7 +17,9 @@ import java.util.Objects;
  * <p>Modeled after the original Rogue behavior with features such as object stacking,
  * pack size limits, and type-based grouping.</p>
  */
-public class Inventory {
+public class Inventory implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final int maxPack;
     private final List<Item> items;
@@ -12,6 +12,8 @@ import java.util.Objects;
 
 public class Item extends Entity {
 
+    private static final long serialVersionUID = 1L;
+
     private final ObjectType objectType;
     private final Enum<? extends ItemSubtype> itemSubType;
     private final EnumSet<ItemFlag> itemFlags;
@@ -7,6 +7,8 @@ import java.util.Objects;
 
 public class Potion extends Item {
 
+    private static final long serialVersionUID = 1L;
+
     public Potion(@Nonnull final Enum<PotionType> potionType) {
         super(ObjectType.POTION, potionType, 1);
         Objects.requireNonNull(potionType);
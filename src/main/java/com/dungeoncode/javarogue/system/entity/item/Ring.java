@@ -6,6 +6,8 @@ import javax.annotation.Nullable;
 
 public class Ring extends Item {
 
+    private static final long serialVersionUID = 1L;
+
     public Ring(@Nullable Enum<RingType> ringType) {
         super(ObjectType.RING, ringType, 1);
         setSymbolType(SymbolType.RING);
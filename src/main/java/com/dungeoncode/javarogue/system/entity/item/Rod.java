@@ -6,6 +6,8 @@ import javax.annotation.Nullable;
 
 public class Rod extends Item {
 
+    private static final long serialVersionUID = 1L;
+
     private int charges;
 
     public Rod(@Nullable Enum<RodType> itemSubType) {
@@ -7,6 +7,8 @@ import java.util.Objects;
 
 public class Scroll extends Item {
 
+    private static final long serialVersionUID = 1L;
+
     public Scroll(@Nonnull Enum<? extends ItemSubtype> scrollType) {
         super(ObjectType.SCROLL, scrollType, 1);
         Objects.requireNonNull(scrollType);
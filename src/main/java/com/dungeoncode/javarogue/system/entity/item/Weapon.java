@@ -11,6 +11,8 @@ import javax.annotation.Nonnull;
  */
 public class Weapon extends Item {
 
+    private static final long serialVersionUID = 1L;
+
     private final WeaponType launchWeapon;
     private int hitPlus;
     private int damagePlus;
@@ -0,0 +1,14 @@
+package com.dungeoncode.javarogue.system.input;
+
+/**
+ * Thrown by a {@link KeyStrokeSource} when it has no more keystrokes to supply.
+ * The game loop treats it as the end of a scripted session.
+ */
+public class InputExhaustedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InputExhaustedException(final String message) {
+        super(message);
+    }
+}
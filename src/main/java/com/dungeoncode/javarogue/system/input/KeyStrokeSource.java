@@ -0,0 +1,26 @@
+package com.dungeoncode.javarogue.system.input;
+
+import com.googlecode.lanterna.input.KeyStroke;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Supplies player keystrokes to the game, decoupling input from the Lanterna terminal.
+ *
+ * <p>
+ * When a source is attached to a {@link com.dungeoncode.javarogue.system.RogueScreen}, every input request
+ * (game loop, <code>--More--</code> prompts, quit confirmation) is served by the source instead of the terminal.
+ * This allows scripted or programmatic play, such as headless simulation runs.
+ * </p>
+ */
+public interface KeyStrokeSource {
+
+    /**
+     * Returns the next keystroke, blocking if necessary.
+     *
+     * @return the next non-null keystroke
+     * @throws InputExhaustedException if the source has no more input to offer
+     */
+    @Nonnull
+    KeyStroke readKeyStroke();
+}
@@ -0,0 +1,112 @@
+package com.dungeoncode.javarogue.system.input;
+
+import com.googlecode.lanterna.input.KeyStroke;
+import com.googlecode.lanterna.input.KeyType;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+
+/**
+ * A {@link KeyStrokeSource} that replays a predefined sequence of keystrokes.
+ * Once the script is consumed, {@link #readKeyStroke()} throws {@link InputExhaustedException}.
+ */
+public class ScriptedKeyStrokeSource implements KeyStrokeSource {
+
+    private final Deque<KeyStroke> keyStrokes;
+    private long consumed;
+
+    public ScriptedKeyStrokeSource() {
+        this.keyStrokes = new ArrayDeque<>();
+    }
+
+    /**
+     * Creates a source from a string, mapping each character to a keystroke.
+     * <code>'\n'</code> and <code>'\r'</code> map to {@link KeyType#Enter}, <code>ESC</code> (27) maps to
+     * {@link KeyType#Escape} and control characters 1-26 map to Ctrl+letter, as typed on a terminal.
+     *
+     * @param script The keys to replay.
+     * @return A new scripted source.
+     */
+    public static ScriptedKeyStrokeSource of(@Nonnull final String script) {
+        Objects.requireNonNull(script);
+        final ScriptedKeyStrokeSource source = new ScriptedKeyStrokeSource();
+        for (int i = 0; i < script.length(); i++) {
+            source.add(toKeyStroke(script.charAt(i)));
+        }
+        return source;
+    }
+
+    /**
+     * Converts a terminal character to the keystroke Lanterna would report for it.
+     *
+     * @param ch The character.
+     * @return The matching keystroke.
+     */
+    public static KeyStroke toKeyStroke(final char ch) {
+        if (ch == '\n' || ch == '\r') {
+            return new KeyStroke(KeyType.Enter);
+        } else if (ch == 27) {
+            return new KeyStroke(KeyType.Escape);
+        } else if (ch >= 1 && ch <= 26) {
+            return new KeyStroke((char) ('a' + ch - 1), true, false);
+        }
+        return new KeyStroke(ch, false, false);
+    }
+
+    /**
+     * Appends a keystroke to the end of the script.
+     *
+     * @param keyStroke The keystroke to append.
+     * @return This source, for chaining.
+     */
+    public ScriptedKeyStrokeSource add(@Nonnull final KeyStroke keyStroke) {
+        Objects.requireNonNull(keyStroke);
+        keyStrokes.addLast(keyStroke);
+        return this;
+    }
+
+    /**
+     * Appends every character of the given string as a keystroke.
+     *
+     * @param keys The keys to append.
+     * @return This source, for chaining.
+     */
+    public ScriptedKeyStrokeSource addAll(@Nonnull final String keys) {
+        Objects.requireNonNull(keys);
+        for (int i = 0; i < keys.length(); i++) {
+            add(toKeyStroke(keys.charAt(i)));
+        }
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public KeyStroke readKeyStroke() {
+        final KeyStroke keyStroke = keyStrokes.pollFirst();
+        if (keyStroke == null) {
+            throw new InputExhaustedException(String.format("Scripted input exhausted after %d keystrokes", consumed));
+        }
+        consumed++;
+        return keyStroke;
+    }
+
+    /**
+     * Returns the number of keystrokes still waiting to be read.
+     *
+     * @return The remaining keystroke count.
+     */
+    public int getRemaining() {
+        return keyStrokes.size();
+    }
+
+    /**
+     * Returns the number of keystrokes read so far.
+     *
+     * @return The consumed keystroke count.
+     */
+    public long getConsumed() {
+        return consumed;
+    }
+}
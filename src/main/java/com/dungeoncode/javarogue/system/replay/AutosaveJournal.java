@@ -0,0 +1,544 @@
+package com.dungeoncode.javarogue.system.replay;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.core.GameSnapshot;
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import com.dungeoncode.javarogue.core.SaveFile;
+import com.dungeoncode.javarogue.system.HeadlessRogueScreen;
+import com.dungeoncode.javarogue.system.MessageSystem;
+import com.dungeoncode.javarogue.system.input.InputExhaustedException;
+import com.dungeoncode.javarogue.system.input.KeyStrokeSource;
+import com.googlecode.lanterna.input.KeyStroke;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.dungeoncode.javarogue.core.Messages.ERROR_FAILED_READ_JOURNAL;
+import static com.dungeoncode.javarogue.core.Messages.ERROR_FAILED_WRITE_JOURNAL;
+
+/**
+ * Autosaves a game in progress so that it can be recovered if the process dies, as a {@link SaveFile} snapshot
+ * followed by an append-only journal of what happened since.
+ * <p>
+ * Since a game is fully determined by its state and the keystrokes it reads, the journal holds the keystrokes
+ * and the start of every turn, encoded as in replay files, rather than the places, entities and random generator
+ * positions each turn changes. Appending a turn costs the game thread a few bytes written into an in-memory buffer.
+ * Every <code>compactionInterval</code> turns, the game thread marks a compaction point between two turns.
+ * </p>
+ * <p>
+ * Snapshots are taken on the writer thread from a headless replica of the game: the replica is restored from the
+ * first snapshot and plays the journaled keystrokes up to each compaction point, so the game thread does not pause
+ * to serialize the game. The game thread only takes an uncompressed {@link GameSnapshot} itself when there is no
+ * replica to take it from, for the first compaction or after the replica failed, which then restarts the replica.
+ * The replica gets its own copy of the game's {@link Config}, taken at that compaction point, so options changed
+ * later in the game cannot reach the writer thread half way through a turn.
+ * </p>
+ * <p>
+ * The replica runs the game logic of every turn a second time, on the writer thread: it costs about as much CPU as
+ * the game itself, minus drawing to a terminal, and holds a second copy of the game in memory. Each compaction
+ * plays at most the turns journaled since the previous one; a replica that does not reach the compaction point
+ * within them is stopped, and the game thread takes the next snapshot instead.
+ * </p>
+ * <p>
+ * A background thread drains the buffer into the journal file every <code>flushIntervalMillis</code> and forces it
+ * to disk. When a compaction is pending, it first completes the old journal, then writes the snapshot file and
+ * atomically replaces the journal with an empty one based on the snapshot's turn. A crash at any point leaves a
+ * snapshot and a journal that starts at or before it; {@link #recover(Path)} restores the snapshot and returns the
+ * keystrokes of the turns after it, which the game then reads again before live input. A crash loses at most the
+ * keystrokes of the last flush interval.
+ * </p>
+ * <p>
+ * The journal is attached to the screen as its keystroke source and to the game with
+ * {@link GameState#setAutosaveJournal(AutosaveJournal)}. A failure to write stops autosaving but not the game.
+ * </p>
+ */
+public class AutosaveJournal implements KeyStrokeSource, AutoCloseable {
+
+    public static final int DEFAULT_COMPACTION_INTERVAL = 200;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 250;
+
+    static final int MAGIC = 0x524A4E4C;
+    static final short VERSION = 1;
+    private static final int HEADER_SIZE = 14;
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AutosaveJournal.class);
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final KeyStrokeSource source;
+    private final int compactionInterval;
+    private final boolean compress;
+    private final ScheduledExecutorService executor;
+
+    // Shared with the writer thread, guarded by lock
+    private final Object lock = new Object();
+    private final ByteArrayOutputStream pending;
+    private final DataOutputStream pendingOut;
+    private final List<Compaction> compactions;
+
+    // Game thread only
+    private long snapshotTurn = -1;
+    private long gameThreadSnapshots;
+
+    // Writer thread only
+    private FileChannel channel;
+    private GameState replica;
+    private final ArrayDeque<KeyStroke> replicaInput;
+    private volatile boolean replicaReady;
+    private volatile boolean failed;
+    private volatile long flushes;
+
+    /**
+     * Starts autosaving with the default intervals.
+     *
+     * @param snapshotPath The snapshot file; the journal is written next to it.
+     * @param source       The source keystrokes are read from, e.g., the terminal.
+     * @param compress     Whether to deflate snapshots.
+     */
+    public AutosaveJournal(@Nonnull final Path snapshotPath, @Nonnull final KeyStrokeSource source,
+                           final boolean compress) {
+        this(snapshotPath, source, compress, DEFAULT_COMPACTION_INTERVAL, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Starts autosaving. Nothing is written before the first turn begins, which takes the first snapshot.
+     *
+     * @param snapshotPath        The snapshot file; the journal is written next to it.
+     * @param source              The source keystrokes are read from, e.g., the terminal.
+     * @param compress            Whether to deflate snapshots.
+     * @param compactionInterval  The number of turns between two snapshots.
+     * @param flushIntervalMillis The delay between two writes of the journal.
+     * @throws IllegalArgumentException if an interval is not positive.
+     */
+    public AutosaveJournal(@Nonnull final Path snapshotPath, @Nonnull final KeyStrokeSource source,
+                           final boolean compress, final int compactionInterval, final long flushIntervalMillis) {
+        Objects.requireNonNull(snapshotPath);
+        Objects.requireNonNull(source);
+        if (compactionInterval < 1) {
+            throw new IllegalArgumentException(String.format("Invalid compaction interval: %d", compactionInterval));
+        }
+        if (flushIntervalMillis < 1) {
+            throw new IllegalArgumentException(String.format("Invalid flush interval: %d", flushIntervalMillis));
+        }
+        this.snapshotPath = snapshotPath.toAbsolutePath();
+        this.journalPath = journalPath(this.snapshotPath);
+        this.source = source;
+        this.compress = compress;
+        this.compactionInterval = compactionInterval;
+        this.pending = new ByteArrayOutputStream();
+        this.pendingOut = new DataOutputStream(pending);
+        this.compactions = new ArrayList<>();
+        this.replicaInput = new ArrayDeque<>();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "autosave-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::writePending, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns whether an autosave is left, i.e., a game autosaving to this file did not end normally.
+     *
+     * @param snapshotPath The snapshot file.
+     * @return True if the snapshot file exists.
+     */
+    public static boolean exists(@Nonnull final Path snapshotPath) {
+        return Files.exists(snapshotPath);
+    }
+
+    /**
+     * Reads an autosave: the snapshot, and the keystrokes the journal holds for the turns after it. A journal that
+     * ends in the middle of a keystroke, as left by a crash, is read up to it.
+     *
+     * @param snapshotPath The snapshot file.
+     * @return The autosaved game.
+     * @throws RuntimeException if the snapshot or the journal cannot be read.
+     */
+    @Nonnull
+    public static Recovery recover(@Nonnull final Path snapshotPath) {
+        Objects.requireNonNull(snapshotPath);
+        final GameSnapshot snapshot = SaveFile.read(snapshotPath);
+        final Path journal = journalPath(snapshotPath.toAbsolutePath());
+        final List<KeyStroke> keyStrokes = new ArrayList<>();
+        if (!Files.exists(journal)) {
+            return new Recovery(snapshot, keyStrokes);
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journal)))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+                throw new IOException("Not a journal file");
+            }
+            final long skippedTurns = snapshot.getTurnCount() - in.readLong();
+            if (skippedTurns < 0) {
+                throw new IOException("Journal starts after the snapshot");
+            }
+            long turns = 0;
+            try {
+                for (int token = ReplayCodec.readVarint(in); token >= 0; token = ReplayCodec.readVarint(in)) {
+                    if (token == ReplayCodec.TOKEN_TURN) {
+                        turns++;
+                    } else if (!ReplayCodec.isKey(token)) {
+                        throw new IOException(String.format("Unexpected token: %d", token));
+                    } else if (turns > skippedTurns) {
+                        keyStrokes.add(ReplayCodec.decode(token));
+                    }
+                }
+            } catch (IOException ex) {
+                LOGGER.warn("Journal {} is damaged after {} turns, recovering up to there", journal, turns, ex);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format(ERROR_FAILED_READ_JOURNAL, journal), ex);
+        }
+        return new Recovery(snapshot, keyStrokes);
+    }
+
+    @Nonnull
+    static Path journalPath(@Nonnull final Path snapshotPath) {
+        return snapshotPath.resolveSibling(snapshotPath.getFileName() + JOURNAL_SUFFIX);
+    }
+
+    /**
+     * Reads the next keystroke from the underlying source and journals it.
+     *
+     * @return The keystroke read.
+     */
+    @Nonnull
+    @Override
+    public KeyStroke readKeyStroke() {
+        final KeyStroke keyStroke = source.readKeyStroke();
+        append(ReplayCodec.encode(keyStroke));
+        return keyStroke;
+    }
+
+    /**
+     * Journals the start of a turn, first marking a compaction point if none was marked in the last
+     * <code>compactionInterval</code> turns. Called by the game before it counts the turn, while it is between two
+     * turns.
+     *
+     * @param gameState The game.
+     */
+    public void beginTurn(@Nonnull final GameState gameState) {
+        final long turn = gameState.getTurnCount();
+        if (snapshotTurn < 0 || turn - snapshotTurn >= compactionInterval) {
+            GameSnapshot snapshot = null;
+            if (!replicaReady) {
+                snapshot = gameState.snapshot(false);
+                gameThreadSnapshots++;
+            }
+            synchronized (lock) {
+                compactions.add(new Compaction(pending.toByteArray(), turn, snapshot, new Config(gameState.getConfig())));
+                pending.reset();
+            }
+            snapshotTurn = turn;
+        }
+        append(ReplayCodec.TOKEN_TURN);
+    }
+
+    /**
+     * Writes everything journaled so far and waits until it is on disk.
+     */
+    public void flush() {
+        try {
+            executor.submit(this::writePending).get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            LOGGER.error(String.format(ERROR_FAILED_WRITE_JOURNAL, journalPath), ex.getCause());
+        }
+    }
+
+    /**
+     * Returns whether autosaving stopped after failing to write.
+     *
+     * @return True if it failed.
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns the number of snapshots the game thread took because the writer thread had no replica to take them
+     * from.
+     *
+     * @return The snapshot count.
+     */
+    public long getGameThreadSnapshots() {
+        return gameThreadSnapshots;
+    }
+
+    /**
+     * Returns the number of times the writer thread wrote to the journal or took a snapshot.
+     *
+     * @return The flush count.
+     */
+    public long getFlushes() {
+        return flushes;
+    }
+
+    /**
+     * Writes everything journaled so far and stops autosaving, leaving the autosave in place.
+     */
+    @Override
+    public void close() {
+        if (executor.isShutdown()) {
+            return;
+        }
+        flush();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        closeChannel();
+    }
+
+    /**
+     * Stops autosaving and deletes the autosave, once the game has ended and must not be recovered.
+     */
+    public void discard() {
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        closeChannel();
+        try {
+            Files.deleteIfExists(journalPath);
+            Files.deleteIfExists(snapshotPath);
+        } catch (IOException ex) {
+            LOGGER.error(String.format(ERROR_FAILED_WRITE_JOURNAL, journalPath), ex);
+        }
+    }
+
+    private void append(final int token) {
+        synchronized (lock) {
+            try {
+                ReplayCodec.writeVarint(pendingOut, token);
+            } catch (IOException ex) {
+                // Writing to a byte array does not fail
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+
+    /**
+     * Runs on the writer thread.
+     */
+    private void writePending() {
+        final List<Compaction> due;
+        final byte[] after;
+        synchronized (lock) {
+            due = new ArrayList<>(compactions);
+            after = pending.toByteArray();
+            compactions.clear();
+            pending.reset();
+        }
+        if (failed || due.isEmpty() && after.length == 0) {
+            return;
+        }
+        try {
+            for (final Compaction compaction : due) {
+                if (channel != null && compaction.journal().length > 0) {
+                    write(compaction.journal());
+                    channel.force(false);
+                }
+                feedReplica(compaction.journal());
+                final GameSnapshot snapshot = compaction.snapshot() != null
+                        ? compaction.snapshot() : replicaSnapshot(compaction.turn());
+                if (snapshot != null) {
+                    SaveFile.write(snapshotPath, snapshot, compress);
+                    startJournal(snapshot.getTurnCount());
+                }
+                if (compaction.snapshot() != null) {
+                    startReplica(compaction.config(), compaction.snapshot());
+                }
+            }
+            if (channel != null && after.length > 0) {
+                write(after);
+                channel.force(false);
+            }
+            feedReplica(after);
+            flushes++;
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.error(String.format(ERROR_FAILED_WRITE_JOURNAL, journalPath), ex);
+            failed = true;
+            closeChannel();
+        }
+    }
+
+    /**
+     * Restores the replica from a snapshot taken by the game thread.
+     */
+    private void startReplica(@Nonnull final Config config, @Nonnull final GameSnapshot snapshot) {
+        replicaInput.clear();
+        try {
+            final HeadlessRogueScreen screen = new HeadlessRogueScreen(config, this::readReplicaInput);
+            final GameState restored = new GameState(config, new RogueRandom(0), screen, null,
+                    new MessageSystem(screen));
+            restored.restore(snapshot);
+            replica = restored;
+            replicaReady = true;
+        } catch (IOException | RuntimeException ex) {
+            stopReplica(ex);
+        }
+    }
+
+    /**
+     * Plays the replica up to the given turn and snapshots it, or returns null if there is no replica or it did not
+     * end up between two turns exactly where the game was. The journal then goes on from the previous snapshot.
+     */
+    @Nullable
+    private GameSnapshot replicaSnapshot(final long turn) {
+        if (replica == null) {
+            return null;
+        }
+        try {
+            // Play at most the journaled turns, so a replica that stops counting turns cannot keep the thread busy
+            final long turns = turn - replica.getTurnCount();
+            for (long played = 0; played < turns && replica.isPlaying(); played++) {
+                replica.playTurn();
+            }
+            if (replica.getTurnCount() != turn || !replicaInput.isEmpty()) {
+                throw new IllegalStateException(String.format(
+                        "Replica at turn %d with %d keystrokes left, expected turn %d", replica.getTurnCount(),
+                        replicaInput.size(), turn));
+            }
+            return replica.snapshot(false);
+        } catch (RuntimeException ex) {
+            stopReplica(ex);
+            return null;
+        }
+    }
+
+    /**
+     * Queues the keystrokes of journaled tokens for the replica.
+     */
+    private void feedReplica(@Nonnull final byte[] journal) throws IOException {
+        if (replica == null || journal.length == 0) {
+            return;
+        }
+        final InputStream in = new ByteArrayInputStream(journal);
+        for (int token = ReplayCodec.readVarint(in); token >= 0; token = ReplayCodec.readVarint(in)) {
+            if (ReplayCodec.isKey(token)) {
+                replicaInput.add(ReplayCodec.decode(token));
+            }
+        }
+    }
+
+    @Nonnull
+    private KeyStroke readReplicaInput() {
+        final KeyStroke keyStroke = replicaInput.poll();
+        if (keyStroke == null) {
+            throw new InputExhaustedException("Replica ran out of journaled keystrokes");
+        }
+        return keyStroke;
+    }
+
+    private void stopReplica(@Nonnull final Exception ex) {
+        LOGGER.warn("Autosave replica stopped, the game thread takes the next snapshot", ex);
+        replica = null;
+        replicaReady = false;
+        replicaInput.clear();
+    }
+
+    /**
+     * Atomically replaces the journal with an empty one starting at the given turn.
+     */
+    private void startJournal(final long baseTurn) throws IOException {
+        closeChannel();
+        final Path temp = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putShort(VERSION)
+                    .putLong(baseTurn).flip();
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            out.force(true);
+        }
+        Files.move(temp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(journalPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void write(@Nonnull final byte[] bytes) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                LOGGER.error(String.format(ERROR_FAILED_WRITE_JOURNAL, journalPath), ex);
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * The journal up to a compaction point, with the snapshot the game thread took there, if any.
+     *
+     * @param journal  The tokens journaled since the previous compaction point.
+     * @param turn     The turn the game was about to start.
+     * @param snapshot The snapshot of the game, or null to take it from the replica.
+     * @param config   A copy of the game's configuration, taken at the compaction point.
+     */
+    private record Compaction(@Nonnull byte[] journal, long turn, @Nullable GameSnapshot snapshot,
+                              @Nonnull Config config) {
+    }
+
+    /**
+     * An autosaved game: the snapshot to restore and the keystrokes to play again after it.
+     *
+     * @param snapshot   The last snapshot.
+     * @param keyStrokes The keystrokes read in the turns after it.
+     */
+    public record Recovery(@Nonnull GameSnapshot snapshot, @Nonnull List<KeyStroke> keyStrokes) {
+
+        /**
+         * Returns a source serving the journaled keystrokes, then those of the given source.
+         *
+         * @param live The source to read from once the journaled keystrokes are used up.
+         * @return The combined source.
+         */
+        @Nonnull
+        public KeyStrokeSource source(@Nonnull final KeyStrokeSource live) {
+            Objects.requireNonNull(live);
+            final List<KeyStroke> recorded = List.copyOf(keyStrokes);
+            return new KeyStrokeSource() {
+                private int position;
+
+                @Nonnull
+                @Override
+                public KeyStroke readKeyStroke() {
+                    return position < recorded.size() ? recorded.get(position++) : live.readKeyStroke();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.dungeoncode.javarogue.system.replay;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import com.googlecode.lanterna.input.KeyStroke;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static com.dungeoncode.javarogue.core.Messages.ERROR_FAILED_READ_REPLAY;
+
+/**
+ * A game read back from a file written by {@link ReplayRecorder}: its seed, options, keystrokes and, if the game
+ * finished, the state it ended in.
+ */
+public class Replay {
+
+    private final long seed;
+    private final int flags;
+    private final List<KeyStroke> keyStrokes;
+    private final long turns;
+    private final ReplayState finalState;
+
+    private Replay(final long seed, final int flags, @Nonnull final List<KeyStroke> keyStrokes, final long turns,
+                   @Nullable final ReplayState finalState) {
+        this.seed = seed;
+        this.flags = flags;
+        this.keyStrokes = Collections.unmodifiableList(keyStrokes);
+        this.turns = turns;
+        this.finalState = finalState;
+    }
+
+    /**
+     * Reads a replay file. A file cut short after a turn marker, e.g., by a crash, reads as a game without a final
+     * state.
+     *
+     * @param path The file to read.
+     * @return The replay.
+     * @throws RuntimeException if the file cannot be read or is not a replay.
+     */
+    @Nonnull
+    public static Replay read(@Nonnull final Path path) {
+        Objects.requireNonNull(path);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != ReplayCodec.MAGIC || in.readShort() != ReplayCodec.VERSION) {
+                throw new IOException("Not a replay file");
+            }
+            final long seed = in.readLong();
+            final int flags = in.readUnsignedByte();
+            final List<KeyStroke> keyStrokes = new ArrayList<>();
+            long turns = 0;
+            ReplayState finalState = null;
+            int token;
+            while ((token = ReplayCodec.readVarint(in)) >= 0) {
+                if (ReplayCodec.isKey(token)) {
+                    keyStrokes.add(ReplayCodec.decode(token));
+                } else if (token == ReplayCodec.TOKEN_TURN) {
+                    turns++;
+                } else {
+                    finalState = ReplayCodec.readState(in);
+                    break;
+                }
+            }
+            return new Replay(seed, flags, keyStrokes, turns, finalState);
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format(ERROR_FAILED_READ_REPLAY, path), ex);
+        }
+    }
+
+    /**
+     * Applies the recorded options to a configuration and its random generator, as the command line did for the
+     * recorded game. Only the options a replay records are changed; the others, such as the player name or
+     * autosaving, keep their values. Scoring is turned off so replaying does not add to the score file.
+     *
+     * @param config      The configuration to update.
+     * @param rogueRandom The random generator of the replayed game.
+     */
+    public void configure(@Nonnull final Config config, @Nonnull final RogueRandom rogueRandom) {
+        Objects.requireNonNull(config);
+        Objects.requireNonNull(rogueRandom);
+        ReplayCodec.applyFlags(config, flags);
+        config.setWizard(ReplayCodec.isWizard(flags), rogueRandom);
+        config.setScoring(false);
+        rogueRandom.reseed(seed);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Nonnull
+    public List<KeyStroke> getKeyStrokes() {
+        return keyStrokes;
+    }
+
+    /**
+     * Returns the number of turns the recorded game started.
+     *
+     * @return The turn marker count.
+     */
+    public long getTurns() {
+        return turns;
+    }
+
+    /**
+     * Returns the state the recorded game ended in.
+     *
+     * @return The final state, or null if the recording stopped before the game finished.
+     */
+    @Nullable
+    public ReplayState getFinalState() {
+        return finalState;
+    }
+}
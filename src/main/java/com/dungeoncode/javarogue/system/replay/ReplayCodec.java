@@ -0,0 +1,178 @@
+package com.dungeoncode.javarogue.system.replay;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.googlecode.lanterna.input.KeyStroke;
+import com.googlecode.lanterna.input.KeyType;
+
+import javax.annotation.Nonnull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The binary layout of replay files.
+ * <p>
+ * A file starts with a header (magic, version, seed of the game's random generator and the option flags that
+ * change how input is interpreted), followed by a stream of unsigned LEB128 varint tokens. The two low bits of a
+ * token give its kind: a turn marker, the end of the game, a character key or a special key. Keys carry their
+ * Ctrl, Alt and Shift modifiers in the next three bits and the character, or the {@link KeyType} ordinal, above
+ * them, so a plain ASCII key takes two bytes and a turn marker one. The end token is followed by the
+ * {@link ReplayState} the game finished in.
+ * </p>
+ */
+final class ReplayCodec {
+
+    static final int MAGIC = 0x52504C59;
+    static final short VERSION = 1;
+
+    static final int TOKEN_TURN = 0;
+    static final int TOKEN_END = 1;
+    private static final int TOKEN_CHARACTER = 2;
+    private static final int TOKEN_SPECIAL = 3;
+    private static final int TOKEN_KIND_MASK = 0b11;
+
+    private static final int MODIFIER_CTRL = 1 << 2;
+    private static final int MODIFIER_ALT = 1 << 3;
+    private static final int MODIFIER_SHIFT = 1 << 4;
+    private static final int PAYLOAD_SHIFT = 5;
+
+    private static final int FLAG_MASTER = 1;
+    private static final int FLAG_WIZARD = 1 << 1;
+    private static final int FLAG_TERSE = 1 << 2;
+    private static final int FLAG_FLUSH = 1 << 3;
+    private static final int FLAG_SEE_FLOOR = 1 << 4;
+    private static final int FLAG_PASS_GO = 1 << 5;
+
+    private static final KeyType[] KEY_TYPES = KeyType.values();
+
+    private ReplayCodec() {
+    }
+
+    /**
+     * Encodes a keystroke as a single token.
+     */
+    static int encode(@Nonnull final KeyStroke keyStroke) {
+        int token = keyStroke.getKeyType() == KeyType.Character
+                ? keyStroke.getCharacter() << PAYLOAD_SHIFT | TOKEN_CHARACTER
+                : keyStroke.getKeyType().ordinal() << PAYLOAD_SHIFT | TOKEN_SPECIAL;
+        if (keyStroke.isCtrlDown()) {
+            token |= MODIFIER_CTRL;
+        }
+        if (keyStroke.isAltDown()) {
+            token |= MODIFIER_ALT;
+        }
+        if (keyStroke.isShiftDown()) {
+            token |= MODIFIER_SHIFT;
+        }
+        return token;
+    }
+
+    /**
+     * Decodes a key token written by {@link #encode(KeyStroke)}.
+     *
+     * @throws IOException if the token is not a key or names an unknown key type.
+     */
+    @Nonnull
+    static KeyStroke decode(final int token) throws IOException {
+        final boolean ctrl = (token & MODIFIER_CTRL) != 0;
+        final boolean alt = (token & MODIFIER_ALT) != 0;
+        final boolean shift = (token & MODIFIER_SHIFT) != 0;
+        final int payload = token >>> PAYLOAD_SHIFT;
+        switch (token & TOKEN_KIND_MASK) {
+            case TOKEN_CHARACTER:
+                return new KeyStroke((char) payload, ctrl, alt, shift);
+            case TOKEN_SPECIAL:
+                if (payload < KEY_TYPES.length) {
+                    return new KeyStroke(KEY_TYPES[payload], ctrl, alt, shift);
+                }
+                throw new IOException(String.format("Unknown key type %d", payload));
+            default:
+                throw new IOException(String.format("Token %d is not a key", token));
+        }
+    }
+
+    static boolean isKey(final int token) {
+        return (token & TOKEN_KIND_MASK) >= TOKEN_CHARACTER;
+    }
+
+    static void writeVarint(@Nonnull final DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads a varint.
+     *
+     * @return The value, or -1 if the stream ended before its first byte.
+     * @throws EOFException if the stream ends inside the varint.
+     */
+    static int readVarint(@Nonnull final InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final int b = in.read();
+            if (b < 0) {
+                if (shift == 0) {
+                    return -1;
+                }
+                throw new EOFException("Truncated varint");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint too long");
+    }
+
+    /**
+     * Collects the options of a configuration that change how keystrokes are interpreted.
+     */
+    static int flagsOf(@Nonnull final Config config) {
+        int flags = 0;
+        flags |= config.isMaster() ? FLAG_MASTER : 0;
+        flags |= config.isWizard() ? FLAG_WIZARD : 0;
+        flags |= config.isTerse() ? FLAG_TERSE : 0;
+        flags |= config.isFlush() ? FLAG_FLUSH : 0;
+        flags |= config.isSeeFloor() ? FLAG_SEE_FLOOR : 0;
+        flags |= config.isPassGo() ? FLAG_PASS_GO : 0;
+        return flags;
+    }
+
+    /**
+     * Sets the options of a configuration collected by {@link #flagsOf(Config)} and leaves the others alone. Wizard
+     * mode needs the random generator and is applied separately.
+     */
+    static void applyFlags(@Nonnull final Config config, final int flags) {
+        config.setMaster((flags & FLAG_MASTER) != 0);
+        config.setTerse((flags & FLAG_TERSE) != 0);
+        config.setFlush((flags & FLAG_FLUSH) != 0);
+        config.setSeeFloor((flags & FLAG_SEE_FLOOR) != 0);
+        config.setPassGo((flags & FLAG_PASS_GO) != 0);
+    }
+
+    static boolean isWizard(final int flags) {
+        return (flags & FLAG_WIZARD) != 0;
+    }
+
+    static void writeState(@Nonnull final DataOutput out, @Nonnull final ReplayState state) throws IOException {
+        out.writeLong(state.turns());
+        out.writeInt(state.levelNum());
+        out.writeLong(state.seed());
+        out.writeInt(state.x());
+        out.writeInt(state.y());
+        out.writeInt(state.gold());
+        out.writeInt(state.hitPoints());
+        out.writeInt(state.packSize());
+    }
+
+    @Nonnull
+    static ReplayState readState(@Nonnull final DataInput in) throws IOException {
+        return new ReplayState(in.readLong(), in.readInt(), in.readLong(), in.readInt(), in.readInt(), in.readInt(),
+                in.readInt(), in.readInt());
+    }
+}
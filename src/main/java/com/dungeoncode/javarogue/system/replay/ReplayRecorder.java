@@ -0,0 +1,152 @@
+package com.dungeoncode.javarogue.system.replay;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.system.input.KeyStrokeSource;
+import com.googlecode.lanterna.input.KeyStroke;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import static com.dungeoncode.javarogue.core.Messages.ERROR_FAILED_WRITE_REPLAY;
+
+/**
+ * Records a game to a replay file by sitting between the screen and the real source of keystrokes.
+ * <p>
+ * The seed and the options a game starts with, together with every keystroke it reads, fully determine it. The
+ * recorder is attached to the screen with {@link com.dungeoncode.javarogue.system.RogueScreen#setKeyStrokeSource},
+ * so keys read by prompts (<code>--More--</code>, quit confirmation, score screen) are recorded along with commands,
+ * and to the game with {@link GameState#setReplayRecorder(ReplayRecorder)}, which marks the start of every turn.
+ * The file is flushed at each turn marker, so a game that crashes leaves a replay up to its last turn.
+ * {@link #finish(GameState)} appends the state the game ended in, which {@link Replayer} checks.
+ * </p>
+ * <p>
+ * A failure to write stops the recording but not the game.
+ * </p>
+ */
+public class ReplayRecorder implements KeyStrokeSource, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplayRecorder.class);
+
+    private final Path path;
+    private final KeyStrokeSource source;
+    private DataOutputStream out;
+    private long keyStrokes;
+    private long turns;
+
+    /**
+     * Creates the replay file and writes its header.
+     *
+     * @param path   The replay file, replaced if it exists.
+     * @param source The source keystrokes are read from, e.g., the terminal.
+     * @param seed   The state of the game's random generator before the game is created.
+     * @param config The configuration of the game.
+     * @throws RuntimeException if the file cannot be created.
+     */
+    public ReplayRecorder(@Nonnull final Path path, @Nonnull final KeyStrokeSource source, final long seed,
+                          @Nonnull final Config config) {
+        Objects.requireNonNull(path);
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(config);
+        this.path = path;
+        this.source = source;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+            out.writeInt(ReplayCodec.MAGIC);
+            out.writeShort(ReplayCodec.VERSION);
+            out.writeLong(seed);
+            out.writeByte(ReplayCodec.flagsOf(config));
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format(ERROR_FAILED_WRITE_REPLAY, path), ex);
+        }
+    }
+
+    /**
+     * Reads the next keystroke from the underlying source and records it.
+     *
+     * @return The keystroke read.
+     */
+    @Nonnull
+    @Override
+    public KeyStroke readKeyStroke() {
+        final KeyStroke keyStroke = source.readKeyStroke();
+        keyStrokes++;
+        if (out != null) {
+            try {
+                ReplayCodec.writeVarint(out, ReplayCodec.encode(keyStroke));
+            } catch (IOException ex) {
+                abort(ex);
+            }
+        }
+        return keyStroke;
+    }
+
+    /**
+     * Records the start of a turn and flushes the file.
+     */
+    public void markTurn() {
+        turns++;
+        if (out != null) {
+            try {
+                ReplayCodec.writeVarint(out, ReplayCodec.TOKEN_TURN);
+                out.flush();
+            } catch (IOException ex) {
+                abort(ex);
+            }
+        }
+    }
+
+    /**
+     * Records the state the game ended in and closes the file.
+     *
+     * @param gameState The finished game.
+     */
+    public void finish(@Nonnull final GameState gameState) {
+        Objects.requireNonNull(gameState);
+        if (out != null) {
+            try {
+                ReplayCodec.writeVarint(out, ReplayCodec.TOKEN_END);
+                ReplayCodec.writeState(out, ReplayState.of(gameState));
+            } catch (IOException ex) {
+                abort(ex);
+            }
+        }
+        close();
+    }
+
+    public long getKeyStrokes() {
+        return keyStrokes;
+    }
+
+    public long getTurns() {
+        return turns;
+    }
+
+    public boolean isRecording() {
+        return out != null;
+    }
+
+    @Override
+    public void close() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException ex) {
+                LOGGER.error(String.format(ERROR_FAILED_WRITE_REPLAY, path), ex);
+            }
+            out = null;
+        }
+    }
+
+    private void abort(@Nonnull final IOException ex) {
+        LOGGER.error(String.format(ERROR_FAILED_WRITE_REPLAY, path), ex);
+        close();
+    }
+}
@@ -0,0 +1,193 @@
+package com.dungeoncode.javarogue.system.replay;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.core.GameSnapshot;
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import com.dungeoncode.javarogue.system.HeadlessRogueScreen;
+import com.dungeoncode.javarogue.system.MessageSystem;
+import com.dungeoncode.javarogue.system.initializer.DefaultInitializer;
+import com.dungeoncode.javarogue.system.input.InputExhaustedException;
+import com.dungeoncode.javarogue.system.input.KeyStrokeSource;
+import com.googlecode.lanterna.input.KeyStroke;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Moves a replayed game to any turn without replaying it from the start.
+ * <p>
+ * While the game is played forward, a {@link GameSnapshot} is taken every <code>snapshotInterval</code> turns,
+ * together with the position in the recorded keystrokes. {@link #seek(long)} restores the closest snapshot at or
+ * before the wanted turn, unless the game is already between it and that turn, and plays only the remaining turns.
+ * A smaller interval makes seeks faster at the cost of memory, since a seek plays at most
+ * <code>snapshotInterval - 1</code> turns once every snapshot up to the turn exists.
+ * </p>
+ * <p>
+ * The game runs on a {@link HeadlessRogueScreen} with rendering off; after a seek, the screen's back buffer shows
+ * the game as of that turn.
+ * </p>
+ */
+public class ReplaySeeker {
+
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 500;
+
+    private final int snapshotInterval;
+    private final ReplayKeyStrokeSource source;
+    private final GameState gameState;
+    private final TreeMap<Long, Checkpoint> checkpoints;
+    private long snapshotBytes;
+    private boolean ended;
+
+    /**
+     * Starts the recorded game and takes the snapshot of turn 0.
+     *
+     * @param config           The configuration the game runs with; the recorded options are applied to it.
+     * @param replay           The recorded game.
+     * @param snapshotInterval The number of turns between two snapshots.
+     * @throws IllegalArgumentException if the interval is not positive.
+     * @throws RuntimeException         if the headless screen cannot be started.
+     */
+    public ReplaySeeker(@Nonnull final Config config, @Nonnull final Replay replay, final int snapshotInterval) {
+        Objects.requireNonNull(config);
+        Objects.requireNonNull(replay);
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException(String.format("Invalid snapshot interval: %d", snapshotInterval));
+        }
+        this.snapshotInterval = snapshotInterval;
+        this.source = new ReplayKeyStrokeSource(replay.getKeyStrokes());
+        this.checkpoints = new TreeMap<>();
+
+        final HeadlessRogueScreen screen;
+        try {
+            screen = new HeadlessRogueScreen(config, source);
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        final RogueRandom rogueRandom = new RogueRandom(replay.getSeed());
+        replay.configure(config, rogueRandom);
+        this.gameState = new GameState(config, rogueRandom, screen, new DefaultInitializer(),
+                new MessageSystem(screen));
+        gameState.startPlaying();
+        checkpoint();
+    }
+
+    /**
+     * Moves the game to the end of the given turn, or to where the recording ends if it ends before.
+     *
+     * @param turn The number of turns to have played.
+     * @return The game, positioned at the turn.
+     * @throws IllegalArgumentException if the turn is negative.
+     */
+    @Nonnull
+    public GameState seek(final long turn) {
+        if (turn < 0) {
+            throw new IllegalArgumentException(String.format("Invalid turn: %d", turn));
+        }
+        final Map.Entry<Long, Checkpoint> closest = checkpoints.floorEntry(turn);
+        final long current = gameState.getTurnCount();
+        if (current > turn || closest.getKey() > current) {
+            final Checkpoint checkpoint = closest.getValue();
+            gameState.restore(checkpoint.snapshot());
+            source.position = checkpoint.keyPosition();
+            ended = false;
+        }
+        while (!ended && gameState.getTurnCount() < turn) {
+            step();
+        }
+        return gameState;
+    }
+
+    /**
+     * Returns the number of turns the game has played, counting a turn the recording ended in.
+     *
+     * @return The current turn.
+     */
+    public long getTurn() {
+        return gameState.getTurnCount();
+    }
+
+    /**
+     * Returns whether the game reached the end of the recording or stopped playing.
+     *
+     * @return True if no more turns can be played from the current one.
+     */
+    public boolean isEnded() {
+        return ended;
+    }
+
+    @Nonnull
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public int getSnapshotCount() {
+        return checkpoints.size();
+    }
+
+    /**
+     * Returns the memory taken by the compressed snapshots, not counting their shared screen characters.
+     *
+     * @return The size in bytes.
+     */
+    public long getSnapshotBytes() {
+        return snapshotBytes;
+    }
+
+    private void step() {
+        try {
+            gameState.playTurn();
+        } catch (InputExhaustedException ex) {
+            ended = true;
+            return;
+        }
+        if (!gameState.isPlaying()) {
+            ended = true;
+        } else if (gameState.getTurnCount() % snapshotInterval == 0) {
+            checkpoint();
+        }
+    }
+
+    private void checkpoint() {
+        final long turn = gameState.getTurnCount();
+        if (!checkpoints.containsKey(turn)) {
+            final GameSnapshot snapshot = gameState.snapshot();
+            checkpoints.put(turn, new Checkpoint(snapshot, source.position));
+            snapshotBytes += snapshot.getSize();
+        }
+    }
+
+    private record Checkpoint(@Nonnull GameSnapshot snapshot, int keyPosition) {
+    }
+
+    /**
+     * Serves the recorded keystrokes from a position that can be moved back.
+     */
+    private static final class ReplayKeyStrokeSource implements KeyStrokeSource {
+
+        private final List<KeyStroke> keyStrokes;
+        private int position;
+
+        ReplayKeyStrokeSource(@Nonnull final List<KeyStroke> keyStrokes) {
+            this.keyStrokes = keyStrokes;
+        }
+
+        @Nonnull
+        @Override
+        public KeyStroke readKeyStroke() {
+            if (position >= keyStrokes.size()) {
+                throw new InputExhaustedException(
+                        String.format("Replay exhausted after %d keystrokes", keyStrokes.size()));
+            }
+            return keyStrokes.get(position++);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.dungeoncode.javarogue.system.replay;
+
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.system.entity.creature.Player;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+
+/**
+ * A summary of a game used to check that a replay ended where the recorded game did. The random generator state
+ * catches almost any divergence on its own, the other fields make a mismatch readable.
+ *
+ * @param turns     The number of turns started by the game loop.
+ * @param levelNum  The current dungeon level.
+ * @param seed      The state of the game's random generator.
+ * @param x         The player's x position.
+ * @param y         The player's y position.
+ * @param gold      The player's gold.
+ * @param hitPoints The player's hit points.
+ * @param packSize  The number of items in the player's pack.
+ */
+public record ReplayState(long turns, int levelNum, long seed, int x, int y, int gold, int hitPoints, int packSize) {
+
+    /**
+     * Captures the state of a game.
+     *
+     * @param gameState The game.
+     * @return The captured state.
+     */
+    @Nonnull
+    public static ReplayState of(@Nonnull final GameState gameState) {
+        Objects.requireNonNull(gameState);
+        final Player player = gameState.getPlayer();
+        return new ReplayState(gameState.getTurnCount(), gameState.getLevelNum(), gameState.getRogueRandom().getSeed(),
+                player.getPosition().getX(), player.getPosition().getY(), player.getGoldAmount(),
+                player.getStats().getHitPoints(), player.getInventory().getItems().size());
+    }
+}
@@ -0,0 +1,103 @@
+package com.dungeoncode.javarogue.system.replay;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import com.dungeoncode.javarogue.system.HeadlessRogueScreen;
+import com.dungeoncode.javarogue.system.MessageSystem;
+import com.dungeoncode.javarogue.system.initializer.DefaultInitializer;
+import com.dungeoncode.javarogue.system.input.ScriptedKeyStrokeSource;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Plays a recorded game back through the normal game loop and checks that it ends in the recorded state.
+ * <p>
+ * The game runs on a {@link HeadlessRogueScreen} fed from the recorded keystrokes, so every key goes through
+ * {@link com.dungeoncode.javarogue.command.CommandFactory} and the prompts exactly as it did when recorded, while
+ * rendering is off unless asked for. The loop ends when the keystrokes run out or the game ends.
+ * </p>
+ */
+public class Replayer {
+
+    private final Config config;
+    private boolean renderFrames;
+
+    /**
+     * Constructs a replayer. The recorded options are applied to the configuration before every replay.
+     *
+     * @param config The configuration replayed games run with.
+     */
+    public Replayer(@Nonnull final Config config) {
+        Objects.requireNonNull(config);
+        this.config = config;
+    }
+
+    /**
+     * Replays a recorded game.
+     *
+     * @param replay The recorded game.
+     * @return The outcome of the replay.
+     * @throws RuntimeException if the headless screen cannot be started.
+     */
+    @Nonnull
+    public Result replay(@Nonnull final Replay replay) {
+        Objects.requireNonNull(replay);
+        final long start = System.nanoTime();
+        final ScriptedKeyStrokeSource source = new ScriptedKeyStrokeSource();
+        replay.getKeyStrokes().forEach(source::add);
+        final HeadlessRogueScreen screen;
+        try {
+            screen = new HeadlessRogueScreen(config, source);
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+        screen.setRenderFrames(renderFrames);
+        final RogueRandom rogueRandom = new RogueRandom(replay.getSeed());
+        replay.configure(config, rogueRandom);
+
+        final GameState gameState = new GameState(config, rogueRandom, screen, new DefaultInitializer(),
+                new MessageSystem(screen));
+        gameState.loop();
+        return new Result(gameState, replay.getFinalState(), ReplayState.of(gameState), source.getConsumed(),
+                System.nanoTime() - start);
+    }
+
+    public boolean isRenderFrames() {
+        return renderFrames;
+    }
+
+    /**
+     * Enables or disables flushing frames to the headless screen's virtual terminal while replaying.
+     *
+     * @param renderFrames True to render every refresh.
+     */
+    public void setRenderFrames(final boolean renderFrames) {
+        this.renderFrames = renderFrames;
+    }
+
+    /**
+     * The outcome of a replay.
+     *
+     * @param gameState  The replayed game.
+     * @param expected   The state the recorded game ended in, or null if it was not recorded.
+     * @param actual     The state the replayed game ended in.
+     * @param keyStrokes The number of keystrokes the replayed game read.
+     * @param nanos      The time the replay took, in nanoseconds.
+     */
+    public record Result(@Nonnull GameState gameState, @Nullable ReplayState expected, @Nonnull ReplayState actual,
+                         long keyStrokes, long nanos) {
+
+        /**
+         * Returns whether the replayed game ended in the recorded state.
+         *
+         * @return True if the states match, false if they differ or no final state was recorded.
+         */
+        public boolean isVerified() {
+            return actual.equals(expected);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.dungeoncode.javarogue.system.sweep;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.core.RngTrace;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import com.dungeoncode.javarogue.system.HeadlessRogueScreen;
+import com.dungeoncode.javarogue.system.MessageSystem;
+import com.dungeoncode.javarogue.system.initializer.DefaultInitializer;
+import com.dungeoncode.javarogue.system.input.KeyStrokeSource;
+import com.dungeoncode.javarogue.system.world.LevelPool;
+import com.googlecode.lanterna.input.KeyStroke;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Generates dungeons for a range of seeds in parallel and aggregates their statistics.
+ * <p>
+ * Every seed gets its own headless {@link GameState}, {@link RogueRandom} and level generator, so seeds share
+ * no mutable state and the range is split over a {@link ForkJoinPool} with no coordination beyond merging
+ * the per-task {@link SeedSweepStats}. Each seed starts like a normal game (level 1 via
+ * {@link DefaultInitializer}) and then descends level by level with {@link GameState#newLevel(int)}, so the
+ * generated dungeons match what a player would see for the same seed. Deeper levels are generated into a
+ * {@link LevelPool}, reusing the previous level's storage.
+ * </p>
+ * <p>
+ * The shared {@link Config} is only read during the sweep; it must not be in master mode, since the
+ * initializer updates scoring on master configurations.
+ * </p>
+ */
+public class SeedSweepRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SeedSweepRunner.class);
+
+    /**
+     * Seed ranges at or below this size are swept sequentially by a single task.
+     */
+    private static final long SEEDS_PER_TASK = 8;
+
+    /**
+     * Answers every prompt raised during generation (e.g., <code>--More--</code> after a monster wakes up)
+     * with a space, so no seed blocks on input.
+     */
+    private static final KeyStrokeSource DISMISS_PROMPTS = () -> new KeyStroke(' ', false, false);
+
+    private final Config config;
+    private final long fromSeed;
+    private final long toSeed;
+    private final int maxLevel;
+
+    /**
+     * Constructs a sweep over the seeds in <code>[fromSeed, toSeed)</code>.
+     *
+     * @param config   The configuration shared by every generated game.
+     * @param fromSeed The first seed, inclusive.
+     * @param toSeed   The last seed, exclusive.
+     * @param maxLevel The deepest level generated per seed, starting from level 1.
+     */
+    public SeedSweepRunner(@Nonnull final Config config, final long fromSeed, final long toSeed, final int maxLevel) {
+        Objects.requireNonNull(config);
+        if (toSeed < fromSeed) {
+            throw new IllegalArgumentException(String.format("Invalid seed range [%d, %d)", fromSeed, toSeed));
+        }
+        if (maxLevel < 1) {
+            throw new IllegalArgumentException(String.format("Invalid max level: %d", maxLevel));
+        }
+        this.config = config;
+        this.fromSeed = fromSeed;
+        this.toSeed = toSeed;
+        this.maxLevel = maxLevel;
+    }
+
+    /**
+     * Runs the sweep on a dedicated pool with the given parallelism.
+     *
+     * @param parallelism The number of worker threads.
+     * @return The aggregated statistics.
+     */
+    public SeedSweepStats run(final int parallelism) {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return run(pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs the sweep on the given pool.
+     *
+     * @param pool The pool executing the sweep tasks.
+     * @return The aggregated statistics.
+     */
+    public SeedSweepStats run(@Nonnull final ForkJoinPool pool) {
+        Objects.requireNonNull(pool);
+        return pool.invoke(new SweepTask(fromSeed, toSeed));
+    }
+
+    /**
+     * Generates levels 1 to {@code maxLevel} for one seed and records them.
+     * A seed that fails is logged and recorded as failed instead of aborting the whole sweep.
+     *
+     * @param seed  The seed to generate.
+     * @param stats The statistics to record into.
+     */
+    public void sweepSeed(final long seed, @Nonnull final SeedSweepStats stats) {
+        sweepSeed(seed, stats, null);
+    }
+
+    /**
+     * Generates levels 1 to {@code maxLevel} for one seed and records them, recording every random draw of the game
+     * into the given trace.
+     *
+     * @param seed  The seed to generate.
+     * @param stats The statistics to record into.
+     * @param trace The trace to record draws into, or null.
+     */
+    public void sweepSeed(final long seed, @Nonnull final SeedSweepStats stats, @Nullable final RngTrace trace) {
+        Objects.requireNonNull(stats);
+        try {
+            final HeadlessRogueScreen screen = new HeadlessRogueScreen(config, DISMISS_PROMPTS);
+            final RogueRandom rogueRandom = new RogueRandom(seed);
+            rogueRandom.setTrace(trace);
+            final GameState gameState = new GameState(config, rogueRandom, screen,
+                    new DefaultInitializer(), new MessageSystem(screen));
+            stats.recordLevel(gameState.getCurrentLevel(), config.getMaxRooms());
+            // Levels are only recorded, so deeper levels can be generated into the previous one
+            gameState.setLevelPool(new LevelPool());
+            for (int levelNum = 2; levelNum <= maxLevel; levelNum++) {
+                gameState.newLevel(levelNum);
+                stats.recordLevel(gameState.getCurrentLevel(), config.getMaxRooms());
+            }
+            stats.recordSeed();
+        } catch (Exception ex) {
+            LOGGER.error("Seed {} failed during sweep", seed, ex);
+            stats.recordFailure(seed);
+        }
+    }
+
+    private class SweepTask extends RecursiveTask<SeedSweepStats> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+
+        SweepTask(final long from, final long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SeedSweepStats compute() {
+            if (to - from <= SEEDS_PER_TASK) {
+                final SeedSweepStats stats = new SeedSweepStats();
+                for (long seed = from; seed < to; seed++) {
+                    sweepSeed(seed, stats);
+                }
+                return stats;
+            }
+            final long mid = from + (to - from) / 2;
+            final SweepTask left = new SweepTask(from, mid);
+            left.fork();
+            final SeedSweepStats right = new SweepTask(mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+}
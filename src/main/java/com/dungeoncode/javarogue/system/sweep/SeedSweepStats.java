@@ -0,0 +1,185 @@
+package com.dungeoncode.javarogue.system.sweep;
+
+import com.dungeoncode.javarogue.system.SymbolType;
+import com.dungeoncode.javarogue.system.entity.creature.Monster;
+import com.dungeoncode.javarogue.system.entity.creature.MonsterType;
+import com.dungeoncode.javarogue.system.entity.item.Item;
+import com.dungeoncode.javarogue.system.entity.item.ObjectType;
+import com.dungeoncode.javarogue.system.world.Level;
+import com.dungeoncode.javarogue.system.world.Room;
+import com.dungeoncode.javarogue.system.world.RoomFlag;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * Aggregated dungeon generation statistics collected by a {@link SeedSweepRunner}.
+ * <p>
+ * Instances are not thread-safe; each sweep task fills its own instance and results are combined
+ * with {@link #merge(SeedSweepStats)}, which is associative so partial results can be merged in any order.
+ * </p>
+ */
+public class SeedSweepStats {
+
+    private final EnumMap<ObjectType, Long> itemsByObjectType;
+    private final EnumMap<MonsterType, Long> monstersByMonsterType;
+    private final SortedSet<Long> failedSeeds;
+    private long seeds;
+    private long levels;
+    private long rooms;
+    private long goneRooms;
+    private long mazeRooms;
+    private long traps;
+
+    public SeedSweepStats() {
+        this.itemsByObjectType = new EnumMap<>(ObjectType.class);
+        this.monstersByMonsterType = new EnumMap<>(MonsterType.class);
+        this.failedSeeds = new TreeSet<>();
+    }
+
+    /**
+     * Records one fully swept seed.
+     */
+    public void recordSeed() {
+        seeds++;
+    }
+
+    /**
+     * Records a seed whose generation failed with an exception.
+     *
+     * @param seed The failing seed.
+     */
+    public void recordFailure(final long seed) {
+        failedSeeds.add(seed);
+    }
+
+    /**
+     * Records the rooms, items, monsters and traps of a freshly generated level.
+     * Gone rooms are never added to the level, so they are derived from the configured room count. The amulet is
+     * drawn on the map but not kept in the item list, so it is counted from the map. Treasure room monsters are
+     * kept neither in the monster list nor on the map and cannot be counted; {@link #report()} says so.
+     *
+     * @param level    The generated level.
+     * @param maxRooms The number of room slots per level, see {@link com.dungeoncode.javarogue.core.Config#getMaxRooms()}.
+     */
+    public void recordLevel(@Nonnull final Level level, final int maxRooms) {
+        Objects.requireNonNull(level);
+        levels++;
+
+        final List<Room> levelRooms = level.getRooms();
+        rooms += levelRooms.size();
+        goneRooms += maxRooms - levelRooms.size();
+        for (final Room room : levelRooms) {
+            if (room.hasFlag(RoomFlag.MAZE)) {
+                mazeRooms++;
+            }
+        }
+
+        for (final Item item : level.getItems()) {
+            if (item.getObjectType() != ObjectType.AMULET) {
+                itemsByObjectType.merge(item.getObjectType(), 1L, Long::sum);
+            }
+        }
+
+        for (final Monster monster : level.getMonsters()) {
+            monstersByMonsterType.merge(monster.getMonsterType(), 1L, Long::sum);
+        }
+
+        for (int y = 0; y < level.getMaxHeight(); y++) {
+            for (int x = 0; x < level.getMaxWidth(); x++) {
+                if (level.hasTrap(x, y)) {
+                    traps++;
+                }
+                if (level.getSymbolType(x, y) == SymbolType.AMULET) {
+                    itemsByObjectType.merge(ObjectType.AMULET, 1L, Long::sum);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds all counters of another result into this one.
+     *
+     * @param other The result to merge.
+     * @return This instance, for chaining.
+     */
+    public SeedSweepStats merge(@Nonnull final SeedSweepStats other) {
+        Objects.requireNonNull(other);
+        seeds += other.seeds;
+        levels += other.levels;
+        rooms += other.rooms;
+        goneRooms += other.goneRooms;
+        mazeRooms += other.mazeRooms;
+        traps += other.traps;
+        other.itemsByObjectType.forEach((type, count) -> itemsByObjectType.merge(type, count, Long::sum));
+        other.monstersByMonsterType.forEach((type, count) -> monstersByMonsterType.merge(type, count, Long::sum));
+        failedSeeds.addAll(other.failedSeeds);
+        return this;
+    }
+
+    /**
+     * Formats the aggregated counters as a multi-line, human-readable report.
+     *
+     * @return The report text.
+     */
+    public String report() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format("seeds: %d, levels: %d, failed seeds: %d%n", seeds, levels, failedSeeds.size()));
+        sb.append(String.format("rooms: %d (%.2f/level), gone rooms: %d (%.2f/level), maze rooms: %d (%.2f/level)%n",
+                rooms, perLevel(rooms), goneRooms, perLevel(goneRooms), mazeRooms, perLevel(mazeRooms)));
+        sb.append(String.format("traps: %d (%.2f/level)%n", traps, perLevel(traps)));
+        sb.append("items by object type:").append(System.lineSeparator());
+        itemsByObjectType.forEach((type, count) ->
+                sb.append(String.format("  %-10s %8d (%.2f/level)%n", type, count, perLevel(count))));
+        sb.append("level monsters by monster type:").append(System.lineSeparator());
+        monstersByMonsterType.forEach((type, count) ->
+                sb.append(String.format("  %-18s %8d (%.2f/level)%n", type, count, perLevel(count))));
+        sb.append("  treasure room monsters are not counted: the generator keeps them off the level")
+                .append(System.lineSeparator());
+        if (!failedSeeds.isEmpty()) {
+            sb.append("failed seeds: ").append(failedSeeds).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    private double perLevel(final long count) {
+        return levels == 0 ? 0 : (double) count / levels;
+    }
+
+    public long getSeeds() {
+        return seeds;
+    }
+
+    public long getLevels() {
+        return levels;
+    }
+
+    public long getRooms() {
+        return rooms;
+    }
+
+    public long getGoneRooms() {
+        return goneRooms;
+    }
+
+    public long getMazeRooms() {
+        return mazeRooms;
+    }
+
+    public long getTraps() {
+        return traps;
+    }
+
+    public Map<ObjectType, Long> getItemsByObjectType() {
+        return Collections.unmodifiableMap(itemsByObjectType);
+    }
+
+    public Map<MonsterType, Long> getMonstersByMonsterType() {
+        return Collections.unmodifiableMap(monstersByMonsterType);
+    }
+
+    public SortedSet<Long> getFailedSeeds() {
+        return Collections.unmodifiableSortedSet(failedSeeds);
+    }
+
+}
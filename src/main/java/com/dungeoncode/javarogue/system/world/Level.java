@@ -13,6 +13,8 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -21,18 +23,28 @@ import java.util.Objects;
  */
 public class Level extends Entity {
 
+    private static final long serialVersionUID = 1L;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(Level.class);
 
-    private final RogueRandom rogueRandom;
+    private transient RogueRandom rogueRandom;
     private final List<Item> items;
+    private final List<Item> itemsView;
+    private final Item[] itemsByCell;
+    private final int[] itemCountsByCell;
     private final List<Monster> monsters;
-    private final Place[][] places;
+    private final PlaceGrid placeGrid;
     private final List<Room> rooms;
+    private final List<Room> roomsView;
+    private final short[] roomIdsByCell;
     private final List<Passage> passages;
+    private Passage[] passagesByNumber;
     private final int maxWidth;
     private final int maxHeight;
-    private final int levelNum;
+    private int levelNum;
     private Position stairs;
+    private Room[] roomBuffer;
+    private Passage[] passageBuffer;
 
     public Level(final int maxWidth, final int maxHeight, @Nonnull final RogueRandom rogueRandom) {
         this(maxWidth, maxHeight, rogueRandom, 0);
@@ -49,13 +61,88 @@ public class Level extends Entity {
         Objects.requireNonNull(rogueRandom);
         this.rogueRandom = rogueRandom;
         this.items = new ArrayList<>();
+        this.itemsView = Collections.unmodifiableList(items);
+        this.itemsByCell = new Item[maxWidth * maxHeight];
+        this.itemCountsByCell = new int[maxWidth * maxHeight];
         this.monsters = new ArrayList<>();
-        this.places = new Place[maxHeight][maxWidth];
+        this.placeGrid = new PlaceGrid(maxWidth, maxHeight);
         this.rooms = new ArrayList<>();
+        this.roomsView = Collections.unmodifiableList(rooms);
+        this.roomIdsByCell = new short[maxWidth * maxHeight];
         this.passages = new ArrayList<>();
+        this.passagesByNumber = new Passage[0];
         this.maxWidth = maxWidth;
         this.maxHeight = maxHeight;
         this.levelNum = levelNum;
+        this.roomBuffer = new Room[0];
+        this.passageBuffer = new Passage[0];
+    }
+
+    /**
+     * Clears the level for reuse by a {@link LevelPool}: empties the item, monster, room and passage lists and
+     * their indexes, resets every cell of the map to an empty place and resets the buffered rooms and passages.
+     *
+     * @param levelNum The level number of the next level generated into this instance.
+     */
+    void reset(final int levelNum) {
+        this.levelNum = levelNum;
+        this.stairs = null;
+        items.clear();
+        Arrays.fill(itemsByCell, null);
+        Arrays.fill(itemCountsByCell, 0);
+        monsters.clear();
+        rooms.clear();
+        Arrays.fill(roomIdsByCell, (short) 0);
+        passages.clear();
+        Arrays.fill(passagesByNumber, null);
+        placeGrid.initializeAll();
+        for (final Room room : roomBuffer) {
+            room.reset();
+        }
+        for (final Passage passage : passageBuffer) {
+            passage.reset();
+        }
+    }
+
+    /**
+     * Returns the rooms to generate into this level. The same room instances are handed out again after the
+     * level has been reset by a {@link LevelPool}; a new level allocates them.
+     *
+     * @param count The number of rooms needed.
+     * @return An array of {@code count} rooms in their initial state.
+     */
+    @Nonnull
+    public Room[] obtainRooms(final int count) {
+        if (roomBuffer.length != count) {
+            final Room[] rooms = Arrays.copyOf(roomBuffer, count);
+            for (int i = roomBuffer.length; i < count; i++) {
+                rooms[i] = new Room();
+            }
+            roomBuffer = rooms;
+        }
+        return roomBuffer;
+    }
+
+    /**
+     * Returns the passages to generate into this level, reused like {@link #obtainRooms(int)}.
+     *
+     * @param count The number of passages needed.
+     * @return An array of {@code count} passages in their initial state.
+     */
+    @Nonnull
+    public Passage[] obtainPassages(final int count) {
+        if (passageBuffer.length != count) {
+            final Passage[] passages = Arrays.copyOf(passageBuffer, count);
+            for (int i = passageBuffer.length; i < count; i++) {
+                passages[i] = new Passage();
+            }
+            passageBuffer = passages;
+        }
+        return passageBuffer;
+    }
+
+    boolean isCompatible(final int maxWidth, final int maxHeight, @Nonnull final RogueRandom rogueRandom) {
+        return this.maxWidth == maxWidth && this.maxHeight == maxHeight && this.rogueRandom == rogueRandom;
     }
 
     /**
@@ -81,32 +168,16 @@ public class Level extends Entity {
         validateCoordinates(x, y);
 
         // Check if coordinates are in a passage
-        final Place place = getPlaceAt(x, y);
-        assert place != null;
-        if (place.isType(PlaceType.PASSAGE)) {
-            final Integer passageNum = place.getPassageNumber();
-            if (passageNum != null) {
-                return passages.stream()
-                        .filter(passage -> passage.getPassageNumber() == passageNum)
-                        .findFirst()
-                        .orElse(null);
+        final int cell = cellIndex(x, y);
+        if (placeGrid.isPresent(cell) && placeGrid.getPlaceType(cell) == PlaceType.PASSAGE) {
+            final int passageNum = placeGrid.getPassageNumber(cell);
+            if (passageNum >= 0) {
+                return passageNum < passagesByNumber.length ? passagesByNumber[passageNum] : null;
             }
         }
 
-        // Check if coordinates are in a room, using exclusive bounds (<) for right and bottom
-        // edges to exclude coordinates beyond walls, unlike C's inclusive bounds (<=)
-        for (Room room : rooms) {
-            final Position pos = room.getPosition();
-            final Position size = room.getSize();
-            if (x >= pos.getX() && x < pos.getX() + size.getX() &&
-                    y >= pos.getY() && y < pos.getY() + size.getY()) {
-                return room;
-            }
-        }
-
-        // No room or passage found
-        LOGGER.debug("No room found at {},{}", x, y);
-        return null;
+        // Check if coordinates are in a room
+        return roomAtCell(cell);
     }
 
     private void validateCoordinates(final int x, final int y) {
@@ -118,20 +189,34 @@ public class Level extends Entity {
 
     /**
      * Gets the Place at the specified coordinates.
+     * <p>
+     * The returned place is a view over the level's packed storage: changes made through it are applied to the
+     * level. Each call creates a new view and the level keeps none of them; loops over many cells should use the
+     * coordinate accessors such as {@link #isStepOk(int, int)} and {@link #getMonsterAt(int, int)} instead.
+     * </p>
      *
      * @param x The x-coordinate.
      * @param y The y-coordinate.
-     * @return The Place at (x, y).
+     * @return The Place at (x, y), or null if no place has been set there.
      * @throws IllegalArgumentException If coordinates are out of bounds.
      */
     @Nullable
     public Place getPlaceAt(final int x, final int y) {
         validateCoordinates(x, y);
-        final Place place = places[y][x];
-        if (place == null) {
+        final int cell = cellIndex(x, y);
+        if (!placeGrid.isPresent(cell)) {
             LOGGER.debug("No place found at {},{}", x, y);
+            return null;
         }
-        return place;
+        return new Place(placeGrid, cell);
+    }
+
+    /**
+     * Resets every cell of the level map to an empty place with the {@link PlaceFlag#REAL} flag,
+     * no passage number and no monster.
+     */
+    public void initializePlaces() {
+        placeGrid.initializeAll();
     }
 
     /**
@@ -159,12 +244,13 @@ public class Level extends Entity {
             }
 
             final Position pos = room.rndPos(rogueRandom);
-            final Place place = getPlaceAt(pos.getX(), pos.getY());
+            validateCoordinates(pos.getX(), pos.getY());
+            final int cell = cellIndex(pos.getX(), pos.getY());
             final SymbolType expectedType = room.hasFlag(RoomFlag.MAZE) ? SymbolType.PASSAGE : SymbolType.FLOOR;
-            assert place != null;
-            if (forCreature && place.isStepOk()) {
+            assert placeGrid.isPresent(cell);
+            if (forCreature && placeGrid.isStepOk(cell)) {
                 return pos;
-            } else if (place.getSymbolType() == expectedType) {
+            } else if (placeGrid.getSymbolType(cell) == expectedType) {
                 return pos;
             }
         }
@@ -190,14 +276,25 @@ public class Level extends Entity {
         return room;
     }
 
+    /**
+     * Sets the place at the specified coordinates by copying it into the level's packed storage.
+     * The given place becomes a view over that cell, so later changes made through it apply to the level.
+     *
+     * @param x     The x-coordinate.
+     * @param y     The y-coordinate.
+     * @param place The place to store.
+     * @throws IllegalArgumentException If coordinates are out of bounds.
+     */
     public void setPlaceAt(final int x, final int y, @Nonnull final Place place) {
+        Objects.requireNonNull(place);
         validateCoordinates(x, y);
-        places[y][x] = place;
+        place.attach(placeGrid, cellIndex(x, y));
         place.setPosition(x, y);
     }
 
     /**
-     * Finds an item at the specified coordinates.
+     * Finds an item at the specified coordinates using the per-cell item index.
+     * If several items share the cell, the one added first is returned.
      *
      * @param x The x-coordinate to search.
      * @param y The y-coordinate to search.
@@ -207,11 +304,133 @@ public class Level extends Entity {
     @Nullable
     public Item findItemAt(final int x, final int y) {
         validateCoordinates(x, y);
-        final Position position = new Position(x, y);
-        return items.stream()
-                .filter(item -> item.getPosition().equals(position))
-                .findFirst()
-                .orElse(null);
+        return itemsByCell[cellIndex(x, y)];
+    }
+
+    /**
+     * Gets the place type at the specified coordinates on the level map without creating a {@link Place} view.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The place type at (x, y), or null if no place has been set there.
+     * @throws IllegalArgumentException If coordinates are out of bounds.
+     */
+    @Nullable
+    public PlaceType getPlaceType(final int x, final int y) {
+        validateCoordinates(x, y);
+        final int cell = cellIndex(x, y);
+        return placeGrid.isPresent(cell) ? placeGrid.getPlaceType(cell) : null;
+    }
+
+    /**
+     * Returns whether the place at the specified coordinates has the {@link PlaceFlag#REAL} flag, without creating
+     * a {@link Place} view.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return true if a place is set at (x, y) and it is real.
+     * @throws IllegalArgumentException If coordinates are out of bounds.
+     */
+    public boolean isReal(final int x, final int y) {
+        validateCoordinates(x, y);
+        final int cell = cellIndex(x, y);
+        return placeGrid.isPresent(cell) && placeGrid.hasFlag(cell, PlaceFlag.REAL);
+    }
+
+    /**
+     * Returns whether a creature can step onto the place at the specified coordinates, without creating a
+     * {@link Place} view.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return true if a place is set at (x, y) and it can be stepped on.
+     * @throws IllegalArgumentException If coordinates are out of bounds.
+     */
+    public boolean isStepOk(final int x, final int y) {
+        validateCoordinates(x, y);
+        final int cell = cellIndex(x, y);
+        return placeGrid.isPresent(cell) && placeGrid.isStepOk(cell);
+    }
+
+    /**
+     * Returns whether the place at the specified coordinates holds a trap, without creating a {@link Place} view.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return true if a place is set at (x, y) and it holds a trap.
+     * @throws IllegalArgumentException If coordinates are out of bounds.
+     */
+    public boolean hasTrap(final int x, final int y) {
+        validateCoordinates(x, y);
+        final int cell = cellIndex(x, y);
+        return placeGrid.isPresent(cell) && placeGrid.hasTrap(cell);
+    }
+
+    /**
+     * Gets the monster standing on the place at the specified coordinates without creating a {@link Place} view.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The monster at (x, y), or null if there is none or no place has been set there.
+     * @throws IllegalArgumentException If coordinates are out of bounds.
+     */
+    @Nullable
+    public Monster getMonsterAt(final int x, final int y) {
+        validateCoordinates(x, y);
+        final int cell = cellIndex(x, y);
+        return placeGrid.isPresent(cell) ? placeGrid.getMonster(cell) : null;
+    }
+
+    /**
+     * Sets the monster standing on the place at the specified coordinates without creating a {@link Place} view.
+     * Does nothing if no place has been set there.
+     *
+     * @param x       The x-coordinate.
+     * @param y       The y-coordinate.
+     * @param monster The monster, or null to clear it.
+     * @throws IllegalArgumentException If coordinates are out of bounds.
+     */
+    public void setMonsterAt(final int x, final int y, @Nullable final Monster monster) {
+        validateCoordinates(x, y);
+        final int cell = cellIndex(x, y);
+        if (placeGrid.isPresent(cell)) {
+            placeGrid.setMonster(cell, monster);
+        }
+    }
+
+    /**
+     * Gets the passage number of the place at the specified coordinates without creating a {@link Place} view.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The passage number at (x, y), or null if the place has none or no place has been set there.
+     * @throws IllegalArgumentException If coordinates are out of bounds.
+     */
+    @Nullable
+    public Integer getPassageNumber(final int x, final int y) {
+        validateCoordinates(x, y);
+        final int cell = cellIndex(x, y);
+        if (!placeGrid.isPresent(cell)) {
+            return null;
+        }
+        final int passageNumber = placeGrid.getPassageNumber(cell);
+        return passageNumber < 0 ? null : passageNumber;
+    }
+
+    /**
+     * Sets the passage number of the place at the specified coordinates. Does nothing if no place has been set there.
+     *
+     * @param x             The x-coordinate.
+     * @param y             The y-coordinate.
+     * @param passageNumber The passage number, or null to clear it.
+     * @throws IllegalArgumentException If coordinates are out of bounds or the passage number is out of range.
+     */
+    public void setPassageNumber(final int x, final int y, @Nullable final Integer passageNumber) {
+        validateCoordinates(x, y);
+        final int cell = cellIndex(x, y);
+        if (placeGrid.isPresent(cell)) {
+            placeGrid.setPassageNumber(cell, passageNumber);
+        }
     }
 
     /**
@@ -225,8 +444,9 @@ public class Level extends Entity {
      */
     @Nullable
     public SymbolType getSymbolType(final int x, final int y) {
-        final Place place = getPlaceAt(x, y);
-        return place == null ? null : place.getSymbolType();
+        validateCoordinates(x, y);
+        final int cell = cellIndex(x, y);
+        return placeGrid.isPresent(cell) ? placeGrid.getSymbolType(cell) : null;
     }
 
     /**
@@ -239,31 +459,151 @@ public class Level extends Entity {
      */
     public void setPlaceSymbol(final int x, final int y, @Nonnull final SymbolType symbolType) {
         Objects.requireNonNull(symbolType);
-        final Place place = getPlaceAt(x, y);
-        if (place != null) {
-            place.setSymbolType(symbolType);
+        validateCoordinates(x, y);
+        final int cell = cellIndex(x, y);
+        if (placeGrid.isPresent(cell)) {
+            placeGrid.setSymbolType(cell, symbolType);
+        }
+    }
+
+    /**
+     * Sets the place type at the specified coordinates on the level map without creating a {@link Place} view.
+     * Does nothing if no place has been set there.
+     *
+     * @param x         The x-coordinate.
+     * @param y         The y-coordinate.
+     * @param placeType The place type to set.
+     * @throws IllegalArgumentException If coordinates are out of bounds.
+     */
+    public void setPlaceType(final int x, final int y, @Nonnull final PlaceType placeType) {
+        Objects.requireNonNull(placeType);
+        validateCoordinates(x, y);
+        final int cell = cellIndex(x, y);
+        if (placeGrid.isPresent(cell)) {
+            placeGrid.setPlaceType(cell, placeType);
+        }
+    }
+
+    /**
+     * Removes a flag from the place at the specified coordinates without creating a {@link Place} view.
+     * Does nothing if no place has been set there.
+     *
+     * @param x         The x-coordinate.
+     * @param y         The y-coordinate.
+     * @param placeFlag The flag to remove.
+     * @throws IllegalArgumentException If coordinates are out of bounds.
+     */
+    public void removePlaceFlag(final int x, final int y, @Nonnull final PlaceFlag placeFlag) {
+        Objects.requireNonNull(placeFlag);
+        validateCoordinates(x, y);
+        final int cell = cellIndex(x, y);
+        if (placeGrid.isPresent(cell)) {
+            placeGrid.removeFlag(cell, placeFlag);
         }
     }
 
     /**
-     * Removes the specified item from the level's item list.
+     * Removes the specified item from the level's item list and cell index.
      *
      * @param item The item to remove.
      * @return true if the item was removed, false if it was not found.
      */
     public boolean removeItem(@Nonnull final Item item) {
         Objects.requireNonNull(item);
-        return items.remove(item);
+        if (!items.remove(item)) {
+            return false;
+        }
+        final int cell = itemCell(item);
+        if (cell >= 0) {
+            unindexItem(item, cell);
+        }
+        return true;
     }
 
     /**
-     * Adds an item to the level's item list.
+     * Adds an item to the level's item list, indexing it by its current position.
+     * Items must be moved with {@link #moveItem(Item, int, int)} while on the level.
      *
      * @param item The item to add.
      */
     public void addItem(@Nonnull final Item item) {
         Objects.requireNonNull(item);
         items.add(item);
+        final int cell = itemCell(item);
+        if (cell >= 0) {
+            indexItem(item, cell);
+        }
+    }
+
+    /**
+     * Moves an item on the level to the specified coordinates, keeping the cell index current.
+     *
+     * @param item The item to move.
+     * @param x    The new x-coordinate.
+     * @param y    The new y-coordinate.
+     * @throws IllegalArgumentException If coordinates are out of bounds.
+     */
+    public void moveItem(@Nonnull final Item item, final int x, final int y) {
+        Objects.requireNonNull(item);
+        validateCoordinates(x, y);
+        final int cell = itemCell(item);
+        if (cell >= 0) {
+            unindexItem(item, cell);
+        }
+        item.setPosition(x, y);
+        indexItem(item, cellIndex(x, y));
+    }
+
+    @Nullable
+    private Room roomAtCell(final int cell) {
+        final int roomId = roomIdsByCell[cell];
+        return roomId == 0 ? null : rooms.get(roomId - 1);
+    }
+
+    private int cellIndex(final int x, final int y) {
+        return y * maxWidth + x;
+    }
+
+    /**
+     * Returns the cell index of an item's position, or -1 if it has no position on the map.
+     */
+    private int itemCell(@Nonnull final Item item) {
+        final Position position = item.getPosition();
+        if (position == null) {
+            return -1;
+        }
+        final int x = position.getX();
+        final int y = position.getY();
+        if (x < 0 || x >= maxWidth || y < 0 || y >= maxHeight) {
+            return -1;
+        }
+        return cellIndex(x, y);
+    }
+
+    private void indexItem(@Nonnull final Item item, final int cell) {
+        if (itemCountsByCell[cell]++ == 0) {
+            itemsByCell[cell] = item;
+        }
+    }
+
+    private void unindexItem(@Nonnull final Item item, final int cell) {
+        if (itemCountsByCell[cell] == 0) {
+            return;
+        }
+        itemCountsByCell[cell]--;
+        if (itemsByCell[cell] != item) {
+            return;
+        }
+        itemsByCell[cell] = null;
+        if (itemCountsByCell[cell] > 0) {
+            // another item shares the cell; promote the earliest one left in the list
+            for (final Item other : items) {
+                if (other != item && itemCell(other) == cell) {
+                    itemsByCell[cell] = other;
+                    break;
+                }
+            }
+        }
     }
 
     /**
@@ -277,25 +617,17 @@ public class Level extends Entity {
     @Nullable
     public Room findRoomAt(final int x, final int y) {
         validateCoordinates(x, y);
-        return rooms.stream()
-                .filter(room -> {
-                    final Position pos = room.getPosition();
-                    final Position size = room.getSize();
-                    return x >= pos.getX() && x < pos.getX() + size.getX() &&
-                            y >= pos.getY() && y < pos.getY() + size.getY();
-                })
-                .findFirst()
-                .orElse(null);
+        return roomAtCell(cellIndex(x, y));
     }
 
     /**
      * Returns the list of items on the level.
      *
-     * @return The list of items.
+     * @return An unmodifiable view of the items; use {@link #addItem(Item)} and {@link #removeItem(Item)} to change it.
      */
     @Nonnull
     public List<Item> getItems() {
-        return items;
+        return itemsView;
     }
 
     /**
@@ -311,11 +643,11 @@ public class Level extends Entity {
     /**
      * Returns the list of rooms on the level.
      *
-     * @return The list of rooms.
+     * @return An unmodifiable view of the rooms; use {@link #addRoom(Room)} to change it.
      */
     @Nonnull
     public List<Room> getRooms() {
-        return rooms;
+        return roomsView;
     }
 
     /**
@@ -325,7 +657,24 @@ public class Level extends Entity {
      */
     public boolean addRoom(@Nonnull final Room room) {
         Objects.requireNonNull(room);
-        return rooms.add(room);
+        if (!rooms.add(room)) {
+            return false;
+        }
+        // Fill the room id grid with exclusive right and bottom bounds; earlier rooms keep overlapping cells
+        final short roomId = (short) rooms.size();
+        final int fromX = Math.max(0, room.getPosition().getX());
+        final int fromY = Math.max(0, room.getPosition().getY());
+        final int toX = Math.min(maxWidth, room.getPosition().getX() + room.getSize().getX());
+        final int toY = Math.min(maxHeight, room.getPosition().getY() + room.getSize().getY());
+        for (int y = fromY; y < toY; y++) {
+            for (int x = fromX; x < toX; x++) {
+                final int cell = cellIndex(x, y);
+                if (roomIdsByCell[cell] == 0) {
+                    roomIdsByCell[cell] = roomId;
+                }
+            }
+        }
+        return true;
     }
 
     /**
@@ -341,6 +690,34 @@ public class Level extends Entity {
     public void addPassage(@Nonnull final Passage passage) {
         Objects.requireNonNull(passage);
         passages.add(passage);
+        final int passageNumber = passage.getPassageNumber();
+        if (passageNumber < 0) {
+            return;
+        }
+        if (passageNumber >= passagesByNumber.length) {
+            passagesByNumber = Arrays.copyOf(passagesByNumber, passageNumber + 1);
+        }
+        if (passagesByNumber[passageNumber] == null) {
+            passagesByNumber[passageNumber] = passage;
+        }
+    }
+
+    /**
+     * Replaces the random generator used by {@link #findFloor(Room, int, boolean)} and {@link #rndRoom()}, for a
+     * level generated with another generator and then handed to a game.
+     *
+     * @param rogueRandom The random generator of the game that owns the level.
+     */
+    public void setRogueRandom(@Nonnull final RogueRandom rogueRandom) {
+        this.rogueRandom = Objects.requireNonNull(rogueRandom);
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public int getMaxHeight() {
+        return maxHeight;
     }
 
     public int getLevelNum() {
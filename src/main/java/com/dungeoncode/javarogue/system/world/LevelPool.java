@@ -0,0 +1,91 @@
+package com.dungeoncode.javarogue.system.world;
+
+import com.dungeoncode.javarogue.core.RogueRandom;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * Keeps discarded {@link Level} instances so that later levels can be generated into them instead of
+ * allocating a new map, item index, room grid and set of rooms and passages each time.
+ * <p>
+ * A released level must no longer be referenced by the game: it is cleared when it is acquired again.
+ * A pool is not thread-safe and is meant to be owned by one game.
+ * </p>
+ */
+public class LevelPool {
+
+    private static final int DEFAULT_CAPACITY = 2;
+
+    private final ArrayDeque<Level> levels;
+    private final int capacity;
+
+    public LevelPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a pool keeping at most the given number of released levels.
+     *
+     * @param capacity The maximum number of levels kept.
+     * @throws IllegalArgumentException if capacity is not positive.
+     */
+    public LevelPool(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(String.format("Capacity must be positive: %d", capacity));
+        }
+        this.levels = new ArrayDeque<>(capacity);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns a cleared level with the given dimensions and random generator, reusing a released one if possible.
+     * Every cell of the returned level holds an empty place with the {@link PlaceFlag#REAL} flag.
+     *
+     * @param maxWidth    The maximum width of the level map.
+     * @param maxHeight   The maximum height of the level map.
+     * @param rogueRandom The random generator of the level.
+     * @param levelNum    The level number.
+     * @return A level ready for generation.
+     */
+    @Nonnull
+    public Level acquire(final int maxWidth, final int maxHeight, @Nonnull final RogueRandom rogueRandom,
+                         final int levelNum) {
+        Objects.requireNonNull(rogueRandom);
+        final Iterator<Level> iterator = levels.iterator();
+        while (iterator.hasNext()) {
+            final Level level = iterator.next();
+            if (level.isCompatible(maxWidth, maxHeight, rogueRandom)) {
+                iterator.remove();
+                level.reset(levelNum);
+                return level;
+            }
+        }
+        final Level level = new Level(maxWidth, maxHeight, rogueRandom, levelNum);
+        level.initializePlaces();
+        return level;
+    }
+
+    /**
+     * Hands a level that is no longer used back to the pool. The level is dropped if the pool is full.
+     *
+     * @param level The level to release.
+     */
+    public void release(@Nonnull final Level level) {
+        Objects.requireNonNull(level);
+        if (levels.size() < capacity && !levels.contains(level)) {
+            levels.push(level);
+        }
+    }
+
+    /**
+     * Returns the number of levels currently kept.
+     *
+     * @return The pooled level count.
+     */
+    public int size() {
+        return levels.size();
+    }
+}
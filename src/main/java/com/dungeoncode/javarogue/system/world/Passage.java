@@ -7,6 +7,8 @@ import com.dungeoncode.javarogue.system.entity.Position;
  */
 public class Passage extends Room {
 
+    private static final long serialVersionUID = 1L;
+
     private int passageNumber;
 
     public Passage() {
@@ -15,6 +17,14 @@ public class Passage extends Room {
         addFlag(RoomFlag.DARK);
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        addFlag(RoomFlag.GONE);
+        addFlag(RoomFlag.DARK);
+        passageNumber = 0;
+    }
+
     public void addExit(final int x, final int y) {
         getExits().add(new Position(x, y));
     }
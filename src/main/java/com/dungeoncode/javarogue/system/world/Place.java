@@ -2,94 +2,144 @@ package com.dungeoncode.javarogue.system.world;
 
 import com.dungeoncode.javarogue.system.SymbolType;
 import com.dungeoncode.javarogue.system.entity.Entity;
+import com.dungeoncode.javarogue.system.entity.Position;
 import com.dungeoncode.javarogue.system.entity.creature.Monster;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.EnumSet;
 import java.util.Objects;
 
 /**
  * Represents a single tile on the level map, storing its display symbol type,
  * flags, position, and occupying monster.
+ * <p>
+ * A place is a view over one cell of a {@link PlaceGrid}. Places obtained from {@link Level#getPlaceAt(int, int)}
+ * read and write the level's packed storage directly. A place created with {@link #Place()} owns a single cell
+ * until it is handed to {@link Level#setPlaceAt(int, int, Place)}, which copies it into the level and rebinds it
+ * to the level's cell.
+ * </p>
  */
 public class Place extends Entity {
 
-    private final EnumSet<PlaceFlag> placeFlags;
-    private final EnumSet<TrapFlag> trapFlags;
-    private PlaceType placeType;
-    private SymbolType symbolType;
-    private Monster monster;
-    private Integer passageNumber;
+    private static final long serialVersionUID = 1L;
+
+    private PlaceGrid grid;
+    private int cell;
+    private boolean attached;
 
     public Place() {
         super();
-        this.placeType = PlaceType.EMPTY;
-        this.symbolType = SymbolType.EMPTY;
-        this.placeFlags = EnumSet.noneOf(PlaceFlag.class);
-        this.trapFlags = EnumSet.noneOf(TrapFlag.class);
-        this.monster = null;
-        this.addFlag(PlaceFlag.REAL);
+        this.grid = new PlaceGrid(1, 1);
+        this.cell = 0;
+        this.attached = false;
+        grid.initialize(cell);
+    }
+
+    /**
+     * Constructs a view over a cell of a level's grid.
+     *
+     * @param grid The level's grid.
+     * @param cell The cell index within the grid.
+     */
+    Place(@Nonnull final PlaceGrid grid, final int cell) {
+        super();
+        this.grid = grid;
+        this.cell = cell;
+        this.attached = true;
+    }
+
+    /**
+     * Copies this place into a cell of the given grid and makes it a view over that cell.
+     */
+    void attach(@Nonnull final PlaceGrid target, final int targetCell) {
+        Objects.requireNonNull(target);
+        target.copy(grid, cell, targetCell);
+        this.grid = target;
+        this.cell = targetCell;
+        this.attached = true;
+    }
+
+    @Override
+    public Position getPosition() {
+        if (super.getPosition() == null && attached) {
+            setPosition(cell % grid.getWidth(), cell / grid.getWidth());
+        }
+        return super.getPosition();
+    }
+
+    @Override
+    public int getX() {
+        return attached ? cell % grid.getWidth() : getPosition().getX();
+    }
+
+    @Override
+    public int getY() {
+        return attached ? cell / grid.getWidth() : getPosition().getY();
     }
 
     public void addFlag(@Nonnull final PlaceFlag placeFlag) {
-        placeFlags.add(placeFlag);
+        grid.addFlag(cell, placeFlag);
     }
 
     public void addFlag(@Nonnull final TrapFlag trapFlag) {
-        trapFlags.add(trapFlag);
+        grid.addFlag(cell, trapFlag);
+    }
+
+    public boolean hasTrap() {
+        return grid.hasTrap(cell);
     }
 
     public boolean isReal() {
-        return placeFlags.contains(PlaceFlag.REAL);
+        return grid.hasFlag(cell, PlaceFlag.REAL);
     }
 
     public boolean isStepOk() {
-        return !isType(PlaceType.EMPTY) && !isType(PlaceType.WALL) && monster == null;
+        return grid.isStepOk(cell);
     }
 
     public boolean isType(final PlaceType placeType) {
-        return Objects.equals(this.placeType, placeType);
+        return grid.getPlaceType(cell) == placeType;
     }
 
     public void removeFlag(@Nonnull final PlaceFlag placeFlag) {
-        placeFlags.remove(placeFlag);
+        grid.removeFlag(cell, placeFlag);
     }
 
     public boolean hasFlag(@Nonnull final PlaceFlag placeFlag) {
-        return placeFlags.contains(placeFlag);
+        return grid.hasFlag(cell, placeFlag);
     }
 
     @Nullable
     public Monster getMonster() {
-        return monster;
+        return grid.getMonster(cell);
     }
 
     public void setMonster(@Nullable final Monster monster) {
-        this.monster = monster;
+        grid.setMonster(cell, monster);
     }
 
     public Integer getPassageNumber() {
-        return passageNumber;
+        final int passageNumber = grid.getPassageNumber(cell);
+        return passageNumber < 0 ? null : passageNumber;
     }
 
     public void setPassageNumber(Integer passageNumber) {
-        this.passageNumber = passageNumber;
+        grid.setPassageNumber(cell, passageNumber);
     }
 
     public PlaceType getPlaceType() {
-        return placeType;
+        return grid.getPlaceType(cell);
     }
 
     public void setPlaceType(final PlaceType placeType) {
-        this.placeType = placeType;
+        grid.setPlaceType(cell, placeType);
     }
 
     public SymbolType getSymbolType() {
-        return symbolType;
+        return grid.getSymbolType(cell);
     }
 
     public void setSymbolType(final SymbolType symbolType) {
-        this.symbolType = symbolType;
+        grid.setSymbolType(cell, symbolType);
     }
-}
\ No newline at end of file
+}
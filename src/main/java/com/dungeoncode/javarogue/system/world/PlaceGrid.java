@@ -0,0 +1,177 @@
+package com.dungeoncode.javarogue.system.world;
+
+import com.dungeoncode.javarogue.system.SymbolType;
+import com.dungeoncode.javarogue.system.entity.creature.Monster;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Packed storage for the tiles of a level map, kept as parallel primitive arrays indexed by cell
+ * (<code>y * width + x</code>) instead of one {@link Place} object per tile.
+ * <p>
+ * Each cell takes a place type byte, a symbol byte, a short of flag bits covering {@link PlaceFlag},
+ * {@link TrapFlag} and whether the cell holds a place at all, a short passage number and a monster
+ * reference. {@link Place} instances handed out by {@link Level} are views over a cell of this grid.
+ * Mirrors the <code>places</code> array of <code>PLACE</code> structs in <code>rogue.h</code>.
+ * </p>
+ */
+final class PlaceGrid implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final PlaceType[] PLACE_TYPES = PlaceType.values();
+    private static final SymbolType[] SYMBOL_TYPES = SymbolType.values();
+    private static final int TRAP_FLAG_SHIFT = PlaceFlag.values().length;
+    private static final int TRAP_FLAG_MASK = ((1 << TrapFlag.values().length) - 1) << TRAP_FLAG_SHIFT;
+    private static final int PRESENT_BIT = 1 << 15;
+    private static final short NO_PASSAGE = -1;
+
+    private final int width;
+    private final int height;
+    private final byte[] placeTypes;
+    private final byte[] symbolTypes;
+    private final short[] flags;
+    private final short[] passageNumbers;
+    private final Monster[] monsters;
+
+    PlaceGrid(final int width, final int height) {
+        this.width = width;
+        this.height = height;
+        final int cells = width * height;
+        this.placeTypes = new byte[cells];
+        this.symbolTypes = new byte[cells];
+        this.flags = new short[cells];
+        this.passageNumbers = new short[cells];
+        this.monsters = new Monster[cells];
+        Arrays.fill(passageNumbers, NO_PASSAGE);
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    int cellIndex(final int x, final int y) {
+        return y * width + x;
+    }
+
+    /**
+     * Returns whether a place has been set at the cell.
+     */
+    boolean isPresent(final int cell) {
+        return (flags[cell] & PRESENT_BIT) != 0;
+    }
+
+    /**
+     * Resets a cell to a new place: empty type and symbol, {@link PlaceFlag#REAL}, no passage number and no monster.
+     */
+    void initialize(final int cell) {
+        placeTypes[cell] = (byte) PlaceType.EMPTY.ordinal();
+        symbolTypes[cell] = (byte) SymbolType.EMPTY.ordinal();
+        flags[cell] = (short) (PRESENT_BIT | bit(PlaceFlag.REAL));
+        passageNumbers[cell] = NO_PASSAGE;
+        monsters[cell] = null;
+    }
+
+    /**
+     * Resets every cell to a new place, see {@link #initialize(int)}.
+     */
+    void initializeAll() {
+        Arrays.fill(placeTypes, (byte) PlaceType.EMPTY.ordinal());
+        Arrays.fill(symbolTypes, (byte) SymbolType.EMPTY.ordinal());
+        Arrays.fill(flags, (short) (PRESENT_BIT | bit(PlaceFlag.REAL)));
+        Arrays.fill(passageNumbers, NO_PASSAGE);
+        Arrays.fill(monsters, null);
+    }
+
+    /**
+     * Copies one cell of another grid into a cell of this one.
+     */
+    void copy(@Nonnull final PlaceGrid source, final int sourceCell, final int cell) {
+        placeTypes[cell] = source.placeTypes[sourceCell];
+        symbolTypes[cell] = source.symbolTypes[sourceCell];
+        flags[cell] = (short) (source.flags[sourceCell] | PRESENT_BIT);
+        passageNumbers[cell] = source.passageNumbers[sourceCell];
+        monsters[cell] = source.monsters[sourceCell];
+    }
+
+    @Nonnull
+    PlaceType getPlaceType(final int cell) {
+        return PLACE_TYPES[placeTypes[cell]];
+    }
+
+    void setPlaceType(final int cell, @Nonnull final PlaceType placeType) {
+        placeTypes[cell] = (byte) placeType.ordinal();
+    }
+
+    @Nullable
+    SymbolType getSymbolType(final int cell) {
+        final int ordinal = symbolTypes[cell];
+        return ordinal < 0 ? null : SYMBOL_TYPES[ordinal];
+    }
+
+    void setSymbolType(final int cell, @Nullable final SymbolType symbolType) {
+        symbolTypes[cell] = (byte) (symbolType == null ? -1 : symbolType.ordinal());
+    }
+
+    boolean hasFlag(final int cell, @Nonnull final PlaceFlag placeFlag) {
+        return (flags[cell] & bit(placeFlag)) != 0;
+    }
+
+    void addFlag(final int cell, @Nonnull final PlaceFlag placeFlag) {
+        flags[cell] |= (short) bit(placeFlag);
+    }
+
+    void removeFlag(final int cell, @Nonnull final PlaceFlag placeFlag) {
+        flags[cell] &= (short) ~bit(placeFlag);
+    }
+
+    void addFlag(final int cell, @Nonnull final TrapFlag trapFlag) {
+        flags[cell] |= (short) (1 << (TRAP_FLAG_SHIFT + trapFlag.ordinal()));
+    }
+
+    boolean hasTrap(final int cell) {
+        return (flags[cell] & TRAP_FLAG_MASK) != 0;
+    }
+
+    /**
+     * Returns the passage number of the cell, or -1 if it has none.
+     */
+    int getPassageNumber(final int cell) {
+        return passageNumbers[cell];
+    }
+
+    void setPassageNumber(final int cell, @Nullable final Integer passageNumber) {
+        if (passageNumber != null && (passageNumber < 0 || passageNumber > Short.MAX_VALUE)) {
+            throw new IllegalArgumentException(String.format("Passage number out of range: %d", passageNumber));
+        }
+        passageNumbers[cell] = passageNumber == null ? NO_PASSAGE : passageNumber.shortValue();
+    }
+
+    @Nullable
+    Monster getMonster(final int cell) {
+        return monsters[cell];
+    }
+
+    void setMonster(final int cell, @Nullable final Monster monster) {
+        monsters[cell] = monster;
+    }
+
+    /**
+     * Returns whether a creature may step onto the cell: it is neither empty nor a wall and holds no monster.
+     */
+    boolean isStepOk(final int cell) {
+        final int placeType = placeTypes[cell];
+        return placeType != PlaceType.EMPTY.ordinal() && placeType != PlaceType.WALL.ordinal() && monsters[cell] == null;
+    }
+
+    private static int bit(@Nonnull final PlaceFlag placeFlag) {
+        return 1 << placeFlag.ordinal();
+    }
+}
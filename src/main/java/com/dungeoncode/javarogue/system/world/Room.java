@@ -16,6 +16,8 @@ import java.util.Objects;
  */
 public class Room extends Entity {
 
+    private static final long serialVersionUID = 1L;
+
     private final EnumSet<RoomFlag> roomFlags;
     private final List<Position> exits;
     private Position size;
@@ -127,6 +129,19 @@ public class Room extends Entity {
         return exits;
     }
 
+    /**
+     * Returns the room to its initial state so it can be generated again, keeping its position objects.
+     */
+    public void reset() {
+        roomFlags.clear();
+        exits.clear();
+        goldValue = 0;
+        if (size != null) {
+            size.setX(0);
+            size.setY(0);
+        }
+    }
+
     public void setSize(int roomSizeX, int roomSizeY) {
         if (this.size == null) {
             this.size = new Position(roomSizeX, roomSizeY);
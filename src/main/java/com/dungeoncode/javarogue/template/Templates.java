@@ -42,6 +42,39 @@ public class Templates {
             Collectors.groupingBy(Template::getClass,
                     Collectors.toUnmodifiableMap(Template::getId, t -> t)));
 
+    // Shared unmodifiable template sets per template class, returned by getTemplates(Class)
+    private static final Map<Class<?>, Set<Template>> TEMPLATE_SETS_BY_TYPE = TEMPLATES_BY_TYPE.entrySet().stream()
+            .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> Set.copyOf(entry.getValue().values())));
+
+    // All ObjectInfoTemplate instances ordered by ID, so lookups with several candidates resolve to the lowest ID
+    private static final List<ObjectInfoTemplate> OBJECT_INFO_TEMPLATES = TEMPLATES_ALL.stream()
+            .filter(t -> t instanceof ObjectInfoTemplate)
+            .map(t -> (ObjectInfoTemplate) t)
+            .sorted(Comparator.comparing(ObjectInfoTemplate::getClass, Comparator.comparing(Class::getName))
+                    .thenComparingLong(ObjectInfoTemplate::getId))
+            .toList();
+
+    // Lookup indexes built once, so the accessors below neither scan nor allocate
+    private static final Map<Enum<? extends ItemSubtype>, ObjectInfoTemplate> TEMPLATES_BY_SUBTYPE = indexBySubType();
+    private static final EnumMap<ObjectType, ObjectInfoTemplate> TEMPLATE_BY_OBJECT_TYPE = indexByObjectType();
+    private static final EnumMap<ObjectType, Set<Template>> SUBTYPE_TEMPLATES_BY_OBJECT_TYPE = indexSubTypesByObjectType();
+    private static final Set<Template> TEMPLATES_WITHOUT_SUBTYPE = OBJECT_INFO_TEMPLATES.stream()
+            .filter(t -> t.getItemSubType() == null)
+            .collect(Collectors.toUnmodifiableSet());
+    private static final EnumMap<MonsterType, MonsterTemplate> MONSTER_TEMPLATES_BY_TYPE = new EnumMap<>(MonsterType.class);
+    private static final EnumMap<SymbolType, MonsterTemplate> MONSTER_TEMPLATES_BY_SYMBOL = new EnumMap<>(SymbolType.class);
+
+    static {
+        TEMPLATES_ALL.stream()
+                .filter(t -> t instanceof MonsterTemplate)
+                .map(t -> (MonsterTemplate) t)
+                .sorted(Comparator.comparingLong(MonsterTemplate::getId))
+                .forEach(t -> {
+                    MONSTER_TEMPLATES_BY_TYPE.putIfAbsent(t.getMonsterType(), t);
+                    MONSTER_TEMPLATES_BY_SYMBOL.putIfAbsent(t.getSymbolType(), t);
+                });
+    }
+
     static {
         // Apply cumulative probability to ObjectInfoTemplate subclasses
         List<Class<? extends ObjectInfoTemplate>> cumulativeTemplates = List.of(
@@ -79,6 +112,32 @@ public class Templates {
         }
     }
 
+    private static Map<Enum<? extends ItemSubtype>, ObjectInfoTemplate> indexBySubType() {
+        final Map<Enum<? extends ItemSubtype>, ObjectInfoTemplate> index = new HashMap<>();
+        OBJECT_INFO_TEMPLATES.stream()
+                .filter(t -> t.getItemSubType() != null)
+                .forEach(t -> index.putIfAbsent(t.getItemSubType(), t));
+        return Map.copyOf(index);
+    }
+
+    private static EnumMap<ObjectType, ObjectInfoTemplate> indexByObjectType() {
+        final EnumMap<ObjectType, ObjectInfoTemplate> index = new EnumMap<>(ObjectType.class);
+        OBJECT_INFO_TEMPLATES.stream()
+                .filter(t -> t.getClass() == ObjectInfoTemplate.class)
+                .forEach(t -> index.putIfAbsent(t.getObjectType(), t));
+        return index;
+    }
+
+    private static EnumMap<ObjectType, Set<Template>> indexSubTypesByObjectType() {
+        final EnumMap<ObjectType, Set<Template>> index = new EnumMap<>(ObjectType.class);
+        for (final ObjectType objectType : ObjectType.values()) {
+            index.put(objectType, OBJECT_INFO_TEMPLATES.stream()
+                    .filter(t -> t.getObjectType() == objectType && t.getItemSubType() != null)
+                    .collect(Collectors.toUnmodifiableSet()));
+        }
+        return index;
+    }
+
     /**
      * Retrieves a template by its class and ID.
      *
@@ -107,12 +166,12 @@ public class Templates {
     @Nonnull
     public static ObjectInfoTemplate findTemplateBySubType(@Nonnull final Enum<? extends ItemSubtype> itemSubType) {
         Objects.requireNonNull(itemSubType);
-        return (ObjectInfoTemplate) TEMPLATES_ALL.stream()
-                .filter(t -> t instanceof ObjectInfoTemplate)
-                .filter(t -> Objects.equals(((ObjectInfoTemplate) t).getItemSubType(), itemSubType))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException(
-                        String.format(Messages.ERROR_NO_OBJECT_INFO_TEMPLATE_FOUND, "ObjectInfoTemplate", itemSubType)));
+        final ObjectInfoTemplate template = TEMPLATES_BY_SUBTYPE.get(itemSubType);
+        if (template == null) {
+            throw new IllegalStateException(
+                    String.format(Messages.ERROR_NO_OBJECT_INFO_TEMPLATE_FOUND, "ObjectInfoTemplate", itemSubType));
+        }
+        return template;
     }
 
     /**
@@ -137,19 +196,16 @@ public class Templates {
      *
      * @param type The template class.
      * @param <T>  The template type extending Template.
-     * @return An unmodifiable set of templates, or empty if none found.
+     * @return A shared unmodifiable set of templates, or empty if none found.
      */
     @SuppressWarnings("unchecked")
     public static <T extends Template> Set<T> getTemplates(@Nonnull final Class<T> type) {
         Objects.requireNonNull(type);
-        final Map<Long, Template> map = TEMPLATES_BY_TYPE.get(type);
-        if (map == null) {
+        final Set<Template> templates = TEMPLATE_SETS_BY_TYPE.get(type);
+        if (templates == null) {
             return Set.of();
         }
-
-        return map.values().stream()
-                .map(t -> (T) t)
-                .collect(Collectors.toUnmodifiableSet());
+        return (Set<T>) templates;
     }
 
     /**
@@ -162,18 +218,14 @@ public class Templates {
      * @param objectType The {@link ObjectType} to match, or null to retrieve templates with null
      *                   {@link ItemSubtype}.
      * @param <T>        The template type extending {@link Template}.
-     * @return An unmodifiable set of matching templates, or empty if none found.
+     * @return A shared unmodifiable set of matching templates, or empty if none found.
      */
     @SuppressWarnings("unchecked")
     public static <T extends Template> Set<T> getTemplates(@Nullable ObjectType objectType) {
-        return TEMPLATES_ALL.stream()
-                .filter(t -> t instanceof ObjectInfoTemplate)
-                .map(t -> (ObjectInfoTemplate) t)
-                .filter(t -> objectType == null
-                        ? t.getItemSubType() == null
-                        : t.getObjectType() == objectType && t.getItemSubType() != null)
-                .map(t -> (T) t)
-                .collect(Collectors.toUnmodifiableSet());
+        if (objectType == null) {
+            return (Set<T>) TEMPLATES_WITHOUT_SUBTYPE;
+        }
+        return (Set<T>) SUBTYPE_TEMPLATES_BY_OBJECT_TYPE.get(objectType);
     }
 
     /**
@@ -185,11 +237,7 @@ public class Templates {
     @Nullable
     public static ObjectInfoTemplate findTemplateByObjectType(@Nonnull final ObjectType objectType) {
         Objects.requireNonNull(objectType);
-        Set<ObjectInfoTemplate> templates = getTemplates(ObjectInfoTemplate.class);
-        return templates.stream()
-                .filter(t -> t.getObjectType() == objectType)
-                .findFirst()
-                .orElse(null);
+        return TEMPLATE_BY_OBJECT_TYPE.get(objectType);
     }
 
     /**
@@ -202,12 +250,7 @@ public class Templates {
     @Nullable
     public static MonsterTemplate getMonsterTemplate(@Nonnull MonsterType monsterType) {
         Objects.requireNonNull(monsterType);
-        return TEMPLATES_ALL.stream()
-                .filter(t -> t instanceof MonsterTemplate)
-                .map(t -> (MonsterTemplate) t)
-                .filter(t -> t.getMonsterType() == monsterType)
-                .findFirst()
-                .orElse(null);
+        return MONSTER_TEMPLATES_BY_TYPE.get(monsterType);
     }
 
     /**
@@ -224,12 +267,7 @@ public class Templates {
         if (!symbolType.isMonsterSymbol()) {
             throw new IllegalArgumentException(Messages.ERROR_NO_MONSTER_TYPE_FOR_SYMBOL + symbolType);
         }
-        return TEMPLATES_ALL.stream()
-                .filter(t -> t instanceof MonsterTemplate)
-                .map(t -> (MonsterTemplate) t)
-                .filter(t -> t.getSymbolType() == symbolType)
-                .findFirst()
-                .orElse(null);
+        return MONSTER_TEMPLATES_BY_SYMBOL.get(symbolType);
     }
 
     /**
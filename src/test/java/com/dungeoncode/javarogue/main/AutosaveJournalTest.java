@@ -0,0 +1,157 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import com.dungeoncode.javarogue.core.SaveFile;
+import com.dungeoncode.javarogue.main.base.RogueBaseTest;
+import com.dungeoncode.javarogue.system.HeadlessRogueScreen;
+import com.dungeoncode.javarogue.system.MessageSystem;
+import com.dungeoncode.javarogue.system.initializer.DefaultInitializer;
+import com.dungeoncode.javarogue.system.input.KeyStrokeSource;
+import com.dungeoncode.javarogue.system.input.ScriptedKeyStrokeSource;
+import com.dungeoncode.javarogue.system.replay.AutosaveJournal;
+import com.dungeoncode.javarogue.system.replay.ReplayState;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AutosaveJournalTest extends RogueBaseTest {
+
+    private static final long SEED = 4242;
+    private static final String MOVES = "hjklyubn,";
+    private static final long NEVER = 3_600_000;
+
+    private static String randomScript(final int length) {
+        final Random random = new Random(11);
+        final StringBuilder script = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            script.append(MOVES.charAt(random.nextInt(MOVES.length())));
+        }
+        return script.toString();
+    }
+
+    private GameState newGame(final KeyStrokeSource source, final boolean initialize) throws IOException {
+        final HeadlessRogueScreen headlessScreen = new HeadlessRogueScreen(config, source);
+        return new GameState(config, new RogueRandom(SEED), headlessScreen,
+                initialize ? new DefaultInitializer() : null, new MessageSystem(headlessScreen));
+    }
+
+    private static void playTurns(final GameState gameState, final int turns) {
+        for (int i = 0; i < turns; i++) {
+            gameState.playTurn();
+        }
+    }
+
+    /**
+     * Plays the game recovered from the autosave with the keys that follow the crash, and checks that it ends like
+     * the game that crashed played on.
+     */
+    private void assertRecoveredGamePlaysOn(final Path autosave, final GameState crashed, final long expectedTurn,
+                                            final String remainingKeys) throws IOException {
+        final AutosaveJournal.Recovery recovery = AutosaveJournal.recover(autosave);
+        assertEquals(expectedTurn, recovery.snapshot().getTurnCount());
+        assertFalse(recovery.keyStrokes().isEmpty());
+
+        final GameState recovered = newGame(recovery.source(ScriptedKeyStrokeSource.of(remainingKeys)), false);
+        recovered.restore(recovery.snapshot());
+        recovered.resumeLoop();
+        crashed.resumeLoop();
+        assertEquals(ReplayState.of(crashed), ReplayState.of(recovered));
+        assertEquals(crashed.getPlayer().getPosition(), recovered.getPlayer().getPosition());
+    }
+
+    @Test
+    void testRecoverFromLastCompaction() throws IOException {
+        final String script = randomScript(400);
+        final ScriptedKeyStrokeSource source = ScriptedKeyStrokeSource.of(script);
+        final Path autosave = config.getAutosaveFilePath();
+        final AutosaveJournal journal = new AutosaveJournal(autosave, source, true, 16, NEVER);
+        final GameState gameState = newGame(journal, true);
+        gameState.setAutosaveJournal(journal);
+        gameState.startPlaying();
+
+        playTurns(gameState, 30);
+        journal.flush();
+        playTurns(gameState, 25);
+        journal.flush();
+        assertFalse(journal.isFailed());
+        assertEquals(2, journal.getFlushes());
+        // Turns 0 and 16 were snapshotted before the writer ran, turns 32 and 48 by its replica
+        assertEquals(2, journal.getGameThreadSnapshots());
+        assertTrue(Files.exists(autosave));
+        assertTrue(Files.exists(autosave.resolveSibling(autosave.getFileName() + ".journal")));
+
+        // The process dies here: nothing more is written
+        journal.close();
+        gameState.setAutosaveJournal(null);
+        final int consumed = (int) source.getConsumed();
+        assertRecoveredGamePlaysOn(autosave, gameState, 48, script.substring(consumed));
+    }
+
+    @Test
+    void testRecoverWithTornJournalTail() throws IOException {
+        final String script = randomScript(300);
+        final ScriptedKeyStrokeSource source = ScriptedKeyStrokeSource.of(script);
+        final Path autosave = tempDir.resolve("torn.autosave");
+        final AutosaveJournal journal = new AutosaveJournal(autosave, source, false, 1000, NEVER);
+        final GameState gameState = newGame(journal, true);
+        gameState.setAutosaveJournal(journal);
+        gameState.startPlaying();
+        playTurns(gameState, 40);
+        journal.close();
+        gameState.setAutosaveJournal(null);
+
+        // Half of a multibyte token written when the process died
+        Files.write(autosave.resolveSibling("torn.autosave.journal"), new byte[]{(byte) 0x80},
+                StandardOpenOption.APPEND);
+        final int consumed = (int) source.getConsumed();
+        assertRecoveredGamePlaysOn(autosave, gameState, 0, script.substring(consumed));
+    }
+
+    /**
+     * Verifies recovery when the process died after writing a snapshot but before starting the journal after it.
+     */
+    @Test
+    void testRecoverWithJournalOlderThanSnapshot() throws IOException {
+        final String script = randomScript(300);
+        final ScriptedKeyStrokeSource source = ScriptedKeyStrokeSource.of(script);
+        final Path autosave = tempDir.resolve("old.autosave");
+        final AutosaveJournal journal = new AutosaveJournal(autosave, source, true, 1000, NEVER);
+        final GameState gameState = newGame(journal, true);
+        gameState.setAutosaveJournal(journal);
+        gameState.startPlaying();
+        playTurns(gameState, 30);
+        journal.flush();
+        SaveFile.write(autosave, gameState, true);
+        playTurns(gameState, 20);
+        journal.close();
+        gameState.setAutosaveJournal(null);
+
+        final int consumed = (int) source.getConsumed();
+        assertRecoveredGamePlaysOn(autosave, gameState, 30, script.substring(consumed));
+    }
+
+    @Test
+    void testDiscardDeletesAutosave() throws IOException {
+        final Path autosave = tempDir.resolve("done.autosave");
+        final AutosaveJournal journal = new AutosaveJournal(autosave, ScriptedKeyStrokeSource.of("hjklQy"), true);
+        final GameState gameState = newGame(journal, true);
+        gameState.setAutosaveJournal(journal);
+        gameState.loop();
+        journal.flush();
+        assertTrue(AutosaveJournal.exists(autosave));
+
+        journal.discard();
+        assertFalse(AutosaveJournal.exists(autosave));
+        assertFalse(Files.exists(autosave.resolveSibling("done.autosave.journal")));
+        assertThrows(RuntimeException.class, () -> AutosaveJournal.recover(autosave));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AutosaveJournal(autosave, ScriptedKeyStrokeSource.of(""), true, 0, NEVER));
+    }
+}
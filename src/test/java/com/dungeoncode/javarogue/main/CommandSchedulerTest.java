@@ -0,0 +1,237 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.command.Command;
+import com.dungeoncode.javarogue.command.core.AbstractCommand;
+import com.dungeoncode.javarogue.command.core.CommandEternal;
+import com.dungeoncode.javarogue.command.core.CommandScheduler;
+import com.dungeoncode.javarogue.command.core.CommandTimed;
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.core.Phase;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import com.dungeoncode.javarogue.main.base.RogueBaseTest;
+import com.dungeoncode.javarogue.system.MessageSystem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandSchedulerTest extends RogueBaseTest {
+
+    private static final Consumer<GameState> NOTHING = gameState -> {
+    };
+
+    private GameState gameState;
+    private List<String> log;
+
+    @BeforeEach
+    void init() {
+        gameState = new GameState(config, new RogueRandom(config.getSeed()), screen, null, new MessageSystem(screen));
+        log = new ArrayList<>();
+    }
+
+    @Test
+    void testCommandsRunInInsertionOrderWithinPhase() {
+        final CommandScheduler scheduler = new CommandScheduler();
+        scheduler.add(new LoggingTimed("t1", 1, Phase.END_TURN, log, NOTHING));
+        scheduler.add(new LoggingEternal("e1", Phase.END_TURN, log));
+        scheduler.add(new LoggingOnce("o1", Phase.END_TURN, log, NOTHING));
+        scheduler.add(new LoggingTimed("t0", 0, Phase.END_TURN, log, NOTHING));
+        scheduler.add(new LoggingOnce("s1", Phase.START_TURN, log, NOTHING));
+
+        scheduler.process(Phase.END_TURN, gameState);
+        assertEquals(List.of("t1", "e1", "o1", "t0"), log);
+        assertEquals(2, scheduler.size());
+
+        log.clear();
+        scheduler.process(Phase.END_TURN, gameState);
+        assertEquals(List.of("e1"), log);
+    }
+
+    @Test
+    void testTimedCommandCountsDownAcrossWheelRotations() {
+        final CommandScheduler scheduler = new CommandScheduler();
+        final int turns = 200;
+        final LoggingTimed fuse = new LoggingTimed("fuse", turns, Phase.END_TURN, log, NOTHING);
+        scheduler.add(fuse);
+
+        for (int turn = 1; turn < turns; turn++) {
+            scheduler.process(Phase.END_TURN, gameState);
+            assertEquals(turns - turn, fuse.getTurnsRemaining());
+            assertTrue(log.isEmpty());
+        }
+        scheduler.process(Phase.END_TURN, gameState);
+        assertEquals(List.of("fuse"), log);
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    void testLengthenAndDecrementMoveTheFuse() {
+        final CommandScheduler scheduler = new CommandScheduler();
+        final LoggingTimed fuse = new LoggingTimed("unconfuse", 3, Phase.END_TURN, log, NOTHING);
+        scheduler.add(fuse);
+        assertSame(fuse, scheduler.findByName("unconfuse"));
+
+        scheduler.process(Phase.END_TURN, gameState);
+        fuse.lengthen(5);
+        assertEquals(7, fuse.getTurnsRemaining());
+        fuse.decrementTimer();
+        assertEquals(6, fuse.getTurnsRemaining());
+
+        for (int i = 0; i < 5; i++) {
+            scheduler.process(Phase.END_TURN, gameState);
+        }
+        assertTrue(log.isEmpty());
+        scheduler.process(Phase.END_TURN, gameState);
+        assertEquals(List.of("unconfuse"), log);
+        assertNull(scheduler.findByName("unconfuse"));
+        assertEquals(0, fuse.getTurnsRemaining());
+    }
+
+    @Test
+    void testRemoveAndSnapshot() {
+        final CommandScheduler scheduler = new CommandScheduler();
+        final LoggingTimed fuse = new LoggingTimed("fuse", 4, Phase.START_TURN, log, NOTHING);
+        final LoggingEternal daemon = new LoggingEternal("daemon", Phase.END_TURN, log);
+        scheduler.add(fuse);
+        scheduler.add(daemon);
+
+        assertEquals(List.of(fuse, daemon), new ArrayList<>(scheduler.snapshot()));
+
+        assertTrue(scheduler.remove(fuse));
+        assertFalse(scheduler.remove(fuse));
+        assertEquals(4, fuse.getTurnsRemaining());
+        assertTrue(scheduler.remove(daemon));
+        assertEquals(0, scheduler.size());
+        assertNull(scheduler.findByName("fuse"));
+    }
+
+    /**
+     * Replays a long random schedule through the game state's scheduler and through the single queue scan it
+     * replaced, and checks that both execute the same commands in the same order, including commands that add
+     * further commands to their own phase while it runs; those wait for the phase's next pass.
+     */
+    @Test
+    void testMatchesSingleQueueScan() {
+        final RogueRandom rogueRandom = new RogueRandom(1234);
+        final Queue<Command> reference = new ConcurrentLinkedQueue<>();
+        final List<String> expected = new ArrayList<>();
+        final Phase[] phases = Phase.values();
+        for (final Phase phase : phases) {
+            gameState.enablePhase(phase);
+        }
+
+        int id = 0;
+        for (int turn = 0; turn < 500; turn++) {
+            for (int k = rogueRandom.rnd(3); k > 0; k--) {
+                final Phase phase = phases[rogueRandom.rnd(phases.length)];
+                final String name = "c" + id++;
+                final int kind = rogueRandom.rnd(10);
+                final int turns = rogueRandom.rnd(150);
+                final boolean spawns = rogueRandom.rnd(8) == 0;
+
+                final Consumer<GameState> spawn = spawns
+                        ? gs -> gs.addCommand(new LoggingTimed(name + "-child", turns % 3, phase, log, NOTHING))
+                        : NOTHING;
+                final Consumer<GameState> referenceSpawn = spawns
+                        ? gs -> reference.add(new LoggingTimed(name + "-child", turns % 3, phase, expected, NOTHING))
+                        : NOTHING;
+                gameState.addCommand(newCommand(kind, name, turns, phase, log, spawn));
+                reference.add(newCommand(kind, name, turns, phase, expected, referenceSpawn));
+            }
+            for (final Phase phase : phases) {
+                gameState.processPhase(phase);
+                processReference(reference, phase, gameState);
+            }
+        }
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, log);
+        assertEquals(reference.size(), gameState.getCommandQueue().size());
+    }
+
+    private static Command newCommand(final int kind, final String name, final int turns, final Phase phase,
+                                      final List<String> sink, final Consumer<GameState> onExecute) {
+        if (kind == 0) {
+            return new LoggingEternal(name, phase, sink);
+        } else if (kind < 5) {
+            return new LoggingTimed(name, turns, phase, sink, onExecute);
+        }
+        return new LoggingOnce(name, phase, sink, onExecute);
+    }
+
+    /**
+     * The single queue scan that {@link CommandScheduler} replaced, over the commands queued when the phase starts.
+     */
+    private static void processReference(final Queue<Command> queue, final Phase phase, final GameState gameState) {
+        new ArrayList<>(queue).forEach(command -> {
+            if (command.getPhase() == phase) {
+                if (command instanceof CommandTimed commandTimed) {
+                    commandTimed.decrementTimer();
+                    if (commandTimed.isReadyToExecute()) {
+                        command.execute(gameState);
+                        queue.remove(command);
+                    }
+                } else {
+                    command.execute(gameState);
+                    if (!(command instanceof CommandEternal)) {
+                        queue.remove(command);
+                    }
+                }
+            }
+        });
+    }
+
+    private static class LoggingOnce extends AbstractCommand {
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> sink;
+        private final Consumer<GameState> onExecute;
+
+        LoggingOnce(final String name, final Phase phase, final List<String> sink, final Consumer<GameState> onExecute) {
+            super(phase, name);
+            this.sink = sink;
+            this.onExecute = onExecute;
+        }
+
+        @Override
+        public boolean execute(final GameState gameState) {
+            sink.add(getName());
+            onExecute.accept(gameState);
+            return true;
+        }
+    }
+
+    private static class LoggingEternal extends LoggingOnce implements CommandEternal {
+        private static final long serialVersionUID = 1L;
+
+        LoggingEternal(final String name, final Phase phase, final List<String> sink) {
+            super(name, phase, sink, NOTHING);
+        }
+    }
+
+    private static class LoggingTimed extends CommandTimed {
+        private static final long serialVersionUID = 1L;
+
+        private final List<String> sink;
+        private final Consumer<GameState> onExecute;
+
+        LoggingTimed(final String name, final int turns, final Phase phase, final List<String> sink,
+                     final Consumer<GameState> onExecute) {
+            super(turns, phase, name);
+            this.sink = sink;
+            this.onExecute = onExecute;
+        }
+
+        @Override
+        public boolean execute(final GameState gameState) {
+            sink.add(getName());
+            onExecute.accept(gameState);
+            return true;
+        }
+    }
+}
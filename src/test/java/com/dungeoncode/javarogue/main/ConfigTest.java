@@ -41,6 +41,30 @@ public class ConfigTest {
         assertFalse(config.getInitialPlayerFlags().contains(PlayerFlag.SEEMONST));
     }
 
+    @Test
+    void testCopyIsIndependent() {
+        final Config config = new Config();
+        final Options options = new Options();
+        options.name = "copied";
+        options.tombstone = true;
+        options.seed = 42;
+        config.applyOptions(options);
+
+        final Config copy = new Config(config);
+        assertEquals("copied", copy.getPlayerName());
+        assertTrue(copy.isTombstone());
+        assertEquals(42, copy.getOptionsSeed());
+        assertEquals(config.getSeed(), copy.getSeed());
+        assertEquals(config.getInitialPlayerStats().getStrength(), copy.getInitialPlayerStats().getStrength());
+
+        config.setSeeFloor(!copy.isSeeFloor());
+        config.setWizard(true, new RogueRandom(1L));
+        assertNotEquals(config.isSeeFloor(), copy.isSeeFloor());
+        assertFalse(copy.isWizard());
+        assertFalse(copy.getInitialPlayerFlags().contains(PlayerFlag.SEEMONST));
+        assertNotSame(config.getInitialPlayerStats(), copy.getInitialPlayerStats());
+    }
+
     @Test
     void testInitPlayerStats() {
         final Config config = new Config();
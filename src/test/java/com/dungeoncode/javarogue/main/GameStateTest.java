@@ -199,12 +199,14 @@ public class GameStateTest extends RogueBaseTest {
         // Test MAIN_TURN phase with CommandTimed
         final int initialTimer = 2;
         final int mainGoldIncrease = 10;
-        final AtomicInteger mainTimer = new AtomicInteger(initialTimer);
-        gameState.addCommand(new CommandParameterizedTimedTest(initialTimer, mainGoldIncrease, mainTimer));
+        final CommandParameterizedTimedTest timedCommand = new CommandParameterizedTimedTest(initialTimer, mainGoldIncrease);
+        gameState.addCommand(timedCommand);
 
         // Test END_TURN phase with inline TestCommandEternal
         final AtomicInteger endEternalExecutions = new AtomicInteger(0);
         class TestCommandEternal implements CommandEternal {
+            private static final long serialVersionUID = 1L;
+
             private final AtomicInteger executions;
             private final Phase phase;
 
@@ -244,7 +246,7 @@ public class GameStateTest extends RogueBaseTest {
         final int expectedQueueSizeAfterMain = 2;
         gameState.processPhase(Phase.MAIN_TURN);
         assertEquals(startGoldIncrease, gameState.getPlayer().getGoldAmount()); // No MAIN_TURN execution yet
-        assertEquals(expectedMainTimerAfterFirst, mainTimer.get()); // CommandTimed timer decremented
+        assertEquals(expectedMainTimerAfterFirst, timedCommand.getTurnsRemaining()); // CommandTimed timer decremented
         assertEquals(expectedQueueSizeAfterMain, gameState.getCommandQueue().size()); // No commands removed
 
         // Process MAIN_TURN again
@@ -252,7 +254,7 @@ public class GameStateTest extends RogueBaseTest {
         final int expectedMainTimerAfterSecond = 0;
         gameState.processPhase(Phase.MAIN_TURN);
         assertEquals(expectedGoldAfterMainSecond, gameState.getPlayer().getGoldAmount()); // CommandTimed executed
-        assertEquals(expectedMainTimerAfterSecond, mainTimer.get()); // CommandTimed timer at 0
+        assertEquals(expectedMainTimerAfterSecond, timedCommand.getTurnsRemaining()); // CommandTimed timer at 0
         assertEquals(1, gameState.getCommandQueue().size()); // CommandTimed removed
 
         // Process END_TURN phase
@@ -684,13 +686,13 @@ public class GameStateTest extends RogueBaseTest {
     }
 
     private static class CommandParameterizedTimedTest extends CommandParameterizedTimed<Integer> {
+        private static final long serialVersionUID = 1L;
+
         private final int mainGoldIncrease;
-        private final AtomicInteger mainTimer;
 
-        public CommandParameterizedTimedTest(int initialTimer, int mainGoldIncrease, AtomicInteger mainTimer) {
+        public CommandParameterizedTimedTest(int initialTimer, int mainGoldIncrease) {
             super(initialTimer, 0, Phase.MAIN_TURN);
             this.mainGoldIncrease = mainGoldIncrease;
-            this.mainTimer = mainTimer;
         }
 
         @Override
@@ -698,20 +700,5 @@ public class GameStateTest extends RogueBaseTest {
             gs.getPlayer().setGoldAmount(gs.getPlayer().getGoldAmount() + mainGoldIncrease);
             return true;
         }
-
-        @Override
-        public void decrementTimer() {
-            mainTimer.decrementAndGet();
-        }
-
-        @Override
-        public int getTurnsRemaining() {
-            return mainTimer.get();
-        }
-
-        @Override
-        public boolean isReadyToExecute() {
-            return mainTimer.get() <= 0;
-        }
     }
 }
@@ -0,0 +1,71 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import com.dungeoncode.javarogue.main.base.RogueBaseTest;
+import com.dungeoncode.javarogue.system.HeadlessRogueScreen;
+import com.dungeoncode.javarogue.system.MessageSystem;
+import com.dungeoncode.javarogue.system.initializer.DefaultInitializer;
+import com.dungeoncode.javarogue.system.input.InputExhaustedException;
+import com.dungeoncode.javarogue.system.input.ScriptedKeyStrokeSource;
+import com.googlecode.lanterna.input.KeyStroke;
+import com.googlecode.lanterna.input.KeyType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HeadlessGameStateTest extends RogueBaseTest {
+
+    private static final String SCRIPT = "hhhhjjjjllllllllkkkkyyyubnbn,hjkl".repeat(10);
+
+    private GameState play(final long seed, final ScriptedKeyStrokeSource source) throws IOException {
+        final HeadlessRogueScreen headlessScreen = new HeadlessRogueScreen(config, source);
+        final GameState gameState = new GameState(config, new RogueRandom(seed), headlessScreen,
+                new DefaultInitializer(), new MessageSystem(headlessScreen));
+        gameState.loop();
+        return gameState;
+    }
+
+    @Test
+    void testLoopEndsWhenScriptIsExhausted() throws IOException {
+        final ScriptedKeyStrokeSource source = ScriptedKeyStrokeSource.of(SCRIPT);
+        final GameState gameState = play(100, source);
+
+        assertFalse(gameState.isPlaying());
+        assertEquals(0, source.getRemaining());
+        assertEquals(SCRIPT.length(), source.getConsumed());
+        assertThrows(InputExhaustedException.class, source::readKeyStroke);
+    }
+
+    @Test
+    void testHeadlessRunsAreDeterministic() throws IOException {
+        for (long seed = 1; seed <= 5; seed++) {
+            final GameState first = play(seed, ScriptedKeyStrokeSource.of(SCRIPT));
+            final GameState second = play(seed, ScriptedKeyStrokeSource.of(SCRIPT));
+
+            assertEquals(first.getPlayer().getPosition(), second.getPlayer().getPosition());
+            assertEquals(first.getPlayer().getGoldAmount(), second.getPlayer().getGoldAmount());
+            assertEquals(first.getPlayer().getInventory().getItems().size(),
+                    second.getPlayer().getInventory().getItems().size());
+            assertEquals(first.getRogueRandom().getSeed(), second.getRogueRandom().getSeed());
+        }
+    }
+
+    @Test
+    void testScriptedKeyStrokeMapping() {
+        final ScriptedKeyStrokeSource source = ScriptedKeyStrokeSource.of("h\n\u0004\u001b");
+
+        assertEquals(new KeyStroke('h', false, false), source.readKeyStroke());
+        assertEquals(KeyType.Enter, source.readKeyStroke().getKeyType());
+
+        final KeyStroke ctrlD = source.readKeyStroke();
+        assertTrue(ctrlD.isCtrlDown());
+        assertEquals('d', ctrlD.getCharacter());
+
+        assertEquals(KeyType.Escape, source.readKeyStroke().getKeyType());
+        assertEquals(0, source.getRemaining());
+    }
+
+}
@@ -57,6 +57,10 @@ public class LevelGeneratorTest extends RogueBaseTest {
     }
 
     private LevelGenerator createLevelGenerator(final long seed) {
+        return new LevelGenerator(createGameState(seed));
+    }
+
+    private GameState createGameState(final long seed) {
         final RogueRandom rogueRandom;
         if (seed != 0) {
             rogueRandom = new RogueRandom(seed);
@@ -64,8 +68,7 @@ public class LevelGeneratorTest extends RogueBaseTest {
             rogueRandom = new RogueRandom(config.getSeed());
         }
         final MessageSystem messageSystem = new MessageSystem(screen);
-        final GameState gameState = new GameState(config, rogueRandom, screen, new DefaultInitializer(), messageSystem);
-        return new LevelGenerator(gameState);
+        return new GameState(config, rogueRandom, screen, new DefaultInitializer(), messageSystem);
     }
 
     /**
@@ -408,6 +411,148 @@ public class LevelGeneratorTest extends RogueBaseTest {
         }
     }
 
+    /**
+     * Verifies that the iterative {@link LevelGenerator#dig(LevelGenerator.Spot[][], int, int, int, int, int, int)}
+     * carves the same passages, records the same maze exits and consumes the same random numbers as the recursive
+     * {@link LevelGenerator#digRecursive(LevelGenerator.Spot[][], int, int, int, int, int, int)}, both for standard
+     * maze rooms and for a maze covering the whole level.
+     */
+    @Test
+    void testIterativeDigMatchesRecursiveDig() {
+        for (long seed = 1; seed <= 40; seed++) {
+            final boolean wholeLevel = seed % 4 == 0;
+            final LevelGenerator iterative = createLevelGenerator(seed);
+            final LevelGenerator recursive = createLevelGenerator(seed);
+            final LevelGenerator.Spot[][] iterativeMaze = startMaze(iterative, wholeLevel, (int) seed);
+            final LevelGenerator.Spot[][] recursiveMaze = startMaze(recursive, wholeLevel, (int) seed);
+            final int[] bounds = mazeBounds(iterative, wholeLevel);
+
+            iterative.dig(iterativeMaze, bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5]);
+            recursive.digRecursive(recursiveMaze, bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5]);
+
+            final Level expected = recursive.getLevel();
+            final Level actual = iterative.getLevel();
+            for (int y = 0; y < expected.getMaxHeight(); y++) {
+                for (int x = 0; x < expected.getMaxWidth(); x++) {
+                    final String where = String.format("seed %d at %d,%d", seed, x, y);
+                    assertEquals(expected.getPlaceType(x, y), actual.getPlaceType(x, y), where);
+                    assertEquals(expected.getSymbolType(x, y), actual.getSymbolType(x, y), where);
+                }
+            }
+            for (int y = 0; y < recursiveMaze.length; y++) {
+                for (int x = 0; x < recursiveMaze[y].length; x++) {
+                    final LevelGenerator.Spot expectedSpot = recursiveMaze[y][x];
+                    final LevelGenerator.Spot actualSpot = iterativeMaze[y][x];
+                    assertEquals(expectedSpot.getNexits(), actualSpot.getNexits());
+                    for (int i = 0; i < expectedSpot.getNexits(); i++) {
+                        assertEquals(expectedSpot.getExits()[i], actualSpot.getExits()[i]);
+                    }
+                }
+            }
+            assertEquals(recursive.getRogueRandom().rnd(Integer.MAX_VALUE),
+                    iterative.getRogueRandom().rnd(Integer.MAX_VALUE), String.format("seed %d", seed));
+        }
+    }
+
+    /**
+     * Initializes a level and puts the first passage of a maze, either in a standard maze room at (5,8) or
+     * covering the whole level below the message line.
+     */
+    private LevelGenerator.Spot[][] startMaze(final LevelGenerator levelGenerator, final boolean wholeLevel,
+                                              final int levelNum) {
+        levelGenerator.initializeLevel(levelNum);
+        final int[] bounds = mazeBounds(levelGenerator, wholeLevel);
+        levelGenerator.putPass(new Position(bounds[0] + bounds[2], bounds[1] + bounds[3]));
+        if (!wholeLevel) {
+            return levelGenerator.initializeMaze();
+        }
+        final LevelGenerator.Spot[][] maze = new LevelGenerator.Spot[bounds[5] + 1][bounds[4] + 1];
+        for (final LevelGenerator.Spot[] row : maze) {
+            Arrays.setAll(row, x -> new LevelGenerator.Spot());
+        }
+        return maze;
+    }
+
+    /**
+     * Returns the start cell, top-left corner and size of the test maze as {startx, starty, topx, topy, maxx, maxy}.
+     */
+    private int[] mazeBounds(final LevelGenerator levelGenerator, final boolean wholeLevel) {
+        if (wholeLevel) {
+            final Level level = levelGenerator.getLevel();
+            return new int[]{0, 0, 0, 1, level.getMaxWidth() - 1, level.getMaxHeight() - 2};
+        }
+        final Room mazeRoom = new Room();
+        levelGenerator.setMazeRoomDimensions(mazeRoom, levelGenerator.getMaxRoomX(), levelGenerator.getMaxRoomY(),
+                new Position(5, 8));
+        return new int[]{2, 4, mazeRoom.getPosition().getX(), mazeRoom.getPosition().getY(),
+                mazeRoom.getSize().getX(), mazeRoom.getSize().getY()};
+    }
+
+    /**
+     * Verifies that the iterative {@link LevelGenerator#numpass(Position, Passage[], LevelGenerator.PassageNumberState)}
+     * numbers the same tiles and records the same passage exits, in the same order, as the recursive
+     * {@link LevelGenerator#numpassRecursive(Position, Passage[], LevelGenerator.PassageNumberState)} on
+     * generated levels, and that it reproduces the numbering made during generation.
+     */
+    @Test
+    void testIterativeNumpassMatchesRecursiveNumpass() {
+        for (long seed = 1; seed <= 30; seed++) {
+            final LevelGenerator levelGenerator = createLevelGenerator(seed);
+            final Level level = levelGenerator.newLevel((int) seed);
+            final Integer[] generated = passageNumbers(level);
+
+            final Passage[] recursivePassages = numberPassages(levelGenerator, true);
+            final Integer[] recursive = passageNumbers(level);
+            final Passage[] iterativePassages = numberPassages(levelGenerator, false);
+            final Integer[] iterative = passageNumbers(level);
+
+            assertArrayEquals(generated, iterative, String.format("seed %d", seed));
+            assertArrayEquals(recursive, iterative, String.format("seed %d", seed));
+            for (int i = 0; i < iterativePassages.length; i++) {
+                assertEquals(recursivePassages[i].getPassageNumber(), iterativePassages[i].getPassageNumber());
+                assertEquals(recursivePassages[i].getExits(), iterativePassages[i].getExits(),
+                        String.format("seed %d passage %d", seed, i));
+            }
+        }
+    }
+
+    /**
+     * Clears every passage number of the level and numbers the passages again from the room exits, the way
+     * passnum does during generation.
+     */
+    private Passage[] numberPassages(final LevelGenerator levelGenerator, final boolean recursive) {
+        final Level level = levelGenerator.getLevel();
+        for (int y = 0; y < level.getMaxHeight(); y++) {
+            for (int x = 0; x < level.getMaxWidth(); x++) {
+                level.setPassageNumber(x, y, null);
+            }
+        }
+        final Passage[] passages = new Passage[config.getMaxPassages()];
+        Arrays.setAll(passages, i -> new Passage());
+        final LevelGenerator.PassageNumberState state = new LevelGenerator.PassageNumberState();
+        for (final Room room : level.getRooms()) {
+            for (final Position exit : room.getExits()) {
+                state.setNewPnum(true);
+                if (recursive) {
+                    levelGenerator.numpassRecursive(exit, passages, state);
+                } else {
+                    levelGenerator.numpass(exit, passages, state);
+                }
+            }
+        }
+        return passages;
+    }
+
+    private Integer[] passageNumbers(final Level level) {
+        final Integer[] passageNumbers = new Integer[level.getMaxWidth() * level.getMaxHeight()];
+        for (int y = 0; y < level.getMaxHeight(); y++) {
+            for (int x = 0; x < level.getMaxWidth(); x++) {
+                passageNumbers[y * level.getMaxWidth() + x] = level.getPassageNumber(x, y);
+            }
+        }
+        return passageNumbers;
+    }
+
     /**
      * This test tests level generation and specifically a seed
      * where item placement was failing with an infinite loop,
@@ -447,6 +592,88 @@ public class LevelGeneratorTest extends RogueBaseTest {
         assertNotNull(level);
     }
 
+    /**
+     * Verifies that the room id grid behind {@link Level#roomIn(int, int)} agrees with a scan of the room bounds,
+     * and that numbered passage cells resolve to the passage with that number, on generated levels.
+     */
+    @Test
+    void testRoomInMatchesRoomBounds() {
+        for (long seed = 1; seed <= 20; seed++) {
+            final LevelGenerator levelGenerator = createLevelGenerator(seed);
+            final Level level = levelGenerator.newLevel((int) seed);
+            for (int y = 0; y < level.getMaxHeight(); y++) {
+                for (int x = 0; x < level.getMaxWidth(); x++) {
+                    final Place place = level.getPlaceAt(x, y);
+                    assertNotNull(place);
+                    final Room room = level.roomIn(x, y);
+                    if (place.isType(PlaceType.PASSAGE) && place.getPassageNumber() != null) {
+                        assertInstanceOf(Passage.class, room);
+                        assertEquals(place.getPassageNumber(), ((Passage) room).getPassageNumber());
+                        continue;
+                    }
+                    Room expected = null;
+                    for (final Room candidate : level.getRooms()) {
+                        final Position pos = candidate.getPosition();
+                        final Position size = candidate.getSize();
+                        if (x >= pos.getX() && x < pos.getX() + size.getX() &&
+                                y >= pos.getY() && y < pos.getY() + size.getY()) {
+                            expected = candidate;
+                            break;
+                        }
+                    }
+                    assertSame(expected, room, String.format("seed %d at %d,%d", seed, x, y));
+                    assertSame(expected, level.findRoomAt(x, y));
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifies that levels generated into a {@link LevelPool} reuse the released level, and that they are
+     * identical to freshly allocated levels for the same seed.
+     */
+    @Test
+    void testPooledLevelsMatchFreshLevels() {
+        final long seed = 4242;
+        final LevelGenerator freshGenerator = createLevelGenerator(seed);
+        final GameState pooledState = createGameState(seed);
+        final LevelPool levelPool = new LevelPool();
+        pooledState.setLevelPool(levelPool);
+
+        Level previous = null;
+        for (int levelNum = 1; levelNum <= 12; levelNum++) {
+            final Level expected = freshGenerator.newLevel(levelNum);
+            if (previous != null) {
+                levelPool.release(previous);
+            }
+            final Level actual = new LevelGenerator(pooledState).newLevel(levelNum);
+            if (previous != null) {
+                assertSame(previous, actual);
+                assertEquals(0, levelPool.size());
+            }
+            previous = actual;
+
+            assertEquals(levelNum, actual.getLevelNum());
+            assertEquals(expected.getItems().size(), actual.getItems().size());
+            assertEquals(expected.getMonsters().size(), actual.getMonsters().size());
+            assertEquals(expected.getRooms().size(), actual.getRooms().size());
+            for (int y = 0; y < expected.getMaxHeight(); y++) {
+                for (int x = 0; x < expected.getMaxWidth(); x++) {
+                    final Place expectedPlace = expected.getPlaceAt(x, y);
+                    final Place actualPlace = actual.getPlaceAt(x, y);
+                    assertNotNull(expectedPlace);
+                    assertNotNull(actualPlace);
+                    final String where = String.format("level %d at %d,%d", levelNum, x, y);
+                    assertEquals(expectedPlace.getSymbolType(), actualPlace.getSymbolType(), where);
+                    assertEquals(expectedPlace.getPlaceType(), actualPlace.getPlaceType(), where);
+                    assertEquals(expectedPlace.getPassageNumber(), actualPlace.getPassageNumber(), where);
+                    assertEquals(expectedPlace.isReal(), actualPlace.isReal(), where);
+                    assertEquals(expected.findItemAt(x, y) == null, actual.findItemAt(x, y) == null, where);
+                }
+            }
+        }
+    }
+
     @Tag("stress")
     @RepeatedTest(5000)
     void testLevelGenerationStressTest() {
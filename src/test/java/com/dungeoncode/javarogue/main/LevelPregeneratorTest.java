@@ -0,0 +1,149 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.core.LevelPregenerator;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import com.dungeoncode.javarogue.main.base.RogueBaseTest;
+import com.dungeoncode.javarogue.system.HeadlessRogueScreen;
+import com.dungeoncode.javarogue.system.MessageSystem;
+import com.dungeoncode.javarogue.system.initializer.DefaultInitializer;
+import com.dungeoncode.javarogue.system.input.ScriptedKeyStrokeSource;
+import com.dungeoncode.javarogue.system.world.Level;
+import com.googlecode.lanterna.input.KeyStroke;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LevelPregeneratorTest extends RogueBaseTest {
+
+    private static final long SEED = 31337;
+
+    private GameState newGame() {
+        return new GameState(config, new RogueRandom(SEED), screen, new DefaultInitializer(), new MessageSystem(screen));
+    }
+
+    /**
+     * Verifies that descending with a pregenerator adopts every prebuilt level and leaves the game exactly as
+     * generating each level in place does.
+     */
+    @Test
+    void testPrebuiltLevelsMatchGeneratedLevels() {
+        final GameState expected = newGame();
+        final GameState actual = newGame();
+        try (LevelPregenerator levelPregenerator = new LevelPregenerator()) {
+            actual.setLevelPregenerator(levelPregenerator);
+            for (int levelNum = 2; levelNum <= 10; levelNum++) {
+                expected.newLevel(levelNum);
+                actual.newLevel(levelNum);
+                assertSameGame(expected, actual);
+            }
+            assertEquals(9, levelPregenerator.getHits());
+            assertEquals(0, levelPregenerator.getMisses());
+
+            // The adopted level draws from the game's generator from now on
+            assertEquals(expected.getCurrentLevel().rndRoom().getPosition(),
+                    actual.getCurrentLevel().rndRoom().getPosition());
+            assertEquals(expected.getRogueRandom().getSeed(), actual.getRogueRandom().getSeed());
+        }
+    }
+
+    /**
+     * Verifies that a prebuilt level is discarded when the random generator advanced after it was scheduled, and
+     * that the level generated instead is the one the game would have generated anyway.
+     */
+    @Test
+    void testPrebuiltLevelIsDiscardedWhenGameChanged() {
+        final GameState expected = newGame();
+        final GameState actual = newGame();
+        try (LevelPregenerator levelPregenerator = new LevelPregenerator()) {
+            actual.setLevelPregenerator(levelPregenerator);
+            expected.getRogueRandom().rnd(100);
+            actual.getRogueRandom().rnd(100);
+            expected.newLevel(2);
+            actual.newLevel(2);
+            assertSameGame(expected, actual);
+            assertEquals(0, levelPregenerator.getHits());
+            assertEquals(1, levelPregenerator.getMisses());
+
+            expected.setNoFood(expected.getNoFood() + 5);
+            actual.setNoFood(actual.getNoFood() + 5);
+            expected.newLevel(3);
+            actual.newLevel(3);
+            assertSameGame(expected, actual);
+            assertEquals(2, levelPregenerator.getMisses());
+        }
+    }
+
+    /**
+     * Verifies that a level is still adopted from the pregenerator when the game drew from the random generator
+     * between entering the previous level and descending, as the roll for waking a room's monsters does, and that it
+     * matches the level generated in place.
+     */
+    @Test
+    void testPrebuiltLevelFollowsDrawsDuringPlay() throws IOException {
+        config.setMaster(true);
+        final GameState[] games = new GameState[2];
+        try (LevelPregenerator levelPregenerator = new LevelPregenerator()) {
+            for (int run = 0; run < 2; run++) {
+                final ScriptedKeyStrokeSource source = new ScriptedKeyStrokeSource();
+                final HeadlessRogueScreen headlessScreen = new HeadlessRogueScreen(config, source);
+                final RogueRandom rogueRandom = new RogueRandom(SEED);
+                config.setWizard(true, rogueRandom);
+                final GameState gameState = new GameState(config, rogueRandom, headlessScreen,
+                        new DefaultInitializer(), new MessageSystem(headlessScreen));
+                if (run == 1) {
+                    gameState.setLevelPregenerator(levelPregenerator);
+                }
+                gameState.startPlaying();
+                for (int levelNum = 2; levelNum <= 6; levelNum++) {
+                    rogueRandom.rnd(3);
+                    source.add(new KeyStroke('d', true, false));
+                    gameState.playTurn();
+                }
+                games[run] = gameState;
+            }
+            assertEquals(6, games[1].getLevelNum());
+            assertSameGame(games[0], games[1]);
+            assertEquals(5, levelPregenerator.getHits());
+            assertEquals(0, levelPregenerator.getMisses());
+        }
+    }
+
+    private void assertSameGame(final GameState expected, final GameState actual) {
+        assertEquals(expected.getRogueRandom().getSeed(), actual.getRogueRandom().getSeed());
+        assertEquals(expected.getRogueRandom().getPosition(), actual.getRogueRandom().getPosition());
+        assertEquals(expected.getLevelNum(), actual.getLevelNum());
+        assertEquals(expected.getMaxLevel(), actual.getMaxLevel());
+        assertEquals(expected.getNoFood(), actual.getNoFood());
+        assertEquals(expected.getPlayer().getPosition(), actual.getPlayer().getPosition());
+
+        final Level expectedLevel = expected.getCurrentLevel();
+        final Level actualLevel = actual.getCurrentLevel();
+        assertEquals(expectedLevel.getLevelNum(), actualLevel.getLevelNum());
+        assertEquals(expectedLevel.getStairs(), actualLevel.getStairs());
+        assertEquals(expectedLevel.getRooms().size(), actualLevel.getRooms().size());
+        assertEquals(expectedLevel.getItems().size(), actualLevel.getItems().size());
+        for (int i = 0; i < expectedLevel.getItems().size(); i++) {
+            assertEquals(expectedLevel.getItems().get(i).getObjectType(), actualLevel.getItems().get(i).getObjectType());
+            assertEquals(expectedLevel.getItems().get(i).getPosition(), actualLevel.getItems().get(i).getPosition());
+        }
+        assertEquals(expectedLevel.getMonsters().size(), actualLevel.getMonsters().size());
+        for (int i = 0; i < expectedLevel.getMonsters().size(); i++) {
+            assertEquals(expectedLevel.getMonsters().get(i).getMonsterType(),
+                    actualLevel.getMonsters().get(i).getMonsterType());
+            assertEquals(expectedLevel.getMonsters().get(i).getPosition(),
+                    actualLevel.getMonsters().get(i).getPosition());
+        }
+        for (int y = 0; y < expectedLevel.getMaxHeight(); y++) {
+            for (int x = 0; x < expectedLevel.getMaxWidth(); x++) {
+                final String where = String.format("level %d at %d,%d", expectedLevel.getLevelNum(), x, y);
+                assertEquals(expectedLevel.getSymbolType(x, y), actualLevel.getSymbolType(x, y), where);
+                assertEquals(expectedLevel.getPlaceType(x, y), actualLevel.getPlaceType(x, y), where);
+                assertEquals(expectedLevel.isReal(x, y), actualLevel.isReal(x, y), where);
+                assertEquals(expectedLevel.getPassageNumber(x, y), actualLevel.getPassageNumber(x, y), where);
+            }
+        }
+    }
+}
@@ -39,6 +39,32 @@ public class LevelTest {
 
     }
 
+    @Test
+    void testItemIndexFollowsMovesAndSharedCells() {
+        final Level level = new Level(config.getLevelMaxWidth(), config.getLevelMaxHeight(), rogueRandom);
+        final Food first = new Food();
+        final Food second = new Food();
+        first.setPosition(3, 4);
+        second.setPosition(3, 4);
+        level.addItem(first);
+        level.addItem(second);
+        assertSame(first, level.findItemAt(3, 4));
+
+        level.moveItem(first, 7, 8);
+        assertSame(second, level.findItemAt(3, 4));
+        assertSame(first, level.findItemAt(7, 8));
+        assertEquals(new Position(7, 8), first.getPosition());
+
+        level.moveItem(first, 3, 4);
+        assertTrue(level.removeItem(second));
+        assertSame(first, level.findItemAt(3, 4));
+        assertFalse(level.removeItem(second));
+        assertTrue(level.removeItem(first));
+        assertNull(level.findItemAt(3, 4));
+        assertNull(level.findItemAt(7, 8));
+        assertThrows(UnsupportedOperationException.class, () -> level.getItems().add(first));
+    }
+
     @Test
     void testPlace() {
         final Level level = new Level(config.getLevelMaxWidth(), config.getLevelMaxHeight(), rogueRandom);
@@ -54,6 +80,11 @@ public class LevelTest {
         assertEquals(doorSymbolType, placeFound.getSymbolType());
 
         assertEquals(doorSymbolType, level.getSymbolType(placeX, placeY));
+        assertEquals(placeX, placeFound.getX());
+        assertEquals(placeY, placeFound.getY());
+        assertEquals(placeFound.isStepOk(), level.isStepOk(placeX, placeY));
+        assertFalse(level.hasTrap(placeX, placeY));
+        assertNull(level.getMonsterAt(placeX, placeY));
 
         // set place at max width and height
         final int maxX = config.getLevelMaxWidth() - 1;
@@ -1,10 +1,11 @@
 package com.dungeoncode.javarogue.main;
 
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.core.RogueRandom;
 import com.dungeoncode.javarogue.system.SymbolType;
 import com.dungeoncode.javarogue.system.entity.creature.Monster;
 import com.dungeoncode.javarogue.system.entity.creature.MonsterType;
-import com.dungeoncode.javarogue.system.world.Place;
-import com.dungeoncode.javarogue.system.world.PlaceType;
+import com.dungeoncode.javarogue.system.world.*;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,4 +46,54 @@ public class PlaceTest {
         assertFalse(floorPlace.isStepOk());
 
     }
+
+    @Test
+    void testPlaceFlagsAndPassageNumber() {
+        final Place place = new Place();
+        assertTrue(place.isReal());
+        assertFalse(place.hasTrap());
+        assertNull(place.getPassageNumber());
+
+        place.removeFlag(PlaceFlag.REAL);
+        place.addFlag(PlaceFlag.SEEN);
+        place.addFlag(TrapFlag.T_MYST);
+        place.setPassageNumber(12);
+        assertFalse(place.isReal());
+        assertTrue(place.hasFlag(PlaceFlag.SEEN));
+        assertFalse(place.hasFlag(PlaceFlag.LOCKED));
+        assertTrue(place.hasTrap());
+        assertEquals(12, place.getPassageNumber());
+
+        place.setPassageNumber(null);
+        assertNull(place.getPassageNumber());
+    }
+
+    @Test
+    void testPlaceIsViewOverLevelStorage() {
+        final Config config = new Config();
+        final Level level = new Level(config.getLevelMaxWidth(), config.getLevelMaxHeight(),
+                new RogueRandom(config.getSeed()));
+        assertNull(level.getPlaceAt(4, 3));
+
+        final Place place = new Place();
+        place.setPlaceType(PlaceType.DOOR);
+        place.setSymbolType(SymbolType.DOOR);
+        level.setPlaceAt(4, 3, place);
+
+        final Place view = level.getPlaceAt(4, 3);
+        assertNotNull(view);
+        assertEquals(PlaceType.DOOR, view.getPlaceType());
+        assertEquals(4, view.getX());
+        assertEquals(3, view.getY());
+
+        place.setSymbolType(SymbolType.FLOOR);
+        assertEquals(SymbolType.FLOOR, view.getSymbolType());
+        view.addFlag(PlaceFlag.SEEN);
+        assertTrue(place.hasFlag(PlaceFlag.SEEN));
+
+        level.initializePlaces();
+        assertEquals(PlaceType.EMPTY, place.getPlaceType());
+        assertFalse(place.hasFlag(PlaceFlag.SEEN));
+        assertTrue(place.isReal());
+    }
 }
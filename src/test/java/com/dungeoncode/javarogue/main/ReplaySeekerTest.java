@@ -0,0 +1,137 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.core.GameSnapshot;
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import com.dungeoncode.javarogue.main.base.RogueBaseTest;
+import com.dungeoncode.javarogue.system.HeadlessRogueScreen;
+import com.dungeoncode.javarogue.system.MessageSystem;
+import com.dungeoncode.javarogue.system.initializer.DefaultInitializer;
+import com.dungeoncode.javarogue.system.input.ScriptedKeyStrokeSource;
+import com.dungeoncode.javarogue.system.replay.Replay;
+import com.dungeoncode.javarogue.system.replay.ReplayRecorder;
+import com.dungeoncode.javarogue.system.replay.ReplaySeeker;
+import com.dungeoncode.javarogue.system.replay.ReplayState;
+import com.dungeoncode.javarogue.system.world.Level;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplaySeekerTest extends RogueBaseTest {
+
+    private static final long SEED = 2024;
+    private static final String MOVES = "hjklyubn,";
+
+    private static String randomScript(final int length) {
+        final Random random = new Random(7);
+        final StringBuilder script = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            script.append(MOVES.charAt(random.nextInt(MOVES.length())));
+        }
+        return script.toString();
+    }
+
+    private Replay recordReplay(final String script) throws IOException {
+        final Path file = tempDir.resolve("seek.rpl");
+        final ReplayRecorder recorder = new ReplayRecorder(file, ScriptedKeyStrokeSource.of(script), SEED, config);
+        final HeadlessRogueScreen headlessScreen = new HeadlessRogueScreen(config, recorder);
+        final GameState gameState = new GameState(config, new RogueRandom(SEED), headlessScreen,
+                new DefaultInitializer(), new MessageSystem(headlessScreen));
+        gameState.setReplayRecorder(recorder);
+        gameState.loop();
+        recorder.finish(gameState);
+        return Replay.read(file);
+    }
+
+    /**
+     * Verifies that seeking to any turn, forwards or backwards, leaves the game exactly as playing it from the start.
+     */
+    @Test
+    void testSeekMatchesSequentialPlay() throws IOException {
+        final Replay replay = recordReplay(randomScript(400));
+
+        final ReplaySeeker sequential = new ReplaySeeker(config, replay, Integer.MAX_VALUE);
+        final List<ReplayState> states = new ArrayList<>();
+        final List<String> maps = new ArrayList<>();
+        for (long turn = 0; !sequential.isEnded(); turn++) {
+            final GameState gameState = sequential.seek(turn);
+            states.add(ReplayState.of(gameState));
+            maps.add(map(gameState.getCurrentLevel()));
+        }
+        assertEquals(replay.getFinalState(), states.get(states.size() - 1));
+        final int lastTurn = states.size() - 2;
+        assertTrue(lastTurn > 100);
+
+        final ReplaySeeker seeker = new ReplaySeeker(config, replay, 16);
+        for (final int turn : new int[]{lastTurn, 3, 0, 17, 16, 15, lastTurn - 1, 40, 33, 90, 64, lastTurn}) {
+            final GameState gameState = seeker.seek(turn);
+            assertEquals(states.get(turn), ReplayState.of(gameState), "turn " + turn);
+            assertEquals(maps.get(turn), map(gameState.getCurrentLevel()), "turn " + turn);
+        }
+        assertEquals(lastTurn / 16 + 1, seeker.getSnapshotCount());
+        assertTrue(seeker.getSnapshotBytes() > 0);
+
+        // Seeking past the end stops where the recording ends
+        assertEquals(replay.getFinalState(), ReplayState.of(seeker.seek(Long.MAX_VALUE)));
+        assertTrue(seeker.isEnded());
+        assertThrows(IllegalArgumentException.class, () -> seeker.seek(-1));
+        assertThrows(IllegalArgumentException.class, () -> new ReplaySeeker(config, replay, 0));
+    }
+
+    /**
+     * Verifies that a snapshot can be restored more than once and that the game then plays on identically.
+     */
+    @Test
+    void testRestoredGamePlaysOnIdentically() throws IOException {
+        final Replay replay = recordReplay(randomScript(200));
+        final ReplaySeeker seeker = new ReplaySeeker(config, replay, Integer.MAX_VALUE);
+        final GameState gameState = seeker.seek(20);
+        final GameSnapshot snapshot = gameState.snapshot();
+        assertEquals(20, snapshot.getTurnCount());
+        final ReplayState atSnapshot = ReplayState.of(gameState);
+        final String mapAtSnapshot = map(gameState.getCurrentLevel());
+        final String screenAtSnapshot = screen(gameState);
+
+        for (int i = 0; i < 2; i++) {
+            gameState.getPlayer().setGoldAmount(gameState.getPlayer().getGoldAmount() + 1000);
+            gameState.getRogueRandom().rnd(100);
+            gameState.restore(snapshot);
+            assertEquals(atSnapshot, ReplayState.of(gameState));
+            assertEquals(mapAtSnapshot, map(gameState.getCurrentLevel()));
+            assertEquals(screenAtSnapshot, screen(gameState));
+        }
+
+        // The restored level draws from the game's generator
+        final long position = gameState.getRogueRandom().getPosition();
+        gameState.getCurrentLevel().rndRoom();
+        assertTrue(gameState.getRogueRandom().getPosition() > position);
+    }
+
+    private static String map(final Level level) {
+        final StringBuilder map = new StringBuilder();
+        for (int y = 0; y < level.getMaxHeight(); y++) {
+            for (int x = 0; x < level.getMaxWidth(); x++) {
+                map.append(level.getSymbolType(x, y)).append(level.getPlaceType(x, y));
+            }
+        }
+        level.getItems().forEach(item -> map.append(item.getObjectType()).append(item.getPosition()));
+        level.getMonsters().forEach(monster -> map.append(monster.getMonsterType()).append(monster.getPosition()));
+        return map.toString();
+    }
+
+    private static String screen(final GameState gameState) {
+        final StringBuilder screen = new StringBuilder();
+        for (int y = 0; y < gameState.getScreen().getRows(); y++) {
+            for (int x = 0; x < gameState.getScreen().getColumns(); x++) {
+                screen.append(gameState.getScreen().getBackCharacter(x, y).getCharacterString());
+            }
+        }
+        return screen.toString();
+    }
+}
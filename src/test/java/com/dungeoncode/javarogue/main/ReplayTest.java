@@ -0,0 +1,172 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.core.Options;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import com.dungeoncode.javarogue.main.base.RogueBaseTest;
+import com.dungeoncode.javarogue.system.HeadlessRogueScreen;
+import com.dungeoncode.javarogue.system.MessageSystem;
+import com.dungeoncode.javarogue.system.death.GameEndReason;
+import com.dungeoncode.javarogue.system.initializer.DefaultInitializer;
+import com.dungeoncode.javarogue.system.input.ScriptedKeyStrokeSource;
+import com.dungeoncode.javarogue.system.replay.Replay;
+import com.dungeoncode.javarogue.system.replay.ReplayRecorder;
+import com.dungeoncode.javarogue.system.replay.ReplayState;
+import com.dungeoncode.javarogue.system.replay.Replayer;
+import com.googlecode.lanterna.input.KeyStroke;
+import com.googlecode.lanterna.input.KeyType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplayTest extends RogueBaseTest {
+
+    private static final String SCRIPT = "hhhhjjjjllllllllkkkkyyyubnbn,hjkl".repeat(10);
+
+    private GameState record(final long seed, final ScriptedKeyStrokeSource source, final Path file,
+                             final boolean finish) throws IOException {
+        final ReplayRecorder recorder = new ReplayRecorder(file, source, seed, config);
+        final HeadlessRogueScreen headlessScreen = new HeadlessRogueScreen(config, recorder);
+        final GameState gameState = new GameState(config, new RogueRandom(seed), headlessScreen,
+                new DefaultInitializer(), new MessageSystem(headlessScreen));
+        gameState.setReplayRecorder(recorder);
+        gameState.loop();
+        if (finish) {
+            recorder.finish(gameState);
+        } else {
+            recorder.close();
+        }
+        return gameState;
+    }
+
+    @Test
+    void testReplayEndsInRecordedState() throws IOException {
+        final Path file = tempDir.resolve("game.rpl");
+        final GameState recorded = record(42, ScriptedKeyStrokeSource.of(SCRIPT), file, true);
+
+        final Replay replay = Replay.read(file);
+        assertEquals(42, replay.getSeed());
+        assertEquals(SCRIPT.length(), replay.getKeyStrokes().size());
+        assertEquals(recorded.getTurnCount(), replay.getTurns());
+        assertEquals(ReplayState.of(recorded), replay.getFinalState());
+        // Header, two bytes per key, one per turn marker, end token and final state
+        assertEquals(15 + 2L * SCRIPT.length() + replay.getTurns() + 1 + 40, Files.size(file));
+
+        final Replayer.Result result = new Replayer(config).replay(replay);
+        assertTrue(result.isVerified());
+        assertEquals(SCRIPT.length(), result.keyStrokes());
+        assertEquals(recorded.getPlayer().getPosition(), result.gameState().getPlayer().getPosition());
+    }
+
+    @Test
+    void testKeyStrokesRoundTrip() throws IOException {
+        final ScriptedKeyStrokeSource source = ScriptedKeyStrokeSource.of("h\u0010\u001b\n")
+                .add(new KeyStroke(KeyType.ArrowDown))
+                .add(new KeyStroke(KeyType.PageUp, false, true))
+                .add(new KeyStroke('J', false, false, true))
+                .add(new KeyStroke('é', false, false));
+        final Path file = tempDir.resolve("keys.rpl");
+        record(7, source, file, true);
+
+        final Replay replay = Replay.read(file);
+        final ScriptedKeyStrokeSource expected = ScriptedKeyStrokeSource.of("h\u0010\u001b\n")
+                .add(new KeyStroke(KeyType.ArrowDown))
+                .add(new KeyStroke(KeyType.PageUp, false, true))
+                .add(new KeyStroke('J', false, false, true))
+                .add(new KeyStroke('é', false, false));
+        assertEquals(expected.getRemaining(), replay.getKeyStrokes().size());
+        for (final KeyStroke keyStroke : replay.getKeyStrokes()) {
+            final KeyStroke original = expected.readKeyStroke();
+            assertEquals(original.getKeyType(), keyStroke.getKeyType());
+            assertEquals(original.getCharacter(), keyStroke.getCharacter());
+            assertEquals(original.isCtrlDown(), keyStroke.isCtrlDown());
+            assertEquals(original.isAltDown(), keyStroke.isAltDown());
+            assertEquals(original.isShiftDown(), keyStroke.isShiftDown());
+        }
+    }
+
+    @Test
+    void testUnfinishedRecordingReplaysWithoutVerification() throws IOException {
+        final Path file = tempDir.resolve("crash.rpl");
+        final GameState recorded = record(5, ScriptedKeyStrokeSource.of(SCRIPT), file, false);
+
+        final Replay replay = Replay.read(file);
+        assertNull(replay.getFinalState());
+        assertEquals(SCRIPT.length(), replay.getKeyStrokes().size());
+
+        final Replayer.Result result = new Replayer(config).replay(replay);
+        assertFalse(result.isVerified());
+        assertEquals(ReplayState.of(recorded), result.actual());
+    }
+
+    @Test
+    void testDivergentReplayIsNotVerified() throws IOException {
+        final Path file = tempDir.resolve("game.rpl");
+        record(9, ScriptedKeyStrokeSource.of(SCRIPT), file, true);
+        final Path other = tempDir.resolve("other.rpl");
+        record(10, ScriptedKeyStrokeSource.of(SCRIPT), other, true);
+
+        // Seed of the first game with the final state of the second
+        final byte[] bytes = Files.readAllBytes(file);
+        final byte[] otherBytes = Files.readAllBytes(other);
+        final int stateSize = 40;
+        System.arraycopy(otherBytes, otherBytes.length - stateSize, bytes, bytes.length - stateSize, stateSize);
+        Files.write(file, bytes);
+
+        final Replayer.Result result = new Replayer(config).replay(Replay.read(file));
+        assertNotNull(result.expected());
+        assertFalse(result.isVerified());
+    }
+
+    @Test
+    void testConfigureKeepsUnrecordedOptions() throws IOException {
+        config.setSeeFloor(false);
+        config.setPassGo(true);
+        final Path file = tempDir.resolve("options.rpl");
+        record(13, ScriptedKeyStrokeSource.of("hjkl"), file, true);
+
+        final Config replayConfig = new Config(tempDir.toString());
+        final Options options = new Options();
+        options.tombstone = false;
+        options.autosave = true;
+        options.asyncRender = false;
+        options.pregenerate = true;
+        options.compressSave = false;
+        options.allowMultipleScores = false;
+        options.name = "viewer";
+        options.fruit = "kiwi";
+        replayConfig.applyOptions(options);
+        replayConfig.setTerse(true);
+
+        Replay.read(file).configure(replayConfig, new RogueRandom(0));
+        assertFalse(replayConfig.isSeeFloor());
+        assertTrue(replayConfig.isPassGo());
+        assertFalse(replayConfig.isTerse());
+        assertFalse(replayConfig.isScoring());
+        assertFalse(replayConfig.isTombstone());
+        assertTrue(replayConfig.isAutosave());
+        assertFalse(replayConfig.isAsyncRender());
+        assertTrue(replayConfig.isPregenerateLevels());
+        assertFalse(replayConfig.isCompressSave());
+        assertFalse(replayConfig.isAllowMultipleScores());
+        assertEquals("viewer", replayConfig.getPlayerName());
+        assertEquals("kiwi", replayConfig.getFavoriteFruit());
+    }
+
+    @Test
+    void testQuitEndsRecordedGame() throws IOException {
+        final Path file = tempDir.resolve("quit.rpl");
+        final GameState recorded = record(11, ScriptedKeyStrokeSource.of("hjklQy\n"), file, true);
+        assertEquals(GameEndReason.QUIT, recorded.getGameEndReason());
+        assertFalse(recorded.isPlaying());
+
+        final Replayer.Result result = new Replayer(config).replay(Replay.read(file));
+        assertTrue(result.isVerified());
+        assertEquals(GameEndReason.QUIT, result.gameState().getGameEndReason());
+    }
+}
@@ -0,0 +1,115 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.core.RngTrace;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RngTraceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testTraceRecordsEveryDraw() {
+        final RogueRandom traced = new RogueRandom(4321L);
+        final RogueRandom plain = new RogueRandom(4321L);
+        final RngTrace trace = new RngTrace(16, false);
+        traced.setTrace(trace);
+
+        assertEquals(plain.rnd(10), traced.rnd(10));
+        assertEquals(plain.rnd(0), traced.rnd(0));
+        assertEquals(plain.roll(2, 6), traced.roll(2, 6));
+        assertEquals(plain.spread(100), traced.spread(100));
+
+        assertEquals(4, trace.size());
+        assertEquals(new RngTrace.Entry(0, RngTrace.Kind.RND, 10, trace.getEntry(0).result(), null), trace.getEntry(0));
+        assertEquals(RngTrace.Kind.ROLL, trace.getEntry(1).kind());
+        assertEquals(6, trace.getEntry(2).range());
+        assertEquals(2, trace.getEntry(2).position());
+        assertEquals(RngTrace.Kind.SPREAD, trace.getEntry(3).kind());
+        assertEquals(10, trace.getEntry(3).range());
+        assertEquals(4321L, trace.getStartSeed());
+    }
+
+    @Test
+    void testRingBufferKeepsMostRecentDraws() {
+        final RogueRandom random = new RogueRandom(7L);
+        final RngTrace trace = new RngTrace(5, false);
+        assertEquals(8, trace.getCapacity());
+        random.setTrace(trace);
+        for (int i = 0; i < 20; i++) {
+            random.rnd(100);
+        }
+        assertEquals(20, trace.getRecorded());
+        assertEquals(8, trace.size());
+        assertEquals(12, trace.getEntry(0).position());
+        assertEquals(19, trace.getEntry(7).position());
+        assertThrows(IndexOutOfBoundsException.class, () -> trace.getEntry(8));
+    }
+
+    @Test
+    void testWriteAndReadRoundTrip() {
+        final RogueRandom random = new RogueRandom(99L);
+        final RngTrace trace = new RngTrace(64, true);
+        random.setTrace(trace);
+        for (int i = 0; i < 100; i++) {
+            random.rnd(i + 1);
+        }
+        final Path file = tempDir.resolve("trace.rngt");
+        trace.write(file);
+
+        final RngTrace read = RngTrace.read(file);
+        assertEquals(trace.size(), read.size());
+        assertEquals(trace.getRecorded(), read.getRecorded());
+        assertEquals(trace.getStartSeed(), read.getStartSeed());
+        for (int i = 0; i < trace.size(); i++) {
+            assertEquals(trace.getEntry(i), read.getEntry(i));
+        }
+        assertNotNull(read.getEntry(0).callSite());
+        assertTrue(read.getEntry(0).callSite().startsWith("RngTraceTest.testWriteAndReadRoundTrip:"));
+        assertNull(RngTrace.findDivergence(trace, read));
+    }
+
+    @Test
+    void testFindDivergenceReportsExtraDraw() {
+        final RngTrace expected = traceDraws(false);
+        final RngTrace actual = traceDraws(true);
+
+        final RngTrace.Divergence divergence = RngTrace.findDivergence(expected, actual);
+        assertNotNull(divergence);
+        assertEquals(3, divergence.position());
+        assertNotNull(divergence.expected());
+        assertNotNull(divergence.actual());
+        assertEquals(20, divergence.expected().range());
+        assertEquals(2, divergence.actual().range());
+
+        final RngTrace shorter = new RngTrace(64, false);
+        final RogueRandom random = new RogueRandom(1L);
+        random.setTrace(shorter);
+        random.rnd(10);
+        final RngTrace.Divergence end = RngTrace.findDivergence(expected, shorter);
+        assertNotNull(end);
+        assertNull(end.actual());
+        assertEquals(1, end.position());
+    }
+
+    private RngTrace traceDraws(final boolean extraDraw) {
+        final RogueRandom random = new RogueRandom(1L);
+        final RngTrace trace = new RngTrace(64, false);
+        random.setTrace(trace);
+        random.rnd(10);
+        random.rnd(10);
+        random.roll(1, 4);
+        if (extraDraw) {
+            random.rnd(2);
+        }
+        random.rnd(20);
+        random.rnd(20);
+        return trace;
+    }
+}
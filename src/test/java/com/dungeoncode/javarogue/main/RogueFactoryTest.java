@@ -12,9 +12,7 @@ import com.dungeoncode.javarogue.template.Templates;
 import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 
-import java.util.Arrays;
-import java.util.EnumSet;
-import java.util.Objects;
+import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -96,6 +94,40 @@ public class RogueFactoryTest {
         assertInstanceOf(PotionType.class, pickResult.itemSubType());
     }
 
+    /**
+     * Verifies that {@link RogueFactory#pickOne(ObjectType)} draws exactly one <code>rnd(100)</code> per pick and
+     * selects the same template as a linear scan over the templates sorted by ID, for every table.
+     */
+    @Test
+    void testPickOneMatchesLinearScan() {
+        final long seed = 1234L;
+        final RogueFactory rogueFactory = getRogueFactory();
+        rogueFactory.getRogueRandom().reseed(seed);
+        final RogueRandom reference = new RogueRandom(seed);
+
+        final List<ObjectType> tables = new ArrayList<>(List.of(ObjectType.POTION, ObjectType.SCROLL, ObjectType.RING,
+                ObjectType.ROD, ObjectType.WEAPON, ObjectType.ARMOR));
+        tables.add(null);
+        for (int i = 0; i < 2000; i++) {
+            final ObjectType objectType = tables.get(i % tables.size());
+            final List<ObjectInfoTemplate> sorted = Templates.<ObjectInfoTemplate>getTemplates(objectType).stream()
+                    .filter(template -> template.getProbability() > 0)
+                    .sorted(Comparator.comparingLong(ObjectInfoTemplate::getId))
+                    .toList();
+            final int random = reference.rnd(100);
+            final ObjectInfoTemplate expected = sorted.stream()
+                    .filter(template -> random < template.getCumulativeProbability())
+                    .findFirst()
+                    .orElseThrow();
+
+            final RogueFactory.PickResult pickResult = rogueFactory.pickOne(objectType);
+            assertEquals(expected.getObjectType(), pickResult.objectType());
+            assertEquals(expected.getItemSubType(), pickResult.itemSubType());
+            assertFalse(pickResult.isBadPick());
+        }
+        assertEquals(reference.rnd(1000), rogueFactory.getRogueRandom().rnd(1000));
+    }
+
     /**
      * Repeatedly tests the {@link RogueFactory#randMonster(boolean, int)} method to ensure
      * valid random monster selection. Verifies that non-wandering selections are from
@@ -104,4 +104,88 @@ public class RogueRandomTest {
         assertTrue(rnd.roll(2, 6) >= 2);
         assertTrue(rnd.roll(3, 3) >= 3);
     }
+
+    @Test
+    void testSkipMatchesDrawing() {
+        for (final long seed : new long[]{0L, 1L, 987654321L, -42L, 0x1_2345_6789L}) {
+            for (final long draws : new long[]{0, 1, 2, 3, 7, 64, 1000, 65_537, 1_000_003}) {
+                final RogueRandom drawn = new RogueRandom(seed);
+                for (long i = 0; i < draws; i++) {
+                    drawn.rnd(Integer.MAX_VALUE);
+                }
+                final RogueRandom skipped = new RogueRandom(seed);
+                skipped.skip(draws);
+                assertEquals(draws, skipped.getPosition());
+                if (draws > 0) {
+                    assertEquals(drawn.getSeed(), skipped.getSeed(), String.format("seed %d, %d draws", seed, draws));
+                }
+                assertEquals(drawn.rnd(1000), skipped.rnd(1000));
+            }
+        }
+    }
+
+    @Test
+    void testSkipFullPeriodReturnsToStart() {
+        final RogueRandom random = new RogueRandom(12345L);
+        final long start = random.getSeed();
+        random.skip(1L << 32);
+        assertEquals(start, random.getSeed());
+        assertThrows(IllegalArgumentException.class, () -> random.skip(-1));
+    }
+
+    @Test
+    void testPositionCountsDraws() {
+        final RogueRandom random = new RogueRandom(2024L);
+        assertEquals(0, random.getPosition());
+        random.rnd(10);
+        random.rnd(0);
+        assertEquals(1, random.getPosition());
+        random.roll(3, 6);
+        random.spread(100);
+        assertEquals(5, random.getPosition());
+        random.reseed(7L);
+        assertEquals(0, random.getPosition());
+    }
+
+    @Test
+    void testSeekMovesToAnyDraw() {
+        final RogueRandom reference = new RogueRandom(555L);
+        final int[] values = new int[200];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = reference.rnd(1 << 15);
+        }
+        final RogueRandom random = new RogueRandom(555L);
+        for (final int position : new int[]{150, 3, 199, 0, 42, 42}) {
+            random.seek(position);
+            assertEquals(position, random.getPosition());
+            assertEquals(values[position], random.rnd(1 << 15));
+        }
+        assertThrows(IllegalArgumentException.class, () -> random.seek(-1));
+    }
+
+    @Test
+    void testForkIsReproducibleAndIndependent() {
+        final RogueRandom parent1 = new RogueRandom(99L);
+        final RogueRandom parent2 = new RogueRandom(99L);
+        final RogueRandom child1 = parent1.fork();
+        final RogueRandom child2 = parent2.fork();
+        assertEquals(1, parent1.getPosition());
+        assertEquals(0, child1.getPosition());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(child1.rnd(1000), child2.rnd(1000));
+        }
+        assertEquals(parent1.rnd(1000), parent2.rnd(1000));
+
+        final RogueRandom next = parent1.fork();
+        assertNotEquals(child1.getSeed(), next.getSeed());
+
+        final RogueRandom parent = new RogueRandom(99L);
+        final Set<Long> seeds = new HashSet<>();
+        for (long streamId = 0; streamId < 1000; streamId++) {
+            seeds.add(parent.fork(streamId).getSeed());
+        }
+        assertEquals(0, parent.getPosition());
+        assertTrue(seeds.size() > 990, "substreams should have distinct seeds");
+        assertEquals(parent.fork(17).getSeed(), new RogueRandom(99L).fork(17).getSeed());
+    }
 }
@@ -0,0 +1,187 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import com.dungeoncode.javarogue.main.base.RogueBaseTest;
+import com.dungeoncode.javarogue.system.FrameRenderer;
+import com.dungeoncode.javarogue.system.HeadlessRogueScreen;
+import com.dungeoncode.javarogue.system.MessageSystem;
+import com.dungeoncode.javarogue.system.initializer.DefaultInitializer;
+import com.dungeoncode.javarogue.system.input.KeyStrokeSource;
+import com.dungeoncode.javarogue.system.input.ScriptedKeyStrokeSource;
+import com.googlecode.lanterna.SGR;
+import com.googlecode.lanterna.TerminalPosition;
+import com.googlecode.lanterna.TerminalSize;
+import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.TextColor;
+import com.googlecode.lanterna.graphics.BasicTextImage;
+import com.googlecode.lanterna.screen.Screen;
+import com.googlecode.lanterna.terminal.virtual.DefaultVirtualTerminal;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RogueScreenFrameTest extends RogueBaseTest {
+
+    private static final long SEED = 909;
+    private static final String MOVES = "hjklyubn,s";
+
+    private static String randomScript(final int length) {
+        final Random random = new Random(5);
+        final StringBuilder script = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            script.append(MOVES.charAt(random.nextInt(MOVES.length())));
+        }
+        return script.toString();
+    }
+
+    private static String frontBuffer(final HeadlessRogueScreen headlessScreen) {
+        final StringBuilder front = new StringBuilder();
+        for (int y = 0; y < headlessScreen.getRows(); y++) {
+            for (int x = 0; x < headlessScreen.getColumns(); x++) {
+                front.append(headlessScreen.getFrontCharacter(x, y));
+            }
+        }
+        return front.toString();
+    }
+
+    /**
+     * Verifies that coalesced refreshes draw at most one frame per input read, and that the terminal ends up showing
+     * what drawing every refresh shows.
+     */
+    @Test
+    void testFramesAreCoalescedUntilInputIsRead() throws IOException {
+        final String script = randomScript(400);
+        final int[] reads = new int[1];
+        final String[] fronts = new String[2];
+        final long[] frames = new long[2];
+        for (int run = 0; run < 2; run++) {
+            final ScriptedKeyStrokeSource scripted = ScriptedKeyStrokeSource.of(script);
+            final KeyStrokeSource counting = () -> {
+                reads[0]++;
+                return scripted.readKeyStroke();
+            };
+            final HeadlessRogueScreen headlessScreen = new HeadlessRogueScreen(config, counting);
+            headlessScreen.setRenderFrames(true);
+            headlessScreen.setCoalesceFrames(run == 1);
+            reads[0] = 0;
+            final GameState gameState = new GameState(config, new RogueRandom(SEED), headlessScreen,
+                    new DefaultInitializer(), new MessageSystem(headlessScreen));
+            gameState.loop();
+
+            assertTrue(headlessScreen.getRefreshRequests() > 0);
+            fronts[run] = frontBuffer(headlessScreen);
+            frames[run] = headlessScreen.getFrames();
+            if (headlessScreen.isCoalesceFrames()) {
+                assertTrue(frames[run] <= reads[0] + 1,
+                        String.format("%d frames for %d input reads", frames[run], reads[0]));
+            } else {
+                assertTrue(frames[run] >= headlessScreen.getRefreshRequests());
+            }
+        }
+        assertEquals(fronts[0], fronts[1]);
+        assertTrue(frames[1] < frames[0]);
+    }
+
+    private static String terminalContents(final DefaultVirtualTerminal terminal, final int columns, final int rows) {
+        final StringBuilder contents = new StringBuilder();
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < columns; x++) {
+                contents.append(terminal.getCharacter(x, y));
+            }
+        }
+        return contents.toString();
+    }
+
+    /**
+     * Verifies that a game drawn on a render thread leaves the terminal showing what drawing on the game thread
+     * shows.
+     */
+    @Test
+    void testRenderThreadDrawsLastFrame() throws IOException {
+        final String script = randomScript(300);
+        final String[] contents = new String[2];
+        for (int run = 0; run < 2; run++) {
+            final HeadlessRogueScreen headlessScreen = new HeadlessRogueScreen(config,
+                    ScriptedKeyStrokeSource.of(script));
+            headlessScreen.setRenderFrames(true);
+            if (run == 1) {
+                headlessScreen.startFrameRenderer();
+                assertNotNull(headlessScreen.getFrameRenderer());
+            }
+            final GameState gameState = new GameState(config, new RogueRandom(SEED), headlessScreen,
+                    new DefaultInitializer(), new MessageSystem(headlessScreen));
+            gameState.loop();
+            headlessScreen.stopFrameRenderer();
+            assertNull(headlessScreen.getFrameRenderer());
+            contents[run] = terminalContents((DefaultVirtualTerminal) headlessScreen.getTerminal(),
+                    headlessScreen.getColumns(), headlessScreen.getRows());
+            assertEquals(frontBuffer(headlessScreen), contents[run]);
+        }
+        assertEquals(contents[0], contents[1]);
+    }
+
+    /**
+     * Verifies that a terminal resize is picked up while frames are drawn on a render thread.
+     */
+    @Test
+    void testRenderThreadFollowsResize() throws IOException {
+        final HeadlessRogueScreen headlessScreen = new HeadlessRogueScreen(config, ScriptedKeyStrokeSource.of(""));
+        headlessScreen.setRenderFrames(true);
+        headlessScreen.startFrameRenderer();
+        final DefaultVirtualTerminal terminal = (DefaultVirtualTerminal) headlessScreen.getTerminal();
+        final int columns = headlessScreen.getColumns() + 20;
+        final int rows = headlessScreen.getRows() + 6;
+        terminal.setTerminalSize(new TerminalSize(columns, rows));
+
+        headlessScreen.refresh(Screen.RefreshType.DELTA);
+        assertEquals(new TerminalSize(columns, rows), headlessScreen.getTerminalSize());
+        final TextCharacter character = TextCharacter.fromCharacter('@', TextColor.ANSI.YELLOW,
+                TextColor.ANSI.BLUE)[0];
+        headlessScreen.setCharacter(columns - 1, rows - 1, character);
+        headlessScreen.refresh(Screen.RefreshType.DELTA);
+        headlessScreen.stopFrameRenderer();
+        assertEquals(character, terminal.getCharacter(columns - 1, rows - 1));
+    }
+
+    /**
+     * Verifies that frames published while the renderer is busy replace the one waiting to be drawn, and that the
+     * last one is drawn.
+     */
+    @Test
+    void testStaleFramesAreDropped() {
+        final int columns = 20;
+        final int rows = 4;
+        final DefaultVirtualTerminal slowTerminal = new DefaultVirtualTerminal(new TerminalSize(columns, rows)) {
+            @Override
+            public synchronized void flush() {
+                super.flush();
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        final BasicTextImage image = new BasicTextImage(columns, rows);
+        try (FrameRenderer frameRenderer = new FrameRenderer(slowTerminal, columns, rows)) {
+            for (int i = 0; i < 50; i++) {
+                image.setCharacterAt(i % columns, i % rows, TextCharacter.fromCharacter((char) ('a' + i % 26),
+                        TextColor.ANSI.YELLOW, TextColor.ANSI.BLUE, SGR.BOLD)[0]);
+                frameRenderer.publish(image, new TerminalPosition(1, 2), false);
+            }
+            assertTrue(frameRenderer.awaitDrawn(5000));
+            assertTrue(frameRenderer.getDropped() > 0);
+        }
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < columns; x++) {
+                assertEquals(image.getCharacterAt(x, y), slowTerminal.getCharacter(x, y));
+            }
+        }
+        assertEquals(new TerminalPosition(1, 2), slowTerminal.getCursorPosition());
+        assertThrows(IllegalArgumentException.class, () -> new FrameRenderer(slowTerminal, 0, rows));
+    }
+}
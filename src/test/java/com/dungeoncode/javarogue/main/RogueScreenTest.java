@@ -0,0 +1,100 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.main.base.RogueBaseTest;
+import com.dungeoncode.javarogue.system.HeadlessRogueScreen;
+import com.dungeoncode.javarogue.system.input.ScriptedKeyStrokeSource;
+import com.googlecode.lanterna.SGR;
+import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.TextColor;
+import com.googlecode.lanterna.screen.Screen;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RogueScreenTest extends RogueBaseTest {
+
+    /**
+     * Verifies that text written through the cell cache matches what Lanterna writes, and that a window shown over the
+     * screen displays its cells and puts the screen back when closed.
+     */
+    @Test
+    void testScreenAndWindowCells() throws IOException {
+        final HeadlessRogueScreen headlessScreen = new HeadlessRogueScreen(config, ScriptedKeyStrokeSource.of(" "));
+        headlessScreen.enableModifiers(SGR.BOLD);
+        headlessScreen.putString(2, 1, "Hello");
+        headlessScreen.disableModifiers(SGR.BOLD);
+        headlessScreen.putChar(3, 2, '@');
+        final TextCharacter[] bold = TextCharacter.fromString("Hello", TextColor.ANSI.DEFAULT,
+                TextColor.ANSI.DEFAULT, SGR.BOLD);
+        for (int i = 0; i < bold.length; i++) {
+            assertEquals(bold[i], headlessScreen.getBackCharacter(2 + i, 1));
+        }
+        assertEquals(TextCharacter.fromCharacter('@')[0], headlessScreen.getBackCharacter(3, 2));
+        headlessScreen.setRenderFrames(true);
+        headlessScreen.refresh(Screen.RefreshType.DELTA);
+
+        headlessScreen.addWindow("w", 0, 0, 10, 4);
+        headlessScreen.clearWindow("w");
+        headlessScreen.putWChar("w", 3, 2, '#', SGR.REVERSE);
+        headlessScreen.putWString("w", 0, 3, "map", null);
+        headlessScreen.showWindow("w");
+        assertEquals(TextCharacter.fromCharacter('#', TextColor.ANSI.DEFAULT, TextColor.ANSI.DEFAULT, SGR.REVERSE)[0],
+                headlessScreen.getBackCharacter(3, 2));
+        assertEquals(TextCharacter.fromCharacter('p')[0], headlessScreen.getBackCharacter(2, 3));
+        assertEquals(TextCharacter.DEFAULT_CHARACTER, headlessScreen.getBackCharacter(2, 1));
+
+        headlessScreen.closeWindow("w", "--More--");
+        for (int i = 0; i < bold.length; i++) {
+            assertEquals(bold[i], headlessScreen.getBackCharacter(2 + i, 1));
+        }
+        assertEquals(TextCharacter.fromCharacter('@')[0], headlessScreen.getBackCharacter(3, 2));
+        assertThrows(IllegalArgumentException.class, () -> headlessScreen.putWChar("w", 10, 0, '#'));
+        assertThrows(IllegalArgumentException.class, () -> headlessScreen.clearWindow("missing"));
+    }
+
+    /**
+     * Verifies that closing a window puts back the screen as it was, whichever way its characters were written, and
+     * that showing it blanks the screen around the window.
+     */
+    @Test
+    void testWindowRestoresScreen() throws IOException {
+        final HeadlessRogueScreen headlessScreen = new HeadlessRogueScreen(config, ScriptedKeyStrokeSource.of("  "));
+        headlessScreen.putString(0, 0, "Hello");
+        headlessScreen.clear();
+        headlessScreen.enableModifiers(SGR.REVERSE);
+        headlessScreen.putString(1, 1, "status");
+        headlessScreen.disableModifiers(SGR.REVERSE);
+        headlessScreen.putChar(4, 2, '字');
+        headlessScreen.putChar(5, 2, '@');
+        headlessScreen.putString(0, 3, "a\tb");
+        headlessScreen.setCharacter(8, 4, TextCharacter.fromCharacter('%', TextColor.ANSI.RED,
+                TextColor.ANSI.BLACK)[0]);
+        headlessScreen.setCharacter(10, 4, TextCharacter.fromCharacter('x', new TextColor.RGB(10, 20, 30),
+                new TextColor.Indexed(200))[0]);
+        headlessScreen.setCharacter(12, 4, TextCharacter.fromString("\uD834\uDD1E", TextColor.ANSI.GREEN,
+                TextColor.ANSI.DEFAULT)[0]);
+        final int columns = headlessScreen.getColumns();
+        final int rows = headlessScreen.getRows();
+        final TextCharacter[] before = new TextCharacter[columns * rows];
+        for (int i = 0; i < before.length; i++) {
+            before[i] = headlessScreen.getBackCharacter(i % columns, i / columns);
+        }
+
+        headlessScreen.addWindow("w", 2, 1, 6, 2);
+        headlessScreen.clearWindow("w");
+        headlessScreen.putWString("w", 0, 1, "inv", null);
+        for (int run = 0; run < 2; run++) {
+            headlessScreen.showWindow("w");
+            assertEquals(TextCharacter.fromCharacter('n')[0], headlessScreen.getBackCharacter(3, 2));
+            assertEquals(TextCharacter.DEFAULT_CHARACTER, headlessScreen.getBackCharacter(1, 1));
+            assertEquals(TextCharacter.DEFAULT_CHARACTER, headlessScreen.getBackCharacter(8, 4));
+            headlessScreen.closeWindow("w", "--More--");
+            for (int i = 0; i < before.length; i++) {
+                assertEquals(before[i], headlessScreen.getBackCharacter(i % columns, i / columns),
+                        String.format("Cell %d,%d", i % columns, i / columns));
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.command.core.CommandFunctional;
+import com.dungeoncode.javarogue.core.GameSnapshot;
+import com.dungeoncode.javarogue.core.GameState;
+import com.dungeoncode.javarogue.core.Phase;
+import com.dungeoncode.javarogue.core.RogueRandom;
+import com.dungeoncode.javarogue.core.SaveFile;
+import com.dungeoncode.javarogue.main.base.RogueBaseTest;
+import com.dungeoncode.javarogue.system.HeadlessRogueScreen;
+import com.dungeoncode.javarogue.system.MessageSystem;
+import com.dungeoncode.javarogue.system.initializer.DefaultInitializer;
+import com.dungeoncode.javarogue.system.input.ScriptedKeyStrokeSource;
+import com.dungeoncode.javarogue.system.replay.ReplayState;
+import com.dungeoncode.javarogue.system.world.Level;
+import com.googlecode.lanterna.SGR;
+import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.TextColor;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SaveFileTest extends RogueBaseTest {
+
+    private static final long SEED = 77;
+    private static final String MOVES = "hjklyubn,";
+    private static final int SAVED_TURNS = 60;
+
+    private static String randomScript(final int length) {
+        final Random random = new Random(3);
+        final StringBuilder script = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            script.append(MOVES.charAt(random.nextInt(MOVES.length())));
+        }
+        return script.toString();
+    }
+
+    private GameState newGame(final ScriptedKeyStrokeSource source, final boolean initialize) throws IOException {
+        final HeadlessRogueScreen headlessScreen = new HeadlessRogueScreen(config, source);
+        return new GameState(config, new RogueRandom(SEED), headlessScreen,
+                initialize ? new DefaultInitializer() : null, new MessageSystem(headlessScreen));
+    }
+
+    /**
+     * Verifies that a game saved between two turns, compressed or not, is restored exactly and then plays on as the
+     * game that was saved.
+     */
+    @Test
+    void testRestoredGamePlaysOnIdentically() throws IOException {
+        final String script = randomScript(300);
+        final ScriptedKeyStrokeSource source = ScriptedKeyStrokeSource.of(script);
+        final GameState saved = newGame(source, true);
+        saved.startPlaying();
+        for (int i = 0; i < SAVED_TURNS; i++) {
+            saved.playTurn();
+        }
+        final int consumed = (int) source.getConsumed();
+        final ReplayState atSave = ReplayState.of(saved);
+        final String mapAtSave = map(saved.getCurrentLevel());
+        final String screenAtSave = screen(saved);
+
+        final Path compressed = tempDir.resolve("compressed.save");
+        final Path uncompressed = tempDir.resolve("uncompressed.save");
+        final long compressedSize = SaveFile.write(compressed, saved, true);
+        final long uncompressedSize = SaveFile.write(uncompressed, saved, false);
+        assertEquals(compressedSize, Files.size(compressed));
+        assertEquals(uncompressedSize, Files.size(uncompressed));
+        assertTrue(compressedSize < uncompressedSize);
+        assertFalse(Files.exists(tempDir.resolve("compressed.save.tmp")));
+
+        saved.resumeLoop();
+        final ReplayState atEnd = ReplayState.of(saved);
+        final String mapAtEnd = map(saved.getCurrentLevel());
+
+        for (final Path path : new Path[]{compressed, uncompressed}) {
+            final GameSnapshot snapshot = SaveFile.read(path);
+            assertEquals(SAVED_TURNS, snapshot.getTurnCount());
+            final GameState restored = newGame(ScriptedKeyStrokeSource.of(script.substring(consumed)), false);
+            restored.restore(snapshot);
+            assertEquals(atSave, ReplayState.of(restored));
+            assertEquals(mapAtSave, map(restored.getCurrentLevel()));
+            assertEquals(screenAtSave, screen(restored));
+
+            restored.resumeLoop();
+            assertEquals(atEnd, ReplayState.of(restored), path.toString());
+            assertEquals(mapAtEnd, map(restored.getCurrentLevel()), path.toString());
+        }
+    }
+
+    /**
+     * Verifies that files that are not save files of this version, or were damaged, are rejected.
+     */
+    @Test
+    void testInvalidFilesAreRejected() throws IOException {
+        final GameState gameState = newGame(ScriptedKeyStrokeSource.of("hjkl"), true);
+        gameState.loop();
+        final Path path = tempDir.resolve("game.save");
+        SaveFile.write(path, gameState, true);
+        final byte[] bytes = Files.readAllBytes(path);
+
+        // Some bits of a deflated stream do not change what it inflates to, so damage a file stored as is
+        SaveFile.write(path, gameState, false);
+        final byte[] damaged = Files.readAllBytes(path);
+        damaged[damaged.length / 2] ^= 0x5A;
+        assertThrows(RuntimeException.class, () -> SaveFile.read(write("damaged.save", damaged)));
+
+        final byte[] newerVersion = bytes.clone();
+        newerVersion[5]++;
+        assertThrows(RuntimeException.class, () -> SaveFile.read(write("newer.save", newerVersion)));
+
+        final byte[] truncated = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        assertThrows(RuntimeException.class, () -> SaveFile.read(write("truncated.save", truncated)));
+
+        assertThrows(RuntimeException.class, () -> SaveFile.read(write("other.save", "not a save".getBytes())));
+        assertThrows(RuntimeException.class, () -> SaveFile.read(tempDir.resolve("missing.save")));
+    }
+
+    /**
+     * Verifies that a queued functional command, with what its lambda captures, is saved and runs in the restored
+     * game.
+     */
+    @Test
+    void testQueuedFunctionalCommandIsRestored() throws IOException {
+        final GameState saved = newGame(ScriptedKeyStrokeSource.of(""), true);
+        final int goldIncrease = 25;
+        saved.addCommand(new CommandFunctional(gameState -> {
+            gameState.getPlayer().setGoldAmount(gameState.getPlayer().getGoldAmount() + goldIncrease);
+            return true;
+        }, Phase.START_TURN));
+        final int gold = saved.getPlayer().getGoldAmount();
+        final Path path = tempDir.resolve("functional.save");
+        SaveFile.write(path, saved, false);
+
+        final GameState restored = newGame(ScriptedKeyStrokeSource.of(""), false);
+        restored.restore(SaveFile.read(path));
+        restored.processPhase(Phase.START_TURN);
+        assertEquals(gold + goldIncrease, restored.getPlayer().getGoldAmount());
+    }
+
+    /**
+     * Verifies that screen cells keep characters outside the basic plane, indexed and RGB colors and every modifier,
+     * and that cells of more than one code point are rejected.
+     */
+    @Test
+    void testScreenCellsRoundTrip() throws IOException {
+        final GameState saved = newGame(ScriptedKeyStrokeSource.of(""), true);
+        final TextCharacter[] cells = {
+                TextCharacter.fromString(Character.toString(0x1D11E), TextColor.ANSI.RED_BRIGHT,
+                        TextColor.ANSI.DEFAULT)[0],
+                TextCharacter.fromCharacter('@', new TextColor.Indexed(200), new TextColor.RGB(10, 20, 250),
+                        SGR.values())[0],
+                TextCharacter.fromCharacter('%', new TextColor.RGB(255, 128, 0), new TextColor.Indexed(17),
+                        SGR.ITALIC)[0]
+        };
+        // The first character is double width, so the cells are two columns apart
+        for (int x = 0; x < cells.length; x++) {
+            saved.getScreen().setCharacter(x * 2, 0, cells[x]);
+        }
+        final Path path = tempDir.resolve("cells.save");
+        SaveFile.write(path, saved, true);
+
+        final GameState restored = newGame(ScriptedKeyStrokeSource.of(""), false);
+        restored.restore(SaveFile.read(path));
+        for (int x = 0; x < cells.length; x++) {
+            assertEquals(cells[x], restored.getScreen().getBackCharacter(x * 2, 0));
+        }
+        assertEquals(screen(saved), screen(restored));
+
+        saved.getScreen().setCharacter(0, 0, TextCharacter.fromString("e\u0301")[0]);
+        assertThrows(IllegalArgumentException.class, () -> SaveFile.write(path, saved, false));
+    }
+
+    /**
+     * Verifies that a well-formed save file whose game state holds a class outside the game is not deserialized.
+     */
+    @Test
+    void testForeignClassesAreNotRestored() throws IOException {
+        assertRejected("foreign.save", new File("foreign"));
+    }
+
+    /**
+     * Verifies that a save file whose game state nests objects too deeply or holds too large an array is not
+     * deserialized.
+     */
+    @Test
+    void testOversizedModelsAreNotRestored() throws IOException {
+        Set<Object> nested = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            final Set<Object> outer = new HashSet<>();
+            outer.add(nested);
+            nested = outer;
+        }
+        assertRejected("deep.save", nested);
+        assertRejected("large.save", new ArrayList<>(List.of(new int[100_000])));
+    }
+
+    /**
+     * Writes a save file of no screen around a serialized object, with the header of this version, and verifies
+     * that restoring it is rejected by the deserialization filter.
+     */
+    private void assertRejected(final String name, final Object model) throws IOException {
+        SaveFile.write(tempDir.resolve("version.save"), newGame(ScriptedKeyStrokeSource.of(""), true), false);
+        final short version = ByteBuffer.wrap(Files.readAllBytes(tempDir.resolve("version.save")))
+                .getShort(4);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(model);
+        }
+        final byte[] payload = bytes.toByteArray();
+        final CRC32 crc = new CRC32();
+        crc.update(payload);
+        final ByteBuffer file = ByteBuffer.allocate(31 + payload.length)
+                .putInt(0x52534156)
+                .putShort(version)
+                .put((byte) 0)
+                .putLong(0)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putInt(payload.length)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload);
+
+        final GameSnapshot snapshot = SaveFile.read(write(name, file.array()));
+        final GameState gameState = newGame(ScriptedKeyStrokeSource.of(""), false);
+        final RuntimeException ex = assertThrows(RuntimeException.class, () -> gameState.restore(snapshot));
+        assertInstanceOf(InvalidClassException.class, ex.getCause());
+    }
+
+    /**
+     * Verifies that the save command writes the configured save file and stops the game once confirmed.
+     */
+    @Test
+    void testSaveCommandStopsGame() throws IOException {
+        final GameState gameState = newGame(ScriptedKeyStrokeSource.of("hjSnklSy"), true);
+        gameState.loop();
+        assertFalse(gameState.isPlaying());
+        assertNull(gameState.getGameEndReason());
+
+        final GameState restored = newGame(ScriptedKeyStrokeSource.of(""), false);
+        restored.restore(SaveFile.read(config.getSaveFilePath()));
+        assertTrue(restored.isPlaying());
+        assertEquals(ReplayState.of(gameState), ReplayState.of(restored));
+    }
+
+    private Path write(final String name, final byte[] bytes) throws IOException {
+        return Files.write(tempDir.resolve(name), bytes);
+    }
+
+    private static String map(final Level level) {
+        final StringBuilder map = new StringBuilder();
+        for (int y = 0; y < level.getMaxHeight(); y++) {
+            for (int x = 0; x < level.getMaxWidth(); x++) {
+                map.append(level.getSymbolType(x, y)).append(level.getPlaceType(x, y));
+            }
+        }
+        level.getItems().forEach(item -> map.append(item.getObjectType()).append(item.getPosition()));
+        level.getMonsters().forEach(monster -> map.append(monster.getMonsterType()).append(monster.getPosition()));
+        return map.toString();
+    }
+
+    private static String screen(final GameState gameState) {
+        final StringBuilder screen = new StringBuilder();
+        for (int y = 0; y < gameState.getScreen().getRows(); y++) {
+            for (int x = 0; x < gameState.getScreen().getColumns(); x++) {
+                screen.append(gameState.getScreen().getBackCharacter(x, y));
+            }
+        }
+        return screen.toString();
+    }
+}
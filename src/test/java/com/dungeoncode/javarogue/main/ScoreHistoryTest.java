@@ -0,0 +1,201 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.system.ScoreHistory;
+import com.dungeoncode.javarogue.system.ScoreManager.ScoreEntry;
+import com.dungeoncode.javarogue.system.death.GameEndReason;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoreHistoryTest {
+
+    /**
+     * The size of the magic number and version at the start of a history file.
+     */
+    private static final int HEADER_SIZE = 6;
+    private static final GameEndReason[] REASONS = GameEndReason.values();
+
+    @TempDir
+    Path tempDir;
+
+    private static List<ScoreEntry> randomEntries(final int count) {
+        final Random random = new Random(21);
+        final List<ScoreEntry> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final GameEndReason reason = REASONS[random.nextInt(REASONS.length)];
+            final boolean killed = reason == GameEndReason.KILLED || reason == GameEndReason.KILLED_WITH_AMULET;
+            final boolean byMonster = killed && random.nextInt(4) > 0;
+            final int userId = random.nextInt(40);
+            entries.add(new ScoreEntry(userId, random.nextInt(2000), reason, byMonster ? random.nextInt(26) + 1 : 0,
+                    killed && !byMonster ? random.nextInt(4) + 1 : 0, random.nextInt(26) + 1,
+                    1_700_000_000L + i * 60L, "rogue" + userId));
+        }
+        return entries;
+    }
+
+    /**
+     * Answers a query by scanning every entry: best score first, then first appended.
+     */
+    private static List<ScoreEntry> scan(final List<ScoreEntry> entries, final Predicate<ScoreEntry> filter,
+                                         final int limit) {
+        return entries.stream()
+                .filter(filter)
+                .sorted(Comparator.comparingInt(ScoreEntry::getScore).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private static void assertQueries(final List<ScoreEntry> entries, final ScoreHistory history) {
+        assertEquals(entries.size(), history.size());
+        assertEquals(scan(entries, entry -> true, 10), history.top(10));
+        assertEquals(scan(entries, entry -> entry.getTime() >= 1_700_003_000L && entry.getTime() < 1_700_009_000L,
+                10), history.topBetween(1_700_003_000L, 1_700_009_000L, 10));
+        for (int userId = 0; userId < 40; userId += 7) {
+            final int user = userId;
+            assertEquals(scan(entries, entry -> entry.getUserId() == user, 5), history.topByUser(userId, 5));
+        }
+        for (final GameEndReason reason : REASONS) {
+            assertEquals(scan(entries, entry -> entry.getGameEndReason() == reason, 20),
+                    history.topByGameEndReason(reason, 20));
+        }
+        for (long monsterId = 1; monsterId <= 26; monsterId += 5) {
+            final long monster = monsterId;
+            assertEquals(scan(entries, entry -> entry.getMonsterId() == monster, 8),
+                    history.topByMonster(monsterId, 8));
+        }
+        assertEquals(scan(entries, entry -> entry.getKillTypeId() == 2, 8), history.topByKillType(2, 8));
+        assertEquals(scan(entries, entry -> entry.getLevel() == 13, 8), history.topByLevel(13, 8));
+
+        final Map<Integer, ScoreEntry> best = new HashMap<>();
+        for (final ScoreEntry entry : scan(entries, entry -> true, entries.size())) {
+            best.putIfAbsent(entry.getUserId(), entry);
+        }
+        final List<ScoreEntry> bestInFileOrder = best.values().stream()
+                .sorted(Comparator.comparingInt(entries::indexOf))
+                .collect(Collectors.toList());
+        assertEquals(scan(bestInFileOrder, entry -> true, 15), history.bestPerPlayer(15));
+
+        final Map<Long, Integer> deaths = entries.stream()
+                .filter(entry -> entry.getMonsterId() > 0)
+                .collect(Collectors.toMap(ScoreEntry::getMonsterId, entry -> 1, Integer::sum));
+        assertEquals(deaths, history.countByMonster());
+    }
+
+    /**
+     * Verifies that indexed queries match a scan of every run, after appends and after reopening the file.
+     */
+    @Test
+    void testQueriesMatchScan() {
+        final Path path = tempDir.resolve("scores.hst");
+        final List<ScoreEntry> entries = randomEntries(3000);
+        final ScoreHistory history = new ScoreHistory(path);
+        assertTrue(history.top(10).isEmpty());
+        for (int i = 0; i < entries.size(); i++) {
+            history.append(entries.get(i));
+            if (i == 1000) {
+                assertQueries(entries.subList(0, i + 1), history);
+            }
+        }
+        assertQueries(entries, history);
+        assertQueries(entries, new ScoreHistory(path));
+        assertTrue(history.topByMonster(999, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> history.top(-1));
+    }
+
+    /**
+     * Verifies that runs appended by another process are loaded before appending, so every history stays in file
+     * order.
+     */
+    @Test
+    void testAppendsFromOtherHistoriesAreLoaded() {
+        final Path path = tempDir.resolve("shared.hst");
+        final List<ScoreEntry> entries = randomEntries(200);
+        final ScoreHistory first = new ScoreHistory(path);
+        final ScoreHistory second = new ScoreHistory(path);
+        for (int i = 0; i < entries.size(); i++) {
+            (i % 3 == 0 ? first : second).append(entries.get(i));
+        }
+        first.refresh();
+        assertQueries(entries, first);
+        assertQueries(entries, second);
+    }
+
+    /**
+     * Verifies that a run torn by a crash is dropped when reading and cut off by the next append.
+     */
+    @Test
+    void testTornRecordIsCutOff() throws IOException {
+        final Path path = tempDir.resolve("torn.hst");
+        final List<ScoreEntry> entries = randomEntries(50);
+        final ScoreHistory history = new ScoreHistory(path);
+        entries.subList(0, 49).forEach(history::append);
+        final long size = Files.size(path);
+
+        Files.write(path, new byte[]{0, 0, 0, 7, 0, 0, 1}, StandardOpenOption.APPEND);
+        final ScoreHistory reopened = new ScoreHistory(path);
+        assertQueries(entries.subList(0, 49), reopened);
+        reopened.append(entries.get(49));
+        assertTrue(Files.size(path) > size);
+        assertQueries(entries, new ScoreHistory(path));
+
+        Files.write(tempDir.resolve("other.hst"), "not a history".getBytes());
+        final ScoreHistory other = new ScoreHistory(tempDir.resolve("other.hst"));
+        assertThrows(RuntimeException.class, () -> other.top(1));
+        assertThrows(RuntimeException.class, () -> other.append(entries.get(0)));
+        assertEquals("not a history", Files.readString(tempDir.resolve("other.hst")));
+    }
+
+    /**
+     * Verifies that the end reason is stored by its id, as in the score file.
+     */
+    @Test
+    void testGameEndReasonIsStoredById() throws IOException {
+        final Path path = tempDir.resolve("reasons.hst");
+        final ScoreHistory history = new ScoreHistory(path);
+        final List<ScoreEntry> entries = new ArrayList<>();
+        for (final GameEndReason reason : REASONS) {
+            final ScoreEntry entry = new ScoreEntry(1, 100, reason, 0, 0, 3, 1_700_000_000L, "");
+            history.append(entry);
+            entries.add(entry);
+        }
+        final byte[] bytes = Files.readAllBytes(path);
+        final int recordSize = (bytes.length - HEADER_SIZE) / REASONS.length;
+        for (int i = 0; i < REASONS.length; i++) {
+            assertEquals(REASONS[i].getId(), bytes[HEADER_SIZE + i * recordSize + 8]);
+        }
+        assertQueries(entries, new ScoreHistory(path));
+    }
+
+    /**
+     * Verifies that an append checks only the last record and writes after it, leaving the rest of the log unread.
+     */
+    @Test
+    void testAppendChecksOnlyTheTail() throws IOException {
+        final Path path = tempDir.resolve("tail.hst");
+        final List<ScoreEntry> entries = randomEntries(20);
+        final ScoreHistory history = new ScoreHistory(path);
+        entries.subList(0, 10).forEach(history::append);
+
+        // Damage the first record; a full read would stop there and the append would cut off everything after it
+        final byte[] bytes = Files.readAllBytes(path);
+        bytes[HEADER_SIZE + 5] ^= 1;
+        Files.write(path, bytes);
+        final long size = Files.size(path);
+        new ScoreHistory(path).append(entries.get(10));
+        assertTrue(Files.size(path) > size);
+        assertEquals(0, new ScoreHistory(path).size());
+
+        bytes[HEADER_SIZE + 5] ^= 1;
+        Files.write(path, bytes, StandardOpenOption.WRITE);
+        assertQueries(entries.subList(0, 11), new ScoreHistory(path));
+    }
+}
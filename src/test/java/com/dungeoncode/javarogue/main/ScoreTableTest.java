@@ -0,0 +1,164 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.core.Config;
+import com.dungeoncode.javarogue.core.RogueUtils;
+import com.dungeoncode.javarogue.system.ScoreManager.ScoreEntry;
+import com.dungeoncode.javarogue.system.ScoreTable;
+import com.dungeoncode.javarogue.system.death.GameEndReason;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoreTableTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static ScoreEntry entry(final int i, final int score) {
+        return new ScoreEntry(1000 + i, score, GameEndReason.KILLED, 3, 0, i % 26 + 1, 1_700_000_000L + i,
+                "rogue" + i);
+    }
+
+    private static List<ScoreEntry> entries(final int count) {
+        final List<ScoreEntry> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entries.add(entry(i, 5000 - i * 100));
+        }
+        return entries;
+    }
+
+    private static long recordSize(final Config config) {
+        return config.getMaxStringLength() + 100;
+    }
+
+    /**
+     * Writes entries the way score files were written before the mapped score table.
+     */
+    private static byte[] legacyFile(final Config config, final List<ScoreEntry> entries) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final List<String> names = List.of("hero1", "hero2", "hero3");
+        for (int i = 0; i < entries.size(); i++) {
+            final ScoreEntry entry = entries.get(i);
+            final byte[] name = new byte[config.getMaxStringLength()];
+            final byte[] rawName = names.get(i).getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(rawName, 0, name, 0, rawName.length);
+            RogueUtils.xorCrypt(name, config.getEncryptionKeyPrimary(), config.getEncryptionKeySecondary());
+            out.writeBytes(name);
+
+            final byte[] line = new byte[100];
+            final byte[] rawLine = String.format(" %d %d %d %d %d %d %x \n", 1001 + i, entry.getScore(), 2, 3, 0,
+                    8, 168000001L + i).getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(rawLine, 0, line, 0, rawLine.length);
+            RogueUtils.xorCrypt(line, config.getEncryptionKeyPrimary(), config.getEncryptionKeySecondary());
+            out.writeBytes(line);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void testReadsExistingScoreFiles() throws IOException {
+        final Config config = new Config(tempDir.toString());
+        final ScoreTable scoreTable = new ScoreTable(config);
+        final List<ScoreEntry> written = entries(3);
+        Files.createDirectories(scoreTable.getPath().getParent());
+        final byte[] legacy = legacyFile(config, written);
+        Files.write(scoreTable.getPath(), legacy);
+
+        final List<ScoreEntry> read = scoreTable.read();
+        assertEquals(3, read.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(new ScoreEntry(1001 + i, written.get(i).getScore(), GameEndReason.fromId(2), 3, 0, 8,
+                    168000001L + i, "hero" + (i + 1)), read.get(i));
+        }
+
+        // Rewriting the same entries gives back the same bytes
+        scoreTable.write(read);
+        assertArrayEquals(legacy, Files.readAllBytes(scoreTable.getPath()));
+    }
+
+    @Test
+    void testInsertMovesFollowingRecords() throws IOException {
+        final Config config = new Config(tempDir.toString());
+        final ScoreTable scoreTable = new ScoreTable(config);
+        assertTrue(scoreTable.read().isEmpty());
+        final List<ScoreEntry> full = entries(config.getNumScores());
+        scoreTable.write(full);
+        assertEquals(full, scoreTable.read());
+
+        final ScoreEntry inserted = entry(99, 4750);
+        final List<ScoreEntry> updated = scoreTable.update(current -> {
+            current.add(3, inserted);
+            current.remove(current.size() - 1);
+            return current;
+        });
+        final List<ScoreEntry> expected = new ArrayList<>(full);
+        expected.add(3, inserted);
+        expected.remove(expected.size() - 1);
+        assertEquals(expected, updated);
+        assertEquals(expected, scoreTable.read());
+        assertEquals(config.getNumScores() * recordSize(config), Files.size(scoreTable.getPath()));
+
+        // Growing and shrinking the table
+        scoreTable.write(entries(4));
+        scoreTable.update(current -> {
+            current.add(0, entry(50, 9000));
+            return current;
+        });
+        assertEquals(5, scoreTable.read().size());
+        assertEquals(entry(50, 9000), scoreTable.read().get(0));
+        scoreTable.update(current -> current.subList(0, 2));
+        assertEquals(2, scoreTable.read().size());
+        assertEquals(2 * recordSize(config), Files.size(scoreTable.getPath()));
+    }
+
+    @Test
+    void testConcurrentUpdatesAreNotLost() throws Exception {
+        final Config config = new Config(tempDir.toString());
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<?>> futures = new ArrayList<>();
+        final List<ScoreEntry> all = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final List<ScoreEntry> own = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                own.add(entry(t * 5 + i, 100 + (t * 5 + i) * 37 % 20 * 10));
+            }
+            all.addAll(own);
+            futures.add(executor.submit(() -> {
+                // Every thread uses its own table, as separate games would
+                final ScoreTable scoreTable = new ScoreTable(config);
+                for (final ScoreEntry entry : own) {
+                    scoreTable.update(current -> {
+                        current.add(entry);
+                        current.sort(Comparator.comparingInt(ScoreEntry::getScore).reversed());
+                        return current.subList(0, Math.min(current.size(), config.getNumScores()));
+                    });
+                }
+                return null;
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        all.sort(Comparator.comparingInt(ScoreEntry::getScore).reversed());
+        final List<Integer> expectedScores = all.subList(0, config.getNumScores()).stream()
+                .map(ScoreEntry::getScore).toList();
+        assertEquals(expectedScores, new ScoreTable(config).read().stream().map(ScoreEntry::getScore).toList());
+    }
+}
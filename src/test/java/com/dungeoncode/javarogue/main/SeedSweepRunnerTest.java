@@ -0,0 +1,54 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.main.base.RogueBaseTest;
+import com.dungeoncode.javarogue.system.entity.item.ObjectType;
+import com.dungeoncode.javarogue.system.sweep.SeedSweepRunner;
+import com.dungeoncode.javarogue.system.sweep.SeedSweepStats;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeedSweepRunnerTest extends RogueBaseTest {
+
+    @Test
+    void testSweepAggregatesAllLevels() {
+        final int seeds = 12;
+        final int maxLevel = 6;
+        final SeedSweepStats stats = new SeedSweepRunner(config, 100, 100 + seeds, maxLevel).run(2);
+
+        assertTrue(stats.getFailedSeeds().isEmpty());
+        assertEquals(seeds, stats.getSeeds());
+        assertEquals((long) seeds * maxLevel, stats.getLevels());
+        assertEquals(stats.getLevels() * config.getMaxRooms(), stats.getRooms() + stats.getGoneRooms());
+        assertTrue(stats.getMazeRooms() <= stats.getRooms());
+        assertFalse(stats.getItemsByObjectType().isEmpty());
+        assertFalse(stats.getMonstersByMonsterType().isEmpty());
+    }
+
+    @Test
+    void testAmuletIsCountedAndTreasureMonstersAreReported() {
+        final int seeds = 2;
+        final SeedSweepStats stats = new SeedSweepRunner(config, 7, 7 + seeds, config.getAmuletLevel()).run(1);
+
+        assertTrue(stats.getFailedSeeds().isEmpty());
+        assertEquals(seeds, stats.getItemsByObjectType().get(ObjectType.AMULET));
+        assertTrue(stats.report().contains("treasure room monsters are not counted"));
+    }
+
+    @Test
+    void testParallelSweepMatchesSequentialSweep() {
+        final SeedSweepRunner runner = new SeedSweepRunner(config, 0, 40, 8);
+
+        final SeedSweepStats sequential = runner.run(1);
+        final SeedSweepStats parallel = runner.run(4);
+
+        assertEquals(sequential.report(), parallel.report());
+    }
+
+    @Test
+    void testInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SeedSweepRunner(config, 10, 5, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SeedSweepRunner(config, 0, 5, 0));
+    }
+
+}
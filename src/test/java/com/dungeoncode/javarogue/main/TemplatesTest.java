@@ -345,6 +345,27 @@ public class TemplatesTest {
         assertEquals("ring", templateByObjectType.getName());
     }
 
+    @Test
+    public void testIndexedLookupsMatchScansAndAreShared() {
+        assertSame(Templates.getTemplates(MonsterTemplate.class), Templates.getTemplates(MonsterTemplate.class));
+        assertSame(Templates.getTemplates(ObjectType.POTION), Templates.getTemplates(ObjectType.POTION));
+        assertThrows(UnsupportedOperationException.class, () -> Templates.getTemplates(MonsterTemplate.class).clear());
+
+        for (final MonsterTemplate monsterTemplate : Templates.getTemplates(MonsterTemplate.class)) {
+            assertSame(monsterTemplate, Templates.getMonsterTemplate(monsterTemplate.getMonsterType()));
+            assertSame(monsterTemplate, Templates.getMonsterTemplate(monsterTemplate.getSymbolType()));
+        }
+        for (final ObjectType objectType : ObjectType.values()) {
+            final Set<ObjectInfoTemplate> templates = Templates.getTemplates(objectType);
+            for (final ObjectInfoTemplate template : templates) {
+                assertEquals(objectType, template.getObjectType());
+                assertSame(template, Templates.findTemplateBySubType(template.getItemSubType()));
+            }
+        }
+        final Set<ObjectInfoTemplate> withoutSubType = Templates.getTemplates((ObjectType) null);
+        assertEquals(Templates.getTemplates(ObjectInfoTemplate.class), withoutSubType);
+    }
+
     /**
      * Simple concrete Template subclass for equality tests.
      */
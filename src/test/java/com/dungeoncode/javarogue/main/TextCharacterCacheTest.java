@@ -0,0 +1,79 @@
+package com.dungeoncode.javarogue.main;
+
+import com.dungeoncode.javarogue.main.base.RogueBaseTest;
+import com.dungeoncode.javarogue.system.TextCharacterCache;
+import com.googlecode.lanterna.SGR;
+import com.googlecode.lanterna.TextCharacter;
+import com.googlecode.lanterna.TextColor;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextCharacterCacheTest extends RogueBaseTest {
+
+    /**
+     * Verifies that every character, color and modifier combination survives packing, and that equal cells share
+     * one text character.
+     */
+    @Test
+    void testCellsRoundTrip() {
+        final TextCharacterCache cache = new TextCharacterCache();
+        final SGR[] modifiers = SGR.values();
+        for (final TextColor.ANSI foreground : TextColor.ANSI.values()) {
+            for (final TextColor.ANSI background : TextColor.ANSI.values()) {
+                for (int mask = 0; mask < 1 << modifiers.length; mask += 37) {
+                    final EnumSet<SGR> sgrs = EnumSet.noneOf(SGR.class);
+                    for (final SGR modifier : modifiers) {
+                        if ((mask & 1 << modifier.ordinal()) != 0) {
+                            sgrs.add(modifier);
+                        }
+                    }
+                    final char character = (char) ('!' + (foreground.ordinal() * 31 + mask) % 94);
+                    final TextCharacter expected = TextCharacter.fromCharacter(character, foreground, background,
+                            sgrs.toArray(new SGR[0]))[0];
+                    final long cell = TextCharacterCache.pack(character, foreground, background,
+                            TextCharacterCache.modifierMask(sgrs.toArray(new SGR[0])));
+                    assertEquals(cell, TextCharacterCache.pack(expected));
+                    assertEquals(cell, cache.cellOf(expected));
+                    assertEquals(character, TextCharacterCache.character(cell));
+                    assertEquals(expected, cache.get(cell));
+                    assertSame(cache.get(cell), cache.get(cell));
+                }
+            }
+        }
+        assertTrue(cache.size() > 256);
+        assertEquals(TextCharacter.DEFAULT_CHARACTER, cache.get(TextCharacterCache.DEFAULT_CELL));
+        assertEquals(TextCharacterCache.pack('x', null, null, 0),
+                TextCharacterCache.pack('x', TextColor.ANSI.DEFAULT, TextColor.ANSI.DEFAULT, 0));
+        assertEquals(0, TextCharacterCache.modifierMask((SGR[]) null));
+    }
+
+    /**
+     * Verifies that text characters a cell cannot hold are rejected by packing, and stored unchanged by the cache.
+     */
+    @Test
+    void testUnpackableCellsAreStored() {
+        final TextCharacterCache cache = new TextCharacterCache();
+        final TextCharacter[] unpackable = {
+                TextCharacter.fromCharacter('x', new TextColor.RGB(10, 20, 30), TextColor.ANSI.BLACK)[0],
+                TextCharacter.fromCharacter('y', TextColor.ANSI.RED, new TextColor.Indexed(200), SGR.BOLD)[0],
+                TextCharacter.fromString("\uD834\uDD1E", TextColor.ANSI.GREEN, TextColor.ANSI.DEFAULT)[0]
+        };
+        final int packed = cache.size();
+        for (final TextCharacter textCharacter : unpackable) {
+            assertFalse(TextCharacterCache.isPackable(textCharacter));
+            assertThrows(IllegalArgumentException.class, () -> TextCharacterCache.pack(textCharacter));
+            final long cell = cache.cellOf(textCharacter);
+            assertTrue(TextCharacterCache.isStored(cell));
+            assertNotEquals(0, cell);
+            assertSame(textCharacter, cache.get(cell));
+            assertEquals(cell, cache.cellOf(textCharacter));
+        }
+        assertEquals(packed, cache.size());
+        final TextCharacter ansi = TextCharacter.fromCharacter('z', TextColor.ANSI.RED, TextColor.ANSI.BLACK)[0];
+        assertTrue(TextCharacterCache.isPackable(ansi));
+        assertFalse(TextCharacterCache.isStored(cache.cellOf(ansi)));
+    }
+}